@@ -2,8 +2,10 @@ package br.com.fiap.app.agendamentoService;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AgendamentoServiceApplication {
 
     public static void main(String[] args) {
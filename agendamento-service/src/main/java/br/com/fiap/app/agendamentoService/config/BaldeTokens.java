@@ -0,0 +1,41 @@
+package br.com.fiap.app.agendamentoService.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens sem lock: o estado é um único {@code long}, o instante (em
+ * {@link System#nanoTime()}) em que o balde estará cheio de novo. Cada token consumido
+ * empurra esse instante um intervalo para frente; há token disponível enquanto ele não
+ * estiver mais de {@code capacidade - 1} intervalos no futuro. A atualização é um CAS.
+ */
+final class BaldeTokens {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong cheioEm;
+
+    BaldeTokens(long capacidade, Duration periodo, long agoraNanos) {
+        this.intervaloNanos = Math.max(1, periodo.toNanos() / capacidade);
+        this.toleranciaNanos = (capacidade - 1) * intervaloNanos;
+        this.cheioEm = new AtomicLong(agoraNanos);
+    }
+
+    /** Consome um token e devolve 0, ou devolve quantos nanos faltam para haver um token. */
+    long consumir(long agoraNanos) {
+        while (true) {
+            long atual = cheioEm.get();
+            long ocupado = Math.max(0, atual - agoraNanos);
+            if (ocupado > toleranciaNanos) {
+                return ocupado - toleranciaNanos;
+            }
+            if (cheioEm.compareAndSet(atual, agoraNanos + ocupado + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    boolean cheio(long agoraNanos) {
+        return cheioEm.get() - agoraNanos <= 0;
+    }
+}
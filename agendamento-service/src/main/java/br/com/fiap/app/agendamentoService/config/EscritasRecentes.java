@@ -0,0 +1,56 @@
+package br.com.fiap.app.agendamentoService.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Lembra, por usuário, o último commit de uma transação de escrita. Durante a janela
+ * {@code banco.replicas.leitura-propria} as leituras desse usuário vão para o primário,
+ * para ele não deixar de ver o que acabou de gravar enquanto as réplicas alcançam.
+ * O registro é por instância: com várias instâncias atrás de um balanceador, a garantia
+ * vale para quem cai sempre na mesma.
+ */
+public class EscritasRecentes implements TransactionExecutionListener {
+
+    private final long janelaMillis;
+    private final Map<String, Long> ultimaEscrita = new ConcurrentHashMap<>();
+
+    public EscritasRecentes(Duration janela) {
+        this.janelaMillis = janela.toMillis();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            String usuario = usuarioAtual();
+            if (usuario != null) {
+                ultimaEscrita.put(usuario, System.currentTimeMillis());
+            }
+        }
+    }
+
+    public boolean recente(String usuario, long agoraMillis) {
+        Long escrita = ultimaEscrita.get(usuario);
+        return escrita != null && agoraMillis - escrita < janelaMillis;
+    }
+
+    public void limpar(long agoraMillis) {
+        ultimaEscrita.values().removeIf(escrita -> agoraMillis - escrita >= janelaMillis);
+    }
+
+    static String usuarioAtual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
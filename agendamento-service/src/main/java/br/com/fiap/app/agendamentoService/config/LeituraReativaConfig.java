@@ -0,0 +1,57 @@
+package br.com.fiap.app.agendamentoService.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+
+@Configuration
+public class LeituraReativaConfig {
+
+    @Value("${leitura-reativa.url}")
+    private String url;
+
+    @Value("${leitura-reativa.username}")
+    private String username;
+
+    @Value("${leitura-reativa.password}")
+    private String password;
+
+    @Value("${leitura-reativa.pool.tamanho-maximo:20}")
+    private int tamanhoMaximo;
+
+    private ConnectionPool pool;
+
+    /**
+     * Pool R2DBC usado só pelas leituras reativas. O pool não vira bean de
+     * {@code ConnectionFactory}: com um desses no contexto a auto-configuração do
+     * DataSource recua, e o JPA e o Flyway precisam continuar no JDBC.
+     */
+    @Bean
+    public DatabaseClient leituraDatabaseClient() {
+        ConnectionFactoryOptions opcoes = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opcoes))
+                .maxSize(tamanhoMaximo)
+                .maxAcquireTime(Duration.ofSeconds(5))
+                .build());
+        return DatabaseClient.create(pool);
+    }
+
+    @PreDestroy
+    void fecharPool() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.fiap.app.agendamentoService.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import br.com.fiap.app.agendamentoService.entity.User;
+import br.com.fiap.app.agendamentoService.exception.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Limite de requisições por rota, com um {@link BaldeTokens} por regra, usuário e papel
+ * (requisições anônimas, como o login, são contadas por IP). Quem esgota o balde recebe
+ * {@code 429} com {@code Retry-After} e é contado em {@value #REJEICOES}. Os limites são
+ * por instância e as regras são registradas no {@link SecurityConfig}. Não é um bean,
+ * para não ser registrado também como filtro do servlet.
+ */
+public class LimiteTaxaFilter extends OncePerRequestFilter {
+
+    static final String REJEICOES = "limite.taxa.rejeicoes";
+    static final String ANONIMO = "ANONIMO";
+
+    private final MeterRegistry meterRegistry;
+    private final JsonMapper jsonMapper;
+    private final LongSupplier relogio;
+    private final List<Regra> regras = new ArrayList<>();
+    private final Map<String, BaldeTokens> baldes = new ConcurrentHashMap<>();
+    private final AtomicLong proximaLimpeza;
+
+    public LimiteTaxaFilter(MeterRegistry meterRegistry, JsonMapper jsonMapper) {
+        this(meterRegistry, jsonMapper, System::nanoTime);
+    }
+
+    LimiteTaxaFilter(MeterRegistry meterRegistry, JsonMapper jsonMapper, LongSupplier relogio) {
+        this.meterRegistry = meterRegistry;
+        this.jsonMapper = jsonMapper;
+        this.relogio = relogio;
+        this.proximaLimpeza = new AtomicLong(relogio.getAsLong());
+    }
+
+    /** Até {@code capacidade} requisições por {@code periodo}, em rajada ou espaçadas. */
+    public LimiteTaxaFilter limitar(String nome, RequestMatcher matcher, long capacidade, Duration periodo) {
+        if (capacidade < 1 || periodo.isNegative() || periodo.isZero()) {
+            throw new IllegalArgumentException("Limite inválido para " + nome + ": " + capacidade + " por " + periodo);
+        }
+        regras.add(new Regra(nome, matcher, capacidade, periodo));
+        return this;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Regra regra = regra(request);
+        if (regra == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long agora = relogio.getAsLong();
+        limparBaldesCheios(agora);
+        BaldeTokens balde = baldes.computeIfAbsent(regra.nome() + "|" + cliente(request),
+                chave -> new BaldeTokens(regra.capacidade(), regra.periodo(), agora));
+        long esperaNanos = balde.consumir(agora);
+        if (esperaNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        meterRegistry.counter(REJEICOES, "regra", regra.nome()).increment();
+        rejeitar(request, response, regra, esperaNanos);
+    }
+
+    private Regra regra(HttpServletRequest request) {
+        for (Regra regra : regras) {
+            if (regra.matcher().matches(request)) {
+                return regra;
+            }
+        }
+        return null;
+    }
+
+    private static String cliente(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return ANONIMO + "|" + request.getRemoteAddr();
+        }
+        String usuario = authentication.getPrincipal() instanceof User user && user.getId() != null
+                ? user.getId().toString()
+                : authentication.getName();
+        String papel = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElse("");
+        return papel + "|" + usuario;
+    }
+
+    private void rejeitar(HttpServletRequest request, HttpServletResponse response, Regra regra, long esperaNanos)
+            throws IOException {
+        long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Limite de " + regra.capacidade() + " requisições por " + regra.periodo().toSeconds()
+                        + "s excedido; tente novamente em " + segundos + "s",
+                request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(jsonMapper.writeValueAsString(error));
+    }
+
+    /**
+     * Descarta, no máximo uma vez por minuto, os baldes que já se encheram de novo: um
+     * balde cheio é igual a um recém-criado, então o mapa só guarda clientes ativos.
+     */
+    private void limparBaldesCheios(long agora) {
+        long proxima = proximaLimpeza.get();
+        if (agora - proxima >= 0 && proximaLimpeza.compareAndSet(proxima, agora + TimeUnit.MINUTES.toNanos(1))) {
+            baldes.values().removeIf(balde -> balde.cheio(agora));
+        }
+    }
+
+    int baldes() {
+        return baldes.size();
+    }
+
+    private record Regra(String nome, RequestMatcher matcher, long capacidade, Duration periodo) {
+    }
+}
@@ -1,9 +1,17 @@
 package br.com.fiap.app.agendamentoService.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.HeadersExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
@@ -14,9 +22,15 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import br.com.fiap.app.agendamentoService.messaging.ConsultaEventoMessageConverter;
+
 @Configuration
 public class RabbitMQConfig {
 
+    public static final String HEADER_MAX_TENTATIVAS = "x-max-tentativas";
+    public static final String HEADER_DESTINO_RETRY = "x-destino-retry";
+    public static final String DESTINO_PARKING = "parking";
+
     @Value("${rabbitmq.exchange}")
     private String exchange;
 
@@ -26,12 +40,36 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.routing-key}")
     private String routingKey;
 
+    @Value("${rabbitmq.particoes}")
+    private int particoes;
+
     @Value("${rabbitmq.dlq-exchange}")
     private String dlqExchange;
 
     @Value("${rabbitmq.dlq-queue}")
     private String dlqQueue;
 
+    @Value("${rabbitmq.lembretes-queue}")
+    private String lembretesQueue;
+
+    @Value("${rabbitmq.formato-binario:true}")
+    private boolean formatoBinario;
+
+    @Value("${rabbitmq.retry.exchange}")
+    private String retryExchange;
+
+    @Value("${rabbitmq.retry.queue-prefix}")
+    private String retryQueuePrefix;
+
+    @Value("${rabbitmq.retry.ttls}")
+    private List<Duration> retryTtls;
+
+    @Value("${rabbitmq.retry.max-tentativas}")
+    private int maxTentativas;
+
+    @Value("${rabbitmq.retry.parking-queue}")
+    private String parkingQueue;
+
     @Bean
     public DirectExchange exchange() {
         return new DirectExchange(exchange);
@@ -54,6 +92,12 @@ public class RabbitMQConfig {
         return QueueBuilder.durable(dlqQueue).build();
     }
 
+    // Pedidos do notificacao-service chegam pelo exchange padrão (routing key = nome da fila)
+    @Bean
+    public Queue lembretesQueue() {
+        return QueueBuilder.nonDurable(lembretesQueue).build();
+    }
+
     @Bean
     public Binding binding(Queue queue, DirectExchange exchange) {
         return BindingBuilder.bind(queue).to(exchange).with(routingKey);
@@ -64,15 +108,71 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(dlqQueue).to(dlqExchange);
     }
 
+    /**
+     * Uma fila por partição ({@code <queue>.<n>}, routing key {@code <routing-key>.<n>}).
+     * O publicador escolhe a partição pelo pacienteId, então os eventos de um paciente
+     * ficam sempre na mesma fila e são consumidos em ordem por um único consumidor.
+     * A fila sem partição continua declarada para drenar mensagens antigas.
+     */
+    @Bean
+    public Declarables particoesTopology(DirectExchange exchange) {
+        List<Declarable> declaraveis = new ArrayList<>();
+        for (int i = 0; i < particoes; i++) {
+            Queue fila = QueueBuilder.durable(queue + "." + i)
+                    .deadLetterExchange(dlqExchange)
+                    .build();
+            declaraveis.add(fila);
+            declaraveis.add(BindingBuilder.bind(fila).to(exchange).with(routingKey + "." + i));
+        }
+        return new Declarables(declaraveis);
+    }
+
+    /**
+     * Filas de retentativa com TTL crescente e a fila de estacionamento, escolhidas pelo
+     * header {@value #HEADER_DESTINO_RETRY}. Ao expirar, a mensagem volta ao exchange
+     * principal com a routing key original, ou seja, para a mesma partição. A mesma
+     * topologia é declarada pelo notificacao-service, que é quem encaminha as falhas.
+     */
+    @Bean
+    public Declarables retryTopology() {
+        HeadersExchange retry = new HeadersExchange(retryExchange);
+        List<Declarable> declaraveis = new ArrayList<>();
+        declaraveis.add(retry);
+        for (int i = 0; i < retryTtls.size(); i++) {
+            Queue fila = QueueBuilder.durable(retryQueuePrefix + "." + (i + 1))
+                    .ttl((int) retryTtls.get(i).toMillis())
+                    .deadLetterExchange(exchange)
+                    .build();
+            declaraveis.add(fila);
+            declaraveis.add(BindingBuilder.bind(fila).to(retry)
+                    .where(HEADER_DESTINO_RETRY).matches(String.valueOf(i + 1)));
+        }
+        Queue parking = QueueBuilder.durable(parkingQueue).build();
+        declaraveis.add(parking);
+        declaraveis.add(BindingBuilder.bind(parking).to(retry)
+                .where(HEADER_DESTINO_RETRY).matches(DESTINO_PARKING));
+        return new Declarables(declaraveis);
+    }
+
     @Bean
-    public JacksonJsonMessageConverter messageConverter() {
-        return new JacksonJsonMessageConverter();
+    public MessageConverter messageConverter() {
+        return new ConsultaEventoMessageConverter(new JacksonJsonMessageConverter(), formatoBinario);
     }
 
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter);
+        // Span de publicação e propagação do contexto de trace nos headers (traceparent)
+        template.setObservationEnabled(true);
+        template.setBeforePublishPostProcessors(message -> {
+            message.getMessageProperties().setHeader(HEADER_MAX_TENTATIVAS, maxTentativas);
+            // Base do atraso de consumo medido pelo notificacao-service
+            if (message.getMessageProperties().getTimestamp() == null) {
+                message.getMessageProperties().setTimestamp(new Date());
+            }
+            return message;
+        });
 
         return template;
     }
@@ -0,0 +1,135 @@
+package br.com.fiap.app.agendamentoService.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Com {@code banco.replicas.habilitadas}, transações {@code readOnly} leem das réplicas e
+ * o primário só recebe escritas (e as leituras de quem acabou de escrever). A conexão é
+ * obtida só no primeiro comando, pelo {@link LazyConnectionDataSourceProxy}, quando já se
+ * sabe se a transação é somente leitura. Flyway e a validação do Hibernate, fora de
+ * transação, usam o primário. Desligado, o DataSource é o da auto-configuração.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "banco.replicas", name = "habilitadas", havingValue = "true")
+public class ReplicaLeituraConfig {
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${spring.datasource.driver-class-name:}")
+    private String driverClassName;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int tamanhoPrimario;
+
+    @Value("${spring.datasource.hikari.connection-timeout:30000}")
+    private long connectionTimeout;
+
+    @Value("${banco.replicas.urls}")
+    private List<String> urlsReplicas;
+
+    @Value("${banco.replicas.pool.tamanho-maximo:20}")
+    private int tamanhoReplica;
+
+    @Value("${banco.replicas.atraso-maximo:5s}")
+    private Duration atrasoMaximo;
+
+    @Value("${banco.replicas.leitura-propria:10s}")
+    private Duration leituraPropria;
+
+    @Value("${banco.replicas.consulta-atraso}")
+    private String consultaAtraso;
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ReplicasDataSource replicasDataSource;
+
+    @Bean
+    public EscritasRecentes escritasRecentes() {
+        // TransactionExecutionListener: a auto-configuração o registra no transaction manager
+        return new EscritasRecentes(leituraPropria);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(EscritasRecentes escritasRecentes, MeterRegistry meterRegistry) {
+        HikariDataSource primario = pool("primario", url, tamanhoPrimario, meterRegistry, false);
+        List<ReplicasDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urlsReplicas.size(); i++) {
+            String nome = "replica-" + (i + 1);
+            ReplicasDataSource.Replica replica = new ReplicasDataSource.Replica(
+                    nome, pool(nome, urlsReplicas.get(i).trim(), tamanhoReplica, meterRegistry, true));
+            TimeGauge.builder("banco.replicas.atraso", replica, TimeUnit.MILLISECONDS,
+                            r -> r.atrasoMillis() < 0 ? Double.NaN : r.atrasoMillis())
+                    .description("Atraso de replicação medido na última verificação")
+                    .tag("replica", nome)
+                    .register(meterRegistry);
+            replicas.add(replica);
+        }
+        replicasDataSource = new ReplicasDataSource(primario, replicas, escritasRecentes, atrasoMaximo, consultaAtraso);
+        replicasDataSource.verificarAtrasos();
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primario);
+        proxy.setReadOnlyDataSource(replicasDataSource);
+        return proxy;
+    }
+
+    @Scheduled(fixedDelayString = "${banco.replicas.verificacao:2s}")
+    public void verificarReplicas() {
+        if (replicasDataSource != null) {
+            replicasDataSource.verificarAtrasos();
+        }
+    }
+
+    private HikariDataSource pool(String nome, String jdbcUrl, int tamanho, MeterRegistry meterRegistry,
+            boolean replica) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(nome);
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        if (!driverClassName.isBlank()) {
+            config.setDriverClassName(driverClassName);
+        }
+        config.setMaximumPoolSize(tamanho);
+        config.setConnectionTimeout(connectionTimeout);
+        config.setMetricRegistry(meterRegistry);
+        if (replica) {
+            // Réplica fora do ar não impede a subida: fica fora do rodízio até responder
+            config.setInitializationFailTimeout(-1);
+        }
+        HikariDataSource dataSource = new HikariDataSource(config);
+        pools.add(dataSource);
+        return dataSource;
+    }
+
+    @PreDestroy
+    void fecharPools() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
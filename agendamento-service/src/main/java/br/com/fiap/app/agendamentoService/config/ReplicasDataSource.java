@@ -0,0 +1,118 @@
+package br.com.fiap.app.agendamentoService.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * DataSource das transações somente leitura (ver {@code LazyConnectionDataSourceProxy#setReadOnlyDataSource}).
+ * Reparte as conexões entre as réplicas em rodízio, pulando as que estão fora do ar ou
+ * com atraso acima de {@code atrasoMaximo}. Volta ao primário quando nenhuma serve ou
+ * quando o usuário escreveu há pouco ({@link EscritasRecentes}).
+ */
+@Slf4j
+public class ReplicasDataSource extends AbstractDataSource {
+
+    private final DataSource primario;
+    private final List<Replica> replicas;
+    private final EscritasRecentes escritasRecentes;
+    private final long atrasoMaximoMillis;
+    private final String consultaAtraso;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public ReplicasDataSource(DataSource primario, List<Replica> replicas, EscritasRecentes escritasRecentes,
+            Duration atrasoMaximo, String consultaAtraso) {
+        this.primario = primario;
+        this.replicas = List.copyOf(replicas);
+        this.escritasRecentes = escritasRecentes;
+        this.atrasoMaximoMillis = atrasoMaximo.toMillis();
+        this.consultaAtraso = consultaAtraso;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String usuario = EscritasRecentes.usuarioAtual();
+        if (usuario != null && escritasRecentes.recente(usuario, System.currentTimeMillis())) {
+            return primario.getConnection();
+        }
+        int inicio = Math.floorMod(proxima.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (replica.atrasoMillis >= 0 && replica.atrasoMillis <= atrasoMaximoMillis) {
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    log.warn("Réplica {} indisponível, tentando a próxima: {}", replica.nome, e.getMessage());
+                    replica.atrasoMillis = Replica.INDISPONIVEL;
+                }
+            }
+        }
+        return primario.getConnection();
+    }
+
+    // Os pools das réplicas usam as credenciais de spring.datasource; com outras
+    // credenciais a conexão vem do primário, que as repassa ao próprio driver/pool.
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primario.getConnection(username, password);
+    }
+
+    /** Mede o atraso de cada réplica com {@code consultaAtraso}, que deve devolver segundos. */
+    public void verificarAtrasos() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                    Statement statement = connection.createStatement();
+                    ResultSet rs = statement.executeQuery(consultaAtraso)) {
+                replica.atrasoMillis = rs.next() ? Math.max(0, Math.round(rs.getDouble(1) * 1000)) : Replica.INDISPONIVEL;
+            } catch (SQLException e) {
+                if (replica.atrasoMillis != Replica.INDISPONIVEL) {
+                    log.warn("Réplica {} fora de uso: {}", replica.nome, e.getMessage());
+                }
+                replica.atrasoMillis = Replica.INDISPONIVEL;
+            }
+        }
+        escritasRecentes.limpar(System.currentTimeMillis());
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    /** Até a primeira verificação a réplica é tratada como indisponível. */
+    public static final class Replica {
+
+        static final long INDISPONIVEL = -1;
+
+        private final String nome;
+        private final DataSource dataSource;
+        private volatile long atrasoMillis = INDISPONIVEL;
+
+        public Replica(String nome, DataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+
+        public String nome() {
+            return nome;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        /** Atraso medido na última verificação, ou -1 se a réplica não respondeu. */
+        public long atrasoMillis() {
+            return atrasoMillis;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.fiap.app.agendamentoService.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Observação {@value #NOME} em volta de cada chamada aos repositórios Spring Data, com
+ * as tags {@code repositorio} e {@code metodo}: vira o span de acesso ao banco no trace
+ * (filho do span do service) e um timer com o mesmo nome.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositorioObservacaoAspect {
+
+    static final String NOME = "jpa.repositorio";
+
+    private final ObservationRegistry observationRegistry;
+    private final Map<Class<?>, String> nomes = new ConcurrentHashMap<>();
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object observar(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repositorio = nomes.computeIfAbsent(joinPoint.getTarget().getClass(), RepositorioObservacaoAspect::nome);
+        String metodo = joinPoint.getSignature().getName();
+        Observation observation = Observation.createNotStarted(NOME, observationRegistry)
+                .contextualName(repositorio + "#" + metodo)
+                .lowCardinalityKeyValue("repositorio", repositorio)
+                .lowCardinalityKeyValue("metodo", metodo)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return joinPoint.proceed();
+        } catch (Throwable erro) {
+            observation.error(erro);
+            throw erro;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private static String nome(Class<?> alvo) {
+        // O alvo é o proxy JDK do Spring Data; o nome útil é o da interface do projeto.
+        for (Class<?> interfaceDoProxy : alvo.getInterfaces()) {
+            if (interfaceDoProxy.getPackageName().startsWith("br.com.fiap")) {
+                return interfaceDoProxy.getSimpleName();
+            }
+        }
+        return alvo.getSimpleName();
+    }
+}
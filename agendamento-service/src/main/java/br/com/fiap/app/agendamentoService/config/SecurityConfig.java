@@ -1,7 +1,11 @@
 package br.com.fiap.app.agendamentoService.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -11,12 +15,30 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+
+import br.com.fiap.app.agendamentoService.service.TentativasLoginService;
+import io.micrometer.core.instrument.MeterRegistry;
+import tools.jackson.databind.json.JsonMapper;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    @Value("${limite-taxa.periodo:1m}")
+    private Duration periodoLimite;
+
+    @Value("${limite-taxa.consultas-listagem:30}")
+    private long limiteListagemConsultas;
+
+    @Value("${limite-taxa.login:10}")
+    private long limiteLogin;
+
+    @Value("${limite-taxa.registro:5}")
+    private long limiteRegistro;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -28,7 +50,17 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, MeterRegistry meterRegistry, JsonMapper jsonMapper,
+            TentativasLoginService tentativasLoginService) throws Exception {
+        PathPatternRequestMatcher.Builder rotas = PathPatternRequestMatcher.withDefaults();
+        // Por usuário e papel nas rotas autenticadas e por IP nas anônimas
+        LimiteTaxaFilter limiteTaxa = new LimiteTaxaFilter(meterRegistry, jsonMapper)
+            // findAll sem paginação
+            .limitar("consultas-listagem", rotas.matcher(HttpMethod.GET, "/api/consultas"), limiteListagemConsultas, periodoLimite)
+            // BCrypt a cada tentativa
+            .limitar("login", rotas.matcher(HttpMethod.POST, "/auth/login"), limiteLogin, periodoLimite)
+            .limitar("registro", rotas.matcher(HttpMethod.POST, "/auth/register"), limiteRegistro, periodoLimite);
+
         http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(authz -> authz
@@ -36,10 +68,15 @@ public class SecurityConfig {
                 .requestMatchers("/api/users/bootstrap-admin").permitAll()
                 .requestMatchers("/graphiql").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
+                // Scrape do Prometheus; em produção restringir pela rede
+                .requestMatchers("/actuator/prometheus").permitAll()
                 .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**").permitAll()
                 .anyRequest().authenticated()
             )
-            .httpBasic(Customizer.withDefaults());
+            .httpBasic(Customizer.withDefaults())
+            // Atraso e bloqueio por falhas também no Basic, antes do BCrypt
+            .addFilterBefore(new TentativasLoginFilter(tentativasLoginService, jsonMapper), BasicAuthenticationFilter.class)
+            .addFilterAfter(limiteTaxa, BasicAuthenticationFilter.class);
         
         return http.build();
     }
@@ -0,0 +1,85 @@
+package br.com.fiap.app.agendamentoService.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.www.BasicAuthenticationConverter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import br.com.fiap.app.agendamentoService.exception.ErrorResponse;
+import br.com.fiap.app.agendamentoService.service.TentativasLoginService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Reserva no {@link TentativasLoginService} as tentativas feitas por HTTP Basic, antes do
+ * {@code BasicAuthenticationFilter}: sem ele, o Basic seria um caminho para adivinhar
+ * senhas sem atraso nem bloqueio. Requisições cuja sessão já está autenticada com o mesmo
+ * usuário passam direto, como no próprio filtro do Basic. Não é um bean, pelo mesmo
+ * motivo do {@link LimiteTaxaFilter}.
+ */
+public class TentativasLoginFilter extends OncePerRequestFilter {
+
+    private final TentativasLoginService tentativasLoginService;
+    private final JsonMapper jsonMapper;
+    private final BasicAuthenticationConverter conversor = new BasicAuthenticationConverter();
+
+    public TentativasLoginFilter(TentativasLoginService tentativasLoginService, JsonMapper jsonMapper) {
+        this.tentativasLoginService = tentativasLoginService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String username = username(request);
+        if (username == null || autenticado(username)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long esperaMillis = tentativasLoginService.reservar(username, request.getRemoteAddr());
+        if (esperaMillis == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        rejeitar(request, response, (esperaMillis + 999) / 1000);
+    }
+
+    // Cabeçalho malformado fica para o BasicAuthenticationFilter recusar
+    private String username(HttpServletRequest request) {
+        try {
+            Authentication credenciais = conversor.convert(request);
+            return credenciais != null ? credenciais.getName() : null;
+        } catch (AuthenticationException e) {
+            return null;
+        }
+    }
+
+    private static boolean autenticado(String username) {
+        Authentication existente = SecurityContextHolder.getContext().getAuthentication();
+        return existente != null && existente.isAuthenticated() && existente.getName().equals(username)
+                && !(existente instanceof AnonymousAuthenticationToken);
+    }
+
+    private void rejeitar(HttpServletRequest request, HttpServletResponse response, long segundos) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Muitas tentativas de login; tente novamente em " + segundos + "s",
+                request.getRequestURI());
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(jsonMapper.writeValueAsString(error));
+    }
+}
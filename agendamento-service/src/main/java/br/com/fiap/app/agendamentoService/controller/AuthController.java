@@ -1,12 +1,15 @@
 package br.com.fiap.app.agendamentoService.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -20,7 +23,9 @@ import br.com.fiap.app.agendamentoService.dto.UserInfoResponse;
 import br.com.fiap.app.agendamentoService.entity.User;
 import br.com.fiap.app.agendamentoService.enums.Role;
 import br.com.fiap.app.agendamentoService.exception.BusinessException;
+import br.com.fiap.app.agendamentoService.service.TentativasLoginService;
 import br.com.fiap.app.agendamentoService.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -31,16 +36,28 @@ public class AuthController {
 
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
+    private final TentativasLoginService tentativasLoginService;
 
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        // Antes do AuthenticationManager: tentativa recusada aqui não chega ao BCrypt. Falha e
+        // sucesso são registrados pelos eventos de autenticação (TentativasLoginService).
+        long esperaMillis = tentativasLoginService.reservar(loginRequest.getUsername(), request.getRemoteAddr());
+        if (esperaMillis > 0) {
+            long segundos = (esperaMillis + 999) / 1000;
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(segundos))
+                .body("Muitas tentativas de login; tente novamente em " + segundos + "s");
+        }
+
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                    loginRequest.getUsername(),
-                    loginRequest.getPassword()
-                )
+            UsernamePasswordAuthenticationToken credenciais = new UsernamePasswordAuthenticationToken(
+                loginRequest.getUsername(),
+                loginRequest.getPassword()
             );
+            // O IP segue nos detalhes até os eventos de autenticação
+            credenciais.setDetails(new WebAuthenticationDetails(request));
+            Authentication authentication = authenticationManager.authenticate(credenciais);
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
             User user = (User) authentication.getPrincipal();
@@ -57,6 +74,9 @@ public class AuthController {
         } catch (BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body("Credenciais inválidas");
+        } catch (LockedException e) {
+            return ResponseEntity.status(HttpStatus.LOCKED)
+                .body("Usuário bloqueado temporariamente por excesso de tentativas de login");
         }
     }
 
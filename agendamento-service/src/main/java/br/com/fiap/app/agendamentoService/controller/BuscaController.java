@@ -0,0 +1,30 @@
+package br.com.fiap.app.agendamentoService.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.fiap.app.agendamentoService.dto.AutocompleteResultDTO;
+import br.com.fiap.app.agendamentoService.service.BuscaService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/busca")
+@RequiredArgsConstructor
+public class BuscaController {
+
+    private final BuscaService buscaService;
+
+    @GetMapping("/autocomplete")
+    @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
+    public ResponseEntity<List<AutocompleteResultDTO>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(buscaService.autocomplete(q, limite));
+    }
+}
@@ -2,27 +2,38 @@ package br.com.fiap.app.agendamentoService.controller;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.com.fiap.app.agendamentoService.dto.AlteracaoStatusLoteDTO;
 import br.com.fiap.app.agendamentoService.dto.ConsultaRequestDTO;
 import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
 import br.com.fiap.app.agendamentoService.entity.Consulta;
+import br.com.fiap.app.agendamentoService.enums.FormatoExportacao;
 import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import br.com.fiap.app.agendamentoService.exception.BusinessException;
 import br.com.fiap.app.agendamentoService.mapper.ConsultaMapper;
+import br.com.fiap.app.agendamentoService.service.ConsultaExportService;
 import br.com.fiap.app.agendamentoService.service.ConsultaService;
+import br.com.fiap.app.agendamentoService.service.IdempotenciaService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -31,19 +42,37 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ConsultaController {
     
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final ConsultaService consultaService;
+    private final ConsultaExportService consultaExportService;
+    private final IdempotenciaService idempotenciaService;
     
     @PostMapping
     @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
-    public ResponseEntity<ConsultaResponseDTO> createConsulta(@Valid @RequestBody ConsultaRequestDTO request) {
-        Consulta consulta = consultaService.createConsulta(ConsultaMapper.fromDTO(request));
-        return new ResponseEntity<>(ConsultaMapper.toDTO(consulta), HttpStatus.CREATED);
+    public ResponseEntity<ConsultaResponseDTO> createConsulta(@Valid @RequestBody ConsultaRequestDTO request,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chave,
+            Authentication authentication) {
+        Consulta novaConsulta = ConsultaMapper.fromDTO(request);
+        if (chave == null) {
+            Consulta consulta = consultaService.createConsulta(novaConsulta);
+            return new ResponseEntity<>(ConsultaMapper.toDTO(consulta), HttpStatus.CREATED);
+        }
+        IdempotenciaService.Resultado<Consulta> resultado = idempotenciaService.executar(
+                authentication != null ? authentication.getName() : "", chave, ConsultaMapper.hashCriacao(novaConsulta),
+                () -> consultaService.createConsulta(novaConsulta));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(resultado.repetido()))
+                .body(ConsultaMapper.toDTO(resultado.valor()));
     }
     
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO') or hasAuthority('ROLE_PACIENTE')")
     public ResponseEntity<ConsultaResponseDTO> getConsultaById(@PathVariable Long id) {
-        return ResponseEntity.ok(ConsultaMapper.toDTO(consultaService.getConsultaById(id)));
+        return comEtag(consultaService.getConsultaById(id));
     }
     
     @GetMapping
@@ -76,6 +105,17 @@ public class ConsultaController {
         return ResponseEntity.ok(consultaService.getHistoricoCompletoPacienteDTO(pacienteId));
     }
     
+    @GetMapping("/paciente/{pacienteId}/historico/export")
+    @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO') or (hasAuthority('ROLE_PACIENTE') and @pacienteService.isOwnedByUser(#pacienteId, authentication.principal.id))")
+    public ResponseEntity<StreamingResponseBody> exportarHistoricoPaciente(
+            @PathVariable Long pacienteId,
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacao formato,
+            @RequestParam(required = false) Long apos,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return exportar(formato, acceptEncoding, "historico-paciente-" + pacienteId,
+                out -> consultaExportService.exportarHistoricoPaciente(pacienteId, apos, formato, out));
+    }
+    
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
     public ResponseEntity<List<ConsultaResponseDTO>> getConsultasByStatus(@PathVariable StatusConsulta status) {
@@ -90,6 +130,18 @@ public class ConsultaController {
         return ResponseEntity.ok(consultaService.getConsultasByPeriodoDTO(inicio, fim));
     }
     
+    @GetMapping("/periodo/export")
+    @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
+    public ResponseEntity<StreamingResponseBody> exportarPorPeriodo(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacao formato,
+            @RequestParam(required = false) Long apos,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return exportar(formato, acceptEncoding, "consultas-periodo",
+                out -> consultaExportService.exportarPorPeriodo(inicio, fim, apos, formato, out));
+    }
+    
     @GetMapping("/notificacoes")
     @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
     public ResponseEntity<List<ConsultaResponseDTO>> getConsultasParaNotificacao() {
@@ -101,20 +153,35 @@ public class ConsultaController {
     
     @PutMapping("/{id}")
     @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
-    public ResponseEntity<ConsultaResponseDTO> updateConsulta(@PathVariable Long id, @RequestBody ConsultaRequestDTO request) {
-        return ResponseEntity.ok(ConsultaMapper.toDTO(consultaService.updateConsulta(id, ConsultaMapper.fromDTO(request))));
+    public ResponseEntity<ConsultaResponseDTO> updateConsulta(@PathVariable Long id, @RequestBody ConsultaRequestDTO request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return comEtag(consultaService.updateConsulta(id, ConsultaMapper.fromDTO(request), versao(ifMatch)));
     }
     
     @PutMapping("/{id}/status")
     @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
-    public ResponseEntity<ConsultaResponseDTO> updateStatusConsulta(@PathVariable Long id, @RequestParam StatusConsulta status) {
-        return ResponseEntity.ok(ConsultaMapper.toDTO(consultaService.updateStatusConsulta(id, status)));
+    public ResponseEntity<ConsultaResponseDTO> updateStatusConsulta(@PathVariable Long id, @RequestParam StatusConsulta status,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return comEtag(consultaService.updateStatusConsulta(id, status, versao(ifMatch)));
+    }
+    
+    @PutMapping("/status/lote")
+    @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
+    public ResponseEntity<AlteracaoStatusLoteDTO> alterarStatusEmLote(
+            @RequestParam StatusConsulta de,
+            @RequestParam StatusConsulta para,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim,
+            @RequestParam(required = false) Long medicoId) {
+        int alteradas = consultaService.alterarStatusEmLote(de, para, inicio, fim, medicoId);
+        return ResponseEntity.ok(new AlteracaoStatusLoteDTO(de, para, alteradas));
     }
     
     @PutMapping("/{id}/cancelar")
     @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
-    public ResponseEntity<Void> cancelarConsulta(@PathVariable Long id, @RequestParam String motivo) {
-        consultaService.cancelarConsulta(id, motivo);
+    public ResponseEntity<Void> cancelarConsulta(@PathVariable Long id, @RequestParam String motivo,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        consultaService.cancelarConsulta(id, motivo, versao(ifMatch));
         return ResponseEntity.ok().build();
     }
     
@@ -124,4 +191,49 @@ public class ConsultaController {
         consultaService.deleteConsulta(id);
         return ResponseEntity.noContent().build();
     }
+
+    // ETag forte com a versão da consulta; o cliente devolve o valor em If-Match nas alterações.
+    private static ResponseEntity<ConsultaResponseDTO> comEtag(Consulta consulta) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (consulta.getVersao() != null) {
+            response.eTag("\"" + consulta.getVersao() + "\"");
+        }
+        return response.body(ConsultaMapper.toDTO(consulta));
+    }
+
+    static Long versao(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        try {
+            return Long.valueOf(valor.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new BusinessException("If-Match inválido: " + ifMatch);
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportar(FormatoExportacao formato, String acceptEncoding,
+            String nomeArquivo, StreamingResponseBody corpo) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String extensao = formato == FormatoExportacao.CSV ? ".csv" : ".ndjson";
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(formato == FormatoExportacao.CSV ? TEXT_CSV : APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nomeArquivo + extensao + "\"");
+        if (!gzip) {
+            return response.body(corpo);
+        }
+        StreamingResponseBody comprimido = out -> {
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192)) {
+                corpo.writeTo(gzipOut);
+            }
+        };
+        return response
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(comprimido);
+    }
 }
\ No newline at end of file
@@ -3,12 +3,17 @@ package br.com.fiap.app.agendamentoService.controller;
 import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
 import br.com.fiap.app.agendamentoService.entity.Consulta;
 import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import br.com.fiap.app.agendamentoService.mapper.ConsultaMapper;
+import br.com.fiap.app.agendamentoService.service.ConsultaLeituraReativaService;
 import br.com.fiap.app.agendamentoService.service.ConsultaService;
+import br.com.fiap.app.agendamentoService.service.IdempotenciaService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,6 +24,8 @@ import java.util.Map;
 public class ConsultaGraphQLController {
 
     private final ConsultaService consultaService;
+    private final ConsultaLeituraReativaService consultaLeituraReativaService;
+    private final IdempotenciaService idempotenciaService;
 
     @QueryMapping
     public Consulta consultaById(@Argument Long id) {
@@ -31,8 +38,8 @@ public class ConsultaGraphQLController {
     }
 
     @QueryMapping
-    public List<ConsultaResponseDTO> consultasByMedico(@Argument Long medicoId) {
-        return consultaService.getConsultasByMedicoDTO(medicoId);
+    public Flux<ConsultaResponseDTO> consultasByMedico(@Argument Long medicoId) {
+        return consultaLeituraReativaService.getConsultasByMedico(medicoId);
     }
 
     @QueryMapping
@@ -46,16 +53,16 @@ public class ConsultaGraphQLController {
     }
 
     @QueryMapping
-    public List<ConsultaResponseDTO> consultasByPeriodo(@Argument String inicio, @Argument String fim) {
-        return consultaService.getConsultasByPeriodoDTO(
+    public Flux<ConsultaResponseDTO> consultasByPeriodo(@Argument String inicio, @Argument String fim) {
+        return consultaLeituraReativaService.getConsultasByPeriodo(
                 LocalDateTime.parse(inicio),
                 LocalDateTime.parse(fim)
         );
     }
 
     @QueryMapping
-    public List<ConsultaResponseDTO> consultasFuturasPorPaciente(@Argument Long pacienteId) {
-        return consultaService.getConsultasFuturasPorPacienteDTO(pacienteId);
+    public Flux<ConsultaResponseDTO> consultasFuturasPorPaciente(@Argument Long pacienteId) {
+        return consultaLeituraReativaService.getConsultasFuturasPorPaciente(pacienteId);
     }
 
     @QueryMapping
@@ -64,7 +71,8 @@ public class ConsultaGraphQLController {
     }
 
     @MutationMapping
-    public Consulta createConsulta(@Argument Map<String, Object> input) {
+    public Consulta createConsulta(@Argument Map<String, Object> input, @Argument String idempotencyKey,
+            Authentication authentication) {
         Consulta request = new Consulta();
         request.setMedicoId(Long.valueOf(input.get("medicoId").toString()));
         request.setPacienteId(Long.valueOf(input.get("pacienteId").toString()));
@@ -74,12 +82,17 @@ public class ConsultaGraphQLController {
         request.setDataHora(LocalDateTime.parse(input.get("dataHora").toString()));
         request.setMotivo((String) input.get("motivo"));
         request.setObservacoes((String) input.get("observacoes"));
-        return consultaService.createConsulta(request);
+        if (idempotencyKey == null) {
+            return consultaService.createConsulta(request);
+        }
+        return idempotenciaService.executar(authentication != null ? authentication.getName() : "", idempotencyKey,
+                ConsultaMapper.hashCriacao(request), () -> consultaService.createConsulta(request)).valor();
     }
 
     @MutationMapping
-    public Consulta updateConsulta(@Argument Long id, @Argument Map<String, Object> input) {
+    public Consulta updateConsulta(@Argument Long id, @Argument Map<String, Object> input, @Argument Long versao) {
         Consulta request = new Consulta();
+        request.setStatus(null);
         if (input.get("dataHora") != null) {
             request.setDataHora(LocalDateTime.parse(input.get("dataHora").toString()));
         }
@@ -90,17 +103,23 @@ public class ConsultaGraphQLController {
         request.setObservacoes((String) input.get("observacoes"));
         request.setDiagnostico((String) input.get("diagnostico"));
         request.setPrescricao((String) input.get("prescricao"));
-        return consultaService.updateConsulta(id, request);
+        return consultaService.updateConsulta(id, request, versao);
+    }
+
+    @MutationMapping
+    public Consulta updateStatusConsulta(@Argument Long id, @Argument StatusConsulta status, @Argument Long versao) {
+        return consultaService.updateStatusConsulta(id, status, versao);
     }
 
     @MutationMapping
-    public Consulta updateStatusConsulta(@Argument Long id, @Argument StatusConsulta status) {
-        return consultaService.updateStatusConsulta(id, status);
+    public Integer alterarStatusEmLote(@Argument StatusConsulta de, @Argument StatusConsulta para,
+            @Argument String inicio, @Argument String fim, @Argument Long medicoId) {
+        return consultaService.alterarStatusEmLote(de, para, LocalDateTime.parse(inicio), LocalDateTime.parse(fim), medicoId);
     }
 
     @MutationMapping
-    public Boolean cancelarConsulta(@Argument Long id, @Argument String motivo) {
-        consultaService.cancelarConsulta(id, motivo);
+    public Boolean cancelarConsulta(@Argument Long id, @Argument String motivo, @Argument Long versao) {
+        consultaService.cancelarConsulta(id, motivo, versao);
         return true;
     }
 
@@ -0,0 +1,49 @@
+package br.com.fiap.app.agendamentoService.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
+import br.com.fiap.app.agendamentoService.service.ConsultaLeituraReativaService;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Versões não bloqueantes das leituras mais pesadas de {@link ConsultaController}. Com
+ * {@code Accept: application/x-ndjson} as consultas saem uma a uma, no ritmo do cliente;
+ * com JSON a resposta é a mesma lista das rotas originais.
+ */
+@RestController
+@RequestMapping("/api/consultas/reativo")
+@RequiredArgsConstructor
+public class ConsultaReativaController {
+
+    private final ConsultaLeituraReativaService consultaLeituraReativaService;
+
+    @GetMapping("/medico/{medicoId}")
+    @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
+    public Flux<ConsultaResponseDTO> getConsultasByMedico(@PathVariable Long medicoId) {
+        return consultaLeituraReativaService.getConsultasByMedico(medicoId);
+    }
+
+    @GetMapping("/paciente/{pacienteId}/futuras")
+    @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO') or (hasAuthority('ROLE_PACIENTE') and @pacienteService.isOwnedByUser(#pacienteId, authentication.principal.id))")
+    public Flux<ConsultaResponseDTO> getConsultasFuturasPorPaciente(@PathVariable Long pacienteId) {
+        return consultaLeituraReativaService.getConsultasFuturasPorPaciente(pacienteId);
+    }
+
+    @GetMapping("/periodo")
+    @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
+    public Flux<ConsultaResponseDTO> getConsultasByPeriodo(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fim) {
+        return consultaLeituraReativaService.getConsultasByPeriodo(inicio, fim);
+    }
+}
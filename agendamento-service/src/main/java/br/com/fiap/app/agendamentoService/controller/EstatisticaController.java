@@ -0,0 +1,37 @@
+package br.com.fiap.app.agendamentoService.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.fiap.app.agendamentoService.dto.EstatisticaConsultaDTO;
+import br.com.fiap.app.agendamentoService.enums.AgrupamentoEstatistica;
+import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import br.com.fiap.app.agendamentoService.service.EstatisticaService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/estatisticas")
+@RequiredArgsConstructor
+public class EstatisticaController {
+
+    private final EstatisticaService estatisticaService;
+
+    @GetMapping("/consultas")
+    @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
+    public ResponseEntity<List<EstatisticaConsultaDTO>> estatisticasConsultas(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "DIA_MEDICO") AgrupamentoEstatistica agrupamento,
+            @RequestParam(required = false) Long medicoId,
+            @RequestParam(required = false) Especialidade especialidade) {
+        return ResponseEntity.ok(estatisticaService.consultar(inicio, fim, agrupamento, medicoId, especialidade));
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.fiap.app.agendamentoService.controller;
+
+import br.com.fiap.app.agendamentoService.dto.EstatisticaConsultaDTO;
+import br.com.fiap.app.agendamentoService.enums.AgrupamentoEstatistica;
+import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import br.com.fiap.app.agendamentoService.service.EstatisticaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Controller
+@RequiredArgsConstructor
+public class EstatisticaGraphQLController {
+
+    private final EstatisticaService estatisticaService;
+
+    @QueryMapping
+    public List<EstatisticaConsultaDTO> estatisticasConsultas(@Argument String inicio, @Argument String fim,
+            @Argument AgrupamentoEstatistica agrupamento, @Argument Long medicoId,
+            @Argument Especialidade especialidade) {
+        return estatisticaService.consultar(
+                LocalDate.parse(inicio),
+                LocalDate.parse(fim),
+                agrupamento,
+                medicoId,
+                especialidade
+        );
+    }
+}
@@ -42,6 +42,12 @@ public class PacienteController {
         return ResponseEntity.ok(PacienteMapper.toDTO(pacienteService.getPacienteByCpf(cpf)));
     }
 
+    @GetMapping("/cartao-sus/{numeroCartaoSus}")
+    @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
+    public ResponseEntity<PacienteResponseDTO> getPacienteByCartaoSus(@PathVariable String numeroCartaoSus) {
+        return ResponseEntity.ok(PacienteMapper.toDTO(pacienteService.getPacienteByCartaoSus(numeroCartaoSus)));
+    }
+
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO') or hasAuthority('ROLE_PACIENTE')")
     public ResponseEntity<PacienteResponseDTO> getPacienteByUserId(@PathVariable Long userId) {
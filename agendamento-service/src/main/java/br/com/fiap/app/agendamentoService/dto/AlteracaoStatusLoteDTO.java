@@ -0,0 +1,15 @@
+package br.com.fiap.app.agendamentoService.dto;
+
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracaoStatusLoteDTO {
+    private StatusConsulta de;
+    private StatusConsulta para;
+    private int alteradas;
+}
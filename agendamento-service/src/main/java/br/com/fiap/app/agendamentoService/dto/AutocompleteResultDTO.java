@@ -0,0 +1,10 @@
+package br.com.fiap.app.agendamentoService.dto;
+
+import br.com.fiap.app.agendamentoService.enums.TipoCadastro;
+
+public record AutocompleteResultDTO(
+        TipoCadastro tipo,
+        Long id,
+        String nome) {
+
+}
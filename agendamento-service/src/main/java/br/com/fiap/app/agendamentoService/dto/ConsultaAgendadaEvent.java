@@ -19,4 +19,6 @@ public class ConsultaAgendadaEvent {
     private LocalDateTime dataHora;
     private String status;
     private String motivo;
+    private String eventId;
+    private Long version;
 }
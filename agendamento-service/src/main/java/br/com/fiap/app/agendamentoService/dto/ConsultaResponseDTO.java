@@ -23,4 +23,5 @@ public class ConsultaResponseDTO {
     private String prescricao;
     private LocalDateTime dataCriacao;
     private LocalDateTime dataAlteracao;
+    private Long versao;
 }
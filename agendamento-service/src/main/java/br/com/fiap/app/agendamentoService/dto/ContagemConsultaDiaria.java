@@ -0,0 +1,15 @@
+package br.com.fiap.app.agendamentoService.dto;
+
+import java.time.LocalDate;
+
+import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+
+public record ContagemConsultaDiaria(
+        LocalDate dia,
+        Long medicoId,
+        Especialidade especialidade,
+        StatusConsulta status,
+        Long quantidade) {
+
+}
@@ -0,0 +1,9 @@
+package br.com.fiap.app.agendamentoService.dto;
+
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+
+public record ContagemStatusDTO(
+        StatusConsulta status,
+        long quantidade) {
+
+}
@@ -0,0 +1,22 @@
+package br.com.fiap.app.agendamentoService.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticaConsultaDTO {
+    private LocalDate dia;
+    private Long medicoId;
+    private Especialidade especialidade;
+    private long total;
+    private List<ContagemStatusDTO> porStatus;
+    private double taxaFalta;
+    private double taxaCancelamento;
+}
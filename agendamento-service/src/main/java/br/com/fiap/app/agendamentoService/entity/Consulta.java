@@ -74,6 +74,10 @@ public class Consulta {
     
     @Column
     private String alteradoPor;
+
+    @Version
+    @Column(nullable = false)
+    private Long versao;
     
     @PreUpdate
     public void preUpdate() {
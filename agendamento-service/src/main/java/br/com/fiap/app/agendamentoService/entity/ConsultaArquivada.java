@@ -0,0 +1,85 @@
+package br.com.fiap.app.agendamentoService.entity;
+
+import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Consulta encerrada movida para armazenamento frio. Só as colunas usadas em filtros
+ * e agregações ficam abertas; o restante é o {@code ConsultaResponseDTO} em JSON
+ * compactado com GZIP. O ID vem da consulta original; como {@link Persistable}, o
+ * {@code saveAll} do arquivamento faz só INSERT, sem o SELECT do merge.
+ */
+@Entity
+@Table(name = "consultas_arquivadas")
+@Data
+@NoArgsConstructor
+public class ConsultaArquivada implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long pacienteId;
+
+    @Column(nullable = false)
+    private Long medicoId;
+
+    @Enumerated(EnumType.STRING)
+    private Especialidade especialidade;
+
+    @Column(nullable = false)
+    private LocalDateTime dataHora;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusConsulta status;
+
+    @Column(nullable = false)
+    private byte[] conteudo;
+
+    @Column(nullable = false)
+    private LocalDateTime dataArquivamento;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean novo;
+
+    public ConsultaArquivada(Long id, Long pacienteId, Long medicoId, Especialidade especialidade,
+                             LocalDateTime dataHora, StatusConsulta status, byte[] conteudo,
+                             LocalDateTime dataArquivamento) {
+        this.id = id;
+        this.pacienteId = pacienteId;
+        this.medicoId = medicoId;
+        this.especialidade = especialidade;
+        this.dataHora = dataHora;
+        this.status = status;
+        this.conteudo = conteudo;
+        this.dataArquivamento = dataArquivamento;
+        this.novo = true;
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarPersistida() {
+        novo = false;
+    }
+}
@@ -43,7 +43,7 @@ public class Paciente {
     @Column
     private String endereco;
     
-    @Column
+    @Column(unique = true)
     private String numeroCartaoSus;
     
     @Column
@@ -13,6 +13,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -57,6 +58,10 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private Boolean active = true;
     
+    // Bloqueio temporário por excesso de tentativas de login (TentativasLoginService)
+    @Column(name = "bloqueado_ate")
+    private LocalDateTime bloqueadoAte;
+    
     // Implementação UserDetails
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -75,7 +80,7 @@ public class User implements UserDetails {
     
     @Override
     public boolean isAccountNonLocked() {
-        return true;
+        return bloqueadoAte == null || !bloqueadoAte.isAfter(LocalDateTime.now());
     }
     
     @Override
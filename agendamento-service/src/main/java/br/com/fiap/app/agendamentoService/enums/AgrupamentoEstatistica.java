@@ -0,0 +1,7 @@
+package br.com.fiap.app.agendamentoService.enums;
+
+public enum AgrupamentoEstatistica {
+    DIA_MEDICO,
+    MEDICO,
+    ESPECIALIDADE
+}
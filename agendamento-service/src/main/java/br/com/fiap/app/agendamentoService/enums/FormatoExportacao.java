@@ -0,0 +1,6 @@
+package br.com.fiap.app.agendamentoService.enums;
+
+public enum FormatoExportacao {
+    NDJSON,
+    CSV
+}
@@ -1,5 +1,11 @@
 package br.com.fiap.app.agendamentoService.enums;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum StatusConsulta {
     AGENDADA,
     CONFIRMADA,
@@ -7,5 +13,42 @@ public enum StatusConsulta {
     CONCLUIDA,
     CANCELADA,
     REAGENDADA,
-    FALTA_PACIENTE
-}
\ No newline at end of file
+    FALTA_PACIENTE;
+
+    // Transições permitidas (origem -> destinos). CONCLUIDA e CANCELADA são finais;
+    // quem faltou ainda pode ser reagendado.
+    private static final Map<StatusConsulta, Set<StatusConsulta>> DESTINOS = new EnumMap<>(StatusConsulta.class);
+    private static final Map<StatusConsulta, Set<StatusConsulta>> ORIGENS = new EnumMap<>(StatusConsulta.class);
+
+    static {
+        permitir(AGENDADA, CONFIRMADA, EM_ANDAMENTO, CANCELADA, REAGENDADA, FALTA_PACIENTE);
+        permitir(CONFIRMADA, EM_ANDAMENTO, CANCELADA, REAGENDADA, FALTA_PACIENTE);
+        permitir(REAGENDADA, CONFIRMADA, EM_ANDAMENTO, CANCELADA, FALTA_PACIENTE);
+        permitir(EM_ANDAMENTO, CONCLUIDA);
+        permitir(FALTA_PACIENTE, REAGENDADA);
+        permitir(CONCLUIDA);
+        permitir(CANCELADA);
+    }
+
+    private static void permitir(StatusConsulta origem, StatusConsulta... destinos) {
+        Set<StatusConsulta> permitidos = EnumSet.noneOf(StatusConsulta.class);
+        Collections.addAll(permitidos, destinos);
+        DESTINOS.put(origem, Collections.unmodifiableSet(permitidos));
+        for (StatusConsulta destino : destinos) {
+            ORIGENS.computeIfAbsent(destino, d -> EnumSet.noneOf(StatusConsulta.class)).add(origem);
+        }
+    }
+
+    public boolean podeIrPara(StatusConsulta destino) {
+        return DESTINOS.get(this).contains(destino);
+    }
+
+    public Set<StatusConsulta> destinos() {
+        return DESTINOS.get(this);
+    }
+
+    /** Status a partir dos quais se chega a {@code destino}; vai no {@code IN} dos UPDATEs condicionais. */
+    public static Set<StatusConsulta> origensDe(StatusConsulta destino) {
+        return Collections.unmodifiableSet(ORIGENS.getOrDefault(destino, EnumSet.noneOf(StatusConsulta.class)));
+    }
+}
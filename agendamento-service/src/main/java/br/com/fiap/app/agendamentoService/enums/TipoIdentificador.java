@@ -0,0 +1,8 @@
+package br.com.fiap.app.agendamentoService.enums;
+
+public enum TipoIdentificador {
+    CPF,
+    CRM,
+    COREN,
+    CARTAO_SUS
+}
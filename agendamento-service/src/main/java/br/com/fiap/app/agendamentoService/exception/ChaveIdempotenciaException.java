@@ -0,0 +1,11 @@
+package br.com.fiap.app.agendamentoService.exception;
+
+/**
+ * A mesma Idempotency-Key chegou com um corpo diferente do da requisição original.
+ */
+public class ChaveIdempotenciaException extends RuntimeException {
+
+    public ChaveIdempotenciaException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package br.com.fiap.app.agendamentoService.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -47,6 +48,66 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
     
+    @ExceptionHandler(VersaoDesatualizadaException.class)
+    public ResponseEntity<ErrorResponse> handleVersaoDesatualizadaException(
+            VersaoDesatualizadaException ex, HttpServletRequest request) {
+        log.warn("Precondition failed: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        
+        return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+    }
+    
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, HttpServletRequest request) {
+        log.warn("Concurrent update: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                "O registro foi alterado por outra requisição; recarregue e tente novamente",
+                request.getRequestURI()
+        );
+        
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+    
+    @ExceptionHandler(ChaveIdempotenciaException.class)
+    public ResponseEntity<ErrorResponse> handleChaveIdempotenciaException(
+            ChaveIdempotenciaException ex, HttpServletRequest request) {
+        log.warn("Idempotency key reused: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.UNPROCESSABLE_CONTENT.value(),
+                "Unprocessable Content",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        
+        return new ResponseEntity<>(error, HttpStatus.UNPROCESSABLE_CONTENT);
+    }
+    
+    @ExceptionHandler(RequisicaoEmAndamentoException.class)
+    public ResponseEntity<ErrorResponse> handleRequisicaoEmAndamentoException(
+            RequisicaoEmAndamentoException ex, HttpServletRequest request) {
+        log.warn("Idempotent request still in progress: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
@@ -0,0 +1,11 @@
+package br.com.fiap.app.agendamentoService.exception;
+
+/**
+ * A requisição original da mesma Idempotency-Key ainda não terminou dentro do tempo de espera.
+ */
+public class RequisicaoEmAndamentoException extends RuntimeException {
+
+    public RequisicaoEmAndamentoException(String message) {
+        super(message);
+    }
+}
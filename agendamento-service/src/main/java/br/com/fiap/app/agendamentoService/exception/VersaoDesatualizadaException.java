@@ -0,0 +1,12 @@
+package br.com.fiap.app.agendamentoService.exception;
+
+/**
+ * A versão enviada pelo cliente (If-Match ou argumento {@code versao} no GraphQL) não
+ * é mais a versão atual do registro.
+ */
+public class VersaoDesatualizadaException extends RuntimeException {
+
+    public VersaoDesatualizadaException(String entidade, Object id, Long esperada, Long atual) {
+        super(String.format("%s %s foi alterada: versão enviada %d, versão atual %d", entidade, id, esperada, atual));
+    }
+}
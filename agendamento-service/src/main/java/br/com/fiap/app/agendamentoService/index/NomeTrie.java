@@ -0,0 +1,187 @@
+package br.com.fiap.app.agendamentoService.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Trie compactada (radix tree) de nomes normalizados.
+ * Cada chave aponta para um conjunto de valores; a busca por prefixo percorre
+ * apenas a subárvore do prefixo, das chaves mais curtas (as mais próximas do que foi
+ * digitado) para as mais longas, e para assim que {@code limite} valores distintos
+ * forem coletados. Não é thread-safe: o acesso concorrente deve ser controlado por quem usa.
+ */
+public class NomeTrie<V> {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final Comparator<Candidato<?>> ORDEM = Comparator
+            .comparingInt((Candidato<?> c) -> c.chave().length())
+            .thenComparing(Candidato::chave);
+
+    private final Node<V> root = new Node<>("");
+    private int size;
+
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcento = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcento.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    public void put(String chave, V valor) {
+        Node<V> node = root;
+        String resto = chave;
+        while (!resto.isEmpty()) {
+            char primeiro = resto.charAt(0);
+            Node<V> filho = node.children.get(primeiro);
+            if (filho == null) {
+                filho = new Node<>(resto);
+                node.children.put(primeiro, filho);
+                node = filho;
+                break;
+            }
+            int comum = prefixoComum(filho.label, resto);
+            if (comum < filho.label.length()) {
+                Node<V> divisao = new Node<>(filho.label.substring(0, comum));
+                filho.label = filho.label.substring(comum);
+                divisao.children.put(filho.label.charAt(0), filho);
+                node.children.put(primeiro, divisao);
+                filho = divisao;
+            }
+            node = filho;
+            resto = resto.substring(comum);
+        }
+        if (node.values.add(valor)) {
+            size++;
+        }
+    }
+
+    public boolean remove(String chave, V valor) {
+        List<Node<V>> caminho = new ArrayList<>();
+        caminho.add(root);
+        Node<V> node = root;
+        String resto = chave;
+        while (!resto.isEmpty()) {
+            Node<V> filho = node.children.get(resto.charAt(0));
+            if (filho == null || !resto.startsWith(filho.label)) {
+                return false;
+            }
+            node = filho;
+            caminho.add(node);
+            resto = resto.substring(filho.label.length());
+        }
+        if (!node.values.remove(valor)) {
+            return false;
+        }
+        size--;
+        compactar(caminho);
+        return true;
+    }
+
+    /**
+     * Os {@code limite} primeiros valores cujas chaves começam com {@code prefixo},
+     * ordenados pelo tamanho da chave e, no empate, em ordem alfabética.
+     */
+    public List<V> buscarPorPrefixo(String prefixo, int limite) {
+        if (limite <= 0) {
+            return List.of();
+        }
+        Node<V> node = root;
+        StringBuilder chave = new StringBuilder();
+        String resto = prefixo;
+        while (!resto.isEmpty()) {
+            Node<V> filho = node.children.get(resto.charAt(0));
+            if (filho == null) {
+                return List.of();
+            }
+            int comum = prefixoComum(filho.label, resto);
+            if (comum < resto.length() && comum < filho.label.length()) {
+                return List.of();
+            }
+            node = filho;
+            chave.append(filho.label);
+            resto = resto.substring(comum);
+        }
+
+        // Busca pela melhor chave primeiro: um filho nunca tem chave menor que o pai, então
+        // o que sai da fila já está na ordem final
+        Set<V> resultado = new LinkedHashSet<>();
+        PriorityQueue<Candidato<V>> fila = new PriorityQueue<>(ORDEM);
+        fila.add(new Candidato<>(node, chave.toString()));
+        while (!fila.isEmpty() && resultado.size() < limite) {
+            Candidato<V> atual = fila.poll();
+            for (V valor : atual.node().values) {
+                resultado.add(valor);
+                if (resultado.size() >= limite) {
+                    break;
+                }
+            }
+            for (Node<V> filho : atual.node().children.values()) {
+                fila.add(new Candidato<>(filho, atual.chave() + filho.label));
+            }
+        }
+        return new ArrayList<>(resultado);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        root.children.clear();
+        root.values.clear();
+        size = 0;
+    }
+
+    private void compactar(List<Node<V>> caminho) {
+        for (int i = caminho.size() - 1; i >= 1; i--) {
+            Node<V> node = caminho.get(i);
+            Node<V> pai = caminho.get(i - 1);
+            if (!node.values.isEmpty()) {
+                return;
+            }
+            if (node.children.isEmpty()) {
+                pai.children.remove(node.label.charAt(0));
+                continue;
+            }
+            if (node.children.size() == 1) {
+                Node<V> unico = node.children.firstEntry().getValue();
+                node.label = node.label + unico.label;
+                node.children = unico.children;
+                node.values = unico.values;
+            }
+            return;
+        }
+    }
+
+    private static int prefixoComum(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private record Candidato<V>(Node<V> node, String chave) {
+    }
+
+    private static final class Node<V> {
+        private String label;
+        private TreeMap<Character, Node<V>> children = new TreeMap<>();
+        private Set<V> values = new LinkedHashSet<>();
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.fiap.app.agendamentoService.index;
+
+import java.nio.ByteBuffer;
+import java.util.OptionalLong;
+
+/**
+ * Tabela hash de endereçamento aberto (sondagem linear) de {@code long -> long},
+ * armazenada fora do heap em um {@link ByteBuffer} direto. Cada slot ocupa 16 bytes
+ * (chave + valor), o que evita objetos por entrada e pressão no GC.
+ * A chave é o hash de 64 bits do identificador: colisões são possíveis, então
+ * quem consulta deve confirmar o resultado. Não é thread-safe.
+ */
+public class OffHeapLongHashIndex {
+
+    private static final int SLOT_BYTES = 16;
+    private static final int CAPACIDADE_MAXIMA = 1 << 26;
+    private static final long VAZIO = 0L;
+    private static final long REMOVIDO = Long.MIN_VALUE;
+
+    private ByteBuffer slots;
+    private int capacidade;
+    private int tamanho;
+    private int usados;
+
+    public OffHeapLongHashIndex(int capacidadeInicial) {
+        alocar(potenciaDeDois(Math.max(16, capacidadeInicial * 2)));
+    }
+
+    public void put(long chave, long valor) {
+        long k = chaveInterna(chave);
+        if ((usados + 1) * 2L > capacidade) {
+            redimensionar(tamanho * 4L > capacidade ? capacidade * 2 : capacidade);
+        }
+        int mascara = capacidade - 1;
+        int slot = (int) (espalhar(k) & mascara);
+        int primeiroRemovido = -1;
+        while (true) {
+            long atual = chaveEm(slot);
+            if (atual == VAZIO) {
+                int destino = primeiroRemovido >= 0 ? primeiroRemovido : slot;
+                escrever(destino, k, valor);
+                tamanho++;
+                if (primeiroRemovido < 0) {
+                    usados++;
+                }
+                return;
+            }
+            if (atual == REMOVIDO) {
+                if (primeiroRemovido < 0) {
+                    primeiroRemovido = slot;
+                }
+            } else if (atual == k) {
+                slots.putLong(slot * SLOT_BYTES + 8, valor);
+                return;
+            }
+            slot = (slot + 1) & mascara;
+        }
+    }
+
+    public OptionalLong get(long chave) {
+        int slot = localizar(chaveInterna(chave));
+        return slot < 0 ? OptionalLong.empty() : OptionalLong.of(slots.getLong(slot * SLOT_BYTES + 8));
+    }
+
+    public boolean remove(long chave) {
+        int slot = localizar(chaveInterna(chave));
+        if (slot < 0) {
+            return false;
+        }
+        escrever(slot, REMOVIDO, 0L);
+        tamanho--;
+        return true;
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    public void clear() {
+        alocar(capacidade);
+    }
+
+    public static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private int localizar(long k) {
+        int mascara = capacidade - 1;
+        int slot = (int) (espalhar(k) & mascara);
+        for (int tentativas = 0; tentativas < capacidade; tentativas++) {
+            long atual = chaveEm(slot);
+            if (atual == VAZIO) {
+                return -1;
+            }
+            if (atual == k) {
+                return slot;
+            }
+            slot = (slot + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        if (novaCapacidade > CAPACIDADE_MAXIMA) {
+            throw new IllegalStateException("Capacidade máxima do índice excedida");
+        }
+        ByteBuffer antigo = slots;
+        int capacidadeAntiga = capacidade;
+        alocar(novaCapacidade);
+        for (int slot = 0; slot < capacidadeAntiga; slot++) {
+            long k = antigo.getLong(slot * SLOT_BYTES);
+            if (k != VAZIO && k != REMOVIDO) {
+                put(k, antigo.getLong(slot * SLOT_BYTES + 8));
+            }
+        }
+    }
+
+    private void alocar(int novaCapacidade) {
+        slots = ByteBuffer.allocateDirect(novaCapacidade * SLOT_BYTES);
+        capacidade = novaCapacidade;
+        tamanho = 0;
+        usados = 0;
+    }
+
+    private long chaveEm(int slot) {
+        return slots.getLong(slot * SLOT_BYTES);
+    }
+
+    private void escrever(int slot, long chave, long valor) {
+        slots.putLong(slot * SLOT_BYTES, chave);
+        slots.putLong(slot * SLOT_BYTES + 8, valor);
+    }
+
+    // 0 e Long.MIN_VALUE marcam slots vazios/removidos e não podem ser usados como chave.
+    private static long chaveInterna(long chave) {
+        return chave == VAZIO || chave == REMOVIDO ? chave + 1 : chave;
+    }
+
+    private static long espalhar(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private static int potenciaDeDois(int valor) {
+        int limitado = Math.min(valor, CAPACIDADE_MAXIMA);
+        int p = Integer.highestOneBit(limitado);
+        return p < limitado ? p << 1 : p;
+    }
+}
@@ -9,6 +9,7 @@ import br.com.fiap.app.agendamentoService.entity.Consulta;
 import br.com.fiap.app.agendamentoService.entity.Enfermeiro;
 import br.com.fiap.app.agendamentoService.entity.Medico;
 import br.com.fiap.app.agendamentoService.entity.Paciente;
+import br.com.fiap.app.agendamentoService.util.HashRequisicao;
 
 public class ConsultaMapper {
 
@@ -30,6 +31,7 @@ public class ConsultaMapper {
         dto.setPrescricao(consulta.getPrescricao());
         dto.setDataCriacao(consulta.getDataCriacao());
         dto.setDataAlteracao(consulta.getDataAlteracao());
+        dto.setVersao(consulta.getVersao());
 
         return dto;
     }
@@ -75,13 +77,18 @@ public class ConsultaMapper {
         consulta.setPacienteId(dto.getPacienteId());
         consulta.setEnfermeiroId(dto.getEnfermeiroId());
         consulta.setDataHora(dto.getDataHora());
-        if (dto.getStatus() != null) {
-            consulta.setStatus(dto.getStatus());
-        }
+        // Sem o default da entidade: status ausente num update não pode virar AGENDADA.
+        consulta.setStatus(dto.getStatus());
         consulta.setMotivo(dto.getMotivo());
         consulta.setObservacoes(dto.getObservacoes());
         consulta.setDiagnostico(dto.getDiagnostico());
         consulta.setPrescricao(dto.getPrescricao());
         return consulta;
     }
+
+    /** Hash dos campos de criação, comparado entre repetições da mesma Idempotency-Key. */
+    public static String hashCriacao(Consulta request) {
+        return HashRequisicao.calcular(request.getMedicoId(), request.getPacienteId(), request.getEnfermeiroId(),
+                request.getDataHora(), request.getMotivo(), request.getObservacoes());
+    }
 }
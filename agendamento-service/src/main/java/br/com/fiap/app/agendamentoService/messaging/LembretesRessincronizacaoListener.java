@@ -0,0 +1,35 @@
+package br.com.fiap.app.agendamentoService.messaging;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaAgendadaEvent;
+import br.com.fiap.app.agendamentoService.service.ConsultaService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Responde aos pedidos do notificacao-service, que ao subir reconstrói os lembretes
+ * pendentes (o agendador dele só existe em memória). A resposta vai para o
+ * {@code reply-to} do pedido, em JSON.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LembretesRessincronizacaoListener {
+
+    public static final String HEADER_HORIZONTE = "x-horizonte";
+
+    private final ConsultaService consultaService;
+
+    @RabbitListener(queues = "${rabbitmq.lembretes-queue}")
+    public List<ConsultaAgendadaEvent> responder(@Header(HEADER_HORIZONTE) String horizonte) {
+        List<ConsultaAgendadaEvent> eventos = consultaService.getEventosParaLembretes(Duration.parse(horizonte));
+        log.info("Ressincronização de lembretes: {} consultas nas próximas {}", eventos.size(), horizonte);
+        return eventos;
+    }
+}
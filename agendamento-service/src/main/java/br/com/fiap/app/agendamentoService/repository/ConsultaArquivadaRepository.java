@@ -0,0 +1,34 @@
+package br.com.fiap.app.agendamentoService.repository;
+
+import br.com.fiap.app.agendamentoService.dto.ContagemConsultaDiaria;
+import br.com.fiap.app.agendamentoService.entity.ConsultaArquivada;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface ConsultaArquivadaRepository extends JpaRepository<ConsultaArquivada, Long> {
+    
+    List<ConsultaArquivada> findByPacienteIdOrderByDataHoraDesc(Long pacienteId);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + ConsultaRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM ConsultaArquivada a WHERE a.pacienteId = :pacienteId AND a.id > :aposId ORDER BY a.id")
+    Stream<ConsultaArquivada> streamHistoricoPaciente(@Param("pacienteId") Long pacienteId,
+                                                      @Param("aposId") Long aposId);
+    
+    @Query("SELECT new br.com.fiap.app.agendamentoService.dto.ContagemConsultaDiaria("
+            + "CAST(a.dataHora AS LocalDate), a.medicoId, a.especialidade, a.status, COUNT(a)) "
+            + "FROM ConsultaArquivada a "
+            + "GROUP BY CAST(a.dataHora AS LocalDate), a.medicoId, a.especialidade, a.status")
+    List<ContagemConsultaDiaria> contarPorDiaMedicoEStatus();
+}
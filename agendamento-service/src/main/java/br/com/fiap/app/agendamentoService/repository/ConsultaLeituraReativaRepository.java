@@ -0,0 +1,110 @@
+package br.com.fiap.app.agendamentoService.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
+import br.com.fiap.app.agendamentoService.dto.EnfermeiroSimpleDTO;
+import br.com.fiap.app.agendamentoService.dto.MedicoSimpleDTO;
+import br.com.fiap.app.agendamentoService.dto.PacienteSimpleDTO;
+import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Leituras de consultas pelo driver R2DBC, já no formato de {@link ConsultaResponseDTO}:
+ * um único SELECT com os joins que o {@code ConsultaMapper} percorreria nas entidades.
+ * As linhas são emitidas conforme o assinante pede, sem montar a lista inteira.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ConsultaLeituraReativaRepository {
+
+    private static final String SELECT = "SELECT c.id, c.data_hora, c.status, c.motivo, c.observacoes, "
+            + "c.diagnostico, c.prescricao, c.data_criacao, c.data_alteracao, c.versao, "
+            + "m.id AS medico_id, um.nome AS medico_nome, m.crm, m.especialidade, "
+            + "p.id AS paciente_id, up.nome AS paciente_nome, p.cpf, "
+            + "e.id AS enfermeiro_id, ue.nome AS enfermeiro_nome, e.coren "
+            + "FROM consultas c "
+            + "JOIN medicos m ON m.id = c.medico_id JOIN users um ON um.id = m.user_id "
+            + "JOIN pacientes p ON p.id = c.paciente_id JOIN users up ON up.id = p.user_id "
+            + "LEFT JOIN enfermeiros e ON e.id = c.enfermeiro_id LEFT JOIN users ue ON ue.id = e.user_id ";
+
+    private final DatabaseClient leituraDatabaseClient;
+
+    public Flux<ConsultaResponseDTO> findByMedico(Long medicoId) {
+        return leituraDatabaseClient.sql(SELECT + "WHERE c.medico_id = :medicoId ORDER BY c.data_hora")
+                .bind("medicoId", medicoId)
+                .map(ConsultaLeituraReativaRepository::toDTO)
+                .all();
+    }
+
+    public Flux<ConsultaResponseDTO> findByPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        return leituraDatabaseClient.sql(SELECT + "WHERE c.data_hora BETWEEN :inicio AND :fim ORDER BY c.data_hora")
+                .bind("inicio", inicio)
+                .bind("fim", fim)
+                .map(ConsultaLeituraReativaRepository::toDTO)
+                .all();
+    }
+
+    public Flux<ConsultaResponseDTO> findFuturasPorPaciente(Long pacienteId, LocalDateTime dataAtual) {
+        return leituraDatabaseClient.sql(SELECT + "WHERE c.paciente_id = :pacienteId AND c.data_hora > :dataAtual "
+                        + "ORDER BY c.data_hora ASC")
+                .bind("pacienteId", pacienteId)
+                .bind("dataAtual", dataAtual)
+                .map(ConsultaLeituraReativaRepository::toDTO)
+                .all();
+    }
+
+    public Mono<Boolean> existsMedico(Long medicoId) {
+        return existe("SELECT 1 FROM medicos WHERE id = :id", medicoId);
+    }
+
+    public Mono<Boolean> existsPaciente(Long pacienteId) {
+        return existe("SELECT 1 FROM pacientes WHERE id = :id", pacienteId);
+    }
+
+    private Mono<Boolean> existe(String sql, Long id) {
+        return leituraDatabaseClient.sql(sql)
+                .bind("id", id)
+                .map(linha -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    static ConsultaResponseDTO toDTO(Readable linha) {
+        ConsultaResponseDTO dto = new ConsultaResponseDTO();
+        dto.setId(linha.get("id", Long.class));
+        dto.setMedico(new MedicoSimpleDTO(
+                linha.get("medico_id", Long.class),
+                linha.get("medico_nome", String.class),
+                linha.get("crm", String.class),
+                Especialidade.valueOf(linha.get("especialidade", String.class))));
+        dto.setPaciente(new PacienteSimpleDTO(
+                linha.get("paciente_id", Long.class),
+                linha.get("paciente_nome", String.class),
+                linha.get("cpf", String.class)));
+        Long enfermeiroId = linha.get("enfermeiro_id", Long.class);
+        if (enfermeiroId != null) {
+            dto.setEnfermeiro(new EnfermeiroSimpleDTO(
+                    enfermeiroId,
+                    linha.get("enfermeiro_nome", String.class),
+                    linha.get("coren", String.class)));
+        }
+        dto.setDataHora(linha.get("data_hora", LocalDateTime.class));
+        dto.setStatus(StatusConsulta.valueOf(linha.get("status", String.class)));
+        dto.setMotivo(linha.get("motivo", String.class));
+        dto.setObservacoes(linha.get("observacoes", String.class));
+        dto.setDiagnostico(linha.get("diagnostico", String.class));
+        dto.setPrescricao(linha.get("prescricao", String.class));
+        dto.setDataCriacao(linha.get("data_criacao", LocalDateTime.class));
+        dto.setDataAlteracao(linha.get("data_alteracao", LocalDateTime.class));
+        dto.setVersao(linha.get("versao", Long.class));
+        return dto;
+    }
+}
@@ -1,19 +1,37 @@
 package br.com.fiap.app.agendamentoService.repository;
 
+import br.com.fiap.app.agendamentoService.dto.ContagemConsultaDiaria;
 import br.com.fiap.app.agendamentoService.entity.Consulta;
 import br.com.fiap.app.agendamentoService.entity.Medico;
 import br.com.fiap.app.agendamentoService.entity.Paciente;
 import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ConsultaRepository extends JpaRepository<Consulta, Long> {
+
+    int EXPORT_FETCH_SIZE = 500;
+
+    String EXPORT_SELECT = "SELECT c FROM Consulta c "
+            + "JOIN FETCH c.medico m JOIN FETCH m.user "
+            + "JOIN FETCH c.paciente p JOIN FETCH p.user "
+            + "LEFT JOIN FETCH c.enfermeiro e LEFT JOIN FETCH e.user ";
     
     List<Consulta> findByMedico(Medico medico);
     
@@ -40,4 +58,93 @@ public interface ConsultaRepository extends JpaRepository<Consulta, Long> {
     @Query("SELECT c FROM Consulta c WHERE c.dataHora > :agora AND c.status IN :statuses")
     List<Consulta> findConsultasParaNotificacao(@Param("agora") LocalDateTime agora,
                                                @Param("statuses") List<StatusConsulta> statuses);
-}
\ No newline at end of file
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EXPORT_SELECT + "WHERE p.id = :pacienteId AND c.id > :aposId ORDER BY c.id")
+    Stream<Consulta> streamHistoricoPaciente(@Param("pacienteId") Long pacienteId,
+                                             @Param("aposId") Long aposId);
+    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EXPORT_SELECT + "WHERE c.dataHora BETWEEN :inicio AND :fim AND c.id > :aposId ORDER BY c.id")
+    Stream<Consulta> streamByPeriodo(@Param("inicio") LocalDateTime inicio,
+                                    @Param("fim") LocalDateTime fim,
+                                    @Param("aposId") Long aposId);
+    
+    // FOR UPDATE SKIP LOCKED (lock timeout -2): instâncias arquivando ao mesmo tempo
+    // ficam com lotes disjuntos em vez de disputar as mesmas linhas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT c FROM Consulta c WHERE c.status IN :statuses AND c.dataHora < :limite ORDER BY c.id")
+    List<Consulta> travarParaArquivamento(@Param("statuses") List<StatusConsulta> statuses,
+                                          @Param("limite") LocalDateTime limite,
+                                          Limit lote);
+    
+    @Query(EXPORT_SELECT + "WHERE c.id IN :ids ORDER BY c.id")
+    List<Consulta> findParaArquivamento(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT new br.com.fiap.app.agendamentoService.dto.ContagemConsultaDiaria("
+            + "CAST(c.dataHora AS LocalDate), m.id, m.especialidade, c.status, COUNT(c)) "
+            + "FROM Consulta c JOIN c.medico m "
+            + "GROUP BY CAST(c.dataHora AS LocalDate), m.id, m.especialidade, c.status")
+    List<ContagemConsultaDiaria> contarPorDiaMedicoEStatus();
+    
+    // Transições de status: o UPDATE só pega a linha se ela ainda estiver na versão lida
+    // e num dos status de origem permitidos; 0 linhas significa que alguém chegou antes.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Consulta c SET c.status = :status, c.dataAlteracao = :agora, c.versao = c.versao + 1 "
+            + "WHERE c.id = :id AND c.versao = :versao AND c.status IN :origens")
+    int atualizarStatus(@Param("id") Long id,
+                        @Param("versao") Long versao,
+                        @Param("origens") Collection<StatusConsulta> origens,
+                        @Param("status") StatusConsulta status,
+                        @Param("agora") LocalDateTime agora);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    // A linha nova entra inteira; as observações anteriores são cortadas em :espaco
+    // caracteres para o total caber na coluna.
+    @Query("UPDATE Consulta c SET c.status = :status, c.dataAlteracao = :agora, c.versao = c.versao + 1, "
+            + "c.observacoes = CASE WHEN c.observacoes IS NULL THEN :linha "
+            + "WHEN LENGTH(c.observacoes) <= :espaco THEN CONCAT(c.observacoes, :separador, :linha) "
+            + "ELSE CONCAT(SUBSTRING(c.observacoes, 1, :espaco), :separador, :linha) END "
+            + "WHERE c.id = :id AND c.versao = :versao AND c.status IN :origens")
+    int atualizarStatusComObservacao(@Param("id") Long id,
+                                     @Param("versao") Long versao,
+                                     @Param("origens") Collection<StatusConsulta> origens,
+                                     @Param("status") StatusConsulta status,
+                                     @Param("agora") LocalDateTime agora,
+                                     @Param("separador") String separador,
+                                     @Param("linha") String linha,
+                                     @Param("espaco") int espaco);
+    
+    // Transição em lote, toda no banco. As linhas alteradas ficam marcadas com o mesmo
+    // dataAlteracao, que findAlteradasEmLote usa para relê-las dentro da transação.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Consulta c SET c.status = :para, c.dataAlteracao = :agora, c.versao = c.versao + 1 "
+            + "WHERE c.status = :de AND c.dataHora BETWEEN :inicio AND :fim "
+            + "AND (:medicoId IS NULL OR c.medico.id = :medicoId)")
+    int atualizarStatusEmLote(@Param("de") StatusConsulta de,
+                              @Param("para") StatusConsulta para,
+                              @Param("inicio") LocalDateTime inicio,
+                              @Param("fim") LocalDateTime fim,
+                              @Param("medicoId") Long medicoId,
+                              @Param("agora") LocalDateTime agora);
+    
+    @Query(EXPORT_SELECT + "WHERE c.status IN :statuses AND c.dataHora BETWEEN :inicio AND :fim "
+            + "ORDER BY c.dataHora")
+    List<Consulta> findParaLembretes(@Param("statuses") Collection<StatusConsulta> statuses,
+                                     @Param("inicio") LocalDateTime inicio,
+                                     @Param("fim") LocalDateTime fim);
+    
+    @Query(EXPORT_SELECT + "WHERE c.status = :status AND c.dataAlteracao = :alteracao "
+            + "AND c.dataHora BETWEEN :inicio AND :fim")
+    List<Consulta> findAlteradasEmLote(@Param("status") StatusConsulta status,
+                                       @Param("alteracao") LocalDateTime alteracao,
+                                       @Param("inicio") LocalDateTime inicio,
+                                       @Param("fim") LocalDateTime fim);
+}
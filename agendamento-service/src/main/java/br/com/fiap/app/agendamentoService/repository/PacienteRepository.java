@@ -25,4 +25,6 @@ public interface PacienteRepository extends JpaRepository<Paciente, Long> {
     Optional<Paciente> findByUserId(@Param("userId") Long userId);
     
     Optional<Paciente> findByNumeroCartaoSus(String numeroCartaoSus);
+    
+    boolean existsByNumeroCartaoSus(String numeroCartaoSus);
 }
\ No newline at end of file
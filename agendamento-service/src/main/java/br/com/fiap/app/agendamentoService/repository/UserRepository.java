@@ -3,8 +3,13 @@ package br.com.fiap.app.agendamentoService.repository;
 import br.com.fiap.app.agendamentoService.entity.User;
 import br.com.fiap.app.agendamentoService.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,4 +27,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     
     boolean existsByEmail(String email);
+    
+    // Transação de escrita explícita: as consultas herdam o readOnly do repositório e iriam para a réplica
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.bloqueadoAte = :ate WHERE u.username = :username")
+    int bloquearAte(@Param("username") String username, @Param("ate") LocalDateTime ate);
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
+import br.com.fiap.app.agendamentoService.entity.Consulta;
+import br.com.fiap.app.agendamentoService.entity.ConsultaArquivada;
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import br.com.fiap.app.agendamentoService.mapper.ConsultaMapper;
+import br.com.fiap.app.agendamentoService.repository.ConsultaArquivadaRepository;
+import br.com.fiap.app.agendamentoService.repository.ConsultaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Move consultas {@code CONCLUIDA} e {@code CANCELADA} mais antigas que a janela de
+ * retenção para {@code consultas_arquivadas}, mantendo a tabela quente pequena.
+ * Cada lote roda na própria transação: se o job for interrompido, nada fica pela metade.
+ * As linhas do lote ficam travadas com SKIP LOCKED, então instâncias rodando o job ao
+ * mesmo tempo não arquivam a mesma consulta.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArquivamentoConsultaService {
+
+    static final List<StatusConsulta> STATUS_ARQUIVAVEIS = List.of(StatusConsulta.CONCLUIDA, StatusConsulta.CANCELADA);
+
+    private final ConsultaRepository consultaRepository;
+    private final ConsultaArquivadaRepository consultaArquivadaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+
+    @Value("${consultas.arquivamento.retencao-dias:365}")
+    private int retencaoDias;
+
+    @Value("${consultas.arquivamento.lote:500}")
+    private int lote;
+
+    @Scheduled(cron = "${consultas.arquivamento.cron:0 30 3 * * *}")
+    public void arquivarAgendado() {
+        long total = arquivar(LocalDateTime.now().minusDays(retencaoDias));
+        log.info("[ARQUIVAMENTO] {} consultas arquivadas (retenção de {} dias)", total, retencaoDias);
+    }
+
+    public long arquivar(LocalDateTime limite) {
+        long total = 0;
+        int arquivadas;
+        do {
+            Integer resultado = transactionTemplate.execute(status -> arquivarLote(limite));
+            arquivadas = resultado == null ? 0 : resultado;
+            total += arquivadas;
+        } while (arquivadas == lote);
+        return total;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ConsultaResponseDTO> getHistoricoArquivado(Long pacienteId) {
+        return consultaArquivadaRepository.findByPacienteIdOrderByDataHoraDesc(pacienteId).stream()
+                .map(this::descompactar)
+                .toList();
+    }
+
+    /** Histórico arquivado em ordem de ID; deve ser lido dentro de uma transação. */
+    public Stream<ConsultaResponseDTO> streamHistoricoArquivado(Long pacienteId, long aposId) {
+        return consultaArquivadaRepository.streamHistoricoPaciente(pacienteId, aposId).map(this::descompactar);
+    }
+
+    /** Junta histórico quente e arquivado, do mais recente para o mais antigo. */
+    public List<ConsultaResponseDTO> mesclarHistorico(List<ConsultaResponseDTO> quente, Long pacienteId) {
+        List<ConsultaResponseDTO> arquivado = getHistoricoArquivado(pacienteId);
+        if (arquivado.isEmpty()) {
+            return quente;
+        }
+        List<ConsultaResponseDTO> historico = new ArrayList<>(quente.size() + arquivado.size());
+        historico.addAll(quente);
+        historico.addAll(arquivado);
+        historico.sort(Comparator.comparing(ConsultaResponseDTO::getDataHora).reversed());
+        return historico;
+    }
+
+    private int arquivarLote(LocalDateTime limite) {
+        List<Long> ids = consultaRepository.travarParaArquivamento(STATUS_ARQUIVAVEIS, limite, Limit.of(lote)).stream()
+                .map(Consulta::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Consulta> consultas = consultaRepository.findParaArquivamento(ids);
+        LocalDateTime agora = LocalDateTime.now();
+        List<ConsultaArquivada> arquivadas = consultas.stream()
+                .map(c -> arquivada(c, agora))
+                .toList();
+        consultaArquivadaRepository.saveAll(arquivadas);
+        consultaRepository.deleteAllInBatch(consultas);
+        return consultas.size();
+    }
+
+    private ConsultaArquivada arquivada(Consulta consulta, LocalDateTime agora) {
+        return new ConsultaArquivada(
+                consulta.getId(),
+                consulta.getPaciente().getId(),
+                consulta.getMedico().getId(),
+                consulta.getMedico().getEspecialidade(),
+                consulta.getDataHora(),
+                consulta.getStatus(),
+                compactar(ConsultaMapper.toDTO(consulta)),
+                agora);
+    }
+
+    byte[] compactar(ConsultaResponseDTO dto) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            jsonMapper.writeValue(gzip, dto);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    ConsultaResponseDTO descompactar(ConsultaArquivada arquivada) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(arquivada.getConteudo()))) {
+            return jsonMapper.readValue(gzip, ConsultaResponseDTO.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
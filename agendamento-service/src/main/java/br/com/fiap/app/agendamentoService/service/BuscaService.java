@@ -0,0 +1,170 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.fiap.app.agendamentoService.dto.AutocompleteResultDTO;
+import br.com.fiap.app.agendamentoService.entity.Enfermeiro;
+import br.com.fiap.app.agendamentoService.entity.Medico;
+import br.com.fiap.app.agendamentoService.entity.Paciente;
+import br.com.fiap.app.agendamentoService.entity.User;
+import br.com.fiap.app.agendamentoService.enums.TipoCadastro;
+import br.com.fiap.app.agendamentoService.index.NomeTrie;
+import br.com.fiap.app.agendamentoService.repository.EnfermeiroRepository;
+import br.com.fiap.app.agendamentoService.repository.MedicoRepository;
+import br.com.fiap.app.agendamentoService.repository.PacienteRepository;
+import br.com.fiap.app.agendamentoService.util.Transacoes;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@Observed(name = "servico.metodo")
+@RequiredArgsConstructor
+public class BuscaService {
+
+    static final int LIMITE_PADRAO = 10;
+    static final int LIMITE_MAXIMO = 50;
+
+    private final PacienteRepository pacienteRepository;
+    private final MedicoRepository medicoRepository;
+    private final EnfermeiroRepository enfermeiroRepository;
+
+    private final NomeTrie<AutocompleteResultDTO> trie = new NomeTrie<>();
+    private final Map<Chave, AutocompleteResultDTO> indexados = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregarIndice() {
+        lock.writeLock().lock();
+        try {
+            trie.clear();
+            indexados.clear();
+            pacienteRepository.findAll().forEach(p -> indexarSemLock(TipoCadastro.PACIENTE, p.getId(), nome(p.getUser())));
+            medicoRepository.findAll().forEach(m -> indexarSemLock(TipoCadastro.MEDICO, m.getId(), nome(m.getUser())));
+            enfermeiroRepository.findAll().forEach(e -> indexarSemLock(TipoCadastro.ENFERMEIRO, e.getId(), nome(e.getUser())));
+            log.info("[BUSCA] Índice de nomes carregado: {} cadastros, {} termos", indexados.size(), trie.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<AutocompleteResultDTO> autocomplete(String prefixo, Integer limite) {
+        String normalizado = NomeTrie.normalizar(prefixo);
+        if (normalizado.isEmpty()) {
+            return List.of();
+        }
+        int k = limite == null ? LIMITE_PADRAO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+
+        lock.readLock().lock();
+        try {
+            return trie.buscarPorPrefixo(normalizado, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void indexarPaciente(Paciente paciente) {
+        indexar(TipoCadastro.PACIENTE, paciente.getId(), paciente.getUser());
+    }
+
+    public void indexarMedico(Medico medico) {
+        indexar(TipoCadastro.MEDICO, medico.getId(), medico.getUser());
+    }
+
+    public void indexarEnfermeiro(Enfermeiro enfermeiro) {
+        indexar(TipoCadastro.ENFERMEIRO, enfermeiro.getId(), enfermeiro.getUser());
+    }
+
+    @Transactional(readOnly = true)
+    public void reindexarUsuario(User user) {
+        pacienteRepository.findByUserId(user.getId()).ifPresent(p -> indexar(TipoCadastro.PACIENTE, p.getId(), user));
+        medicoRepository.findByUserId(user.getId()).ifPresent(m -> indexar(TipoCadastro.MEDICO, m.getId(), user));
+        enfermeiroRepository.findByUserId(user.getId()).ifPresent(e -> indexar(TipoCadastro.ENFERMEIRO, e.getId(), user));
+    }
+
+    public void remover(TipoCadastro tipo, Long id) {
+        Transacoes.aposCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removerSemLock(new Chave(tipo, id));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void indexar(TipoCadastro tipo, Long id, User user) {
+        // O nome é lido agora: depois do commit o User pode ser um proxy sem sessão.
+        String nome = nome(user);
+        Transacoes.aposCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                indexarSemLock(tipo, id, nome);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private static String nome(User user) {
+        return user != null ? user.getNome() : null;
+    }
+
+    private void indexarSemLock(TipoCadastro tipo, Long id, String nome) {
+        if (id == null) {
+            return;
+        }
+        Chave chave = new Chave(tipo, id);
+        removerSemLock(chave);
+        if (nome == null || nome.isBlank()) {
+            return;
+        }
+        AutocompleteResultDTO entrada = new AutocompleteResultDTO(tipo, id, nome);
+        for (String termo : termos(nome)) {
+            trie.put(termo, entrada);
+        }
+        indexados.put(chave, entrada);
+    }
+
+    private void removerSemLock(Chave chave) {
+        AutocompleteResultDTO anterior = indexados.remove(chave);
+        if (anterior == null) {
+            return;
+        }
+        for (String termo : termos(anterior.nome())) {
+            trie.remove(termo, anterior);
+        }
+    }
+
+    // Indexa o nome completo e cada sufixo que começa em uma palavra, para que
+    // "silva" encontre "Maria da Silva".
+    private static List<String> termos(String nome) {
+        String normalizado = NomeTrie.normalizar(nome);
+        List<String> termos = new ArrayList<>();
+        int inicio = 0;
+        while (inicio < normalizado.length()) {
+            termos.add(normalizado.substring(inicio));
+            int espaco = normalizado.indexOf(' ', inicio);
+            if (espaco < 0) {
+                break;
+            }
+            inicio = espaco + 1;
+        }
+        return termos;
+    }
+
+    private record Chave(TipoCadastro tipo, Long id) {
+    }
+}
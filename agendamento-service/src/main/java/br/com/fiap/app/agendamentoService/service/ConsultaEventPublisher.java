@@ -0,0 +1,190 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaAgendadaEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publica os eventos de consulta. Com {@code rabbitmq.coalescencia.habilitada},
+ * eventos da mesma consulta dentro da janela são fundidos e só o estado mais recente
+ * é enviado quando a janela da primeira alteração vence. Status terminais saem na hora
+ * e descartam o pendente. Os pendentes ficam só em memória: um crash perde no máximo
+ * uma janela de eventos intermediários.
+ *
+ * <p>A routing key leva a partição ({@code <routing-key>.<n>}), derivada do pacienteId:
+ * todos os eventos de um paciente passam pela mesma fila e chegam em ordem.
+ */
+@Slf4j
+@Service
+public class ConsultaEventPublisher {
+
+    static final Set<String> STATUS_TERMINAIS = Set.of("CONCLUIDA", "CANCELADA", "FALTA_PACIENTE");
+
+    private static final int TRAVAS = 64;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final String exchange;
+    private final String routingKey;
+    private final int particoes;
+    private final boolean coalescer;
+    private final long janelaMillis;
+    private final Counter publicados;
+    private final Counter coalescidos;
+    private final Timer publicacao;
+
+    private final Map<Long, Pendente> pendentes = new ConcurrentHashMap<>();
+    // ReentrantLock e não synchronized: o envio acontece com a trava tomada e, no Java 21,
+    // bloquear dentro de um monitor prende a virtual thread à carrier
+    private final ReentrantLock[] travas = new ReentrantLock[TRAVAS];
+
+    public ConsultaEventPublisher(
+            RabbitTemplate rabbitTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${rabbitmq.exchange}") String exchange,
+            @Value("${rabbitmq.routing-key}") String routingKey,
+            @Value("${rabbitmq.particoes}") int particoes,
+            @Value("${rabbitmq.coalescencia.habilitada:false}") boolean coalescer,
+            @Value("${rabbitmq.coalescencia.janela:2s}") Duration janela) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        this.particoes = particoes;
+        this.coalescer = coalescer;
+        this.janelaMillis = janela.toMillis();
+        this.publicados = Counter.builder("consultas.eventos.publicados")
+                .description("Eventos de consulta enviados ao RabbitMQ")
+                .register(meterRegistry);
+        this.coalescidos = Counter.builder("consultas.eventos.coalescidos")
+                .description("Eventos de consulta substituídos por um mais recente antes do envio")
+                .register(meterRegistry);
+        this.publicacao = Timer.builder("consultas.eventos.publicacao")
+                .description("Tempo de envio de um evento de consulta ao RabbitMQ")
+                .register(meterRegistry);
+        Gauge.builder("consultas.eventos.pendentes", pendentes, Map::size)
+                .description("Eventos aguardando o fim da janela de coalescência")
+                .register(meterRegistry);
+        for (int i = 0; i < TRAVAS; i++) {
+            travas[i] = new ReentrantLock();
+        }
+    }
+
+    public void publicar(ConsultaAgendadaEvent event) {
+        publicar(event, System.currentTimeMillis());
+    }
+
+    void publicar(ConsultaAgendadaEvent event, long agoraMillis) {
+        Long consultaId = event.getConsultaId();
+        if (!coalescer || consultaId == null) {
+            enviar(event);
+            return;
+        }
+        ReentrantLock trava = trava(consultaId);
+        trava.lock();
+        try {
+            Pendente anterior = pendentes.remove(consultaId);
+            if (anterior != null) {
+                coalescidos.increment();
+            }
+            if (STATUS_TERMINAIS.contains(event.getStatus())) {
+                enviar(event);
+                return;
+            }
+            long prazo = anterior != null ? anterior.prazoMillis() : agoraMillis + janelaMillis;
+            pendentes.put(consultaId, new Pendente(event, prazo));
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Publica os eventos de uma alteração em lote num único canal do RabbitTemplate,
+     * em vez de um checkout de canal por mensagem. A coalescência vale como em {@link #publicar}.
+     */
+    public void publicarLote(List<ConsultaAgendadaEvent> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        long agoraMillis = System.currentTimeMillis();
+        rabbitTemplate.invoke(operacoes -> {
+            for (ConsultaAgendadaEvent event : eventos) {
+                publicar(event, agoraMillis);
+            }
+            return eventos.size();
+        });
+    }
+
+    public int pendentes() {
+        return pendentes.size();
+    }
+
+    @Scheduled(fixedDelayString = "${rabbitmq.coalescencia.tick:250ms}")
+    public void descarregar() {
+        if (!pendentes.isEmpty()) {
+            descarregar(System.currentTimeMillis());
+        }
+    }
+
+    int descarregar(long agoraMillis) {
+        int enviados = 0;
+        for (Long consultaId : pendentes.keySet()) {
+            ReentrantLock trava = trava(consultaId);
+            trava.lock();
+            try {
+                Pendente pendente = pendentes.get(consultaId);
+                if (pendente == null || pendente.prazoMillis() > agoraMillis) {
+                    continue;
+                }
+                pendentes.remove(consultaId);
+                try {
+                    enviar(pendente.event());
+                    enviados++;
+                } catch (AmqpException e) {
+                    log.error("Falha ao publicar evento da consulta {}; nova tentativa no próximo ciclo", consultaId, e);
+                    pendentes.put(consultaId, pendente);
+                }
+            } finally {
+                trava.unlock();
+            }
+        }
+        return enviados;
+    }
+
+    @PreDestroy
+    void encerrar() {
+        descarregar(Long.MAX_VALUE);
+    }
+
+    private void enviar(ConsultaAgendadaEvent event) {
+        publicacao.record(() ->
+                rabbitTemplate.convertAndSend(exchange, routingKey + "." + particao(event.getPacienteId()), event));
+        publicados.increment();
+    }
+
+    int particao(Long pacienteId) {
+        return pacienteId == null ? 0 : Math.floorMod(Long.hashCode(pacienteId), particoes);
+    }
+
+    private ReentrantLock trava(Long consultaId) {
+        return travas[(int) (consultaId & (TRAVAS - 1))];
+    }
+
+    private record Pendente(ConsultaAgendadaEvent event, long prazoMillis) {
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
+import br.com.fiap.app.agendamentoService.entity.Consulta;
+import br.com.fiap.app.agendamentoService.enums.FormatoExportacao;
+import br.com.fiap.app.agendamentoService.mapper.ConsultaMapper;
+import br.com.fiap.app.agendamentoService.repository.ConsultaRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Exporta consultas direto para o {@link OutputStream} da resposta, lendo o banco
+ * com cursor ({@link ConsultaRepository#EXPORT_FETCH_SIZE} linhas por vez) e
+ * limpando o contexto de persistência a cada lote, para manter a memória constante.
+ * As linhas saem ordenadas por ID: para retomar uma exportação interrompida,
+ * basta informar em {@code aposId} o último ID recebido. O histórico do paciente
+ * inclui as consultas arquivadas.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConsultaExportService {
+
+    static final String CSV_HEADER = "id,dataHora,status,medicoId,medicoNome,medicoCrm,especialidade,"
+            + "pacienteId,pacienteNome,pacienteCpf,enfermeiroId,enfermeiroNome,"
+            + "motivo,observacoes,diagnostico,prescricao,dataCriacao,dataAlteracao";
+
+    private final ConsultaRepository consultaRepository;
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+    private final ArquivamentoConsultaService arquivamentoConsultaService;
+
+    @Transactional(readOnly = true)
+    public long exportarHistoricoPaciente(Long pacienteId, Long aposId, FormatoExportacao formato, OutputStream out)
+            throws IOException {
+        try (Stream<Consulta> consultas = consultaRepository.streamHistoricoPaciente(pacienteId, cursor(aposId));
+                Stream<ConsultaResponseDTO> arquivadas =
+                        arquivamentoConsultaService.streamHistoricoArquivado(pacienteId, cursor(aposId))) {
+            return escrever(mesclarPorId(consultas.map(ConsultaMapper::toDTO).iterator(), arquivadas.iterator()),
+                    formato, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportarPorPeriodo(LocalDateTime inicio, LocalDateTime fim, Long aposId, FormatoExportacao formato,
+            OutputStream out) throws IOException {
+        try (Stream<Consulta> consultas = consultaRepository.streamByPeriodo(inicio, fim, cursor(aposId))) {
+            return escrever(consultas.map(ConsultaMapper::toDTO).iterator(), formato, out);
+        }
+    }
+
+    private long escrever(Iterator<ConsultaResponseDTO> consultas, FormatoExportacao formato, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (formato == FormatoExportacao.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long total = 0;
+        while (consultas.hasNext()) {
+            ConsultaResponseDTO dto = consultas.next();
+            writer.write(formato == FormatoExportacao.CSV ? toCsv(dto) : jsonMapper.writeValueAsString(dto));
+            writer.write('\n');
+            if (++total % ConsultaRepository.EXPORT_FETCH_SIZE == 0) {
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return total;
+    }
+
+    // Intercala duas sequências já ordenadas por ID, mantendo o cursor "apos" válido
+    // para consultas ativas e arquivadas.
+    static Iterator<ConsultaResponseDTO> mesclarPorId(Iterator<ConsultaResponseDTO> a, Iterator<ConsultaResponseDTO> b) {
+        PeekingIterator<ConsultaResponseDTO> primeiro = new PeekingIterator<>(a);
+        PeekingIterator<ConsultaResponseDTO> segundo = new PeekingIterator<>(b);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return primeiro.hasNext() || segundo.hasNext();
+            }
+
+            @Override
+            public ConsultaResponseDTO next() {
+                if (!segundo.hasNext()) {
+                    return primeiro.next();
+                }
+                if (!primeiro.hasNext()) {
+                    return segundo.next();
+                }
+                return primeiro.peek().getId() <= segundo.peek().getId() ? primeiro.next() : segundo.next();
+            }
+        };
+    }
+
+    private static long cursor(Long aposId) {
+        return aposId == null ? 0L : aposId;
+    }
+
+    static String toCsv(ConsultaResponseDTO dto) {
+        StringBuilder linha = new StringBuilder(256);
+        boolean temMedico = dto.getMedico() != null;
+        boolean temPaciente = dto.getPaciente() != null;
+        boolean temEnfermeiro = dto.getEnfermeiro() != null;
+        campo(linha, dto.getId(), false);
+        campo(linha, dto.getDataHora(), true);
+        campo(linha, dto.getStatus(), true);
+        campo(linha, temMedico ? dto.getMedico().getId() : null, true);
+        campo(linha, temMedico ? dto.getMedico().getNome() : null, true);
+        campo(linha, temMedico ? dto.getMedico().getCrm() : null, true);
+        campo(linha, temMedico ? dto.getMedico().getEspecialidade() : null, true);
+        campo(linha, temPaciente ? dto.getPaciente().getId() : null, true);
+        campo(linha, temPaciente ? dto.getPaciente().getNome() : null, true);
+        campo(linha, temPaciente ? dto.getPaciente().getCpf() : null, true);
+        campo(linha, temEnfermeiro ? dto.getEnfermeiro().getId() : null, true);
+        campo(linha, temEnfermeiro ? dto.getEnfermeiro().getNome() : null, true);
+        campo(linha, dto.getMotivo(), true);
+        campo(linha, dto.getObservacoes(), true);
+        campo(linha, dto.getDiagnostico(), true);
+        campo(linha, dto.getPrescricao(), true);
+        campo(linha, dto.getDataCriacao(), true);
+        campo(linha, dto.getDataAlteracao(), true);
+        return linha.toString();
+    }
+
+    private static void campo(StringBuilder linha, Object valor, boolean separador) {
+        if (separador) {
+            linha.append(',');
+        }
+        if (valor == null) {
+            return;
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            linha.append(texto);
+            return;
+        }
+        linha.append('"').append(texto.replace("\"", "\"\"")).append('"');
+    }
+
+    private static final class PeekingIterator<T> {
+        private final Iterator<T> delegate;
+        private T proximo;
+
+        private PeekingIterator(Iterator<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        private boolean hasNext() {
+            return proximo != null || delegate.hasNext();
+        }
+
+        private T peek() {
+            if (proximo == null) {
+                proximo = delegate.next();
+            }
+            return proximo;
+        }
+
+        private T next() {
+            T valor = peek();
+            proximo = null;
+            return valor;
+        }
+    }
+}
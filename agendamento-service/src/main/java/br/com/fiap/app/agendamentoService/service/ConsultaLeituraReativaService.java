@@ -0,0 +1,47 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Service;
+
+import br.com.fiap.app.agendamentoService.constants.EntityNames;
+import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
+import br.com.fiap.app.agendamentoService.exception.ResourceNotFoundException;
+import br.com.fiap.app.agendamentoService.repository.ConsultaLeituraReativaRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caminho de leitura não bloqueante das consultas, ao lado do {@link ConsultaService}
+ * (que segue com as escritas via JPA). Enquanto espera o banco, nenhuma thread fica
+ * presa: a concorrência de leitura é limitada pelo pool R2DBC, não pelo Tomcat.
+ * Mesmas regras das versões JPA, inclusive o 404 para médico ou paciente inexistente.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConsultaLeituraReativaService {
+
+    private final ConsultaLeituraReativaRepository consultaLeituraReativaRepository;
+
+    public Flux<ConsultaResponseDTO> getConsultasByMedico(Long medicoId) {
+        return exigir(consultaLeituraReativaRepository.existsMedico(medicoId), EntityNames.MEDICO, medicoId)
+                .thenMany(Flux.defer(() -> consultaLeituraReativaRepository.findByMedico(medicoId)));
+    }
+
+    public Flux<ConsultaResponseDTO> getConsultasByPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        return consultaLeituraReativaRepository.findByPeriodo(inicio, fim);
+    }
+
+    public Flux<ConsultaResponseDTO> getConsultasFuturasPorPaciente(Long pacienteId) {
+        return exigir(consultaLeituraReativaRepository.existsPaciente(pacienteId), EntityNames.PACIENTE, pacienteId)
+                .thenMany(Flux.defer(() ->
+                        consultaLeituraReativaRepository.findFuturasPorPaciente(pacienteId, LocalDateTime.now())));
+    }
+
+    private static Mono<Void> exigir(Mono<Boolean> existe, String entidade, Long id) {
+        return existe.flatMap(encontrado -> encontrado
+                ? Mono.<Void>empty()
+                : Mono.error(new ResourceNotFoundException(entidade, "ID", id)));
+    }
+}
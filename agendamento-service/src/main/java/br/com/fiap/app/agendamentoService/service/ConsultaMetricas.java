@@ -0,0 +1,35 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import br.com.fiap.app.agendamentoService.util.Transacoes;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Contador {@value #TRANSICOES} com as tags {@code de} e {@code para}. Consultas novas
+ * entram com {@code de=NOVA}. Como as estatísticas, só conta depois do commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsultaMetricas {
+
+    static final String TRANSICOES = "consultas.status.transicoes";
+    static final String NOVA = "NOVA";
+
+    private final MeterRegistry meterRegistry;
+
+    public void registrarTransicao(StatusConsulta anterior, StatusConsulta atual) {
+        registrarTransicoes(anterior, atual, 1);
+    }
+
+    public void registrarTransicoes(StatusConsulta anterior, StatusConsulta atual, int quantidade) {
+        if (atual == null || anterior == atual || quantidade <= 0) {
+            return;
+        }
+        String de = anterior != null ? anterior.name() : NOVA;
+        Transacoes.aposCommit(
+                () -> meterRegistry.counter(TRANSICOES, "de", de, "para", atual.name()).increment(quantidade));
+    }
+}
@@ -1,10 +1,12 @@
 package br.com.fiap.app.agendamentoService.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.UUID;
 
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,30 +20,36 @@ import br.com.fiap.app.agendamentoService.entity.Paciente;
 import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
 import br.com.fiap.app.agendamentoService.exception.BusinessException;
 import br.com.fiap.app.agendamentoService.exception.ResourceNotFoundException;
+import br.com.fiap.app.agendamentoService.exception.VersaoDesatualizadaException;
 import br.com.fiap.app.agendamentoService.mapper.ConsultaMapper;
 import br.com.fiap.app.agendamentoService.repository.ConsultaRepository;
 import br.com.fiap.app.agendamentoService.repository.EnfermeiroRepository;
 import br.com.fiap.app.agendamentoService.repository.MedicoRepository;
 import br.com.fiap.app.agendamentoService.repository.PacienteRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Observed(name = "servico.metodo")
 @RequiredArgsConstructor
 @Transactional
 public class ConsultaService {
 
+    // Tamanho da coluna consultas.observacoes
+    private static final int OBSERVACOES_MAXIMO = 1000;
+    static final int MOTIVO_CANCELAMENTO_MAXIMO = 500;
+    private static final String SEPARADOR_OBSERVACOES = "\n";
+
     private final ConsultaRepository consultaRepository;
     private final MedicoRepository medicoRepository;
     private final PacienteRepository pacienteRepository;
     private final EnfermeiroRepository enfermeiroRepository;
 
-    private final RabbitTemplate rabbitTemplate;
-
-    @Value("${rabbitmq.exchange}")
-    private String exchange;
+    private final EstatisticaService estatisticaService;
+    private final ArquivamentoConsultaService arquivamentoConsultaService;
 
-    @Value("${rabbitmq.routing-key}")
-    private String routingKey;
+    private final ConsultaEventPublisher consultaEventPublisher;
+    private final ConsultaMetricas consultaMetricas;
 
     public Consulta createConsulta(Consulta request) {
         Medico medico = medicoRepository.findById(request.getMedicoId())
@@ -72,6 +80,8 @@ public class ConsultaService {
 
         Consulta savedConsulta = consultaRepository.save(consulta);
 
+        estatisticaService.registrarCriacao(savedConsulta);
+        consultaMetricas.registrarTransicao(null, savedConsulta.getStatus());
         publishConsultaEvent(savedConsulta, savedConsulta.getMotivo());
 
         return savedConsulta;
@@ -130,9 +140,25 @@ public class ConsultaService {
         return consultaRepository.findConsultasParaNotificacao(LocalDateTime.now(), statuses);
     }
 
-    public Consulta updateConsulta(Long id, Consulta request) {
-        Consulta consulta = consultaRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(EntityNames.CONSULTA, "ID", id));
+    /**
+     * Estado atual das consultas com lembrete pendente (agendadas, confirmadas ou
+     * reagendadas) até {@code horizonte} à frente, para o notificacao-service reconstruir
+     * os lembretes que perdeu ao reiniciar.
+     */
+    @Transactional(readOnly = true)
+    public List<ConsultaAgendadaEvent> getEventosParaLembretes(Duration horizonte) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<StatusConsulta> statuses = List.of(StatusConsulta.AGENDADA, StatusConsulta.CONFIRMADA,
+                StatusConsulta.REAGENDADA);
+        return consultaRepository.findParaLembretes(statuses, agora, agora.plus(horizonte)).stream()
+                .map(consulta -> buildConsultaEvent(consulta, consulta.getMotivo()))
+                .toList();
+    }
+
+    public Consulta updateConsulta(Long id, Consulta request, Long versaoEsperada) {
+        Consulta consulta = buscarParaAlterar(id, versaoEsperada);
+        LocalDateTime dataHoraAnterior = consulta.getDataHora();
+        StatusConsulta statusAnterior = consulta.getStatus();
 
         if (request.getDataHora() != null) {
             if (request.getDataHora().isBefore(LocalDateTime.now())) {
@@ -140,7 +166,8 @@ public class ConsultaService {
             }
             consulta.setDataHora(request.getDataHora());
         }
-        if (request.getStatus() != null) {
+        if (request.getStatus() != null && request.getStatus() != statusAnterior) {
+            validarTransicao(statusAnterior, request.getStatus());
             consulta.setStatus(request.getStatus());
         }
         if (request.getMotivo() != null) {
@@ -157,43 +184,98 @@ public class ConsultaService {
         }
 
         consulta.setDataAlteracao(LocalDateTime.now());
-        Consulta updated = consultaRepository.save(consulta);
+        // O @Version faz o UPDATE falhar se outra transação gravou depois da leitura; o flush
+        // incrementa a versão agora, antes de ela seguir no evento.
+        Consulta updated = consultaRepository.saveAndFlush(consulta);
 
+        estatisticaService.registrarAlteracao(dataHoraAnterior, statusAnterior, updated);
+        consultaMetricas.registrarTransicao(statusAnterior, updated.getStatus());
         publishConsultaEvent(updated, updated.getMotivo());
 
         return updated;
     }
 
-    public Consulta updateStatusConsulta(Long id, StatusConsulta status) {
-        Consulta consulta = consultaRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(EntityNames.CONSULTA, "ID", id));
+    public Consulta updateStatusConsulta(Long id, StatusConsulta status, Long versaoEsperada) {
+        Consulta consulta = buscarParaAlterar(id, versaoEsperada);
+        StatusConsulta statusAnterior = consulta.getStatus();
+        if (statusAnterior == status) {
+            return consulta;
+        }
+        validarTransicao(statusAnterior, status);
 
-        consulta.setStatus(status);
-        consulta.setDataAlteracao(LocalDateTime.now());
-        Consulta updated = consultaRepository.save(consulta);
+        LocalDateTime agora = LocalDateTime.now();
+        int alteradas = consultaRepository.atualizarStatus(id, consulta.getVersao(),
+                StatusConsulta.origensDe(status), status, agora);
+        exigirAlteracao(alteradas, id);
+        aplicarTransicao(consulta, status, agora);
 
-        publishConsultaEvent(updated, updated.getMotivo());
+        estatisticaService.registrarAlteracao(consulta.getDataHora(), statusAnterior, consulta);
+        consultaMetricas.registrarTransicao(statusAnterior, status);
+        publishConsultaEvent(consulta, consulta.getMotivo());
 
-        return updated;
+        return consulta;
     }
 
     public void deleteConsulta(Long id) {
         Consulta consulta = consultaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(EntityNames.CONSULTA, "ID", id));
         consultaRepository.delete(consulta);
+        estatisticaService.registrarExclusao(consulta);
     }
 
-    public void cancelarConsulta(Long id, String motivo) {
-        Consulta consulta = consultaRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(EntityNames.CONSULTA, "ID", id));
+    public void cancelarConsulta(Long id, String motivo, Long versaoEsperada) {
+        Consulta consulta = buscarParaAlterar(id, versaoEsperada);
+        StatusConsulta statusAnterior = consulta.getStatus();
+        validarTransicao(statusAnterior, StatusConsulta.CANCELADA);
 
-        consulta.setStatus(StatusConsulta.CANCELADA);
-        String observacoesAtuais = consulta.getObservacoes() != null ? consulta.getObservacoes() : "";
-        consulta.setObservacoes(observacoesAtuais + "\nCANCELAMENTO: " + motivo);
-        consulta.setDataAlteracao(LocalDateTime.now());
-        Consulta cancelada = consultaRepository.save(consulta);
+        if (motivo != null && motivo.length() > MOTIVO_CANCELAMENTO_MAXIMO) {
+            throw new BusinessException("Motivo do cancelamento deve ter no máximo " + MOTIVO_CANCELAMENTO_MAXIMO + " caracteres");
+        }
+
+        // A linha de cancelamento é anexada no próprio UPDATE, sem reescrever as observações lidas.
+        String linha = "CANCELAMENTO: " + motivo;
+        int espaco = OBSERVACOES_MAXIMO - SEPARADOR_OBSERVACOES.length() - linha.length();
+        LocalDateTime agora = LocalDateTime.now();
+        int alteradas = consultaRepository.atualizarStatusComObservacao(id, consulta.getVersao(),
+                StatusConsulta.origensDe(StatusConsulta.CANCELADA), StatusConsulta.CANCELADA, agora,
+                SEPARADOR_OBSERVACOES, linha, espaco);
+        exigirAlteracao(alteradas, id);
+        String anteriores = consulta.getObservacoes();
+        consulta.setObservacoes(anteriores == null ? linha
+                : anteriores.substring(0, Math.min(anteriores.length(), espaco)) + SEPARADOR_OBSERVACOES + linha);
+        aplicarTransicao(consulta, StatusConsulta.CANCELADA, agora);
+
+        estatisticaService.registrarAlteracao(consulta.getDataHora(), statusAnterior, consulta);
+        consultaMetricas.registrarTransicao(statusAnterior, StatusConsulta.CANCELADA);
+        publishConsultaEvent(consulta, motivo);
+    }
+
+    /**
+     * Muda de {@code de} para {@code para} todas as consultas do período (e do médico, se
+     * informado) num único UPDATE, relê as alteradas para as estatísticas e publica os
+     * eventos de uma vez. Devolve quantas consultas mudaram.
+     */
+    public int alterarStatusEmLote(StatusConsulta de, StatusConsulta para, LocalDateTime inicio, LocalDateTime fim,
+            Long medicoId) {
+        if (inicio == null || fim == null || fim.isBefore(inicio)) {
+            throw new BusinessException("Período inválido: a data final deve ser igual ou posterior à inicial");
+        }
+        validarTransicao(de, para);
 
-        publishConsultaEvent(cancelada, motivo);
+        // Na precisão da coluna, para a releitura encontrar exatamente o valor gravado.
+        LocalDateTime agora = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int alteradas = consultaRepository.atualizarStatusEmLote(de, para, inicio, fim, medicoId, agora);
+        if (alteradas == 0) {
+            return 0;
+        }
+        List<Consulta> consultas = consultaRepository.findAlteradasEmLote(para, agora, inicio, fim);
+
+        estatisticaService.registrarAlteracoes(de, consultas);
+        consultaMetricas.registrarTransicoes(de, para, alteradas);
+        consultaEventPublisher.publicarLote(consultas.stream()
+                .map(consulta -> buildConsultaEvent(consulta, consulta.getMotivo()))
+                .toList());
+        return alteradas;
     }
 
     // DTO Methods for simplified responses
@@ -247,13 +329,47 @@ public class ConsultaService {
 
     @Transactional(readOnly = true)
     public List<ConsultaResponseDTO> getHistoricoCompletoPacienteDTO(Long pacienteId) {
-        return consultaRepository.findHistoricoCompletoPaciente(pacienteId).stream()
+        List<ConsultaResponseDTO> quente = consultaRepository.findHistoricoCompletoPaciente(pacienteId).stream()
                 .map(ConsultaMapper::toDTO)
                 .toList();
+        return arquivamentoConsultaService.mesclarHistorico(quente, pacienteId);
+    }
+
+    private Consulta buscarParaAlterar(Long id, Long versaoEsperada) {
+        Consulta consulta = consultaRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(EntityNames.CONSULTA, "ID", id));
+        if (versaoEsperada != null && !versaoEsperada.equals(consulta.getVersao())) {
+            throw new VersaoDesatualizadaException(EntityNames.CONSULTA, id, versaoEsperada, consulta.getVersao());
+        }
+        return consulta;
+    }
+
+    private static void validarTransicao(StatusConsulta de, StatusConsulta para) {
+        if (!de.podeIrPara(para)) {
+            throw new BusinessException("Transição de status não permitida: " + de + " -> " + para);
+        }
+    }
+
+    private static void exigirAlteracao(int alteradas, Long id) {
+        if (alteradas == 0) {
+            throw new ObjectOptimisticLockingFailureException(Consulta.class, id);
+        }
+    }
+
+    // O UPDATE em lote limpou o contexto de persistência: a entidade lida fica destacada
+    // e recebe aqui o estado que foi gravado, para a resposta, o evento e as estatísticas.
+    private static void aplicarTransicao(Consulta consulta, StatusConsulta status, LocalDateTime agora) {
+        consulta.setStatus(status);
+        consulta.setDataAlteracao(agora);
+        consulta.setVersao(consulta.getVersao() + 1);
     }
 
     private void publishConsultaEvent(Consulta consulta, String motivo) {
-        ConsultaAgendadaEvent event = ConsultaAgendadaEvent.builder()
+        consultaEventPublisher.publicar(buildConsultaEvent(consulta, motivo));
+    }
+
+    private static ConsultaAgendadaEvent buildConsultaEvent(Consulta consulta, String motivo) {
+        return ConsultaAgendadaEvent.builder()
                 .consultaId(consulta.getId())
                 .pacienteId(consulta.getPaciente().getId())
                 .pacienteNome(consulta.getPaciente().getUser().getNome())
@@ -261,7 +377,8 @@ public class ConsultaService {
                 .dataHora(consulta.getDataHora())
                 .status(consulta.getStatus().name())
                 .motivo(motivo)
+                .eventId(UUID.randomUUID().toString())
+                .version(consulta.getVersao())
                 .build();
-        rabbitTemplate.convertAndSend(exchange, routingKey, event);
     }
 }
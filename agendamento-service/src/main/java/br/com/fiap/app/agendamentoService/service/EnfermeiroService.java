@@ -8,21 +8,28 @@ import org.springframework.transaction.annotation.Transactional;
 import br.com.fiap.app.agendamentoService.constants.EntityNames;
 import br.com.fiap.app.agendamentoService.entity.Enfermeiro;
 import br.com.fiap.app.agendamentoService.entity.User;
+import br.com.fiap.app.agendamentoService.enums.TipoCadastro;
+import br.com.fiap.app.agendamentoService.enums.TipoIdentificador;
 import br.com.fiap.app.agendamentoService.exception.BusinessException;
 import br.com.fiap.app.agendamentoService.exception.ResourceNotFoundException;
 import br.com.fiap.app.agendamentoService.repository.EnfermeiroRepository;
 import br.com.fiap.app.agendamentoService.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Observed(name = "servico.metodo")
 @RequiredArgsConstructor
 @Transactional
 public class EnfermeiroService {
 
     private final EnfermeiroRepository enfermeiroRepository;
     private final UserRepository userRepository;
+    private final BuscaService buscaService;
+    private final IdentificadorService identificadorService;
 
     public Enfermeiro createEnfermeiro(Enfermeiro request) {
+        request.setCoren(IdentificadorService.normalizarParaGravar(request.getCoren()));
         if (enfermeiroRepository.existsByCoren(request.getCoren())) {
             throw new BusinessException("COREN já existe: " + request.getCoren());
         }
@@ -32,7 +39,10 @@ public class EnfermeiroService {
 
         request.setUser(user);
         request.setAtivo(true);
-        return enfermeiroRepository.save(request);
+        Enfermeiro saved = enfermeiroRepository.save(request);
+        identificadorService.registrar(TipoIdentificador.COREN, saved.getCoren(), saved.getId());
+        buscaService.indexarEnfermeiro(saved);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -43,7 +53,11 @@ public class EnfermeiroService {
 
     @Transactional(readOnly = true)
     public Enfermeiro getEnfermeiroByCoren(String coren) {
-        return enfermeiroRepository.findByCoren(coren)
+        String normalizado = IdentificadorService.normalizar(coren);
+        return identificadorService.resolver(TipoIdentificador.COREN, normalizado)
+                .flatMap(enfermeiroRepository::findById)
+                .filter(e -> IdentificadorService.corresponde(e.getCoren(), normalizado))
+                .or(() -> enfermeiroRepository.findByCoren(normalizado))
                 .orElseThrow(() -> new ResourceNotFoundException(EntityNames.ENFERMEIRO, "COREN", coren));
     }
 
@@ -91,9 +105,12 @@ public class EnfermeiroService {
     public Enfermeiro updateEnfermeiro(Long id, Enfermeiro request) {
         Enfermeiro enfermeiro = enfermeiroRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(EntityNames.ENFERMEIRO, "ID", id));
+        String corenAnterior = enfermeiro.getCoren();
+        request.setCoren(IdentificadorService.normalizarParaGravar(request.getCoren()));
 
         if (request.getCoren() != null) {
-            if (!enfermeiro.getCoren().equals(request.getCoren()) && enfermeiroRepository.existsByCoren(request.getCoren())) {
+            if (!enfermeiro.getCoren().equals(request.getCoren())
+                    && enfermeiroRepository.existsByCoren(request.getCoren())) {
                 throw new BusinessException("COREN já existe: " + request.getCoren());
             }
             enfermeiro.setCoren(request.getCoren());
@@ -114,13 +131,18 @@ public class EnfermeiroService {
             enfermeiro.setAtivo(request.getAtivo());
         }
 
-        return enfermeiroRepository.save(enfermeiro);
+        Enfermeiro updated = enfermeiroRepository.save(enfermeiro);
+        identificadorService.atualizar(TipoIdentificador.COREN, corenAnterior, updated.getCoren(), updated.getId());
+        buscaService.indexarEnfermeiro(updated);
+        return updated;
     }
 
     public void deleteEnfermeiro(Long id) {
         Enfermeiro enfermeiro = enfermeiroRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(EntityNames.ENFERMEIRO, "ID", id));
         enfermeiroRepository.delete(enfermeiro);
+        identificadorService.remover(TipoIdentificador.COREN, enfermeiro.getCoren(), id);
+        buscaService.remover(TipoCadastro.ENFERMEIRO, id);
     }
 
     public void deactivateEnfermeiro(Long id) {
@@ -0,0 +1,226 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.fiap.app.agendamentoService.dto.ContagemConsultaDiaria;
+import br.com.fiap.app.agendamentoService.dto.ContagemStatusDTO;
+import br.com.fiap.app.agendamentoService.dto.EstatisticaConsultaDTO;
+import br.com.fiap.app.agendamentoService.entity.Consulta;
+import br.com.fiap.app.agendamentoService.enums.AgrupamentoEstatistica;
+import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import br.com.fiap.app.agendamentoService.exception.BusinessException;
+import br.com.fiap.app.agendamentoService.repository.ConsultaArquivadaRepository;
+import br.com.fiap.app.agendamentoService.repository.ConsultaRepository;
+import br.com.fiap.app.agendamentoService.util.Transacoes;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Contadores de consultas por dia x médico x especialidade x status, mantidos em memória.
+ * São reconstruídos por uma agregação no banco (consultas ativas e arquivadas) na subida
+ * da aplicação e, depois disso, ajustados pelo {@link ConsultaService} nos mesmos pontos
+ * em que o evento da consulta é publicado. As consultas custam O(buckets do período), independente do número de linhas.
+ */
+@Slf4j
+@Service
+@Observed(name = "servico.metodo")
+@RequiredArgsConstructor
+public class EstatisticaService {
+
+    private static final int TOTAL_STATUS = StatusConsulta.values().length;
+
+    private final ConsultaRepository consultaRepository;
+    private final ConsultaArquivadaRepository consultaArquivadaRepository;
+
+    private final ConcurrentNavigableMap<LocalDate, ConcurrentMap<Bucket, AtomicLongArray>> contadores =
+            new ConcurrentSkipListMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean carregado;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregarContadores() {
+        lock.writeLock().lock();
+        try {
+            contadores.clear();
+            List<ContagemConsultaDiaria> contagens = new ArrayList<>(consultaRepository.contarPorDiaMedicoEStatus());
+            contagens.addAll(consultaArquivadaRepository.contarPorDiaMedicoEStatus());
+            for (ContagemConsultaDiaria c : contagens) {
+                incrementar(c.dia(), new Bucket(c.medicoId(), c.especialidade()), c.status(), c.quantidade());
+            }
+            carregado = true;
+            log.info("[ESTATISTICA] Contadores carregados: {} dias, {} agregados", contadores.size(), contagens.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void registrarCriacao(Consulta consulta) {
+        Posicao atual = Posicao.de(consulta);
+        aplicar(() -> ajustar(atual, 1));
+    }
+
+    /**
+     * Move a consulta do bucket anterior para o atual. Deve receber a data e o status
+     * lidos antes da alteração da entidade.
+     */
+    public void registrarAlteracao(LocalDateTime dataHoraAnterior, StatusConsulta statusAnterior, Consulta consulta) {
+        Posicao atual = Posicao.de(consulta);
+        Posicao anterior = new Posicao(dataHoraAnterior, atual.bucket(), statusAnterior);
+        if (anterior.equals(atual)) {
+            return;
+        }
+        aplicar(() -> {
+            ajustar(anterior, -1);
+            ajustar(atual, 1);
+        });
+    }
+
+    /** Versão em lote de {@link #registrarAlteracao}, para consultas que saíram todas do mesmo status. */
+    public void registrarAlteracoes(StatusConsulta statusAnterior, List<Consulta> consultas) {
+        if (consultas.isEmpty()) {
+            return;
+        }
+        List<Posicao> atuais = consultas.stream().map(Posicao::de).toList();
+        aplicar(() -> {
+            for (Posicao atual : atuais) {
+                ajustar(new Posicao(atual.dataHora(), atual.bucket(), statusAnterior), -1);
+                ajustar(atual, 1);
+            }
+        });
+    }
+
+    public void registrarExclusao(Consulta consulta) {
+        Posicao atual = Posicao.de(consulta);
+        aplicar(() -> ajustar(atual, -1));
+    }
+
+    public List<EstatisticaConsultaDTO> consultar(LocalDate inicio, LocalDate fim, AgrupamentoEstatistica agrupamento,
+            Long medicoId, Especialidade especialidade) {
+        if (inicio == null || fim == null || fim.isBefore(inicio)) {
+            throw new BusinessException("Período inválido: a data final deve ser igual ou posterior à inicial");
+        }
+        AgrupamentoEstatistica tipo = agrupamento == null ? AgrupamentoEstatistica.DIA_MEDICO : agrupamento;
+
+        Map<Object, Acumulador> grupos = new LinkedHashMap<>();
+        contadores.subMap(inicio, true, fim, true).forEach((dia, buckets) -> buckets.forEach((bucket, porStatus) -> {
+            if (medicoId != null && !medicoId.equals(bucket.medicoId())) {
+                return;
+            }
+            if (especialidade != null && especialidade != bucket.especialidade()) {
+                return;
+            }
+            Acumulador acumulador = switch (tipo) {
+                case DIA_MEDICO -> grupos.computeIfAbsent(new DiaBucket(dia, bucket),
+                        k -> new Acumulador(dia, bucket.medicoId(), bucket.especialidade()));
+                case MEDICO -> grupos.computeIfAbsent(bucket,
+                        k -> new Acumulador(null, bucket.medicoId(), bucket.especialidade()));
+                case ESPECIALIDADE -> grupos.computeIfAbsent(bucket.especialidade(),
+                        k -> new Acumulador(null, null, bucket.especialidade()));
+            };
+            acumulador.somar(porStatus);
+        }));
+
+        return grupos.values().stream()
+                .map(Acumulador::toDTO)
+                .filter(dto -> dto.getTotal() > 0)
+                .toList();
+    }
+
+    // Só mexe nos contadores depois do commit, para não contar alterações que sofreram rollback.
+    private void aplicar(Runnable ajuste) {
+        Transacoes.aposCommit(ajuste);
+    }
+
+    private void ajustar(Posicao posicao, long delta) {
+        if (posicao.dataHora() == null || posicao.status() == null) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            if (carregado) {
+                incrementar(posicao.dataHora().toLocalDate(), posicao.bucket(), posicao.status(), delta);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void incrementar(LocalDate dia, Bucket bucket, StatusConsulta status, long delta) {
+        contadores.computeIfAbsent(dia, d -> new ConcurrentHashMap<>())
+                .computeIfAbsent(bucket, b -> new AtomicLongArray(TOTAL_STATUS))
+                .addAndGet(status.ordinal(), delta);
+    }
+
+    private record Bucket(Long medicoId, Especialidade especialidade) {
+    }
+
+    private record DiaBucket(LocalDate dia, Bucket bucket) {
+    }
+
+    private record Posicao(LocalDateTime dataHora, Bucket bucket, StatusConsulta status) {
+
+        static Posicao de(Consulta consulta) {
+            Long medicoId = consulta.getMedico() != null ? consulta.getMedico().getId() : null;
+            Especialidade especialidade = consulta.getMedico() != null ? consulta.getMedico().getEspecialidade() : null;
+            return new Posicao(consulta.getDataHora(), new Bucket(medicoId, especialidade), consulta.getStatus());
+        }
+    }
+
+    private static final class Acumulador {
+        private final LocalDate dia;
+        private final Long medicoId;
+        private final Especialidade especialidade;
+        private final long[] porStatus = new long[TOTAL_STATUS];
+
+        private Acumulador(LocalDate dia, Long medicoId, Especialidade especialidade) {
+            this.dia = dia;
+            this.medicoId = medicoId;
+            this.especialidade = especialidade;
+        }
+
+        private void somar(AtomicLongArray valores) {
+            for (int i = 0; i < TOTAL_STATUS; i++) {
+                porStatus[i] += valores.get(i);
+            }
+        }
+
+        private EstatisticaConsultaDTO toDTO() {
+            long total = 0;
+            List<ContagemStatusDTO> contagens = new ArrayList<>();
+            for (StatusConsulta status : StatusConsulta.values()) {
+                long quantidade = porStatus[status.ordinal()];
+                total += quantidade;
+                if (quantidade > 0) {
+                    contagens.add(new ContagemStatusDTO(status, quantidade));
+                }
+            }
+            return new EstatisticaConsultaDTO(dia, medicoId, especialidade, total, contagens,
+                    taxa(StatusConsulta.FALTA_PACIENTE, total),
+                    taxa(StatusConsulta.CANCELADA, total));
+        }
+
+        private double taxa(StatusConsulta status, long total) {
+            return total == 0 ? 0.0 : (double) porStatus[status.ordinal()] / total;
+        }
+    }
+}
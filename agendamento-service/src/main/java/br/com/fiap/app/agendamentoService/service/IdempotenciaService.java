@@ -0,0 +1,118 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import br.com.fiap.app.agendamentoService.exception.BusinessException;
+import br.com.fiap.app.agendamentoService.exception.ChaveIdempotenciaException;
+import br.com.fiap.app.agendamentoService.exception.RequisicaoEmAndamentoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Guarda, por usuário e Idempotency-Key, o hash da requisição e o resultado da primeira
+ * execução, por {@code idempotencia.ttl}. Repetições recebem o mesmo resultado sem
+ * executar de novo; repetições que chegam enquanto a primeira ainda roda esperam por
+ * ela até {@code idempotencia.espera} e depois recebem 409. Se a primeira falhar, a chave
+ * é liberada e a próxima tentativa executa de verdade.
+ * O registro é por instância, em memória.
+ */
+@Service
+public class IdempotenciaService {
+
+    static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final long ttlMillis;
+    private final long esperaMillis;
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final Counter repeticoes;
+
+    public IdempotenciaService(MeterRegistry meterRegistry, @Value("${idempotencia.ttl:24h}") Duration ttl,
+            @Value("${idempotencia.espera:30s}") Duration espera) {
+        this.ttlMillis = ttl.toMillis();
+        this.esperaMillis = espera.toMillis();
+        this.repeticoes = Counter.builder("idempotencia.repeticoes")
+                .description("Requisições respondidas com o resultado de uma execução anterior")
+                .register(meterRegistry);
+        Gauge.builder("idempotencia.chaves", entradas, Map::size)
+                .description("Chaves de idempotência guardadas")
+                .register(meterRegistry);
+    }
+
+    public <T> Resultado<T> executar(String usuario, String chave, String hashRequisicao, Supplier<T> operacao) {
+        return executar(usuario, chave, hashRequisicao, operacao, System.currentTimeMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Resultado<T> executar(String usuario, String chave, String hashRequisicao, Supplier<T> operacao, long agoraMillis) {
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new BusinessException("Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+        String id = usuario + "\n" + chave;
+        Entrada nova = new Entrada(hashRequisicao, new CompletableFuture<>(), agoraMillis + ttlMillis);
+        Entrada existente;
+        while ((existente = entradas.putIfAbsent(id, nova)) != null) {
+            if (existente.expiraEm() > agoraMillis) {
+                if (!existente.hash().equals(hashRequisicao)) {
+                    throw new ChaveIdempotenciaException("Idempotency-Key já usada com outra requisição: " + chave);
+                }
+                repeticoes.increment();
+                return new Resultado<>((T) aguardar(existente.resultado(), chave), true);
+            }
+            entradas.remove(id, existente);
+        }
+
+        try {
+            T resultado = operacao.get();
+            nova.resultado().complete(resultado);
+            return new Resultado<>(resultado, false);
+        } catch (RuntimeException e) {
+            entradas.remove(id, nova);
+            nova.resultado().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotencia.limpeza:1m}")
+    public void limpar() {
+        limpar(System.currentTimeMillis());
+    }
+
+    void limpar(long agoraMillis) {
+        entradas.values().removeIf(entrada -> entrada.expiraEm() <= agoraMillis && entrada.resultado().isDone());
+    }
+
+    private Object aguardar(CompletableFuture<Object> resultado, String chave) {
+        try {
+            return resultado.get(esperaMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            // a primeira execução continua; o cliente repete mais tarde com a mesma chave
+        }
+        throw new RequisicaoEmAndamentoException(
+                "Requisição com a Idempotency-Key " + chave + " ainda em andamento; tente novamente");
+    }
+
+    public record Resultado<T>(T valor, boolean repetido) {
+    }
+
+    private record Entrada(String hash, CompletableFuture<Object> resultado, long expiraEm) {
+    }
+}
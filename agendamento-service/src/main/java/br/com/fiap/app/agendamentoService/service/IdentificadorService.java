@@ -0,0 +1,179 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.fiap.app.agendamentoService.enums.TipoIdentificador;
+import br.com.fiap.app.agendamentoService.index.OffHeapLongHashIndex;
+import br.com.fiap.app.agendamentoService.repository.EnfermeiroRepository;
+import br.com.fiap.app.agendamentoService.repository.MedicoRepository;
+import br.com.fiap.app.agendamentoService.repository.PacienteRepository;
+import br.com.fiap.app.agendamentoService.util.Transacoes;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolve CPF, CRM, COREN e Cartão SUS para o ID da entidade sem ir ao banco.
+ * O índice é desta instância e só recebe as alterações depois do commit, então é
+ * apenas uma dica: um acerto ainda é conferido na entidade carregada e uma ausência
+ * (escrita em outra instância, ainda não carregada etc.) segue pelo repositório.
+ * Os identificadores são gravados já normalizados ({@link #normalizar}), para que o
+ * índice e o repositório procurem pela mesma chave.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdentificadorService {
+
+    private static final int CAPACIDADE_INICIAL = 1024;
+    private static final Pattern NAO_ALFANUMERICO = Pattern.compile("[^A-Za-z0-9]");
+
+    private final PacienteRepository pacienteRepository;
+    private final MedicoRepository medicoRepository;
+    private final EnfermeiroRepository enfermeiroRepository;
+
+    private final Map<TipoIdentificador, OffHeapLongHashIndex> indices = new EnumMap<>(TipoIdentificador.class);
+    // Hashes que apontaram para entidades diferentes: ficam fora do índice e vão ao banco
+    private final Map<TipoIdentificador, Set<Long>> ambiguos = new EnumMap<>(TipoIdentificador.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean carregado;
+
+    public static String normalizar(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        return NAO_ALFANUMERICO.matcher(valor).replaceAll("").toUpperCase(Locale.ROOT);
+    }
+
+    /** Forma gravada no banco; {@code null} continua {@code null}. */
+    public static String normalizarParaGravar(String valor) {
+        return valor != null ? normalizar(valor) : null;
+    }
+
+    public static boolean corresponde(String armazenado, String consultado) {
+        return normalizar(armazenado).equals(normalizar(consultado));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregarIndice() {
+        lock.writeLock().lock();
+        try {
+            for (TipoIdentificador tipo : TipoIdentificador.values()) {
+                indices.put(tipo, new OffHeapLongHashIndex(CAPACIDADE_INICIAL));
+                ambiguos.put(tipo, new HashSet<>());
+            }
+            pacienteRepository.findAll().forEach(p -> {
+                registrarSemLock(TipoIdentificador.CPF, p.getCpf(), p.getId());
+                registrarSemLock(TipoIdentificador.CARTAO_SUS, p.getNumeroCartaoSus(), p.getId());
+            });
+            medicoRepository.findAll().forEach(m -> registrarSemLock(TipoIdentificador.CRM, m.getCrm(), m.getId()));
+            enfermeiroRepository.findAll().forEach(e -> registrarSemLock(TipoIdentificador.COREN, e.getCoren(), e.getId()));
+            carregado = true;
+            log.info("[IDENTIFICADOR] Índice carregado: CPF={}, CARTAO_SUS={}, CRM={}, COREN={}",
+                    indices.get(TipoIdentificador.CPF).size(),
+                    indices.get(TipoIdentificador.CARTAO_SUS).size(),
+                    indices.get(TipoIdentificador.CRM).size(),
+                    indices.get(TipoIdentificador.COREN).size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * ID candidato para o identificador. Como o índice guarda apenas o hash,
+     * o chamador deve conferir o identificador da entidade carregada.
+     */
+    public Optional<Long> resolver(TipoIdentificador tipo, String valor) {
+        if (!carregado || valor == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            OptionalLong id = indices.get(tipo).get(OffHeapLongHashIndex.hash(normalizar(valor)));
+            return id.isPresent() ? Optional.of(id.getAsLong()) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void registrar(TipoIdentificador tipo, String valor, Long id) {
+        aposCommit(() -> registrarSemLock(tipo, valor, id));
+    }
+
+    public void atualizar(TipoIdentificador tipo, String anterior, String atual, Long id) {
+        if (corresponde(anterior, atual)) {
+            return;
+        }
+        aposCommit(() -> {
+            removerSemLock(tipo, anterior, id);
+            registrarSemLock(tipo, atual, id);
+        });
+    }
+
+    public void remover(TipoIdentificador tipo, String valor, Long id) {
+        aposCommit(() -> removerSemLock(tipo, valor, id));
+    }
+
+    // Só mexe no índice depois do commit, para não guardar identificadores que sofreram rollback.
+    private void aposCommit(Runnable alteracao) {
+        Runnable comLock = () -> {
+            lock.writeLock().lock();
+            try {
+                if (carregado) {
+                    alteracao.run();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        Transacoes.aposCommit(comLock);
+    }
+
+    private void registrarSemLock(TipoIdentificador tipo, String valor, Long id) {
+        String normalizado = normalizar(valor);
+        if (normalizado.isEmpty() || id == null) {
+            return;
+        }
+        OffHeapLongHashIndex indice = indices.get(tipo);
+        long chave = OffHeapLongHashIndex.hash(normalizado);
+        if (ambiguos.get(tipo).contains(chave)) {
+            return;
+        }
+        OptionalLong atual = indice.get(chave);
+        if (atual.isPresent() && atual.getAsLong() != id) {
+            indice.remove(chave);
+            ambiguos.get(tipo).add(chave);
+            log.warn("[IDENTIFICADOR] {} {} colide com o de outro cadastro (IDs {} e {}); consultas vão ao banco",
+                    tipo, normalizado, atual.getAsLong(), id);
+            return;
+        }
+        indice.put(chave, id);
+    }
+
+    private void removerSemLock(TipoIdentificador tipo, String valor, Long id) {
+        String normalizado = normalizar(valor);
+        if (normalizado.isEmpty() || id == null) {
+            return;
+        }
+        OffHeapLongHashIndex indice = indices.get(tipo);
+        long chave = OffHeapLongHashIndex.hash(normalizado);
+        OptionalLong atual = indice.get(chave);
+        if (atual.isPresent() && atual.getAsLong() == id) {
+            indice.remove(chave);
+        }
+    }
+}
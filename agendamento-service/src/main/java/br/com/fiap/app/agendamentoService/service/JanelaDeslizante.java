@@ -0,0 +1,75 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador de janela deslizante em um único {@code long}: índice da janela fixa atual
+ * (32 bits), contagem da janela anterior e da atual (16 bits cada, saturando). A
+ * estimativa soma a janela atual com a fração da anterior que ainda cai dentro da
+ * janela deslizante. As atualizações são por CAS.
+ */
+final class JanelaDeslizante {
+
+    private static final long MAXIMO = 0xFFFF;
+    private static final long INDICE = 0xFFFF_FFFFL;
+
+    private final long janelaMillis;
+    private final AtomicLong estado = new AtomicLong();
+
+    JanelaDeslizante(long janelaMillis) {
+        this.janelaMillis = janelaMillis;
+    }
+
+    /** Conta um evento e devolve a estimativa já com ele. */
+    int registrar(long agoraMillis) {
+        long indice = (agoraMillis / janelaMillis) & INDICE;
+        while (true) {
+            long atual = estado.get();
+            long avancado = avancar(atual, indice);
+            long novo = (avancado & ~MAXIMO) | Math.min(MAXIMO, (avancado & MAXIMO) + 1);
+            if (estado.compareAndSet(atual, novo)) {
+                return estimar(novo, agoraMillis);
+            }
+        }
+    }
+
+    /** Desconta um evento já registrado: da janela atual ou, se ela estiver zerada, da anterior. */
+    void desfazer(long agoraMillis) {
+        long indice = (agoraMillis / janelaMillis) & INDICE;
+        while (true) {
+            long atual = estado.get();
+            long avancado = avancar(atual, indice);
+            long novo;
+            if ((avancado & MAXIMO) > 0) {
+                novo = avancado - 1;
+            } else if (((avancado >>> 16) & MAXIMO) > 0) {
+                novo = avancado - (1L << 16);
+            } else {
+                return;
+            }
+            if (estado.compareAndSet(atual, novo)) {
+                return;
+            }
+        }
+    }
+
+    int estimar(long agoraMillis) {
+        return estimar(avancar(estado.get(), (agoraMillis / janelaMillis) & INDICE), agoraMillis);
+    }
+
+    private int estimar(long estado, long agoraMillis) {
+        double restanteDaAnterior = 1 - (double) (agoraMillis % janelaMillis) / janelaMillis;
+        long anterior = (estado >>> 16) & MAXIMO;
+        long atual = estado & MAXIMO;
+        return (int) (atual + anterior * restanteDaAnterior);
+    }
+
+    private static long avancar(long estado, long indice) {
+        long indiceAtual = estado >>> 32;
+        if (indiceAtual == indice) {
+            return estado;
+        }
+        long anterior = ((indiceAtual + 1) & INDICE) == indice ? estado & MAXIMO : 0;
+        return (indice << 32) | (anterior << 16);
+    }
+}
@@ -9,21 +9,28 @@ import br.com.fiap.app.agendamentoService.constants.EntityNames;
 import br.com.fiap.app.agendamentoService.entity.Medico;
 import br.com.fiap.app.agendamentoService.entity.User;
 import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import br.com.fiap.app.agendamentoService.enums.TipoCadastro;
+import br.com.fiap.app.agendamentoService.enums.TipoIdentificador;
 import br.com.fiap.app.agendamentoService.exception.BusinessException;
 import br.com.fiap.app.agendamentoService.exception.ResourceNotFoundException;
 import br.com.fiap.app.agendamentoService.repository.MedicoRepository;
 import br.com.fiap.app.agendamentoService.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Observed(name = "servico.metodo")
 @RequiredArgsConstructor
 @Transactional
 public class MedicoService {
 
     private final MedicoRepository medicoRepository;
     private final UserRepository userRepository;
+    private final BuscaService buscaService;
+    private final IdentificadorService identificadorService;
 
     public Medico createMedico(Medico request) {
+        request.setCrm(IdentificadorService.normalizarParaGravar(request.getCrm()));
         if (medicoRepository.existsByCrm(request.getCrm())) {
             throw new BusinessException("CRM já existe: " + request.getCrm());
         }
@@ -33,7 +40,10 @@ public class MedicoService {
 
         request.setUser(user);
         request.setAtivo(true);
-        return medicoRepository.save(request);
+        Medico saved = medicoRepository.save(request);
+        identificadorService.registrar(TipoIdentificador.CRM, saved.getCrm(), saved.getId());
+        buscaService.indexarMedico(saved);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -44,7 +54,11 @@ public class MedicoService {
 
     @Transactional(readOnly = true)
     public Medico getMedicoByCrm(String crm) {
-        return medicoRepository.findByCrm(crm)
+        String normalizado = IdentificadorService.normalizar(crm);
+        return identificadorService.resolver(TipoIdentificador.CRM, normalizado)
+                .flatMap(medicoRepository::findById)
+                .filter(m -> IdentificadorService.corresponde(m.getCrm(), normalizado))
+                .or(() -> medicoRepository.findByCrm(normalizado))
                 .orElseThrow(() -> new ResourceNotFoundException(EntityNames.MEDICO, "CRM", crm));
     }
 
@@ -77,9 +91,12 @@ public class MedicoService {
     public Medico updateMedico(Long id, Medico request) {
         Medico medico = medicoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(EntityNames.MEDICO, "ID", id));
+        String crmAnterior = medico.getCrm();
+        request.setCrm(IdentificadorService.normalizarParaGravar(request.getCrm()));
 
         if (request.getCrm() != null) {
-            if (!medico.getCrm().equals(request.getCrm()) && medicoRepository.existsByCrm(request.getCrm())) {
+            if (!medico.getCrm().equals(request.getCrm())
+                    && medicoRepository.existsByCrm(request.getCrm())) {
                 throw new BusinessException("CRM já existe: " + request.getCrm());
             }
             medico.setCrm(request.getCrm());
@@ -94,13 +111,18 @@ public class MedicoService {
             medico.setAtivo(request.getAtivo());
         }
 
-        return medicoRepository.save(medico);
+        Medico updated = medicoRepository.save(medico);
+        identificadorService.atualizar(TipoIdentificador.CRM, crmAnterior, updated.getCrm(), updated.getId());
+        buscaService.indexarMedico(updated);
+        return updated;
     }
 
     public void deleteMedico(Long id) {
         Medico medico = medicoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(EntityNames.MEDICO, "ID", id));
         medicoRepository.delete(medico);
+        identificadorService.remover(TipoIdentificador.CRM, medico.getCrm(), id);
+        buscaService.remover(TipoCadastro.MEDICO, id);
     }
 
     public void deactivateMedico(Long id) {
@@ -8,31 +8,47 @@ import org.springframework.transaction.annotation.Transactional;
 import br.com.fiap.app.agendamentoService.constants.EntityNames;
 import br.com.fiap.app.agendamentoService.entity.Paciente;
 import br.com.fiap.app.agendamentoService.entity.User;
+import br.com.fiap.app.agendamentoService.enums.TipoCadastro;
+import br.com.fiap.app.agendamentoService.enums.TipoIdentificador;
 import br.com.fiap.app.agendamentoService.exception.BusinessException;
 import br.com.fiap.app.agendamentoService.exception.ResourceNotFoundException;
 import br.com.fiap.app.agendamentoService.repository.PacienteRepository;
 import br.com.fiap.app.agendamentoService.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Observed(name = "servico.metodo")
 @RequiredArgsConstructor
 @Transactional
 public class PacienteService {
 
     private final PacienteRepository pacienteRepository;
     private final UserRepository userRepository;
+    private final BuscaService buscaService;
+    private final IdentificadorService identificadorService;
 
     public Paciente createPaciente(Paciente request) {
+        request.setCpf(IdentificadorService.normalizarParaGravar(request.getCpf()));
+        request.setNumeroCartaoSus(IdentificadorService.normalizarParaGravar(request.getNumeroCartaoSus()));
         if (pacienteRepository.existsByCpf(request.getCpf())) {
             throw new BusinessException("CPF já existe: " + request.getCpf());
         }
+        if (request.getNumeroCartaoSus() != null
+                && pacienteRepository.existsByNumeroCartaoSus(request.getNumeroCartaoSus())) {
+            throw new BusinessException("Cartão SUS já existe: " + request.getNumeroCartaoSus());
+        }
 
         User user = userRepository.findById(request.getUserId())
                 .orElseThrow(() -> new ResourceNotFoundException(EntityNames.USUARIO, "ID", request.getUserId()));
 
         request.setUser(user);
         request.setAtivo(true);
-        return pacienteRepository.save(request);
+        Paciente saved = pacienteRepository.save(request);
+        identificadorService.registrar(TipoIdentificador.CPF, saved.getCpf(), saved.getId());
+        identificadorService.registrar(TipoIdentificador.CARTAO_SUS, saved.getNumeroCartaoSus(), saved.getId());
+        buscaService.indexarPaciente(saved);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -43,10 +59,24 @@ public class PacienteService {
 
     @Transactional(readOnly = true)
     public Paciente getPacienteByCpf(String cpf) {
-        return pacienteRepository.findByCpf(cpf)
+        String normalizado = IdentificadorService.normalizar(cpf);
+        return identificadorService.resolver(TipoIdentificador.CPF, normalizado)
+                .flatMap(pacienteRepository::findById)
+                .filter(p -> IdentificadorService.corresponde(p.getCpf(), normalizado))
+                .or(() -> pacienteRepository.findByCpf(normalizado))
                 .orElseThrow(() -> new ResourceNotFoundException(EntityNames.PACIENTE, "CPF", cpf));
     }
 
+    @Transactional(readOnly = true)
+    public Paciente getPacienteByCartaoSus(String numeroCartaoSus) {
+        String normalizado = IdentificadorService.normalizar(numeroCartaoSus);
+        return identificadorService.resolver(TipoIdentificador.CARTAO_SUS, normalizado)
+                .flatMap(pacienteRepository::findById)
+                .filter(p -> IdentificadorService.corresponde(p.getNumeroCartaoSus(), normalizado))
+                .or(() -> pacienteRepository.findByNumeroCartaoSus(normalizado))
+                .orElseThrow(() -> new ResourceNotFoundException(EntityNames.PACIENTE, "Cartão SUS", numeroCartaoSus));
+    }
+
     @Transactional(readOnly = true)
     public Paciente getPacienteByUserId(Long userId) {
         return pacienteRepository.findByUserId(userId)
@@ -71,9 +101,14 @@ public class PacienteService {
     public Paciente updatePaciente(Long id, Paciente request) {
         Paciente paciente = pacienteRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(EntityNames.PACIENTE, "ID", id));
+        String cpfAnterior = paciente.getCpf();
+        String cartaoSusAnterior = paciente.getNumeroCartaoSus();
+        request.setCpf(IdentificadorService.normalizarParaGravar(request.getCpf()));
+        request.setNumeroCartaoSus(IdentificadorService.normalizarParaGravar(request.getNumeroCartaoSus()));
 
         if (request.getCpf() != null) {
-            if (!paciente.getCpf().equals(request.getCpf()) && pacienteRepository.existsByCpf(request.getCpf())) {
+            if (!paciente.getCpf().equals(request.getCpf())
+                    && pacienteRepository.existsByCpf(request.getCpf())) {
                 throw new BusinessException("CPF já existe: " + request.getCpf());
             }
             paciente.setCpf(request.getCpf());
@@ -85,6 +120,10 @@ public class PacienteService {
             paciente.setEndereco(request.getEndereco());
         }
         if (request.getNumeroCartaoSus() != null) {
+            if (!request.getNumeroCartaoSus().equals(paciente.getNumeroCartaoSus())
+                    && pacienteRepository.existsByNumeroCartaoSus(request.getNumeroCartaoSus())) {
+                throw new BusinessException("Cartão SUS já existe: " + request.getNumeroCartaoSus());
+            }
             paciente.setNumeroCartaoSus(request.getNumeroCartaoSus());
         }
         if (request.getConvenioMedico() != null) {
@@ -100,13 +139,20 @@ public class PacienteService {
             paciente.setAtivo(request.getAtivo());
         }
 
-        return pacienteRepository.save(paciente);
+        Paciente updated = pacienteRepository.save(paciente);
+        identificadorService.atualizar(TipoIdentificador.CPF, cpfAnterior, updated.getCpf(), updated.getId());
+        identificadorService.atualizar(TipoIdentificador.CARTAO_SUS, cartaoSusAnterior, updated.getNumeroCartaoSus(), updated.getId());
+        buscaService.indexarPaciente(updated);
+        return updated;
     }
 
     public void deletePaciente(Long id) {
         Paciente paciente = pacienteRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(EntityNames.PACIENTE, "ID", id));
         pacienteRepository.delete(paciente);
+        identificadorService.remover(TipoIdentificador.CPF, paciente.getCpf(), id);
+        identificadorService.remover(TipoIdentificador.CARTAO_SUS, paciente.getNumeroCartaoSus(), id);
+        buscaService.remover(TipoCadastro.PACIENTE, id);
     }
 
     public void deactivatePaciente(Long id) {
@@ -0,0 +1,90 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cria com antecedência as partições mensais de {@code consultas} quando a tabela
+ * está particionada por {@code data_hora} (PostgreSQL, ver
+ * {@code db/particionamento/consultas.sql}). Em bancos sem particionamento
+ * declarativo, ou com a tabela ainda não particionada, não faz nada.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ParticaoConsultaService {
+
+    static final String PARTICAO_PADRAO = "consultas_padrao";
+    private static final DateTimeFormatter SUFIXO = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${consultas.particionamento.meses-adiante:3}")
+    private int mesesAdiante;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${consultas.particionamento.cron:0 0 2 * * *}")
+    @Transactional
+    public void garantirParticoes() {
+        if (!particionada()) {
+            return;
+        }
+        YearMonth atual = YearMonth.now();
+        for (int i = 0; i <= mesesAdiante; i++) {
+            criarParticao(atual.plusMonths(i));
+        }
+    }
+
+    // Se a partição padrão já recebeu consultas do mês, ela é desanexada, as linhas
+    // migram para a nova partição e ela é anexada de volta, tudo na mesma transação.
+    void criarParticao(YearMonth mes) {
+        String nome = "consultas_" + mes.format(SUFIXO);
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, nome))) {
+            return;
+        }
+        LocalDateTime inicio = mes.atDay(1).atStartOfDay();
+        LocalDateTime fim = mes.plusMonths(1).atDay(1).atStartOfDay();
+        String criar = "CREATE TABLE " + nome + " PARTITION OF consultas "
+                + "FOR VALUES FROM ('" + inicio + "') TO ('" + fim + "')";
+
+        Boolean naPadrao = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + PARTICAO_PADRAO + " WHERE data_hora >= ? AND data_hora < ?)",
+                Boolean.class, inicio, fim);
+        if (!Boolean.TRUE.equals(naPadrao)) {
+            jdbcTemplate.execute(criar);
+        } else {
+            jdbcTemplate.execute("ALTER TABLE consultas DETACH PARTITION " + PARTICAO_PADRAO);
+            jdbcTemplate.execute(criar);
+            jdbcTemplate.update("INSERT INTO consultas SELECT * FROM " + PARTICAO_PADRAO
+                    + " WHERE data_hora >= ? AND data_hora < ?", inicio, fim);
+            jdbcTemplate.update("DELETE FROM " + PARTICAO_PADRAO + " WHERE data_hora >= ? AND data_hora < ?", inicio, fim);
+            jdbcTemplate.execute("ALTER TABLE consultas ATTACH PARTITION " + PARTICAO_PADRAO + " DEFAULT");
+        }
+        log.info("[PARTICAO] Partição {} criada", nome);
+    }
+
+    private boolean particionada() {
+        Boolean postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) con ->
+                "PostgreSQL".equalsIgnoreCase(con.getMetaData().getDatabaseProductName()));
+        if (!Boolean.TRUE.equals(postgres)) {
+            return false;
+        }
+        Integer particionadas = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid "
+                        + "WHERE c.relname = 'consultas'", Integer.class);
+        return particionadas != null && particionadas > 0;
+    }
+}
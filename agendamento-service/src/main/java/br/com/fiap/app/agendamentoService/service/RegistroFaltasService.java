@@ -0,0 +1,42 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fechamento do dia: consultas de hoje que já passaram do horário e ainda estão
+ * agendadas, confirmadas ou reagendadas viram {@code FALTA_PACIENTE}. Um UPDATE por
+ * status de origem, cada um na própria transação do {@link ConsultaService}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RegistroFaltasService {
+
+    static final List<StatusConsulta> SEM_ATENDIMENTO =
+            List.of(StatusConsulta.AGENDADA, StatusConsulta.CONFIRMADA, StatusConsulta.REAGENDADA);
+
+    private final ConsultaService consultaService;
+
+    @Scheduled(cron = "${consultas.faltas.cron:0 0 23 * * *}")
+    public void registrarFaltasAgendado() {
+        int total = registrarFaltas(LocalDate.now().atStartOfDay(), LocalDateTime.now());
+        log.info("[FALTAS] {} consultas marcadas como {}", total, StatusConsulta.FALTA_PACIENTE);
+    }
+
+    public int registrarFaltas(LocalDateTime inicio, LocalDateTime fim) {
+        int total = 0;
+        for (StatusConsulta status : SEM_ATENDIMENTO) {
+            total += consultaService.alterarStatusEmLote(status, StatusConsulta.FALTA_PACIENTE, inicio, fim, null);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,219 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.stereotype.Service;
+
+import br.com.fiap.app.agendamentoService.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Falhas de login por username e por IP, numa {@link JanelaDeslizante} de
+ * {@code login.tentativas.janela}. Passado {@code atraso-apos}, cada nova tentativa só é
+ * aceita depois de um atraso que dobra a cada falha (até {@code atraso-maximo}); em
+ * {@code bloqueio-apos} a chave fica bloqueada por {@code login.tentativas.bloqueio}, e o
+ * username é bloqueado também no banco, via {@code User.isAccountNonLocked}.
+ * <p>
+ * Antes do AuthenticationManager ({@code AuthController} e {@code TentativasLoginFilter},
+ * no HTTP Basic), {@link #reservar} verifica a espera e já conta a tentativa como falha,
+ * num passo só: tentativas simultâneas não passam todas pela mesma verificação, e as
+ * recusadas não chegam ao BCrypt. Os eventos de autenticação do Spring Security fecham a
+ * conta: credenciais inválidas podem bloquear a chave, e o sucesso desconta a tentativa.
+ */
+@Slf4j
+@Service
+public class TentativasLoginService {
+
+    static final String REJEITADAS = "login.tentativas.rejeitadas";
+    static final String BLOQUEIOS = "login.bloqueios";
+    private static final String USUARIO = "usuario:";
+    private static final String IP = "ip:";
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final long janelaMillis;
+    private final Limites limitesUsuario;
+    private final Limites limitesIp;
+    private final long atrasoInicialMillis;
+    private final long atrasoMaximoMillis;
+    private final long bloqueioMillis;
+    private final Map<String, Tentativas> tentativas = new ConcurrentHashMap<>();
+
+    public TentativasLoginService(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${login.tentativas.janela:15m}") Duration janela,
+            @Value("${login.tentativas.usuario.atraso-apos:3}") int atrasoAposUsuario,
+            @Value("${login.tentativas.usuario.bloqueio-apos:10}") int bloqueioAposUsuario,
+            @Value("${login.tentativas.ip.atraso-apos:20}") int atrasoAposIp,
+            @Value("${login.tentativas.ip.bloqueio-apos:100}") int bloqueioAposIp,
+            @Value("${login.tentativas.atraso-inicial:1s}") Duration atrasoInicial,
+            @Value("${login.tentativas.atraso-maximo:30s}") Duration atrasoMaximo,
+            @Value("${login.tentativas.bloqueio:15m}") Duration bloqueio) {
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+        this.janelaMillis = janela.toMillis();
+        this.limitesUsuario = new Limites(atrasoAposUsuario, bloqueioAposUsuario);
+        this.limitesIp = new Limites(atrasoAposIp, bloqueioAposIp);
+        this.atrasoInicialMillis = atrasoInicial.toMillis();
+        this.atrasoMaximoMillis = atrasoMaximo.toMillis();
+        this.bloqueioMillis = bloqueio.toMillis();
+    }
+
+    /**
+     * Reserva uma tentativa de login: devolve quanto o cliente ainda precisa esperar, ou 0
+     * se a tentativa pode seguir, já contada como falha até o sucesso ser registrado. Uma
+     * tentativa recusada não é contada: insistir durante o atraso não o aumenta.
+     */
+    public long reservar(String username, String ip) {
+        return reservar(username, ip, System.currentTimeMillis());
+    }
+
+    long reservar(String username, String ip, long agoraMillis) {
+        long espera = reservar(USUARIO + username, limitesUsuario, agoraMillis);
+        if (espera == 0 && ip != null) {
+            espera = reservar(IP + ip, limitesIp, agoraMillis);
+            if (espera > 0) {
+                descontar(USUARIO + username, agoraMillis);
+            }
+        }
+        if (espera > 0) {
+            meterRegistry.counter(REJEITADAS).increment();
+        }
+        return espera;
+    }
+
+    @EventListener
+    public void aoFalharCredenciais(AuthenticationFailureBadCredentialsEvent event) {
+        registrarFalha(event.getAuthentication().getName(), ip(event.getAuthentication()));
+    }
+
+    @EventListener
+    public void aoAutenticar(AuthenticationSuccessEvent event) {
+        registrarSucesso(event.getAuthentication().getName(), ip(event.getAuthentication()));
+    }
+
+    /** Confirma como falha a tentativa reservada; bloqueia as chaves que chegaram ao limite. */
+    public void registrarFalha(String username, String ip) {
+        registrarFalha(username, ip, System.currentTimeMillis());
+    }
+
+    void registrarFalha(String username, String ip, long agoraMillis) {
+        if (bloquearSeExcedeu(USUARIO + username, limitesUsuario, agoraMillis)) {
+            LocalDateTime ate = LocalDateTime.ofInstant(Instant.ofEpochMilli(agoraMillis + bloqueioMillis), ZoneId.systemDefault());
+            userRepository.bloquearAte(username, ate);
+            meterRegistry.counter(BLOQUEIOS, "chave", "usuario").increment();
+            log.warn("Usuário {} bloqueado até {} por excesso de tentativas de login", username, ate);
+        }
+        if (ip != null && bloquearSeExcedeu(IP + ip, limitesIp, agoraMillis)) {
+            meterRegistry.counter(BLOQUEIOS, "chave", "ip").increment();
+            log.warn("IP {} bloqueado por excesso de tentativas de login", ip);
+        }
+    }
+
+    /** Esquece as falhas do username e desconta do IP a tentativa reservada. */
+    public void registrarSucesso(String username, String ip) {
+        registrarSucesso(username, ip, System.currentTimeMillis());
+    }
+
+    void registrarSucesso(String username, String ip, long agoraMillis) {
+        tentativas.remove(USUARIO + username);
+        if (ip != null) {
+            descontar(IP + ip, agoraMillis);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${login.tentativas.limpeza:1m}")
+    public void limpar() {
+        limpar(System.currentTimeMillis());
+    }
+
+    void limpar(long agoraMillis) {
+        tentativas.values().removeIf(t -> t.bloqueadoAte <= agoraMillis && t.janela.estimar(agoraMillis) == 0);
+    }
+
+    long atraso(int falhas, Limites limites) {
+        if (falhas <= limites.atrasoApos()) {
+            return 0;
+        }
+        int dobras = Math.min(falhas - limites.atrasoApos() - 1, 30);
+        return Math.min(atrasoMaximoMillis, atrasoInicialMillis << dobras);
+    }
+
+    // Sem atraso a aplicar, só o bloqueio conta: uma tentativa que leu o relógio antes de
+    // outra reservar a mesma chave não deve esperar pela diferença
+    private long espera(Tentativas t, Limites limites, long agoraMillis) {
+        long atraso = atraso(t.janela.estimar(agoraMillis), limites);
+        long liberadoEm = atraso > 0 ? Math.max(t.bloqueadoAte, t.ultimaFalha + atraso) : t.bloqueadoAte;
+        return Math.max(0, liberadoEm - agoraMillis);
+    }
+
+    // compute é atômico por chave: a verificação e a contagem não se intercalam com
+    // outra tentativa da mesma chave
+    private long reservar(String chave, Limites limites, long agoraMillis) {
+        long[] espera = new long[1];
+        tentativas.compute(chave, (c, existente) -> {
+            Tentativas t = existente != null ? existente : new Tentativas(new JanelaDeslizante(janelaMillis));
+            espera[0] = espera(t, limites, agoraMillis);
+            if (espera[0] == 0) {
+                t.janela.registrar(agoraMillis);
+                t.ultimaFalha = agoraMillis;
+            }
+            return t;
+        });
+        return espera[0];
+    }
+
+    private void descontar(String chave, long agoraMillis) {
+        tentativas.computeIfPresent(chave, (c, t) -> {
+            t.janela.desfazer(agoraMillis);
+            return t;
+        });
+    }
+
+    /** Diz se a chave acabou de ser bloqueada por ter chegado a {@code bloqueio-apos}. */
+    private boolean bloquearSeExcedeu(String chave, Limites limites, long agoraMillis) {
+        boolean[] bloqueou = new boolean[1];
+        tentativas.computeIfPresent(chave, (c, t) -> {
+            if (t.janela.estimar(agoraMillis) >= limites.bloqueioApos() && t.bloqueadoAte <= agoraMillis) {
+                t.bloqueadoAte = agoraMillis + bloqueioMillis;
+                bloqueou[0] = true;
+            }
+            return t;
+        });
+        return bloqueou[0];
+    }
+
+    private static String ip(Authentication authentication) {
+        return authentication.getDetails() instanceof WebAuthenticationDetails detalhes
+                ? detalhes.getRemoteAddress()
+                : null;
+    }
+
+    record Limites(int atrasoApos, int bloqueioApos) {
+    }
+
+    private static final class Tentativas {
+
+        private final JanelaDeslizante janela;
+        private volatile long ultimaFalha;
+        private volatile long bloqueadoAte;
+
+        private Tentativas(JanelaDeslizante janela) {
+            this.janela = janela;
+        }
+    }
+}
@@ -12,15 +12,18 @@ import br.com.fiap.app.agendamentoService.enums.Role;
 import br.com.fiap.app.agendamentoService.exception.BusinessException;
 import br.com.fiap.app.agendamentoService.exception.ResourceNotFoundException;
 import br.com.fiap.app.agendamentoService.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 
 @Service
+@Observed(name = "servico.metodo")
 @RequiredArgsConstructor
 @Transactional
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final BuscaService buscaService;
 
     public User createUser(User request) {
         if (userRepository.existsByUsername(request.getUsername())) {
@@ -66,6 +69,7 @@ public class UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(EntityNames.USUARIO, "ID", id));
 
+        boolean nomeAlterado = request.getNome() != null && !request.getNome().equals(user.getNome());
         if (request.getNome() != null) {
             user.setNome(request.getNome());
         }
@@ -85,7 +89,11 @@ public class UserService {
             user.setActive(request.getActive());
         }
 
-        return userRepository.save(user);
+        User updated = userRepository.save(user);
+        if (nomeAlterado) {
+            buscaService.reindexarUsuario(updated);
+        }
+        return updated;
     }
 
     public void deleteUser(Long id) {
@@ -0,0 +1,29 @@
+package br.com.fiap.app.agendamentoService.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Hash do conteúdo de uma requisição, comparado entre repetições da mesma Idempotency-Key.
+ */
+public final class HashRequisicao {
+
+    private HashRequisicao() {
+    }
+
+    /** SHA-256 das partes, separadas por um caractere que não aparece nos valores. */
+    public static String calcular(Object... partes) {
+        StringBuilder texto = new StringBuilder();
+        for (Object parte : partes) {
+            texto.append(parte).append('\u001f');
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(texto.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.fiap.app.agendamentoService.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ações que só devem valer para dados confirmados no banco, como os índices e contadores
+ * em memória: nada é aplicado de uma transação que sofreu rollback.
+ */
+public final class Transacoes {
+
+    private Transacoes() {
+    }
+
+    /** Executa a ação depois do commit da transação atual ou, fora de uma, na hora. */
+    public static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
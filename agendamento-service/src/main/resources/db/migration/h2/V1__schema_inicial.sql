@@ -0,0 +1,73 @@
+-- Mesmo schema de db/migration/postgresql, sem particionamento (não suportado pelo H2).
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    nome VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    telefone VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    active BOOLEAN NOT NULL
+);
+
+CREATE TABLE medicos (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL UNIQUE REFERENCES users (id),
+    crm VARCHAR(20) NOT NULL UNIQUE,
+    especialidade VARCHAR(255) NOT NULL,
+    descricao VARCHAR(255),
+    ativo BOOLEAN NOT NULL
+);
+
+CREATE TABLE pacientes (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL UNIQUE REFERENCES users (id),
+    cpf VARCHAR(11) NOT NULL UNIQUE,
+    data_nascimento DATE NOT NULL,
+    endereco VARCHAR(255),
+    numero_cartao_sus VARCHAR(255) UNIQUE,
+    convenio_medico VARCHAR(255),
+    contato_emergencia VARCHAR(255),
+    observacoes_medicas VARCHAR(255),
+    ativo BOOLEAN NOT NULL
+);
+
+CREATE TABLE enfermeiros (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL UNIQUE REFERENCES users (id),
+    coren VARCHAR(20) NOT NULL UNIQUE,
+    setor VARCHAR(255),
+    turno VARCHAR(255),
+    especializacao VARCHAR(255),
+    descricao VARCHAR(255),
+    ativo BOOLEAN NOT NULL
+);
+
+CREATE TABLE consultas (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    medico_id BIGINT NOT NULL,
+    paciente_id BIGINT NOT NULL,
+    enfermeiro_id BIGINT,
+    data_hora TIMESTAMP(6) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    motivo VARCHAR(500),
+    observacoes VARCHAR(1000),
+    diagnostico VARCHAR(2000),
+    prescricao VARCHAR(1000),
+    data_criacao TIMESTAMP(6) NOT NULL,
+    data_alteracao TIMESTAMP(6),
+    criado_por VARCHAR(255),
+    alterado_por VARCHAR(255)
+);
+
+CREATE TABLE consultas_arquivadas (
+    id BIGINT PRIMARY KEY,
+    paciente_id BIGINT NOT NULL,
+    medico_id BIGINT NOT NULL,
+    especialidade VARCHAR(255),
+    data_hora TIMESTAMP(6) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    conteudo VARBINARY NOT NULL,
+    data_arquivamento TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,15 @@
+-- Mesmos índices de db/migration/postgresql. O H2 não tem índice parcial, então
+-- findConsultasParaNotificacao usa idx_consultas_status_data_hora.
+-- O H2 cria um índice próprio para cada chave estrangeira (FK_..._INDEX_n) quando não
+-- há um com exatamente as colunas dela; o de paciente_id concorre com o composto.
+
+CREATE INDEX idx_consultas_medico_data_hora ON consultas (medico_id, data_hora);
+CREATE INDEX idx_consultas_paciente_data_hora ON consultas (paciente_id, data_hora DESC);
+CREATE INDEX idx_consultas_data_hora ON consultas (data_hora);
+CREATE INDEX idx_consultas_status_data_hora ON consultas (status, data_hora);
+CREATE INDEX idx_consultas_enfermeiro ON consultas (enfermeiro_id);
+CREATE INDEX idx_consultas_arquivadas_paciente_data_hora ON consultas_arquivadas (paciente_id, data_hora DESC);
+
+ALTER TABLE consultas ADD CONSTRAINT fk_consultas_medico FOREIGN KEY (medico_id) REFERENCES medicos (id);
+ALTER TABLE consultas ADD CONSTRAINT fk_consultas_paciente FOREIGN KEY (paciente_id) REFERENCES pacientes (id);
+ALTER TABLE consultas ADD CONSTRAINT fk_consultas_enfermeiro FOREIGN KEY (enfermeiro_id) REFERENCES enfermeiros (id);
@@ -0,0 +1,6 @@
+-- Mesma normalização de db/migration/postgresql (no H2 o REGEXP_REPLACE já troca todas as ocorrências).
+UPDATE pacientes SET cpf = UPPER(REGEXP_REPLACE(cpf, '[^A-Za-z0-9]', ''));
+UPDATE pacientes SET numero_cartao_sus = UPPER(REGEXP_REPLACE(numero_cartao_sus, '[^A-Za-z0-9]', ''))
+    WHERE numero_cartao_sus IS NOT NULL;
+UPDATE medicos SET crm = UPPER(REGEXP_REPLACE(crm, '[^A-Za-z0-9]', ''));
+UPDATE enfermeiros SET coren = UPPER(REGEXP_REPLACE(coren, '[^A-Za-z0-9]', ''));
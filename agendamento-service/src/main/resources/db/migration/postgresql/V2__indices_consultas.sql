@@ -0,0 +1,24 @@
+-- Índices derivados das consultas do ConsultaRepository. Em tabela particionada,
+-- cada índice é criado em todas as partições, inclusive nas criadas depois.
+
+-- findByMedicoAndPeriodo, findByMedico
+CREATE INDEX idx_consultas_medico_data_hora ON consultas (medico_id, data_hora);
+
+-- findHistoricoCompletoPaciente (ORDER BY data_hora DESC), findConsultasFuturasPorPaciente,
+-- findByPaciente, streamHistoricoPaciente
+CREATE INDEX idx_consultas_paciente_data_hora ON consultas (paciente_id, data_hora DESC);
+
+-- findByPeriodo, streamByPeriodo (dentro das partições do período)
+CREATE INDEX idx_consultas_data_hora ON consultas (data_hora);
+
+-- findByStatus, findParaArquivamento
+CREATE INDEX idx_consultas_status_data_hora ON consultas (status, data_hora);
+
+-- findConsultasParaNotificacao: só consultas ainda por acontecer
+CREATE INDEX idx_consultas_notificacao ON consultas (data_hora)
+    WHERE status IN ('AGENDADA', 'CONFIRMADA');
+
+CREATE INDEX idx_consultas_enfermeiro ON consultas (enfermeiro_id);
+
+-- ConsultaArquivadaRepository.findByPacienteIdOrderByDataHoraDesc / streamHistoricoPaciente
+CREATE INDEX idx_consultas_arquivadas_paciente_data_hora ON consultas_arquivadas (paciente_id, data_hora DESC);
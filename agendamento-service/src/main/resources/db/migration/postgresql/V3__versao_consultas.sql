@@ -0,0 +1,3 @@
+-- Versão para o bloqueio otimista de Consulta (@Version, ETag/If-Match e os
+-- UPDATEs condicionais de status do ConsultaRepository).
+ALTER TABLE consultas ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- Bloqueio temporário de login por excesso de tentativas (User.isAccountNonLocked).
+ALTER TABLE users ADD COLUMN bloqueado_ate TIMESTAMP;
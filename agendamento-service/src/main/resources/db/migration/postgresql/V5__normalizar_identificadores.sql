@@ -0,0 +1,8 @@
+-- CPF, CRM, COREN e Cartão SUS passam a ser gravados como no IdentificadorService:
+-- só letras e dígitos, em maiúsculas. Assim o índice em memória e as consultas ao
+-- banco procuram pela mesma chave.
+UPDATE pacientes SET cpf = UPPER(REGEXP_REPLACE(cpf, '[^A-Za-z0-9]', '', 'g'));
+UPDATE pacientes SET numero_cartao_sus = UPPER(REGEXP_REPLACE(numero_cartao_sus, '[^A-Za-z0-9]', '', 'g'))
+    WHERE numero_cartao_sus IS NOT NULL;
+UPDATE medicos SET crm = UPPER(REGEXP_REPLACE(crm, '[^A-Za-z0-9]', '', 'g'));
+UPDATE enfermeiros SET coren = UPPER(REGEXP_REPLACE(coren, '[^A-Za-z0-9]', '', 'g'));
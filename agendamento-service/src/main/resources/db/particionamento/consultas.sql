@@ -0,0 +1,56 @@
+-- Converte a tabela consultas de um banco criado antes das migrações (baseline na versão 1)
+-- em tabela particionada por mês de data_hora, como a criada por db/migration/postgresql/V1.
+-- Executar uma única vez no PostgreSQL (12+), depois que a aplicação aplicou a V2, com ela parada:
+--   psql -d hospital_system -f consultas.sql
+-- Depois disso, o ParticaoConsultaService cria as partições dos meses seguintes.
+
+BEGIN;
+
+ALTER TABLE consultas RENAME TO consultas_legado;
+ALTER TABLE consultas_legado RENAME CONSTRAINT consultas_pkey TO consultas_legado_pkey;
+
+-- A chave primária de uma tabela particionada precisa incluir a coluna de partição.
+-- Identity não é suportado em tabela particionada antes do PostgreSQL 17.
+CREATE SEQUENCE IF NOT EXISTS consultas_id_seq;
+
+CREATE TABLE consultas (
+    LIKE consultas_legado INCLUDING DEFAULTS INCLUDING CONSTRAINTS,
+    PRIMARY KEY (id, data_hora)
+) PARTITION BY RANGE (data_hora);
+
+ALTER TABLE consultas ALTER COLUMN id SET DEFAULT nextval('consultas_id_seq');
+ALTER SEQUENCE consultas_id_seq OWNED BY consultas.id;
+
+CREATE TABLE consultas_padrao PARTITION OF consultas DEFAULT;
+
+DO $$
+DECLARE
+    mes DATE := date_trunc('month', COALESCE((SELECT MIN(data_hora) FROM consultas_legado), now()));
+    ultimo DATE := date_trunc('month', GREATEST(COALESCE((SELECT MAX(data_hora) FROM consultas_legado), now()), now()));
+BEGIN
+    WHILE mes <= ultimo + INTERVAL '3 months' LOOP
+        EXECUTE format('CREATE TABLE consultas_%s PARTITION OF consultas FOR VALUES FROM (%L) TO (%L)',
+                       to_char(mes, 'YYYY_MM'), mes, mes + INTERVAL '1 month');
+        mes := mes + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO consultas SELECT * FROM consultas_legado;
+
+SELECT setval('consultas_id_seq', COALESCE((SELECT MAX(id) FROM consultas), 0) + 1, false);
+
+DROP TABLE consultas_legado;
+
+-- Chaves estrangeiras e índices da V2 ficaram na tabela antiga; recriados na particionada.
+ALTER TABLE consultas ADD FOREIGN KEY (medico_id) REFERENCES medicos (id);
+ALTER TABLE consultas ADD FOREIGN KEY (paciente_id) REFERENCES pacientes (id);
+ALTER TABLE consultas ADD FOREIGN KEY (enfermeiro_id) REFERENCES enfermeiros (id);
+
+CREATE INDEX idx_consultas_medico_data_hora ON consultas (medico_id, data_hora);
+CREATE INDEX idx_consultas_paciente_data_hora ON consultas (paciente_id, data_hora DESC);
+CREATE INDEX idx_consultas_data_hora ON consultas (data_hora);
+CREATE INDEX idx_consultas_status_data_hora ON consultas (status, data_hora);
+CREATE INDEX idx_consultas_notificacao ON consultas (data_hora) WHERE status IN ('AGENDADA', 'CONFIRMADA');
+CREATE INDEX idx_consultas_enfermeiro ON consultas (enfermeiro_id);
+
+COMMIT;
@@ -0,0 +1,69 @@
+package br.com.fiap.app.agendamentoService.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BaldeTokens Tests")
+class BaldeTokensTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Should allow a burst up to the capacity and then report the wait for the next token")
+    void shouldAllowBurstUpToCapacity() {
+        // Given
+        BaldeTokens balde = new BaldeTokens(3, Duration.ofSeconds(3), 0);
+
+        // When & Then
+        assertThat(balde.consumir(0)).isZero();
+        assertThat(balde.consumir(0)).isZero();
+        assertThat(balde.consumir(0)).isZero();
+        assertThat(balde.consumir(0)).isEqualTo(SEGUNDO);
+        assertThat(balde.consumir(SEGUNDO / 2)).isEqualTo(SEGUNDO / 2);
+    }
+
+    @Test
+    @DisplayName("Should refill one token per interval and become full again")
+    void shouldRefillOverTime() {
+        // Given
+        BaldeTokens balde = new BaldeTokens(2, Duration.ofSeconds(2), 0);
+        balde.consumir(0);
+        balde.consumir(0);
+
+        // When & Then
+        assertThat(balde.cheio(SEGUNDO)).isFalse();
+        assertThat(balde.consumir(SEGUNDO)).isZero();
+        assertThat(balde.consumir(SEGUNDO)).isPositive();
+        assertThat(balde.cheio(3 * SEGUNDO)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should never hand out more tokens than the capacity under contention")
+    void shouldNotOverspendConcurrently() {
+        // Given
+        BaldeTokens balde = new BaldeTokens(100, Duration.ofHours(1), 0);
+        AtomicInteger concedidos = new AtomicInteger();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1_000; i++) {
+                executor.submit(() -> {
+                    if (balde.consumir(0) == 0) {
+                        concedidos.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        // Then
+        assertThat(concedidos).hasValue(100);
+    }
+}
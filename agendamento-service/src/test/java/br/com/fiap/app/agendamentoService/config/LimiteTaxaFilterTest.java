@@ -0,0 +1,135 @@
+package br.com.fiap.app.agendamentoService.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+
+import br.com.fiap.app.agendamentoService.entity.User;
+import br.com.fiap.app.agendamentoService.enums.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tools.jackson.databind.json.JsonMapper;
+
+@DisplayName("LimiteTaxaFilter Tests")
+class LimiteTaxaFilterTest {
+
+    private final AtomicLong agora = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private LimiteTaxaFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        PathPatternRequestMatcher.Builder rotas = PathPatternRequestMatcher.withDefaults();
+        filter = new LimiteTaxaFilter(meterRegistry, new JsonMapper(), agora::get)
+                .limitar("consultas-listagem", rotas.matcher(HttpMethod.GET, "/api/consultas"), 2, Duration.ofMinutes(1))
+                .limitar("login", rotas.matcher(HttpMethod.POST, "/auth/login"), 1, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once the user exhausts the route limit")
+    void shouldRejectWhenLimitIsExhausted() throws Exception {
+        // Given
+        autenticar(1L, Role.ROLE_MEDICO);
+        executar("GET", "/api/consultas");
+        executar("GET", "/api/consultas");
+
+        // When
+        MockHttpServletResponse response = executar("GET", "/api/consultas");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("30");
+        assertThat(response.getContentAsString()).contains("\"status\":429");
+        assertThat(meterRegistry.counter(LimiteTaxaFilter.REJEICOES, "regra", "consultas-listagem").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per user and let other routes through")
+    void shouldIsolateUsersAndRoutes() throws Exception {
+        // Given
+        autenticar(1L, Role.ROLE_MEDICO);
+        executar("GET", "/api/consultas");
+        executar("GET", "/api/consultas");
+
+        // When
+        MockHttpServletResponse outraRota = executar("GET", "/api/consultas/1");
+        autenticar(2L, Role.ROLE_MEDICO);
+        MockHttpServletResponse outroUsuario = executar("GET", "/api/consultas");
+
+        // Then
+        assertThat(outraRota.getStatus()).isEqualTo(200);
+        assertThat(outroUsuario.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should limit anonymous requests by client IP")
+    void shouldLimitAnonymousRequestsByIp() throws Exception {
+        // Given
+        executar("POST", "/auth/login", "10.0.0.1");
+
+        // When
+        MockHttpServletResponse mesmoIp = executar("POST", "/auth/login", "10.0.0.1");
+        MockHttpServletResponse outroIp = executar("POST", "/auth/login", "10.0.0.2");
+
+        // Then
+        assertThat(mesmoIp.getStatus()).isEqualTo(429);
+        assertThat(outroIp.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should let requests through again after the refill and drop full buckets")
+    void shouldRefillAndCleanUp() throws Exception {
+        // Given
+        executar("POST", "/auth/login", "10.0.0.1");
+        agora.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        // When
+        MockHttpServletResponse response = executar("POST", "/auth/login", "10.0.0.2");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(filter.baldes()).isEqualTo(1);
+    }
+
+    private void autenticar(Long id, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("usuario" + id);
+        user.setRole(role);
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                user, null, List.of(new SimpleGrantedAuthority(role.name()))));
+    }
+
+    private MockHttpServletResponse executar(String metodo, String uri) throws Exception {
+        return executar(metodo, uri, "127.0.0.1");
+    }
+
+    private MockHttpServletResponse executar(String metodo, String uri, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, uri);
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
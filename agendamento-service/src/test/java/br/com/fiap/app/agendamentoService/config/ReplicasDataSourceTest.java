@@ -0,0 +1,154 @@
+package br.com.fiap.app.agendamentoService.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Dois H2 em memória fazem o papel de primário e réplica; cada um responde com o
+ * próprio nome em {@code origem}, então o resultado da leitura mostra de onde ela veio.
+ */
+@DisplayName("ReplicasDataSource Tests")
+class ReplicasDataSourceTest {
+
+    private DataSource primario;
+    private DataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate escrita;
+    private TransactionTemplate leitura;
+    private ReplicasDataSource replicasDataSource;
+
+    @BeforeEach
+    void setUp() {
+        primario = banco("primario");
+        replica = banco("replica");
+        EscritasRecentes escritasRecentes = new EscritasRecentes(Duration.ofSeconds(10));
+        replicasDataSource = new ReplicasDataSource(primario,
+                List.of(new ReplicasDataSource.Replica("replica-1", replica)),
+                escritasRecentes, Duration.ofSeconds(5), "SELECT segundos FROM atraso");
+        replicasDataSource.verificarAtrasos();
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primario);
+        proxy.setReadOnlyDataSource(replicasDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(proxy);
+        transactionManager.addListener(escritasRecentes);
+        jdbcTemplate = new JdbcTemplate(proxy);
+        escrita = new TransactionTemplate(transactionManager);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primario).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(replica).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and the rest to the primary")
+    void shouldRouteByReadOnlyFlag() {
+        assertThat(leitura.<String>execute(status -> origem())).isEqualTo("replica");
+        assertThat(escrita.<String>execute(status -> origem())).isEqualTo("primario");
+    }
+
+    @Test
+    @DisplayName("Should keep reads of a user on the primary right after that user writes")
+    void shouldReadOwnWritesFromPrimary() {
+        // Given
+        autenticar("ana");
+        escrita.executeWithoutResult(status -> jdbcTemplate.update("UPDATE origem SET nome = 'primario'"));
+
+        // When
+        String leituraDaAna = leitura.execute(status -> origem());
+        autenticar("bruno");
+        String leituraDoBruno = leitura.execute(status -> origem());
+
+        // Then
+        assertThat(leituraDaAna).isEqualTo("primario");
+        assertThat(leituraDoBruno).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should not make a user sticky after a read-only transaction")
+    void shouldIgnoreReadOnlyCommits() {
+        // Given
+        autenticar("ana");
+        leitura.execute(status -> origem());
+
+        // When / Then
+        assertThat(leitura.<String>execute(status -> origem())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags behind")
+    void shouldSkipLaggingReplica() {
+        // Given
+        new JdbcTemplate(replica).update("UPDATE atraso SET segundos = 30");
+        replicasDataSource.verificarAtrasos();
+
+        // When / Then
+        assertThat(replicasDataSource.replicas().get(0).atrasoMillis()).isEqualTo(30_000);
+        assertThat(leitura.<String>execute(status -> origem())).isEqualTo("primario");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica cannot be reached")
+    void shouldSkipUnreachableReplica() {
+        // Given
+        new JdbcTemplate(replica).execute("DROP TABLE atraso");
+        replicasDataSource.verificarAtrasos();
+
+        // When / Then
+        assertThat(replicasDataSource.replicas().get(0).atrasoMillis()).isNegative();
+        assertThat(leitura.<String>execute(status -> origem())).isEqualTo("primario");
+    }
+
+    @Test
+    @DisplayName("Should open connections with explicit credentials on the primary")
+    void shouldUseThePrimaryForExplicitCredentials() throws Exception {
+        try (Connection connection = replicasDataSource.getConnection("sa", "");
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT nome FROM origem")) {
+            assertThat(rs.next()).isTrue();
+            assertThat(rs.getString(1)).isEqualTo("primario");
+        }
+    }
+
+    private String origem() {
+        return jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class);
+    }
+
+    private static DataSource banco(String nome) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE origem (nome VARCHAR(20))");
+        jdbc.update("INSERT INTO origem VALUES (?)", nome);
+        jdbc.execute("CREATE TABLE atraso (segundos DOUBLE)");
+        jdbc.update("INSERT INTO atraso VALUES (0)");
+        return dataSource;
+    }
+
+    private static void autenticar(String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(usuario, null, List.of()));
+    }
+}
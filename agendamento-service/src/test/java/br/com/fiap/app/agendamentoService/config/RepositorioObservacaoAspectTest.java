@@ -0,0 +1,91 @@
+package br.com.fiap.app.agendamentoService.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.fiap.app.agendamentoService.repository.ConsultaRepository;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RepositorioObservacaoAspect Tests")
+class RepositorioObservacaoAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Signature signature;
+
+    private final List<Observation.Context> finalizadas = new ArrayList<>();
+    private RepositorioObservacaoAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+
+            @Override
+            public void onStop(Observation.Context context) {
+                finalizadas.add(context);
+            }
+        });
+        aspect = new RepositorioObservacaoAspect(registry);
+
+        Object repositorio = Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ConsultaRepository.class }, (proxy, method, args) -> null);
+        when(joinPoint.getTarget()).thenReturn(repositorio);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getName()).thenReturn("findByStatus");
+    }
+
+    @Test
+    @DisplayName("Should observe repository calls named after the project interface")
+    void shouldObserveRepositoryCall() throws Throwable {
+        // Given
+        when(joinPoint.proceed()).thenReturn(List.of());
+
+        // When
+        Object resultado = aspect.observar(joinPoint);
+
+        // Then
+        assertThat(resultado).isEqualTo(List.of());
+        assertThat(finalizadas).singleElement().satisfies(context -> {
+            assertThat(context.getName()).isEqualTo(RepositorioObservacaoAspect.NOME);
+            assertThat(context.getContextualName()).isEqualTo("ConsultaRepository#findByStatus");
+            assertThat(context.getLowCardinalityKeyValue("metodo").getValue()).isEqualTo("findByStatus");
+        });
+    }
+
+    @Test
+    @DisplayName("Should record the error and rethrow it")
+    void shouldRecordError() throws Throwable {
+        // Given
+        IllegalStateException erro = new IllegalStateException("conexão perdida");
+        when(joinPoint.proceed()).thenThrow(erro);
+
+        // When / Then
+        assertThatThrownBy(() -> aspect.observar(joinPoint)).isSameAs(erro);
+        assertThat(finalizadas).singleElement()
+                .satisfies(context -> assertThat(context.getError()).isSameAs(erro));
+    }
+}
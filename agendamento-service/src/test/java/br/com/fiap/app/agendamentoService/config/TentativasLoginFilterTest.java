@@ -0,0 +1,111 @@
+package br.com.fiap.app.agendamentoService.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import br.com.fiap.app.agendamentoService.service.TentativasLoginService;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TentativasLoginFilter Tests")
+class TentativasLoginFilterTest {
+
+    @Mock
+    private TentativasLoginService tentativasLoginService;
+
+    private TentativasLoginFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new TentativasLoginFilter(tentativasLoginService, new JsonMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should reserve the HTTP Basic attempt and let it through when there is no wait")
+    void shouldReserveBasicAttempt() throws Exception {
+        // Given
+        when(tentativasLoginService.reservar("ana", "127.0.0.1")).thenReturn(0L);
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = executar(basic("ana", "senha"), chain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After while the HTTP Basic attempt is throttled")
+    void shouldRejectThrottledBasicAttempt() throws Exception {
+        // Given
+        when(tentativasLoginService.reservar("ana", "127.0.0.1")).thenReturn(1_500L);
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = executar(basic("ana", "senha"), chain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(response.getContentAsString()).contains("\"status\":429");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should skip requests without Basic credentials or already authenticated as the same user")
+    void shouldSkipWithoutNewCredentials() throws Exception {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated("ana", null, List.of()));
+
+        // When
+        MockHttpServletResponse semCredenciais = executar(null, new MockFilterChain());
+        MockHttpServletResponse mesmoUsuario = executar(basic("ana", "senha"), new MockFilterChain());
+
+        // Then
+        assertThat(semCredenciais.getStatus()).isEqualTo(200);
+        assertThat(mesmoUsuario.getStatus()).isEqualTo(200);
+        verify(tentativasLoginService, never()).reservar(anyString(), anyString());
+    }
+
+    private MockHttpServletResponse executar(String authorization, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/consultas");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static String basic(String username, String password) {
+        String credenciais = username + ":" + password;
+        return "Basic " + Base64.getEncoder().encodeToString(credenciais.getBytes(StandardCharsets.UTF_8));
+    }
+}
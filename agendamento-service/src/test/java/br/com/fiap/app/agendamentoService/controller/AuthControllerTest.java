@@ -6,23 +6,29 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
 
 import br.com.fiap.app.agendamentoService.dto.LoginRequest;
 import br.com.fiap.app.agendamentoService.dto.RegisterRequest;
 import br.com.fiap.app.agendamentoService.entity.User;
 import br.com.fiap.app.agendamentoService.enums.Role;
 import br.com.fiap.app.agendamentoService.exception.BusinessException;
+import br.com.fiap.app.agendamentoService.service.TentativasLoginService;
 import br.com.fiap.app.agendamentoService.service.UserService;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +41,9 @@ class AuthControllerTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    @Mock
+    private TentativasLoginService tentativasLoginService;
+
     @InjectMocks
     private AuthController authController;
 
@@ -74,11 +83,14 @@ class AuthControllerTest {
                 .thenReturn(authentication);
 
         // When
-        ResponseEntity<?> response = authController.authenticateUser(loginRequest);
+        ResponseEntity<?> response = authController.authenticateUser(loginRequest, new MockHttpServletRequest());
 
         // Then
         assertThat(response.getStatusCode().value()).isEqualTo(200);
-        verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verify(tentativasLoginService).reservar("testuser", "127.0.0.1");
+        verify(authenticationManager).authenticate(argThat(token ->
+                token.getDetails() instanceof WebAuthenticationDetails detalhes
+                        && "127.0.0.1".equals(detalhes.getRemoteAddress())));
     }
 
     @Test
@@ -89,13 +101,43 @@ class AuthControllerTest {
                 .thenThrow(new BadCredentialsException("Invalid credentials"));
 
         // When
-        ResponseEntity<?> response = authController.authenticateUser(loginRequest);
+        ResponseEntity<?> response = authController.authenticateUser(loginRequest, new MockHttpServletRequest());
 
         // Then
         assertThat(response.getStatusCode().value()).isEqualTo(401);
+        verify(tentativasLoginService).reservar("testuser", "127.0.0.1");
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
     }
 
+    @Test
+    @DisplayName("Should return 429 without authenticating while the attempt is throttled")
+    void shouldReturn429WhenLoginIsThrottled() {
+        // Given
+        when(tentativasLoginService.reservar("testuser", "127.0.0.1")).thenReturn(1_500L);
+
+        // When
+        ResponseEntity<?> response = authController.authenticateUser(loginRequest, new MockHttpServletRequest());
+
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(429);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("2");
+        verify(authenticationManager, never()).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Should return 423 when the account is locked")
+    void shouldReturn423WhenAccountIsLocked() {
+        // Given
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new LockedException("User account is locked"));
+
+        // When
+        ResponseEntity<?> response = authController.authenticateUser(loginRequest, new MockHttpServletRequest());
+
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(423);
+    }
+
     @Test
     @DisplayName("Should register new patient successfully")
     void shouldRegisterNewPatientSuccessfully() {
@@ -1,24 +1,36 @@
 package br.com.fiap.app.agendamentoService.controller;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import br.com.fiap.app.agendamentoService.dto.ConsultaRequestDTO;
 import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
@@ -26,8 +38,13 @@ import br.com.fiap.app.agendamentoService.entity.Consulta;
 import br.com.fiap.app.agendamentoService.entity.Medico;
 import br.com.fiap.app.agendamentoService.entity.Paciente;
 import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import br.com.fiap.app.agendamentoService.enums.FormatoExportacao;
 import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import br.com.fiap.app.agendamentoService.exception.BusinessException;
+import br.com.fiap.app.agendamentoService.service.ConsultaExportService;
 import br.com.fiap.app.agendamentoService.service.ConsultaService;
+import br.com.fiap.app.agendamentoService.service.IdempotenciaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ConsultaController Tests")
@@ -36,6 +53,13 @@ class ConsultaControllerTest {
     @Mock
     private ConsultaService consultaService;
 
+    @Mock
+    private ConsultaExportService consultaExportService;
+
+    @Spy
+    private IdempotenciaService idempotenciaService = new IdempotenciaService(new SimpleMeterRegistry(), Duration.ofHours(1),
+            Duration.ofSeconds(30));
+
     @InjectMocks
     private ConsultaController consultaController;
 
@@ -79,13 +103,28 @@ class ConsultaControllerTest {
     void shouldCreateConsultaAndReturn201() {
         when(consultaService.createConsulta(any(Consulta.class))).thenReturn(consulta);
 
-        ResponseEntity<ConsultaResponseDTO> response = consultaController.createConsulta(consultaRequest);
+        ResponseEntity<ConsultaResponseDTO> response = consultaController.createConsulta(consultaRequest, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
         assertThat(response.getBody()).isNotNull();
         verify(consultaService).createConsulta(any(Consulta.class));
     }
 
+    @Test
+    @DisplayName("Should answer a retried POST with the original consulta without creating another")
+    void shouldReplayCreateWithSameIdempotencyKey() {
+        when(consultaService.createConsulta(any(Consulta.class))).thenReturn(consulta);
+
+        ResponseEntity<ConsultaResponseDTO> primeira = consultaController.createConsulta(consultaRequest, "chave-1", null);
+        ResponseEntity<ConsultaResponseDTO> repetida = consultaController.createConsulta(consultaRequest, "chave-1", null);
+
+        assertThat(repetida.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(repetida.getBody()).isEqualTo(primeira.getBody());
+        assertThat(primeira.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("false");
+        assertThat(repetida.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+        verify(consultaService, times(1)).createConsulta(any(Consulta.class));
+    }
+
     @Test
     @DisplayName("Should get consulta by id and return 200")
     void shouldGetConsultaByIdAndReturn200() {
@@ -207,36 +246,60 @@ class ConsultaControllerTest {
     @Test
     @DisplayName("Should update consulta and return 200")
     void shouldUpdateConsultaAndReturn200() {
-        when(consultaService.updateConsulta(eq(1L), any(Consulta.class))).thenReturn(consulta);
+        when(consultaService.updateConsulta(eq(1L), any(Consulta.class), isNull())).thenReturn(consulta);
 
-        ResponseEntity<ConsultaResponseDTO> response = consultaController.updateConsulta(1L, consultaRequest);
+        ResponseEntity<ConsultaResponseDTO> response = consultaController.updateConsulta(1L, consultaRequest, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
-        verify(consultaService).updateConsulta(eq(1L), any(Consulta.class));
+        verify(consultaService).updateConsulta(eq(1L), any(Consulta.class), isNull());
     }
 
     @Test
     @DisplayName("Should update status consulta and return 200")
     void shouldUpdateStatusConsultaAndReturn200() {
-        when(consultaService.updateStatusConsulta(1L, StatusConsulta.CONFIRMADA)).thenReturn(consulta);
+        when(consultaService.updateStatusConsulta(1L, StatusConsulta.CONFIRMADA, null)).thenReturn(consulta);
 
-        ResponseEntity<ConsultaResponseDTO> response = consultaController.updateStatusConsulta(1L, StatusConsulta.CONFIRMADA);
+        ResponseEntity<ConsultaResponseDTO> response = consultaController.updateStatusConsulta(1L, StatusConsulta.CONFIRMADA, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
-        verify(consultaService).updateStatusConsulta(1L, StatusConsulta.CONFIRMADA);
+        verify(consultaService).updateStatusConsulta(1L, StatusConsulta.CONFIRMADA, null);
+    }
+
+    @Test
+    @DisplayName("Should pass the If-Match version to the service and answer with the new ETag")
+    void shouldUseIfMatchAndReturnEtag() {
+        consulta.setVersao(4L);
+        when(consultaService.updateStatusConsulta(1L, StatusConsulta.CONFIRMADA, 3L)).thenReturn(consulta);
+
+        ResponseEntity<ConsultaResponseDTO> response = consultaController.updateStatusConsulta(1L, StatusConsulta.CONFIRMADA, "\"3\"");
+
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"4\"");
+        assertThat(response.getBody().getVersao()).isEqualTo(4L);
+        verify(consultaService).updateStatusConsulta(1L, StatusConsulta.CONFIRMADA, 3L);
+    }
+
+    @Test
+    @DisplayName("Should read the version from strong, weak and wildcard If-Match values")
+    void shouldParseIfMatch() {
+        assertThat(ConsultaController.versao("\"7\"")).isEqualTo(7L);
+        assertThat(ConsultaController.versao("W/\"7\"")).isEqualTo(7L);
+        assertThat(ConsultaController.versao("*")).isNull();
+        assertThat(ConsultaController.versao(null)).isNull();
+        assertThatThrownBy(() -> ConsultaController.versao("\"abc\""))
+                .isInstanceOf(BusinessException.class);
     }
 
     @Test
     @DisplayName("Should cancelar consulta and return 200")
     void shouldCancelarConsultaAndReturn200() {
-        doNothing().when(consultaService).cancelarConsulta(1L, "Paciente não compareceu");
+        doNothing().when(consultaService).cancelarConsulta(1L, "Paciente não compareceu", null);
 
-        ResponseEntity<Void> response = consultaController.cancelarConsulta(1L, "Paciente não compareceu");
+        ResponseEntity<Void> response = consultaController.cancelarConsulta(1L, "Paciente não compareceu", null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
-        verify(consultaService).cancelarConsulta(1L, "Paciente não compareceu");
+        verify(consultaService).cancelarConsulta(1L, "Paciente não compareceu", null);
     }
 
     @Test
@@ -249,4 +312,41 @@ class ConsultaControllerTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
         verify(consultaService).deleteConsulta(1L);
     }
+
+    @Test
+    @DisplayName("Should stream historico export as NDJSON")
+    void shouldStreamHistoricoExportAsNdjson() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = consultaController.exportarHistoricoPaciente(
+                1L, FormatoExportacao.NDJSON, 10L, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().toString()).isEqualTo("application/x-ndjson");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+
+        response.getBody().writeTo(new ByteArrayOutputStream());
+        verify(consultaExportService).exportarHistoricoPaciente(eq(1L), eq(10L), eq(FormatoExportacao.NDJSON), any());
+    }
+
+    @Test
+    @DisplayName("Should gzip periodo export when client accepts gzip")
+    void shouldGzipPeriodoExportWhenClientAcceptsGzip() throws Exception {
+        LocalDateTime inicio = LocalDateTime.now();
+        LocalDateTime fim = inicio.plusDays(30);
+        when(consultaExportService.exportarPorPeriodo(eq(inicio), eq(fim), isNull(), eq(FormatoExportacao.CSV), any()))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(4, OutputStream.class).write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        ResponseEntity<StreamingResponseBody> response = consultaController.exportarPorPeriodo(
+                inicio, fim, FormatoExportacao.CSV, null, "gzip, deflate");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getContentType().toString()).startsWith("text/csv");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("id\n1\n");
+        }
+    }
 }
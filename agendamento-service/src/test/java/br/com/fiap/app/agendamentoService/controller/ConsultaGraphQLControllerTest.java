@@ -6,6 +6,7 @@ import br.com.fiap.app.agendamentoService.entity.Medico;
 import br.com.fiap.app.agendamentoService.entity.Paciente;
 import br.com.fiap.app.agendamentoService.enums.Especialidade;
 import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import br.com.fiap.app.agendamentoService.service.ConsultaLeituraReativaService;
 import br.com.fiap.app.agendamentoService.service.ConsultaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -31,6 +33,9 @@ class ConsultaGraphQLControllerTest {
     @Mock
     private ConsultaService consultaService;
 
+    @Mock
+    private ConsultaLeituraReativaService consultaLeituraReativaService;
+
     @InjectMocks
     private ConsultaGraphQLController controller;
 
@@ -85,15 +90,14 @@ class ConsultaGraphQLControllerTest {
     }
 
     @Test
-    @DisplayName("Should return consultas by medico")
+    @DisplayName("Should return consultas by medico from the reactive read path")
     void shouldReturnConsultasByMedico() {
-        List<ConsultaResponseDTO> dtos = Arrays.asList(consultaDTO);
-        when(consultaService.getConsultasByMedicoDTO(1L)).thenReturn(dtos);
+        when(consultaLeituraReativaService.getConsultasByMedico(1L)).thenReturn(Flux.just(consultaDTO));
 
-        List<ConsultaResponseDTO> result = controller.consultasByMedico(1L);
+        List<ConsultaResponseDTO> result = controller.consultasByMedico(1L).collectList().block();
 
-        assertThat(result).hasSize(1);
-        verify(consultaService).getConsultasByMedicoDTO(1L);
+        assertThat(result).containsExactly(consultaDTO);
+        verify(consultaLeituraReativaService).getConsultasByMedico(1L);
     }
 
     @Test
@@ -121,15 +125,14 @@ class ConsultaGraphQLControllerTest {
     }
 
     @Test
-    @DisplayName("Should return consultas futuras por paciente")
+    @DisplayName("Should return consultas futuras por paciente from the reactive read path")
     void shouldReturnConsultasFuturasPorPaciente() {
-        List<ConsultaResponseDTO> dtos = Arrays.asList(consultaDTO);
-        when(consultaService.getConsultasFuturasPorPacienteDTO(1L)).thenReturn(dtos);
+        when(consultaLeituraReativaService.getConsultasFuturasPorPaciente(1L)).thenReturn(Flux.just(consultaDTO));
 
-        List<ConsultaResponseDTO> result = controller.consultasFuturasPorPaciente(1L);
+        List<ConsultaResponseDTO> result = controller.consultasFuturasPorPaciente(1L).collectList().block();
 
-        assertThat(result).hasSize(1);
-        verify(consultaService).getConsultasFuturasPorPacienteDTO(1L);
+        assertThat(result).containsExactly(consultaDTO);
+        verify(consultaLeituraReativaService).getConsultasFuturasPorPaciente(1L);
     }
 
     @Test
@@ -147,23 +150,23 @@ class ConsultaGraphQLControllerTest {
     @Test
     @DisplayName("Should update status consulta")
     void shouldUpdateStatusConsulta() {
-        when(consultaService.updateStatusConsulta(1L, StatusConsulta.CONFIRMADA)).thenReturn(consulta);
+        when(consultaService.updateStatusConsulta(1L, StatusConsulta.CONFIRMADA, 2L)).thenReturn(consulta);
 
-        Consulta result = controller.updateStatusConsulta(1L, StatusConsulta.CONFIRMADA);
+        Consulta result = controller.updateStatusConsulta(1L, StatusConsulta.CONFIRMADA, 2L);
 
         assertThat(result).isEqualTo(consulta);
-        verify(consultaService).updateStatusConsulta(1L, StatusConsulta.CONFIRMADA);
+        verify(consultaService).updateStatusConsulta(1L, StatusConsulta.CONFIRMADA, 2L);
     }
 
     @Test
     @DisplayName("Should cancelar consulta")
     void shouldCancelarConsulta() {
-        doNothing().when(consultaService).cancelarConsulta(1L, "Motivo cancelamento");
+        doNothing().when(consultaService).cancelarConsulta(1L, "Motivo cancelamento", null);
 
-        Boolean result = controller.cancelarConsulta(1L, "Motivo cancelamento");
+        Boolean result = controller.cancelarConsulta(1L, "Motivo cancelamento", null);
 
         assertThat(result).isTrue();
-        verify(consultaService).cancelarConsulta(1L, "Motivo cancelamento");
+        verify(consultaService).cancelarConsulta(1L, "Motivo cancelamento", null);
     }
 
     @Test
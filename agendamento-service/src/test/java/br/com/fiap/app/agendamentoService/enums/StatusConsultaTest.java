@@ -0,0 +1,36 @@
+package br.com.fiap.app.agendamentoService.enums;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("StatusConsulta Tests")
+class StatusConsultaTest {
+
+    @Test
+    @DisplayName("Should allow the regular flow of a consulta")
+    void shouldAllowRegularFlow() {
+        assertThat(StatusConsulta.AGENDADA.podeIrPara(StatusConsulta.CONFIRMADA)).isTrue();
+        assertThat(StatusConsulta.CONFIRMADA.podeIrPara(StatusConsulta.EM_ANDAMENTO)).isTrue();
+        assertThat(StatusConsulta.EM_ANDAMENTO.podeIrPara(StatusConsulta.CONCLUIDA)).isTrue();
+        assertThat(StatusConsulta.FALTA_PACIENTE.podeIrPara(StatusConsulta.REAGENDADA)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep CONCLUIDA and CANCELADA final")
+    void shouldKeepFinalStatusesFinal() {
+        assertThat(StatusConsulta.CONCLUIDA.destinos()).isEmpty();
+        assertThat(StatusConsulta.CANCELADA.destinos()).isEmpty();
+        assertThat(StatusConsulta.CONCLUIDA.podeIrPara(StatusConsulta.AGENDADA)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should derive the origins of a status from the transition table")
+    void shouldDeriveOrigins() {
+        assertThat(StatusConsulta.origensDe(StatusConsulta.CANCELADA)).containsExactlyInAnyOrder(
+                StatusConsulta.AGENDADA, StatusConsulta.CONFIRMADA, StatusConsulta.REAGENDADA);
+        assertThat(StatusConsulta.origensDe(StatusConsulta.CONCLUIDA)).containsExactly(StatusConsulta.EM_ANDAMENTO);
+        assertThat(StatusConsulta.origensDe(StatusConsulta.AGENDADA)).isEmpty();
+    }
+}
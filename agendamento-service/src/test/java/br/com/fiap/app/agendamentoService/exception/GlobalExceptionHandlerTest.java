@@ -8,6 +8,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 
@@ -53,6 +54,50 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getMessage()).isEqualTo("Regra de negócio violada");
     }
 
+    @Test
+    @DisplayName("Should handle VersaoDesatualizadaException with 412")
+    void shouldHandleVersaoDesatualizadaException() {
+        VersaoDesatualizadaException ex = new VersaoDesatualizadaException("Consulta", 1L, 2L, 3L);
+
+        ResponseEntity<ErrorResponse> response = handler.handleVersaoDesatualizadaException(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(response.getBody().getMessage()).contains("versão atual 3");
+    }
+
+    @Test
+    @DisplayName("Should handle ChaveIdempotenciaException with 422")
+    void shouldHandleChaveIdempotenciaException() {
+        ChaveIdempotenciaException ex = new ChaveIdempotenciaException("Idempotency-Key já usada com outra requisição");
+
+        ResponseEntity<ErrorResponse> response = handler.handleChaveIdempotenciaException(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_CONTENT);
+        assertThat(response.getBody().getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    @DisplayName("Should handle RequisicaoEmAndamentoException with 409")
+    void shouldHandleRequisicaoEmAndamentoException() {
+        RequisicaoEmAndamentoException ex = new RequisicaoEmAndamentoException("Requisição ainda em andamento");
+
+        ResponseEntity<ErrorResponse> response = handler.handleRequisicaoEmAndamentoException(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().getStatus()).isEqualTo(409);
+    }
+
+    @Test
+    @DisplayName("Should handle optimistic locking failures with 409")
+    void shouldHandleOptimisticLockingFailureException() {
+        ObjectOptimisticLockingFailureException ex = new ObjectOptimisticLockingFailureException(Object.class, 1L);
+
+        ResponseEntity<ErrorResponse> response = handler.handleOptimisticLockingFailureException(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().getStatus()).isEqualTo(409);
+    }
+
     @Test
     @DisplayName("Should handle AuthenticationException with 401")
     void shouldHandleAuthenticationException() {
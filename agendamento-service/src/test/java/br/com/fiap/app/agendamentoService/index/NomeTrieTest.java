@@ -0,0 +1,97 @@
+package br.com.fiap.app.agendamentoService.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("NomeTrie Tests")
+class NomeTrieTest {
+
+    private NomeTrie<String> trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new NomeTrie<>();
+        trie.put("maria da silva", "1");
+        trie.put("mariana costa", "2");
+        trie.put("marcos lima", "3");
+        trie.put("joao santos", "4");
+    }
+
+    @Test
+    @DisplayName("Should normalize accents, case and whitespace")
+    void shouldNormalizeAccentsCaseAndWhitespace() {
+        assertThat(NomeTrie.normalizar("  João   DA Conceição ")).isEqualTo("joao da conceicao");
+        assertThat(NomeTrie.normalizar(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return values matching prefix, shortest keys first")
+    void shouldReturnValuesMatchingPrefixShortestFirst() {
+        assertThat(trie.buscarPorPrefixo("mar", 10)).containsExactly("3", "2", "1");
+        assertThat(trie.buscarPorPrefixo("maria", 10)).containsExactly("2", "1");
+        assertThat(trie.buscarPorPrefixo("maria d", 10)).containsExactly("1");
+    }
+
+    @Test
+    @DisplayName("Should return empty list when prefix does not match")
+    void shouldReturnEmptyListWhenPrefixDoesNotMatch() {
+        assertThat(trie.buscarPorPrefixo("mat", 10)).isEmpty();
+        assertThat(trie.buscarPorPrefixo("maria da silvana", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should stop after limit is reached")
+    void shouldStopAfterLimitIsReached() {
+        assertThat(trie.buscarPorPrefixo("mar", 2)).hasSize(2);
+        assertThat(trie.buscarPorPrefixo("mar", 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should deduplicate values indexed under several keys")
+    void shouldDeduplicateValuesIndexedUnderSeveralKeys() {
+        trie.put("maria da silva", "1");
+        trie.put("mariazinha", "1");
+
+        List<String> result = trie.buscarPorPrefixo("maria", 10);
+
+        assertThat(result).containsExactly("1", "2");
+        assertThat(trie.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should rank the closest keys first and break ties alphabetically")
+    void shouldRankClosestKeysFirst() {
+        trie.put("ana paula", "5");
+        trie.put("anabela", "6");
+        trie.put("ana", "7");
+        trie.put("ana lima", "8");
+
+        assertThat(trie.buscarPorPrefixo("ana", 3)).containsExactly("7", "6", "8");
+    }
+
+    @Test
+    @DisplayName("Should remove value and keep remaining keys reachable")
+    void shouldRemoveValueAndKeepRemainingKeysReachable() {
+        assertThat(trie.remove("maria da silva", "1")).isTrue();
+        assertThat(trie.remove("maria da silva", "1")).isFalse();
+        assertThat(trie.remove("inexistente", "9")).isFalse();
+
+        assertThat(trie.buscarPorPrefixo("mari", 10)).containsExactly("2");
+        assertThat(trie.buscarPorPrefixo("marc", 10)).containsExactly("3");
+        assertThat(trie.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should clear all entries")
+    void shouldClearAllEntries() {
+        trie.clear();
+
+        assertThat(trie.size()).isZero();
+        assertThat(trie.buscarPorPrefixo("m", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.fiap.app.agendamentoService.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.OptionalLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("OffHeapLongHashIndex Tests")
+class OffHeapLongHashIndexTest {
+
+    @Test
+    @DisplayName("Should put, get and overwrite values")
+    void shouldPutGetAndOverwriteValues() {
+        OffHeapLongHashIndex index = new OffHeapLongHashIndex(4);
+
+        index.put(42L, 1L);
+        index.put(42L, 2L);
+
+        assertThat(index.get(42L)).isEqualTo(OptionalLong.of(2L));
+        assertThat(index.get(43L)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should accept reserved sentinel keys")
+    void shouldAcceptReservedSentinelKeys() {
+        OffHeapLongHashIndex index = new OffHeapLongHashIndex(4);
+
+        index.put(0L, 7L);
+        index.put(Long.MIN_VALUE, 8L);
+
+        assertThat(index.get(0L)).isEqualTo(OptionalLong.of(7L));
+        assertThat(index.get(Long.MIN_VALUE)).isEqualTo(OptionalLong.of(8L));
+    }
+
+    @Test
+    @DisplayName("Should grow beyond initial capacity and keep every entry")
+    void shouldGrowBeyondInitialCapacityAndKeepEveryEntry() {
+        OffHeapLongHashIndex index = new OffHeapLongHashIndex(8);
+
+        for (long i = 1; i <= 10_000; i++) {
+            index.put(OffHeapLongHashIndex.hash("CPF" + i), i);
+        }
+
+        assertThat(index.size()).isEqualTo(10_000);
+        for (long i = 1; i <= 10_000; i++) {
+            assertThat(index.get(OffHeapLongHashIndex.hash("CPF" + i))).isEqualTo(OptionalLong.of(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should remove entries and reuse tombstoned slots")
+    void shouldRemoveEntriesAndReuseTombstonedSlots() {
+        OffHeapLongHashIndex index = new OffHeapLongHashIndex(8);
+
+        for (int rodada = 0; rodada < 1_000; rodada++) {
+            index.put(rodada, rodada);
+            assertThat(index.remove(rodada)).isTrue();
+        }
+        index.put(5L, 50L);
+
+        assertThat(index.remove(999_999L)).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.get(5L)).isEqualTo(OptionalLong.of(50L));
+        assertThat(index.get(4L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should clear all entries")
+    void shouldClearAllEntries() {
+        OffHeapLongHashIndex index = new OffHeapLongHashIndex(8);
+        index.put(1L, 1L);
+
+        index.clear();
+
+        assertThat(index.size()).isZero();
+        assertThat(index.get(1L)).isEmpty();
+    }
+}
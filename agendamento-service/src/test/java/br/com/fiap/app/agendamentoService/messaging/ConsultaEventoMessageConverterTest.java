@@ -0,0 +1,100 @@
+package br.com.fiap.app.agendamentoService.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaAgendadaEvent;
+
+@DisplayName("ConsultaEventoMessageConverter Tests")
+class ConsultaEventoMessageConverterTest {
+
+    private final JacksonJsonMessageConverter json = new JacksonJsonMessageConverter();
+    private final ConsultaEventoMessageConverter converter = new ConsultaEventoMessageConverter(json, true);
+
+    @Test
+    @DisplayName("Should round-trip event through binary format")
+    void shouldRoundTripBinaryEvent() {
+        // Given
+        ConsultaAgendadaEvent event = evento();
+
+        // When
+        Message message = converter.toMessage(event, new MessageProperties());
+        Object decodificado = converter.fromMessage(message);
+
+        // Then
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo(ConsultaEventoMessageConverter.CONTENT_TYPE);
+        assertThat(decodificado).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("Should round-trip null fields, unknown status and non-UUID event id")
+    void shouldRoundTripUnusualValues() {
+        // Given
+        ConsultaAgendadaEvent event = new ConsultaAgendadaEvent(7L, null, null, "Dra. Ana", null, "EM_TRIAGEM",
+                null, "evento-legado", -3L);
+
+        // When
+        ConsultaAgendadaEvent decodificado = ConsultaEventoCodec.decodificar(ConsultaEventoCodec.codificar(event));
+
+        // Then
+        assertThat(decodificado).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("Binary payload should be much smaller than JSON")
+    void binaryPayloadShouldBeSmallerThanJson() {
+        // Given
+        ConsultaAgendadaEvent event = evento();
+
+        // When
+        int binario = converter.toMessage(event, new MessageProperties()).getBody().length;
+        int texto = json.toMessage(event, new MessageProperties()).getBody().length;
+
+        // Then
+        assertThat(binario).isLessThan(texto / 2);
+    }
+
+    @Test
+    @DisplayName("Should fall back to JSON for messages without binary content type")
+    void shouldFallBackToJson() {
+        // Given
+        Message message = json.toMessage(evento(), new MessageProperties());
+        message.getMessageProperties().setInferredArgumentType(ConsultaAgendadaEvent.class);
+
+        // When
+        Object decodificado = converter.fromMessage(message);
+
+        // Then
+        assertThat(decodificado).isEqualTo(evento());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown schema version")
+    void shouldRejectUnknownSchemaVersion() {
+        // Given
+        byte[] corpo = ConsultaEventoCodec.codificar(evento());
+        corpo[0] = 99;
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(ConsultaEventoMessageConverter.CONTENT_TYPE);
+
+        // When / Then
+        assertThatThrownBy(() -> converter.fromMessage(new Message(corpo, properties)))
+                .isInstanceOf(MessageConversionException.class);
+    }
+
+    private static ConsultaAgendadaEvent evento() {
+        return new ConsultaAgendadaEvent(1234L, 567L, "Maria da Silva", "Dr. João Santos",
+                LocalDateTime.of(2026, 3, 15, 14, 30), "CONFIRMADA", "Consulta de rotina",
+                UUID.nameUUIDFromBytes("1234".getBytes()).toString(), 1_760_000_000_000L);
+    }
+}
@@ -0,0 +1,118 @@
+package br.com.fiap.app.agendamentoService.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
+import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/**
+ * Aplica as migrações do H2 por JDBC e lê pelo driver R2DBC, no mesmo banco em memória,
+ * como acontece na aplicação (JPA escreve, o caminho reativo lê).
+ */
+@DisplayName("ConsultaLeituraReativaRepository Tests")
+class ConsultaLeituraReativaRepositoryTest {
+
+    private static final String URL = "jdbc:h2:mem:leitura;DB_CLOSE_DELAY=-1";
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 3, 10, 9, 0);
+
+    private static Connection connection;
+    private static ConsultaLeituraReativaRepository repository;
+
+    @BeforeAll
+    static void preparar() throws SQLException {
+        Flyway.configure()
+                .dataSource(URL, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(URL, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, username, password, nome, email, telefone, role, active) VALUES "
+                    + "(1, 'medico', 'x', 'Dr. João', 'm@x.com', '1', 'ROLE_MEDICO', TRUE), "
+                    + "(2, 'paciente', 'x', 'Maria', 'p@x.com', '1', 'ROLE_PACIENTE', TRUE), "
+                    + "(3, 'enfermeira', 'x', 'Ana', 'e@x.com', '1', 'ROLE_ENFERMEIRO', TRUE)");
+            statement.execute("INSERT INTO medicos (id, user_id, crm, especialidade, ativo) VALUES (1, 1, 'CRM1', 'CARDIOLOGIA', TRUE)");
+            statement.execute("INSERT INTO pacientes (id, user_id, cpf, data_nascimento, ativo) VALUES (1, 2, '12345678901', DATE '1990-01-01', TRUE)");
+            statement.execute("INSERT INTO enfermeiros (id, user_id, coren, ativo) VALUES (1, 3, 'COREN1', TRUE)");
+            statement.execute("INSERT INTO consultas (id, medico_id, paciente_id, enfermeiro_id, data_hora, status, motivo, data_criacao) VALUES "
+                    + "(1, 1, 1, 1, TIMESTAMP '2030-03-12 09:00:00', 'AGENDADA', 'Retorno', TIMESTAMP '2030-03-01 09:00:00'), "
+                    + "(2, 1, 1, NULL, TIMESTAMP '2030-03-11 09:00:00', 'CONFIRMADA', 'Rotina', TIMESTAMP '2030-03-01 09:00:00'), "
+                    + "(3, 1, 1, NULL, TIMESTAMP '2030-03-01 09:00:00', 'CONCLUIDA', 'Antiga', TIMESTAMP '2030-02-01 09:00:00')");
+        }
+        // Mesmo usuário com que o Flyway criou o banco, como no LeituraReativaConfig
+        ConnectionFactoryOptions opcoes = ConnectionFactoryOptions.parse("r2dbc:h2:mem:///leitura?options=DB_CLOSE_DELAY=-1")
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, "sa")
+                .option(ConnectionFactoryOptions.PASSWORD, "")
+                .build();
+        repository = new ConsultaLeituraReativaRepository(DatabaseClient.create(ConnectionFactories.get(opcoes)));
+    }
+
+    @AfterAll
+    static void fechar() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Should map joined rows to the same DTO shape as ConsultaMapper")
+    void shouldMapJoinedRows() {
+        // When
+        List<ConsultaResponseDTO> consultas = repository.findByMedico(1L).collectList().block();
+
+        // Then
+        assertThat(consultas).extracting(ConsultaResponseDTO::getId).containsExactly(3L, 2L, 1L);
+        ConsultaResponseDTO comEnfermeiro = consultas.get(2);
+        assertThat(comEnfermeiro.getMedico().getNome()).isEqualTo("Dr. João");
+        assertThat(comEnfermeiro.getMedico().getEspecialidade()).isEqualTo(Especialidade.CARDIOLOGIA);
+        assertThat(comEnfermeiro.getPaciente().getCpf()).isEqualTo("12345678901");
+        assertThat(comEnfermeiro.getEnfermeiro().getCoren()).isEqualTo("COREN1");
+        assertThat(comEnfermeiro.getStatus()).isEqualTo(StatusConsulta.AGENDADA);
+        assertThat(comEnfermeiro.getDataHora()).isEqualTo(LocalDateTime.of(2030, 3, 12, 9, 0));
+        assertThat(consultas.get(1).getEnfermeiro()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return only future consultas of the patient in ascending order")
+    void shouldReturnFuturasInAscendingOrder() {
+        // When
+        List<ConsultaResponseDTO> consultas = repository.findFuturasPorPaciente(1L, BASE).collectList().block();
+
+        // Then
+        assertThat(consultas).extracting(ConsultaResponseDTO::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should filter by period")
+    void shouldFilterByPeriodo() {
+        // When
+        List<ConsultaResponseDTO> consultas = repository.findByPeriodo(BASE, BASE.plusDays(1)).collectList().block();
+
+        // Then
+        assertThat(consultas).extracting(ConsultaResponseDTO::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should tell whether medico and paciente exist")
+    void shouldCheckExistence() {
+        assertThat(repository.existsMedico(1L).block()).isTrue();
+        assertThat(repository.existsMedico(99L).block()).isFalse();
+        assertThat(repository.existsPaciente(1L).block()).isTrue();
+    }
+}
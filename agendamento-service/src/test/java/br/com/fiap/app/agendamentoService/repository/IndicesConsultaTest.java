@@ -0,0 +1,117 @@
+package br.com.fiap.app.agendamentoService.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Aplica as migrações do H2 e confere, via EXPLAIN, que cada consulta do
+ * {@link ConsultaRepository} usa o índice criado para ela em vez de varrer a tabela.
+ * As migrações do PostgreSQL são conferidas em {@link MigracoesPostgresqlTest}.
+ */
+@DisplayName("Consulta indexes Tests")
+class IndicesConsultaTest {
+
+    private static final String URL = "jdbc:h2:mem:indices;DB_CLOSE_DELAY=-1";
+    private static final String SELECT = "SELECT * FROM consultas c ";
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrar() throws SQLException {
+        Flyway.configure()
+                .dataSource(URL, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(URL, "sa", "");
+    }
+
+    @AfterAll
+    static void fechar() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("findByMedicoAndPeriodo should use (medico_id, data_hora)")
+    void findByMedicoAndPeriodoShouldUseCompositeIndex() throws SQLException {
+        String plano = explain(SELECT + "WHERE c.medico_id = 1 "
+                + "AND c.data_hora BETWEEN TIMESTAMP '2026-01-01 00:00:00' AND TIMESTAMP '2026-01-31 23:59:59'");
+
+        assertThat(plano).contains("IDX_CONSULTAS_MEDICO_DATA_HORA").doesNotContain("tableScan");
+    }
+
+    @Test
+    @DisplayName("findHistoricoCompletoPaciente should use an index on paciente_id")
+    void findHistoricoCompletoPacienteShouldUsePacienteIndex() throws SQLException {
+        String plano = explain(SELECT + "WHERE c.paciente_id = 1 ORDER BY c.data_hora DESC");
+
+        // Com a tabela vazia o H2 escolhe o índice da fk_consultas_paciente, que empata em
+        // custo com o composto; no PostgreSQL não há índice implícito de FK
+        assertThat(plano).containsPattern("PUBLIC\\.\\w+: PACIENTE_ID = ").doesNotContain("tableScan");
+    }
+
+    @Test
+    @DisplayName("findConsultasFuturasPorPaciente should use (paciente_id, data_hora DESC)")
+    void findConsultasFuturasPorPacienteShouldUseCompositeIndex() throws SQLException {
+        String plano = explain(SELECT + "WHERE c.paciente_id = 1 AND c.data_hora > TIMESTAMP '2026-01-01 00:00:00' "
+                + "ORDER BY c.data_hora ASC");
+
+        assertThat(plano).contains("IDX_CONSULTAS_PACIENTE_DATA_HORA").doesNotContain("tableScan");
+    }
+
+    @Test
+    @DisplayName("findByPeriodo should use data_hora index")
+    void findByPeriodoShouldUseDataHoraIndex() throws SQLException {
+        String plano = explain(SELECT
+                + "WHERE c.data_hora BETWEEN TIMESTAMP '2026-01-01 00:00:00' AND TIMESTAMP '2026-01-31 23:59:59'");
+
+        assertThat(plano).contains("IDX_CONSULTAS_DATA_HORA").doesNotContain("tableScan");
+    }
+
+    @Test
+    @DisplayName("findConsultasParaNotificacao should use (status, data_hora)")
+    void findConsultasParaNotificacaoShouldUseStatusIndex() throws SQLException {
+        String plano = explain(SELECT + "WHERE c.data_hora > TIMESTAMP '2026-01-01 00:00:00' "
+                + "AND c.status IN ('AGENDADA', 'CONFIRMADA')");
+
+        assertThat(plano).contains("IDX_CONSULTAS_STATUS_DATA_HORA").doesNotContain("tableScan");
+    }
+
+    @Test
+    @DisplayName("findByStatus should use (status, data_hora)")
+    void findByStatusShouldUseStatusIndex() throws SQLException {
+        String plano = explain(SELECT + "WHERE c.status = 'CONCLUIDA'");
+
+        assertThat(plano).contains("IDX_CONSULTAS_STATUS_DATA_HORA").doesNotContain("tableScan");
+    }
+
+    @Test
+    @DisplayName("Archived history should use (paciente_id, data_hora DESC)")
+    void historicoArquivadoShouldUseCompositeIndex() throws SQLException {
+        String plano = explain("SELECT * FROM consultas_arquivadas a WHERE a.paciente_id = 1 ORDER BY a.data_hora DESC");
+
+        assertThat(plano).contains("IDX_CONSULTAS_ARQUIVADAS_PACIENTE_DATA_HORA").doesNotContain("tableScan");
+    }
+
+    private static String explain(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+            StringBuilder plano = new StringBuilder();
+            while (rs.next()) {
+                plano.append(rs.getString(1)).append('\n');
+            }
+            return plano.toString();
+        }
+    }
+}
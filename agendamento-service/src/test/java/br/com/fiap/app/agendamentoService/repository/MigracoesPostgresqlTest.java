@@ -0,0 +1,121 @@
+package br.com.fiap.app.agendamentoService.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * Aplica as migrações de db/migration/postgresql num PostgreSQL real (a mesma versão
+ * do docker-compose) e confere o particionamento e os índices, inclusive o parcial.
+ * Sem Docker disponível, a classe é ignorada.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("PostgreSQL migrations Tests")
+class MigracoesPostgresqlTest {
+
+    @Container
+    private static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void migrar() throws SQLException {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    @AfterAll
+    static void fechar() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    @DisplayName("consultas should be range-partitioned by data_hora with a default partition")
+    void consultasShouldBeRangePartitioned() throws SQLException {
+        assertThat(consultar("SELECT p.partstrat || ':' || a.attname FROM pg_partitioned_table p "
+                + "JOIN pg_attribute a ON a.attrelid = p.partrelid AND a.attnum = p.partattrs[0] "
+                + "WHERE p.partrelid = 'consultas'::regclass"))
+                .containsExactly("r:data_hora");
+        assertThat(consultar("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = 'consultas'::regclass"))
+                .contains("consultas_padrao");
+    }
+
+    @Test
+    @DisplayName("All consulta indexes should exist on the partitioned table")
+    void indexesShouldExist() throws SQLException {
+        assertThat(consultar("SELECT indexname FROM pg_indexes WHERE tablename = 'consultas'"))
+                .contains("idx_consultas_medico_data_hora", "idx_consultas_paciente_data_hora",
+                        "idx_consultas_data_hora", "idx_consultas_status_data_hora",
+                        "idx_consultas_notificacao", "idx_consultas_enfermeiro");
+        assertThat(consultar("SELECT indexname FROM pg_indexes WHERE tablename = 'consultas_arquivadas'"))
+                .contains("idx_consultas_arquivadas_paciente_data_hora");
+    }
+
+    @Test
+    @DisplayName("Notification index should be partial on the pending statuses and reach every partition")
+    void notificacaoIndexShouldBePartial() throws SQLException {
+        assertThat(consultar("SELECT indexdef FROM pg_indexes WHERE indexname = 'idx_consultas_notificacao'"))
+                .singleElement()
+                .asString()
+                .contains("WHERE", "'AGENDADA'", "'CONFIRMADA'");
+        assertThat(consultar("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = 'idx_consultas_notificacao'::regclass"))
+                .hasSize(consultar("SELECT inhrelid::regclass::text FROM pg_inherits "
+                        + "WHERE inhparent = 'consultas'::regclass").size());
+    }
+
+    @Test
+    @DisplayName("findConsultasParaNotificacao should not scan the partitions sequentially")
+    void findConsultasParaNotificacaoShouldUseIndex() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+        }
+
+        List<String> plano = consultar("EXPLAIN SELECT * FROM consultas c "
+                + "WHERE c.data_hora > TIMESTAMP '2026-01-01 00:00:00' AND c.status IN ('AGENDADA', 'CONFIRMADA')");
+
+        assertThat(String.join("\n", plano)).contains("Index").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("Later migrations should add the version and lockout columns")
+    void laterMigrationsShouldAddColumns() throws SQLException {
+        assertThat(consultar("SELECT column_name FROM information_schema.columns WHERE table_name = 'consultas'"))
+                .contains("versao");
+        assertThat(consultar("SELECT column_name FROM information_schema.columns WHERE table_name = 'users'"))
+                .contains("bloqueado_ate");
+    }
+
+    private static List<String> consultar(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(sql)) {
+            List<String> linhas = new ArrayList<>();
+            while (rs.next()) {
+                linhas.add(rs.getString(1));
+            }
+            return linhas;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
+import br.com.fiap.app.agendamentoService.entity.Consulta;
+import br.com.fiap.app.agendamentoService.entity.ConsultaArquivada;
+import br.com.fiap.app.agendamentoService.entity.Medico;
+import br.com.fiap.app.agendamentoService.entity.Paciente;
+import br.com.fiap.app.agendamentoService.entity.User;
+import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import br.com.fiap.app.agendamentoService.mapper.ConsultaMapper;
+import br.com.fiap.app.agendamentoService.repository.ConsultaArquivadaRepository;
+import br.com.fiap.app.agendamentoService.repository.ConsultaRepository;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ArquivamentoConsultaService Tests")
+class ArquivamentoConsultaServiceTest {
+
+    private static final LocalDateTime LIMITE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Mock
+    private ConsultaRepository consultaRepository;
+
+    @Mock
+    private ConsultaArquivadaRepository consultaArquivadaRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ArquivamentoConsultaService arquivamentoConsultaService;
+
+    private Consulta consulta;
+
+    @BeforeEach
+    void setUp() {
+        arquivamentoConsultaService = new ArquivamentoConsultaService(consultaRepository, consultaArquivadaRepository,
+                transactionTemplate, JsonMapper.builder().build());
+        ReflectionTestUtils.setField(arquivamentoConsultaService, "lote", 2);
+
+        User medicoUser = new User();
+        medicoUser.setNome("Dr. Carlos");
+        Medico medico = new Medico();
+        medico.setId(1L);
+        medico.setEspecialidade(Especialidade.CARDIOLOGIA);
+        medico.setUser(medicoUser);
+
+        User pacienteUser = new User();
+        pacienteUser.setNome("João Silva");
+        Paciente paciente = new Paciente();
+        paciente.setId(2L);
+        paciente.setUser(pacienteUser);
+
+        consulta = new Consulta();
+        consulta.setId(3L);
+        consulta.setMedico(medico);
+        consulta.setPaciente(paciente);
+        consulta.setDataHora(LocalDateTime.of(2024, 6, 10, 14, 0));
+        consulta.setStatus(StatusConsulta.CONCLUIDA);
+        consulta.setDiagnostico("Hipertensão leve");
+        consulta.setDataCriacao(LocalDateTime.of(2024, 6, 1, 9, 0));
+    }
+
+    @Test
+    @DisplayName("Should move old consultas to archive in batches until a partial batch")
+    @SuppressWarnings("unchecked")
+    void shouldArchiveInBatches() {
+        // Given
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<Integer>) inv.getArgument(0)).doInTransaction(null));
+        when(consultaRepository.travarParaArquivamento(eq(ArquivamentoConsultaService.STATUS_ARQUIVAVEIS), eq(LIMITE),
+                any(Limit.class)))
+                .thenReturn(List.of(consulta, consulta))
+                .thenReturn(List.of(consulta));
+        when(consultaRepository.findParaArquivamento(any())).thenReturn(List.of(consulta, consulta), List.of(consulta));
+
+        // When
+        long total = arquivamentoConsultaService.arquivar(LIMITE);
+
+        // Then
+        assertThat(total).isEqualTo(3);
+        ArgumentCaptor<List<ConsultaArquivada>> captor = ArgumentCaptor.forClass(List.class);
+        verify(consultaArquivadaRepository, times(2)).saveAll(captor.capture());
+        ConsultaArquivada arquivada = captor.getAllValues().get(0).get(0);
+        assertThat(arquivada.getId()).isEqualTo(3L);
+        assertThat(arquivada.getPacienteId()).isEqualTo(2L);
+        assertThat(arquivada.getMedicoId()).isEqualTo(1L);
+        assertThat(arquivada.getEspecialidade()).isEqualTo(Especialidade.CARDIOLOGIA);
+        assertThat(arquivada.getStatus()).isEqualTo(StatusConsulta.CONCLUIDA);
+        assertThat(arquivada.isNew()).isTrue();
+        verify(consultaRepository, times(2)).deleteAllInBatch(any());
+    }
+
+    @Test
+    @DisplayName("Should stop when there is nothing to archive")
+    @SuppressWarnings("unchecked")
+    void shouldStopWhenNothingToArchive() {
+        // Given
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<Integer>) inv.getArgument(0)).doInTransaction(null));
+        when(consultaRepository.travarParaArquivamento(any(), any(), any())).thenReturn(List.of());
+
+        // When
+        long total = arquivamentoConsultaService.arquivar(LIMITE);
+
+        // Then
+        assertThat(total).isZero();
+        verify(consultaArquivadaRepository, never()).saveAll(any());
+        verify(consultaRepository, never()).findParaArquivamento(any());
+    }
+
+    @Test
+    @DisplayName("Should restore archived content and merge it with hot history")
+    void shouldMergeArchivedHistory() {
+        // Given
+        ConsultaArquivada arquivada = new ConsultaArquivada(3L, 2L, 1L, Especialidade.CARDIOLOGIA,
+                consulta.getDataHora(), StatusConsulta.CONCLUIDA,
+                arquivamentoConsultaService.compactar(ConsultaMapper.toDTO(consulta)),
+                LocalDateTime.now());
+        when(consultaArquivadaRepository.findByPacienteIdOrderByDataHoraDesc(2L)).thenReturn(List.of(arquivada));
+        ConsultaResponseDTO recente = new ConsultaResponseDTO();
+        recente.setId(10L);
+        recente.setDataHora(LocalDateTime.of(2026, 2, 1, 8, 0));
+
+        // When
+        List<ConsultaResponseDTO> historico = arquivamentoConsultaService.mesclarHistorico(List.of(recente), 2L);
+
+        // Then
+        assertThat(historico).extracting(ConsultaResponseDTO::getId).containsExactly(10L, 3L);
+        ConsultaResponseDTO restaurada = historico.get(1);
+        assertThat(restaurada.getDiagnostico()).isEqualTo("Hipertensão leve");
+        assertThat(restaurada.getPaciente().getNome()).isEqualTo("João Silva");
+        assertThat(restaurada.getDataHora()).isEqualTo(consulta.getDataHora());
+    }
+}
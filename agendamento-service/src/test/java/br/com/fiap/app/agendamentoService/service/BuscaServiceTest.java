@@ -0,0 +1,154 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.fiap.app.agendamentoService.dto.AutocompleteResultDTO;
+import br.com.fiap.app.agendamentoService.entity.Medico;
+import br.com.fiap.app.agendamentoService.entity.Paciente;
+import br.com.fiap.app.agendamentoService.entity.User;
+import br.com.fiap.app.agendamentoService.enums.TipoCadastro;
+import br.com.fiap.app.agendamentoService.repository.EnfermeiroRepository;
+import br.com.fiap.app.agendamentoService.repository.MedicoRepository;
+import br.com.fiap.app.agendamentoService.repository.PacienteRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BuscaService Tests")
+class BuscaServiceTest {
+
+    @Mock
+    private PacienteRepository pacienteRepository;
+
+    @Mock
+    private MedicoRepository medicoRepository;
+
+    @Mock
+    private EnfermeiroRepository enfermeiroRepository;
+
+    @InjectMocks
+    private BuscaService buscaService;
+
+    private Paciente paciente;
+    private Medico medico;
+
+    @BeforeEach
+    void setUp() {
+        User pacienteUser = new User();
+        pacienteUser.setId(1L);
+        pacienteUser.setNome("Maria da Silva");
+
+        paciente = new Paciente();
+        paciente.setId(10L);
+        paciente.setUser(pacienteUser);
+
+        User medicoUser = new User();
+        medicoUser.setId(2L);
+        medicoUser.setNome("Dr. Mário Souza");
+
+        medico = new Medico();
+        medico.setId(20L);
+        medico.setUser(medicoUser);
+    }
+
+    @Test
+    @DisplayName("Should bulk load index and find by name prefix")
+    void shouldBulkLoadIndexAndFindByNamePrefix() {
+        when(pacienteRepository.findAll()).thenReturn(List.of(paciente));
+        when(medicoRepository.findAll()).thenReturn(List.of(medico));
+        when(enfermeiroRepository.findAll()).thenReturn(List.of());
+
+        buscaService.carregarIndice();
+        List<AutocompleteResultDTO> result = buscaService.autocomplete("Maria", null);
+
+        assertThat(result).containsExactly(new AutocompleteResultDTO(TipoCadastro.PACIENTE, 10L, "Maria da Silva"));
+    }
+
+    @Test
+    @DisplayName("Should match on any word of the name ignoring accents")
+    void shouldMatchOnAnyWordOfTheNameIgnoringAccents() {
+        buscaService.indexarPaciente(paciente);
+        buscaService.indexarMedico(medico);
+
+        assertThat(buscaService.autocomplete("silv", 10)).extracting(AutocompleteResultDTO::id).containsExactly(10L);
+        assertThat(buscaService.autocomplete("mario", 10)).extracting(AutocompleteResultDTO::id).containsExactly(20L);
+    }
+
+    @Test
+    @DisplayName("Should replace previous entry when reindexed")
+    void shouldReplacePreviousEntryWhenReindexed() {
+        buscaService.indexarPaciente(paciente);
+        paciente.getUser().setNome("Joana Prado");
+        when(pacienteRepository.findByUserId(1L)).thenReturn(Optional.of(paciente));
+        when(medicoRepository.findByUserId(1L)).thenReturn(Optional.empty());
+        when(enfermeiroRepository.findByUserId(1L)).thenReturn(Optional.empty());
+
+        buscaService.reindexarUsuario(paciente.getUser());
+
+        assertThat(buscaService.autocomplete("maria", 10)).isEmpty();
+        assertThat(buscaService.autocomplete("joana", 10)).extracting(AutocompleteResultDTO::nome).containsExactly("Joana Prado");
+    }
+
+    @Test
+    @DisplayName("Should remove entry from index")
+    void shouldRemoveEntryFromIndex() {
+        buscaService.indexarPaciente(paciente);
+
+        buscaService.remover(TipoCadastro.PACIENTE, 10L);
+
+        assertThat(buscaService.autocomplete("maria", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should only touch the index after the surrounding transaction commits")
+    void shouldDeferIndexChangesUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buscaService.indexarPaciente(paciente);
+            assertThat(buscaService.autocomplete("maria", 10)).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(buscaService.autocomplete("maria", 10)).extracting(AutocompleteResultDTO::id).containsExactly(10L);
+    }
+
+    @Test
+    @DisplayName("Should leave the index untouched when the transaction rolls back")
+    void shouldIgnoreChangesOnRollback() {
+        buscaService.indexarPaciente(paciente);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buscaService.remover(TipoCadastro.PACIENTE, 10L);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(buscaService.autocomplete("maria", 10)).extracting(AutocompleteResultDTO::id).containsExactly(10L);
+    }
+
+    @Test
+    @DisplayName("Should return empty list for blank prefix")
+    void shouldReturnEmptyListForBlankPrefix() {
+        buscaService.indexarPaciente(paciente);
+
+        assertThat(buscaService.autocomplete("   ", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,178 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaAgendadaEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConsultaEventPublisher Tests")
+class ConsultaEventPublisherTest {
+
+    private static final String EXCHANGE = "hospital.exchange";
+    private static final String ROUTING_KEY = "consulta.agendada";
+    private static final int PARTICOES = 4;
+    // pacienteId 10 cai na partição 10 % 4
+    private static final String CHAVE_PACIENTE = ROUTING_KEY + ".2";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConsultaEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new ConsultaEventPublisher(rabbitTemplate, meterRegistry, EXCHANGE, ROUTING_KEY, PARTICOES, true,
+                Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("Should send immediately when coalescing is disabled")
+    void shouldSendImmediatelyWhenDisabled() {
+        // Given
+        ConsultaEventPublisher semCoalescencia = new ConsultaEventPublisher(rabbitTemplate, meterRegistry, EXCHANGE,
+                ROUTING_KEY, PARTICOES, false, Duration.ofSeconds(2));
+        ConsultaAgendadaEvent event = evento(1L, "AGENDADA");
+
+        // When
+        semCoalescencia.publicar(event, 0);
+
+        // Then
+        verify(rabbitTemplate).convertAndSend(EXCHANGE, CHAVE_PACIENTE, event);
+    }
+
+    @Test
+    @DisplayName("Should publish a batch through a single template invocation")
+    void shouldPublishBatchOnSingleChannel() {
+        // Given
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(rabbitTemplate));
+        ConsultaAgendadaEvent primeira = evento(1L, "FALTA_PACIENTE");
+        ConsultaAgendadaEvent segunda = evento(2L, "FALTA_PACIENTE");
+
+        // When
+        publisher.publicarLote(List.of(primeira, segunda));
+
+        // Then
+        verify(rabbitTemplate).invoke(any());
+        verify(rabbitTemplate).convertAndSend(EXCHANGE, CHAVE_PACIENTE, primeira);
+        verify(rabbitTemplate).convertAndSend(EXCHANGE, CHAVE_PACIENTE, segunda);
+    }
+
+    @Test
+    @DisplayName("Should send only the latest state once the window expires")
+    void shouldSendLatestStateAfterWindow() {
+        // Given
+        publisher.publicar(evento(1L, "AGENDADA"), 0);
+        publisher.publicar(evento(1L, "CONFIRMADA"), 500);
+        publisher.publicar(evento(1L, "EM_ANDAMENTO"), 1_500);
+
+        // When
+        int antes = publisher.descarregar(1_999);
+        int depois = publisher.descarregar(2_000);
+
+        // Then
+        assertThat(antes).isZero();
+        assertThat(depois).isEqualTo(1);
+        ArgumentCaptor<ConsultaAgendadaEvent> captor = ArgumentCaptor.forClass(ConsultaAgendadaEvent.class);
+        verify(rabbitTemplate).convertAndSend(eq(EXCHANGE), eq(CHAVE_PACIENTE), captor.capture());
+        assertThat(captor.getValue().getStatus()).isEqualTo("EM_ANDAMENTO");
+        assertThat(meterRegistry.counter("consultas.eventos.coalescidos").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should send terminal state immediately and drop the pending one")
+    void shouldSendTerminalStateImmediately() {
+        // Given
+        publisher.publicar(evento(1L, "CONFIRMADA"), 0);
+
+        // When
+        ConsultaAgendadaEvent concluida = evento(1L, "CONCLUIDA");
+        publisher.publicar(concluida, 100);
+
+        // Then
+        verify(rabbitTemplate).convertAndSend(EXCHANGE, CHAVE_PACIENTE, concluida);
+        assertThat(publisher.pendentes()).isZero();
+        assertThat(publisher.descarregar(10_000)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep event pending when broker is unavailable")
+    void shouldKeepEventPendingWhenSendFails() {
+        // Given
+        publisher.publicar(evento(1L, "AGENDADA"), 0);
+        doThrow(new AmqpConnectException(new RuntimeException("broker fora")))
+                .when(rabbitTemplate).convertAndSend(eq(EXCHANGE), eq(CHAVE_PACIENTE), any(Object.class));
+
+        // When
+        int enviados = publisher.descarregar(5_000);
+
+        // Then
+        assertThat(enviados).isZero();
+        assertThat(publisher.pendentes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should flush every pending event on shutdown")
+    void shouldFlushOnShutdown() {
+        // Given
+        publisher.publicar(evento(1L, "AGENDADA"), 0);
+        publisher.publicar(evento(2L, "REAGENDADA"), 0);
+
+        // When
+        publisher.encerrar();
+
+        // Then
+        verify(rabbitTemplate, times(2)).convertAndSend(eq(EXCHANGE), eq(CHAVE_PACIENTE), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("Should route each patient to a stable partition")
+    void shouldRouteByPatientPartition() {
+        // Given
+        ConsultaEventPublisher semCoalescencia = new ConsultaEventPublisher(rabbitTemplate, meterRegistry, EXCHANGE,
+                ROUTING_KEY, PARTICOES, false, Duration.ofSeconds(2));
+        ConsultaAgendadaEvent outroPaciente = evento(2L, "AGENDADA");
+        outroPaciente.setPacienteId(7L);
+        ConsultaAgendadaEvent semPaciente = evento(3L, "AGENDADA");
+        semPaciente.setPacienteId(null);
+
+        // When
+        semCoalescencia.publicar(outroPaciente, 0);
+        semCoalescencia.publicar(semPaciente, 0);
+
+        // Then
+        verify(rabbitTemplate).convertAndSend(EXCHANGE, ROUTING_KEY + ".3", outroPaciente);
+        verify(rabbitTemplate).convertAndSend(EXCHANGE, ROUTING_KEY + ".0", semPaciente);
+    }
+
+    private static ConsultaAgendadaEvent evento(Long consultaId, String status) {
+        return ConsultaAgendadaEvent.builder()
+                .consultaId(consultaId)
+                .pacienteId(10L)
+                .status(status)
+                .build();
+    }
+}
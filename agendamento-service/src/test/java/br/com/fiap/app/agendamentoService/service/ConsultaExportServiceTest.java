@@ -0,0 +1,140 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
+import br.com.fiap.app.agendamentoService.entity.Consulta;
+import br.com.fiap.app.agendamentoService.entity.Medico;
+import br.com.fiap.app.agendamentoService.entity.Paciente;
+import br.com.fiap.app.agendamentoService.entity.User;
+import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import br.com.fiap.app.agendamentoService.enums.FormatoExportacao;
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import br.com.fiap.app.agendamentoService.repository.ConsultaRepository;
+import jakarta.persistence.EntityManager;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConsultaExportService Tests")
+class ConsultaExportServiceTest {
+
+    @Mock
+    private ConsultaRepository consultaRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ArquivamentoConsultaService arquivamentoConsultaService;
+
+    private ConsultaExportService consultaExportService;
+
+    private Consulta consulta;
+
+    @BeforeEach
+    void setUp() {
+        consultaExportService = new ConsultaExportService(consultaRepository, entityManager, JsonMapper.builder().build(),
+                arquivamentoConsultaService);
+
+        User medicoUser = new User();
+        medicoUser.setNome("Dr. Carlos");
+        Medico medico = new Medico();
+        medico.setId(1L);
+        medico.setCrm("123456");
+        medico.setEspecialidade(Especialidade.CARDIOLOGIA);
+        medico.setUser(medicoUser);
+
+        User pacienteUser = new User();
+        pacienteUser.setNome("Silva, João");
+        Paciente paciente = new Paciente();
+        paciente.setId(2L);
+        paciente.setCpf("12345678901");
+        paciente.setUser(pacienteUser);
+
+        consulta = new Consulta();
+        consulta.setId(3L);
+        consulta.setMedico(medico);
+        consulta.setPaciente(paciente);
+        consulta.setDataHora(LocalDateTime.of(2026, 4, 1, 10, 0));
+        consulta.setStatus(StatusConsulta.CONCLUIDA);
+        consulta.setMotivo("Dor \"aguda\"");
+        consulta.setDataCriacao(LocalDateTime.of(2026, 3, 1, 9, 0));
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line")
+    void shouldWriteOneJsonObjectPerLine() throws Exception {
+        when(consultaRepository.streamHistoricoPaciente(2L, 0L)).thenReturn(Stream.of(consulta, consulta));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long total = consultaExportService.exportarHistoricoPaciente(2L, null, FormatoExportacao.NDJSON, out);
+
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(total).isEqualTo(2);
+        assertThat(linhas).hasSize(2);
+        assertThat(linhas[0]).startsWith("{").contains("\"id\":3").contains("\"status\":\"CONCLUIDA\"").contains("\"dataHora\":\"2026-04-01T10:00:00\"");
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    @DisplayName("Should write CSV header and escape values")
+    void shouldWriteCsvHeaderAndEscapeValues() throws Exception {
+        LocalDateTime inicio = LocalDateTime.of(2026, 1, 1, 0, 0);
+        LocalDateTime fim = LocalDateTime.of(2026, 12, 31, 23, 59);
+        when(consultaRepository.streamByPeriodo(inicio, fim, 2L)).thenReturn(Stream.of(consulta));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long total = consultaExportService.exportarPorPeriodo(inicio, fim, 2L, FormatoExportacao.CSV, out);
+
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(total).isEqualTo(1);
+        assertThat(linhas[0]).isEqualTo(ConsultaExportService.CSV_HEADER);
+        assertThat(linhas[1]).isEqualTo("3,2026-04-01T10:00,CONCLUIDA,1,Dr. Carlos,123456,CARDIOLOGIA,"
+                + "2,\"Silva, João\",12345678901,,,\"Dor \"\"aguda\"\"\",,,,2026-03-01T09:00,");
+    }
+
+    @Test
+    @DisplayName("Should clear persistence context after every fetch batch")
+    void shouldClearPersistenceContextAfterEveryFetchBatch() throws Exception {
+        when(consultaRepository.streamHistoricoPaciente(2L, 0L)).thenReturn(
+                Stream.generate(() -> consulta).limit(ConsultaRepository.EXPORT_FETCH_SIZE * 2L));
+
+        consultaExportService.exportarHistoricoPaciente(2L, null, FormatoExportacao.NDJSON, new ByteArrayOutputStream());
+
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("Should interleave archived consultas by ID in patient history export")
+    void shouldInterleaveArchivedConsultasById() throws Exception {
+        ConsultaResponseDTO arquivada = new ConsultaResponseDTO();
+        arquivada.setId(1L);
+        arquivada.setStatus(StatusConsulta.CANCELADA);
+        when(consultaRepository.streamHistoricoPaciente(2L, 0L)).thenReturn(Stream.of(consulta));
+        when(arquivamentoConsultaService.streamHistoricoArquivado(2L, 0L)).thenReturn(Stream.of(arquivada));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long total = consultaExportService.exportarHistoricoPaciente(2L, null, FormatoExportacao.CSV, out);
+
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(total).isEqualTo(2);
+        assertThat(linhas[1]).startsWith("1,,CANCELADA");
+        assertThat(linhas[2]).startsWith("3,");
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
+import br.com.fiap.app.agendamentoService.exception.ResourceNotFoundException;
+import br.com.fiap.app.agendamentoService.repository.ConsultaLeituraReativaRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConsultaLeituraReativaService Tests")
+class ConsultaLeituraReativaServiceTest {
+
+    @Mock
+    private ConsultaLeituraReativaRepository repository;
+
+    @InjectMocks
+    private ConsultaLeituraReativaService service;
+
+    @Test
+    @DisplayName("Should stream consultas of an existing medico")
+    void shouldStreamConsultasByMedico() {
+        // Given
+        ConsultaResponseDTO dto = new ConsultaResponseDTO();
+        dto.setId(1L);
+        when(repository.existsMedico(1L)).thenReturn(Mono.just(true));
+        when(repository.findByMedico(1L)).thenReturn(Flux.just(dto));
+
+        // When
+        List<ConsultaResponseDTO> result = service.getConsultasByMedico(1L).collectList().block();
+
+        // Then
+        assertThat(result).containsExactly(dto);
+    }
+
+    @Test
+    @DisplayName("Should fail with not found and skip the query when medico does not exist")
+    void shouldFailWhenMedicoDoesNotExist() {
+        // Given
+        when(repository.existsMedico(99L)).thenReturn(Mono.just(false));
+
+        // When / Then
+        assertThatThrownBy(() -> service.getConsultasByMedico(99L).blockLast())
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(repository, never()).findByMedico(99L);
+    }
+
+    @Test
+    @DisplayName("Should fail with not found when paciente does not exist")
+    void shouldFailWhenPacienteDoesNotExist() {
+        // Given
+        when(repository.existsPaciente(99L)).thenReturn(Mono.just(false));
+
+        // When / Then
+        assertThatThrownBy(() -> service.getConsultasFuturasPorPaciente(99L).blockLast())
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(repository, never()).findFuturasPorPaciente(eq(99L), any(LocalDateTime.class));
+    }
+}
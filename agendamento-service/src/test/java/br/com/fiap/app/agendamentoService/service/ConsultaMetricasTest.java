@@ -0,0 +1,59 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("ConsultaMetricas Tests")
+class ConsultaMetricasTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConsultaMetricas consultaMetricas;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        consultaMetricas = new ConsultaMetricas(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should count transitions by origin and target status")
+    void shouldCountTransitions() {
+        // When
+        consultaMetricas.registrarTransicao(null, StatusConsulta.AGENDADA);
+        consultaMetricas.registrarTransicao(StatusConsulta.AGENDADA, StatusConsulta.CONFIRMADA);
+        consultaMetricas.registrarTransicao(StatusConsulta.AGENDADA, StatusConsulta.CONFIRMADA);
+
+        // Then
+        assertThat(meterRegistry.counter(ConsultaMetricas.TRANSICOES, "de", "NOVA", "para", "AGENDADA").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter(ConsultaMetricas.TRANSICOES, "de", "AGENDADA", "para", "CONFIRMADA").count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count a batch transition once per consulta")
+    void shouldCountBatchTransitions() {
+        // When
+        consultaMetricas.registrarTransicoes(StatusConsulta.CONFIRMADA, StatusConsulta.FALTA_PACIENTE, 5);
+
+        // Then
+        assertThat(meterRegistry.counter(ConsultaMetricas.TRANSICOES, "de", "CONFIRMADA", "para", "FALTA_PACIENTE")
+                .count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should ignore updates that keep the same status")
+    void shouldIgnoreUnchangedStatus() {
+        // When
+        consultaMetricas.registrarTransicao(StatusConsulta.CONFIRMADA, StatusConsulta.CONFIRMADA);
+
+        // Then
+        assertThat(meterRegistry.find(ConsultaMetricas.TRANSICOES).counters()).isEmpty();
+    }
+}
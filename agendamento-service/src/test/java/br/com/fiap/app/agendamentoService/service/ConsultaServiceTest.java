@@ -1,5 +1,6 @@
 package br.com.fiap.app.agendamentoService.service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -12,15 +13,21 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import br.com.fiap.app.agendamentoService.dto.ConsultaAgendadaEvent;
 import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
 import br.com.fiap.app.agendamentoService.entity.Consulta;
 import br.com.fiap.app.agendamentoService.entity.Medico;
@@ -29,6 +36,7 @@ import br.com.fiap.app.agendamentoService.entity.User;
 import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
 import br.com.fiap.app.agendamentoService.exception.BusinessException;
 import br.com.fiap.app.agendamentoService.exception.ResourceNotFoundException;
+import br.com.fiap.app.agendamentoService.exception.VersaoDesatualizadaException;
 import br.com.fiap.app.agendamentoService.repository.ConsultaRepository;
 import br.com.fiap.app.agendamentoService.repository.EnfermeiroRepository;
 import br.com.fiap.app.agendamentoService.repository.MedicoRepository;
@@ -51,7 +59,16 @@ class ConsultaServiceTest {
     private EnfermeiroRepository enfermeiroRepository;
 
     @Mock
-    private RabbitTemplate rabbitTemplate;
+    private EstatisticaService estatisticaService;
+
+    @Mock
+    private ArquivamentoConsultaService arquivamentoConsultaService;
+
+    @Mock
+    private ConsultaEventPublisher consultaEventPublisher;
+
+    @Mock
+    private ConsultaMetricas consultaMetricas;
 
     @InjectMocks
     private ConsultaService consultaService;
@@ -91,6 +108,7 @@ class ConsultaServiceTest {
         consulta.setStatus(StatusConsulta.AGENDADA);
         consulta.setMedico(medico);
         consulta.setPaciente(paciente);
+        consulta.setVersao(0L);
     }
 
     @Test
@@ -114,6 +132,8 @@ class ConsultaServiceTest {
         verify(medicoRepository).findById(1L);
         verify(pacienteRepository).findById(1L);
         verify(consultaRepository).save(any(Consulta.class));
+        verify(consultaEventPublisher).publicar(any(ConsultaAgendadaEvent.class));
+        verify(consultaMetricas).registrarTransicao(null, StatusConsulta.AGENDADA);
     }
 
     @Test
@@ -353,6 +373,30 @@ class ConsultaServiceTest {
         verify(consultaRepository).findConsultasParaNotificacao(any(LocalDateTime.class), eq(statuses));
     }
 
+    @Test
+    @DisplayName("Should return reminder events for upcoming consultas within the horizon")
+    void shouldReturnReminderEventsWithinHorizon() {
+        // Given
+        List<StatusConsulta> statuses = List.of(StatusConsulta.AGENDADA, StatusConsulta.CONFIRMADA,
+                StatusConsulta.REAGENDADA);
+        when(consultaRepository.findParaLembretes(eq(statuses), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(consulta));
+
+        // When
+        List<ConsultaAgendadaEvent> result = consultaService.getEventosParaLembretes(Duration.ofHours(24));
+
+        // Then
+        assertThat(result).singleElement().satisfies(event -> {
+            assertThat(event.getConsultaId()).isEqualTo(1L);
+            assertThat(event.getStatus()).isEqualTo("AGENDADA");
+            assertThat(event.getDataHora()).isEqualTo(futureDate);
+        });
+        ArgumentCaptor<LocalDateTime> inicio = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> fim = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(consultaRepository).findParaLembretes(eq(statuses), inicio.capture(), fim.capture());
+        assertThat(Duration.between(inicio.getValue(), fim.getValue())).isEqualTo(Duration.ofHours(24));
+    }
+
     @Test
     @DisplayName("Should update consulta successfully")
     void shouldUpdateConsultaSuccessfully() {
@@ -367,16 +411,16 @@ class ConsultaServiceTest {
         updateRequest.setPrescricao("Nova prescrição");
 
         when(consultaRepository.findById(1L)).thenReturn(Optional.of(consulta));
-        when(consultaRepository.save(any(Consulta.class))).thenReturn(consulta);
+        when(consultaRepository.saveAndFlush(any(Consulta.class))).thenReturn(consulta);
 
         // When
-        Consulta result = consultaService.updateConsulta(1L, updateRequest);
+        Consulta result = consultaService.updateConsulta(1L, updateRequest, null);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getDataAlteracao()).isNotNull();
         verify(consultaRepository).findById(1L);
-        verify(consultaRepository).save(any(Consulta.class));
+        verify(consultaRepository).saveAndFlush(any(Consulta.class));
     }
 
     @Test
@@ -389,11 +433,11 @@ class ConsultaServiceTest {
         when(consultaRepository.findById(1L)).thenReturn(Optional.of(consulta));
 
         // When & Then
-        assertThatThrownBy(() -> consultaService.updateConsulta(1L, updateRequest))
+        assertThatThrownBy(() -> consultaService.updateConsulta(1L, updateRequest, null))
                 .isInstanceOf(BusinessException.class)
                 .hasMessageContaining("Data da consulta deve ser futura");
 
-        verify(consultaRepository, never()).save(any());
+        verify(consultaRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -404,26 +448,129 @@ class ConsultaServiceTest {
         when(consultaRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> consultaService.updateConsulta(1L, updateRequest))
+        assertThatThrownBy(() -> consultaService.updateConsulta(1L, updateRequest, null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Consulta");
     }
 
+    @Test
+    @DisplayName("Should reject update when If-Match version is stale")
+    void shouldRejectUpdateWithStaleVersion() {
+        // Given
+        consulta.setVersao(3L);
+        when(consultaRepository.findById(1L)).thenReturn(Optional.of(consulta));
+
+        // When & Then
+        assertThatThrownBy(() -> consultaService.updateConsulta(1L, new Consulta(), 2L))
+                .isInstanceOf(VersaoDesatualizadaException.class)
+                .hasMessageContaining("versão enviada 2, versão atual 3");
+
+        verify(consultaRepository, never()).saveAndFlush(any());
+    }
+
     @Test
     @DisplayName("Should update status consulta successfully")
     void shouldUpdateStatusConsultaSuccessfully() {
         // Given
         when(consultaRepository.findById(1L)).thenReturn(Optional.of(consulta));
-        when(consultaRepository.save(any(Consulta.class))).thenReturn(consulta);
+        when(consultaRepository.atualizarStatus(eq(1L), eq(0L), anyCollection(), eq(StatusConsulta.CONFIRMADA),
+                any(LocalDateTime.class))).thenReturn(1);
 
         // When
-        Consulta result = consultaService.updateStatusConsulta(1L, StatusConsulta.CONFIRMADA);
+        Consulta result = consultaService.updateStatusConsulta(1L, StatusConsulta.CONFIRMADA, null);
 
         // Then
-        assertThat(result).isNotNull();
+        assertThat(result.getStatus()).isEqualTo(StatusConsulta.CONFIRMADA);
+        assertThat(result.getVersao()).isEqualTo(1L);
         assertThat(result.getDataAlteracao()).isNotNull();
-        verify(consultaRepository).findById(1L);
-        verify(consultaRepository).save(any(Consulta.class));
+        verify(consultaRepository, never()).save(any());
+        verify(estatisticaService).registrarAlteracao(futureDate, StatusConsulta.AGENDADA, consulta);
+        ArgumentCaptor<ConsultaAgendadaEvent> event = ArgumentCaptor.forClass(ConsultaAgendadaEvent.class);
+        verify(consultaEventPublisher).publicar(event.capture());
+        assertThat(event.getValue().getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should fail status update when the conditional UPDATE matches no row")
+    void shouldFailStatusUpdateWhenConcurrentlyChanged() {
+        // Given
+        when(consultaRepository.findById(1L)).thenReturn(Optional.of(consulta));
+        when(consultaRepository.atualizarStatus(eq(1L), eq(0L), anyCollection(), eq(StatusConsulta.CONFIRMADA),
+                any(LocalDateTime.class))).thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> consultaService.updateStatusConsulta(1L, StatusConsulta.CONFIRMADA, null))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        verify(estatisticaService, never()).registrarAlteracao(any(), any(), any());
+        verify(consultaEventPublisher, never()).publicar(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a status change the transition table does not allow")
+    void shouldRejectInvalidTransition() {
+        // Given
+        consulta.setStatus(StatusConsulta.CONCLUIDA);
+        when(consultaRepository.findById(1L)).thenReturn(Optional.of(consulta));
+
+        // When & Then
+        assertThatThrownBy(() -> consultaService.updateStatusConsulta(1L, StatusConsulta.AGENDADA, null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("CONCLUIDA -> AGENDADA");
+
+        verify(consultaRepository, never()).atualizarStatus(any(), any(), anyCollection(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should change status in batch, re-read the changed rows and publish one batch of events")
+    void shouldChangeStatusInBatch() {
+        // Given
+        LocalDateTime inicio = futureDate.toLocalDate().atStartOfDay();
+        LocalDateTime fim = inicio.plusDays(1);
+        consulta.setStatus(StatusConsulta.FALTA_PACIENTE);
+        when(consultaRepository.atualizarStatusEmLote(eq(StatusConsulta.CONFIRMADA), eq(StatusConsulta.FALTA_PACIENTE),
+                eq(inicio), eq(fim), isNull(), any(LocalDateTime.class))).thenReturn(1);
+        when(consultaRepository.findAlteradasEmLote(eq(StatusConsulta.FALTA_PACIENTE), any(LocalDateTime.class),
+                eq(inicio), eq(fim))).thenReturn(List.of(consulta));
+
+        // When
+        int alteradas = consultaService.alterarStatusEmLote(StatusConsulta.CONFIRMADA, StatusConsulta.FALTA_PACIENTE,
+                inicio, fim, null);
+
+        // Then
+        assertThat(alteradas).isEqualTo(1);
+        verify(estatisticaService).registrarAlteracoes(StatusConsulta.CONFIRMADA, List.of(consulta));
+        verify(consultaMetricas).registrarTransicoes(StatusConsulta.CONFIRMADA, StatusConsulta.FALTA_PACIENTE, 1);
+        verify(consultaEventPublisher).publicarLote(anyList());
+        verify(consultaEventPublisher, never()).publicar(any());
+    }
+
+    @Test
+    @DisplayName("Should not re-read or publish when the batch update changes nothing")
+    void shouldSkipEventsWhenBatchChangesNothing() {
+        // Given
+        LocalDateTime inicio = futureDate.minusHours(1);
+        when(consultaRepository.atualizarStatusEmLote(any(), any(), any(), any(), any(), any())).thenReturn(0);
+
+        // When
+        int alteradas = consultaService.alterarStatusEmLote(StatusConsulta.AGENDADA, StatusConsulta.FALTA_PACIENTE,
+                inicio, futureDate, null);
+
+        // Then
+        assertThat(alteradas).isZero();
+        verify(consultaRepository, never()).findAlteradasEmLote(any(), any(), any(), any());
+        verify(consultaEventPublisher, never()).publicarLote(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch transition the table does not allow")
+    void shouldRejectInvalidBatchTransition() {
+        // When & Then
+        assertThatThrownBy(() -> consultaService.alterarStatusEmLote(StatusConsulta.CANCELADA,
+                StatusConsulta.AGENDADA, pastDate, futureDate, null))
+                .isInstanceOf(BusinessException.class);
+
+        verify(consultaRepository, never()).atualizarStatusEmLote(any(), any(), any(), any(), any(), any());
     }
 
     @Test
@@ -438,6 +585,7 @@ class ConsultaServiceTest {
         // Then
         verify(consultaRepository).findById(1L);
         verify(consultaRepository).delete(consulta);
+        verify(estatisticaService).registrarExclusao(consulta);
     }
 
     @Test
@@ -460,14 +608,67 @@ class ConsultaServiceTest {
         // Given
         String motivo = "Paciente não pode comparecer";
         when(consultaRepository.findById(1L)).thenReturn(Optional.of(consulta));
-        when(consultaRepository.save(any(Consulta.class))).thenReturn(consulta);
+        when(consultaRepository.atualizarStatusComObservacao(eq(1L), eq(0L), anyCollection(),
+                eq(StatusConsulta.CANCELADA), any(LocalDateTime.class), eq("\n"), eq("CANCELAMENTO: " + motivo),
+                eq(1000 - 1 - ("CANCELAMENTO: " + motivo).length())))
+                .thenReturn(1);
 
         // When
-        consultaService.cancelarConsulta(1L, motivo);
+        consultaService.cancelarConsulta(1L, motivo, null);
 
         // Then
-        verify(consultaRepository).findById(1L);
-        verify(consultaRepository).save(any(Consulta.class));
+        assertThat(consulta.getStatus()).isEqualTo(StatusConsulta.CANCELADA);
+        assertThat(consulta.getObservacoes()).isEqualTo("Paciente em bom estado geral\nCANCELAMENTO: " + motivo);
+        verify(consultaRepository, never()).save(any());
+        verify(consultaMetricas).registrarTransicao(StatusConsulta.AGENDADA, StatusConsulta.CANCELADA);
+    }
+
+    @Test
+    @DisplayName("Should not cancel a consulta that is already concluded")
+    void shouldNotCancelConcludedConsulta() {
+        // Given
+        consulta.setStatus(StatusConsulta.CONCLUIDA);
+        when(consultaRepository.findById(1L)).thenReturn(Optional.of(consulta));
+
+        // When & Then
+        assertThatThrownBy(() -> consultaService.cancelarConsulta(1L, "Motivo", null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("CONCLUIDA");
+
+        verify(consultaRepository, never()).atualizarStatusComObservacao(any(), any(), anyCollection(), any(), any(),
+                any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should trim earlier observations so the cancellation line fits the column")
+    void shouldTrimObservacoesOnCancel() {
+        // Given
+        consulta.setObservacoes("x".repeat(1000));
+        when(consultaRepository.findById(1L)).thenReturn(Optional.of(consulta));
+        when(consultaRepository.atualizarStatusComObservacao(eq(1L), eq(0L), anyCollection(),
+                eq(StatusConsulta.CANCELADA), any(LocalDateTime.class), any(), any(), anyInt()))
+                .thenReturn(1);
+
+        // When
+        consultaService.cancelarConsulta(1L, "Paciente viajou", null);
+
+        // Then
+        assertThat(consulta.getObservacoes()).hasSize(1000).endsWith("\nCANCELAMENTO: Paciente viajou");
+    }
+
+    @Test
+    @DisplayName("Should reject a cancellation reason longer than the limit")
+    void shouldRejectLongCancellationReason() {
+        // Given
+        when(consultaRepository.findById(1L)).thenReturn(Optional.of(consulta));
+
+        // When & Then
+        assertThatThrownBy(() -> consultaService.cancelarConsulta(1L, "x".repeat(501), null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("500");
+
+        verify(consultaRepository, never()).atualizarStatusComObservacao(any(), any(), anyCollection(), any(), any(),
+                any(), any(), anyInt());
     }
 
     @Test
@@ -477,7 +678,7 @@ class ConsultaServiceTest {
         when(consultaRepository.findById(1L)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> consultaService.cancelarConsulta(1L, "Motivo"))
+        assertThatThrownBy(() -> consultaService.cancelarConsulta(1L, "Motivo", null))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Consulta");
 
@@ -669,6 +870,7 @@ class ConsultaServiceTest {
     void shouldGetHistoricoCompletoPacienteDTOSuccessfully() {
         // Given
         when(consultaRepository.findHistoricoCompletoPaciente(1L)).thenReturn(Arrays.asList(consulta));
+        when(arquivamentoConsultaService.mesclarHistorico(anyList(), eq(1L))).thenAnswer(inv -> inv.getArgument(0));
 
         // When
         List<ConsultaResponseDTO> result = consultaService.getHistoricoCompletoPacienteDTO(1L);
@@ -676,5 +878,6 @@ class ConsultaServiceTest {
         // Then
         assertThat(result).hasSize(1);
         verify(consultaRepository).findHistoricoCompletoPaciente(1L);
+        verify(arquivamentoConsultaService).mesclarHistorico(anyList(), eq(1L));
     }
 }
\ No newline at end of file
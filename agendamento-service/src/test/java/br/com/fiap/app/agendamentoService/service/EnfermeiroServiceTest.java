@@ -32,6 +32,12 @@ class EnfermeiroServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BuscaService buscaService;
+
+    @Mock
+    private IdentificadorService identificadorService;
+
     @InjectMocks
     private EnfermeiroService enfermeiroService;
 
@@ -0,0 +1,203 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.fiap.app.agendamentoService.dto.ContagemConsultaDiaria;
+import br.com.fiap.app.agendamentoService.dto.ContagemStatusDTO;
+import br.com.fiap.app.agendamentoService.dto.EstatisticaConsultaDTO;
+import br.com.fiap.app.agendamentoService.entity.Consulta;
+import br.com.fiap.app.agendamentoService.entity.Medico;
+import br.com.fiap.app.agendamentoService.enums.AgrupamentoEstatistica;
+import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+import br.com.fiap.app.agendamentoService.exception.BusinessException;
+import br.com.fiap.app.agendamentoService.repository.ConsultaArquivadaRepository;
+import br.com.fiap.app.agendamentoService.repository.ConsultaRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EstatisticaService Tests")
+class EstatisticaServiceTest {
+
+    private static final LocalDate DIA = LocalDate.of(2026, 5, 4);
+
+    @Mock
+    private ConsultaRepository consultaRepository;
+
+    @Mock
+    private ConsultaArquivadaRepository consultaArquivadaRepository;
+
+    @InjectMocks
+    private EstatisticaService estatisticaService;
+
+    private Medico medico;
+
+    @BeforeEach
+    void setUp() {
+        medico = new Medico();
+        medico.setId(1L);
+        medico.setEspecialidade(Especialidade.CARDIOLOGIA);
+    }
+
+    @Test
+    @DisplayName("Should rebuild counters from aggregated query")
+    void shouldRebuildCountersFromAggregatedQuery() {
+        // Given
+        when(consultaRepository.contarPorDiaMedicoEStatus()).thenReturn(List.of(
+                new ContagemConsultaDiaria(DIA, 1L, Especialidade.CARDIOLOGIA, StatusConsulta.CONCLUIDA, 6L),
+                new ContagemConsultaDiaria(DIA, 1L, Especialidade.CARDIOLOGIA, StatusConsulta.FALTA_PACIENTE, 2L),
+                new ContagemConsultaDiaria(DIA, 1L, Especialidade.CARDIOLOGIA, StatusConsulta.CANCELADA, 2L),
+                new ContagemConsultaDiaria(DIA.plusDays(1), 2L, Especialidade.PEDIATRIA, StatusConsulta.AGENDADA, 3L)));
+        when(consultaArquivadaRepository.contarPorDiaMedicoEStatus()).thenReturn(List.of());
+
+        // When
+        estatisticaService.carregarContadores();
+        List<EstatisticaConsultaDTO> result = estatisticaService.consultar(DIA, DIA, AgrupamentoEstatistica.DIA_MEDICO,
+                null, null);
+
+        // Then
+        assertThat(result).hasSize(1);
+        EstatisticaConsultaDTO dto = result.get(0);
+        assertThat(dto.getDia()).isEqualTo(DIA);
+        assertThat(dto.getMedicoId()).isEqualTo(1L);
+        assertThat(dto.getTotal()).isEqualTo(10L);
+        assertThat(dto.getPorStatus()).containsExactly(
+                new ContagemStatusDTO(StatusConsulta.CONCLUIDA, 6L),
+                new ContagemStatusDTO(StatusConsulta.CANCELADA, 2L),
+                new ContagemStatusDTO(StatusConsulta.FALTA_PACIENTE, 2L));
+        assertThat(dto.getTaxaFalta()).isEqualTo(0.2);
+        assertThat(dto.getTaxaCancelamento()).isEqualTo(0.2);
+    }
+
+    @Test
+    @DisplayName("Should move consulta between buckets on status and date change")
+    void shouldMoveConsultaBetweenBucketsOnChange() {
+        // Given
+        when(consultaRepository.contarPorDiaMedicoEStatus()).thenReturn(List.of());
+        when(consultaArquivadaRepository.contarPorDiaMedicoEStatus()).thenReturn(List.of());
+        estatisticaService.carregarContadores();
+        Consulta consulta = consulta(DIA.atTime(10, 0), StatusConsulta.AGENDADA);
+        estatisticaService.registrarCriacao(consulta);
+
+        // When
+        consulta.setDataHora(DIA.plusDays(2).atTime(9, 0));
+        consulta.setStatus(StatusConsulta.CONFIRMADA);
+        estatisticaService.registrarAlteracao(DIA.atTime(10, 0), StatusConsulta.AGENDADA, consulta);
+
+        // Then
+        assertThat(estatisticaService.consultar(DIA, DIA, null, null, null)).isEmpty();
+        List<EstatisticaConsultaDTO> result = estatisticaService.consultar(DIA, DIA.plusDays(2),
+                AgrupamentoEstatistica.MEDICO, 1L, null);
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getDia()).isNull();
+        assertThat(result.get(0).getPorStatus())
+                .containsExactly(new ContagemStatusDTO(StatusConsulta.CONFIRMADA, 1L));
+    }
+
+    @Test
+    @DisplayName("Should move a batch of consultas out of the same status")
+    void shouldMoveBatchOutOfSameStatus() {
+        // Given
+        when(consultaRepository.contarPorDiaMedicoEStatus()).thenReturn(List.of(
+                new ContagemConsultaDiaria(DIA, 1L, Especialidade.CARDIOLOGIA, StatusConsulta.CONFIRMADA, 3L)));
+        when(consultaArquivadaRepository.contarPorDiaMedicoEStatus()).thenReturn(List.of());
+        estatisticaService.carregarContadores();
+
+        // When
+        estatisticaService.registrarAlteracoes(StatusConsulta.CONFIRMADA, List.of(
+                consulta(DIA.atTime(8, 0), StatusConsulta.FALTA_PACIENTE),
+                consulta(DIA.atTime(9, 0), StatusConsulta.FALTA_PACIENTE)));
+
+        // Then
+        assertThat(estatisticaService.consultar(DIA, DIA, null, null, null).get(0).getPorStatus()).containsExactly(
+                new ContagemStatusDTO(StatusConsulta.CONFIRMADA, 1L),
+                new ContagemStatusDTO(StatusConsulta.FALTA_PACIENTE, 2L));
+    }
+
+    @Test
+    @DisplayName("Should aggregate by especialidade and drop deleted consultas")
+    void shouldAggregateByEspecialidadeAndDropDeleted() {
+        // Given
+        when(consultaRepository.contarPorDiaMedicoEStatus()).thenReturn(List.of(
+                new ContagemConsultaDiaria(DIA, 1L, Especialidade.CARDIOLOGIA, StatusConsulta.CONCLUIDA, 1L),
+                new ContagemConsultaDiaria(DIA, 3L, Especialidade.CARDIOLOGIA, StatusConsulta.CONCLUIDA, 4L)));
+        when(consultaArquivadaRepository.contarPorDiaMedicoEStatus()).thenReturn(List.of());
+        estatisticaService.carregarContadores();
+
+        // When
+        estatisticaService.registrarExclusao(consulta(DIA.atTime(8, 0), StatusConsulta.CONCLUIDA));
+        List<EstatisticaConsultaDTO> result = estatisticaService.consultar(DIA, DIA,
+                AgrupamentoEstatistica.ESPECIALIDADE, null, Especialidade.CARDIOLOGIA);
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getMedicoId()).isNull();
+        assertThat(result.get(0).getEspecialidade()).isEqualTo(Especialidade.CARDIOLOGIA);
+        assertThat(result.get(0).getTotal()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("Should add archived consultas to the live counters")
+    void shouldIncludeArchivedConsultas() {
+        // Given
+        when(consultaRepository.contarPorDiaMedicoEStatus()).thenReturn(List.of(
+                new ContagemConsultaDiaria(DIA, 1L, Especialidade.CARDIOLOGIA, StatusConsulta.CONCLUIDA, 2L)));
+        when(consultaArquivadaRepository.contarPorDiaMedicoEStatus()).thenReturn(List.of(
+                new ContagemConsultaDiaria(DIA, 1L, Especialidade.CARDIOLOGIA, StatusConsulta.CONCLUIDA, 5L),
+                new ContagemConsultaDiaria(DIA, 1L, Especialidade.CARDIOLOGIA, StatusConsulta.FALTA_PACIENTE, 3L)));
+
+        // When
+        estatisticaService.carregarContadores();
+        List<EstatisticaConsultaDTO> result = estatisticaService.consultar(DIA, DIA, AgrupamentoEstatistica.DIA_MEDICO,
+                null, null);
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getTotal()).isEqualTo(10L);
+        assertThat(result.get(0).getPorStatus()).containsExactly(
+                new ContagemStatusDTO(StatusConsulta.CONCLUIDA, 7L),
+                new ContagemStatusDTO(StatusConsulta.FALTA_PACIENTE, 3L));
+        assertThat(result.get(0).getTaxaFalta()).isEqualTo(0.3);
+    }
+
+    @Test
+    @DisplayName("Should ignore changes before counters are loaded")
+    void shouldIgnoreChangesBeforeLoad() {
+        // When
+        estatisticaService.registrarCriacao(consulta(DIA.atTime(10, 0), StatusConsulta.AGENDADA));
+
+        // Then
+        assertThat(estatisticaService.consultar(DIA, DIA, null, null, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject period with end before start")
+    void shouldRejectInvalidPeriod() {
+        // When & Then
+        assertThatThrownBy(() -> estatisticaService.consultar(DIA, DIA.minusDays(1), null, null, null))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Período inválido");
+    }
+
+    private Consulta consulta(LocalDateTime dataHora, StatusConsulta status) {
+        Consulta consulta = new Consulta();
+        consulta.setId(1L);
+        consulta.setMedico(medico);
+        consulta.setDataHora(dataHora);
+        consulta.setStatus(status);
+        return consulta;
+    }
+}
@@ -0,0 +1,184 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.app.agendamentoService.exception.BusinessException;
+import br.com.fiap.app.agendamentoService.exception.ChaveIdempotenciaException;
+import br.com.fiap.app.agendamentoService.exception.RequisicaoEmAndamentoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("IdempotenciaService Tests")
+class IdempotenciaServiceTest {
+
+    private static final long TTL = Duration.ofMinutes(10).toMillis();
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotenciaService idempotenciaService;
+    private AtomicInteger execucoes;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotenciaService = new IdempotenciaService(meterRegistry, Duration.ofMillis(TTL), Duration.ofSeconds(5));
+        execucoes = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should return the first result for a repeated key without executing again")
+    void shouldReplayFirstResult() {
+        // When
+        IdempotenciaService.Resultado<Integer> primeira = idempotenciaService.executar("ana", "k1", "h", execucoes::incrementAndGet, 0);
+        IdempotenciaService.Resultado<Integer> repetida = idempotenciaService.executar("ana", "k1", "h", execucoes::incrementAndGet, 1_000);
+
+        // Then
+        assertThat(primeira).isEqualTo(new IdempotenciaService.Resultado<>(1, false));
+        assertThat(repetida).isEqualTo(new IdempotenciaService.Resultado<>(1, true));
+        assertThat(execucoes).hasValue(1);
+        assertThat(meterRegistry.counter("idempotencia.repeticoes").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep keys of different users apart")
+    void shouldScopeKeysByUser() {
+        // When
+        idempotenciaService.executar("ana", "k1", "h", execucoes::incrementAndGet, 0);
+        IdempotenciaService.Resultado<Integer> bruno = idempotenciaService.executar("bruno", "k1", "h", execucoes::incrementAndGet, 0);
+
+        // Then
+        assertThat(bruno.repetido()).isFalse();
+        assertThat(execucoes).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused with a different request")
+    void shouldRejectDifferentRequestWithSameKey() {
+        // Given
+        idempotenciaService.executar("ana", "k1", "h1", execucoes::incrementAndGet, 0);
+
+        // When & Then
+        assertThatThrownBy(() -> idempotenciaService.executar("ana", "k1", "h2", execucoes::incrementAndGet, 0))
+                .isInstanceOf(ChaveIdempotenciaException.class);
+        assertThat(execucoes).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should release the key when the first execution fails")
+    void shouldReleaseKeyOnFailure() {
+        // Given
+        assertThatThrownBy(() -> idempotenciaService.executar("ana", "k1", "h", () -> {
+            throw new BusinessException("Data da consulta deve ser futura");
+        }, 0)).isInstanceOf(BusinessException.class);
+
+        // When
+        IdempotenciaService.Resultado<Integer> nova = idempotenciaService.executar("ana", "k1", "h", execucoes::incrementAndGet, 0);
+
+        // Then
+        assertThat(nova.repetido()).isFalse();
+        assertThat(execucoes).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should execute again once the key expires and drop it on cleanup")
+    void shouldExpireKeys() {
+        // Given
+        idempotenciaService.executar("ana", "k1", "h", execucoes::incrementAndGet, 0);
+
+        // When
+        IdempotenciaService.Resultado<Integer> depois = idempotenciaService.executar("ana", "k1", "h", execucoes::incrementAndGet, TTL);
+        idempotenciaService.limpar(2 * TTL);
+
+        // Then
+        assertThat(depois.repetido()).isFalse();
+        assertThat(execucoes).hasValue(2);
+        assertThat(meterRegistry.get("idempotencia.chaves").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent duplicates onto a single execution")
+    void shouldCoalesceConcurrentDuplicates() throws Exception {
+        // Given
+        CountDownLatch liberar = new CountDownLatch(1);
+        int clientes = 8;
+        List<Future<IdempotenciaService.Resultado<Integer>>> respostas = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clientes; i++) {
+                respostas.add(executor.submit(() -> idempotenciaService.executar("ana", "k1", "h", () -> {
+                    aguardar(liberar);
+                    return execucoes.incrementAndGet();
+                })));
+            }
+            Thread.sleep(100);
+            liberar.countDown();
+        }
+
+        // Then
+        assertThat(execucoes).hasValue(1);
+        int repetidas = 0;
+        for (Future<IdempotenciaService.Resultado<Integer>> resposta : respostas) {
+            assertThat(resposta.get().valor()).isEqualTo(1);
+            repetidas += resposta.get().repetido() ? 1 : 0;
+        }
+        assertThat(repetidas).isEqualTo(clientes - 1);
+    }
+
+    @Test
+    @DisplayName("Should give up waiting for a first execution that takes longer than the limit")
+    void shouldStopWaitingForSlowFirstExecution() throws Exception {
+        // Given
+        IdempotenciaService comEsperaCurta = new IdempotenciaService(meterRegistry, Duration.ofMillis(TTL),
+                Duration.ofMillis(50));
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<IdempotenciaService.Resultado<Integer>> primeira = executor.submit(() ->
+                    comEsperaCurta.executar("ana", "k1", "h", () -> {
+                        iniciada.countDown();
+                        aguardar(liberar);
+                        return execucoes.incrementAndGet();
+                    }));
+            aguardar(iniciada);
+
+            // When & Then
+            assertThatThrownBy(() -> comEsperaCurta.executar("ana", "k1", "h", execucoes::incrementAndGet))
+                    .isInstanceOf(RequisicaoEmAndamentoException.class);
+            liberar.countDown();
+            assertThat(primeira.get().valor()).isEqualTo(1);
+        }
+        assertThat(execucoes).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject blank or oversized keys")
+    void shouldValidateKey() {
+        assertThatThrownBy(() -> idempotenciaService.executar("ana", " ", "h", execucoes::incrementAndGet))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> idempotenciaService.executar("ana", "x".repeat(256), "h", execucoes::incrementAndGet))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
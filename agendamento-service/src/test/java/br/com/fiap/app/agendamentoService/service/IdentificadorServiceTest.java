@@ -0,0 +1,146 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.fiap.app.agendamentoService.entity.Enfermeiro;
+import br.com.fiap.app.agendamentoService.entity.Medico;
+import br.com.fiap.app.agendamentoService.entity.Paciente;
+import br.com.fiap.app.agendamentoService.enums.TipoIdentificador;
+import br.com.fiap.app.agendamentoService.repository.EnfermeiroRepository;
+import br.com.fiap.app.agendamentoService.repository.MedicoRepository;
+import br.com.fiap.app.agendamentoService.repository.PacienteRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdentificadorService Tests")
+class IdentificadorServiceTest {
+
+    @Mock
+    private PacienteRepository pacienteRepository;
+
+    @Mock
+    private MedicoRepository medicoRepository;
+
+    @Mock
+    private EnfermeiroRepository enfermeiroRepository;
+
+    @InjectMocks
+    private IdentificadorService identificadorService;
+
+    private Paciente paciente;
+    private Medico medico;
+    private Enfermeiro enfermeiro;
+
+    @BeforeEach
+    void setUp() {
+        paciente = new Paciente();
+        paciente.setId(1L);
+        paciente.setCpf("12345678901");
+        paciente.setNumeroCartaoSus("898 0012 3456 7890");
+
+        medico = new Medico();
+        medico.setId(2L);
+        medico.setCrm("CRM/SP 123456");
+
+        enfermeiro = new Enfermeiro();
+        enfermeiro.setId(3L);
+        enfermeiro.setCoren("COREN-SP 654321");
+    }
+
+    private void carregarIndice() {
+        when(pacienteRepository.findAll()).thenReturn(List.of(paciente));
+        when(medicoRepository.findAll()).thenReturn(List.of(medico));
+        when(enfermeiroRepository.findAll()).thenReturn(List.of(enfermeiro));
+        identificadorService.carregarIndice();
+    }
+
+    @Test
+    @DisplayName("Should answer nothing before index is loaded")
+    void shouldAnswerNothingBeforeIndexIsLoaded() {
+        assertThat(identificadorService.resolver(TipoIdentificador.CPF, "12345678901")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should resolve normalized identifiers after bulk load")
+    void shouldResolveNormalizedIdentifiersAfterBulkLoad() {
+        carregarIndice();
+
+        assertThat(identificadorService.resolver(TipoIdentificador.CPF, "123.456.789-01")).contains(1L);
+        assertThat(identificadorService.resolver(TipoIdentificador.CARTAO_SUS, "898001234567890")).contains(1L);
+        assertThat(identificadorService.resolver(TipoIdentificador.CRM, "crm-sp 123456")).contains(2L);
+        assertThat(identificadorService.resolver(TipoIdentificador.COREN, "COREN/SP 654321")).contains(3L);
+        assertThat(identificadorService.resolver(TipoIdentificador.CPF, "00000000000")).isEmpty();
+        assertThat(identificadorService.resolver(TipoIdentificador.CRM, "12345678901")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep index consistent on register, update and remove")
+    void shouldKeepIndexConsistentOnRegisterUpdateAndRemove() {
+        carregarIndice();
+
+        identificadorService.registrar(TipoIdentificador.CRM, "CRM/RJ 1", 10L);
+        identificadorService.atualizar(TipoIdentificador.CPF, "12345678901", "10987654321", 1L);
+        identificadorService.remover(TipoIdentificador.COREN, "COREN-SP 654321", 3L);
+
+        assertThat(identificadorService.resolver(TipoIdentificador.CRM, "CRM/RJ 1")).contains(10L);
+        assertThat(identificadorService.resolver(TipoIdentificador.CPF, "12345678901")).isEmpty();
+        assertThat(identificadorService.resolver(TipoIdentificador.CPF, "10987654321")).contains(1L);
+        assertThat(identificadorService.resolver(TipoIdentificador.COREN, "COREN-SP 654321")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should only apply changes after the surrounding transaction commits")
+    void shouldDeferChangesUntilCommit() {
+        carregarIndice();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            identificadorService.registrar(TipoIdentificador.CRM, "CRM/RJ 1", 10L);
+            identificadorService.remover(TipoIdentificador.CPF, "12345678901", 1L);
+            assertThat(identificadorService.resolver(TipoIdentificador.CRM, "CRM/RJ 1")).isEmpty();
+            assertThat(identificadorService.resolver(TipoIdentificador.CPF, "12345678901")).contains(1L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(identificadorService.resolver(TipoIdentificador.CRM, "CRM/RJ 1")).contains(10L);
+        assertThat(identificadorService.resolver(TipoIdentificador.CPF, "12345678901")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should leave colliding identifiers out of the index instead of overwriting them")
+    void shouldNotOverwriteCollidingIdentifiers() {
+        carregarIndice();
+
+        identificadorService.registrar(TipoIdentificador.CRM, "crm sp 123456", 20L);
+        identificadorService.registrar(TipoIdentificador.CRM, "CRM/SP 123456", 2L);
+
+        assertThat(identificadorService.resolver(TipoIdentificador.CRM, "CRMSP123456")).isEmpty();
+        assertThat(identificadorService.resolver(TipoIdentificador.COREN, "COREN-SP 654321")).contains(3L);
+    }
+
+    @Test
+    @DisplayName("Should not remove identifier owned by another entity")
+    void shouldNotRemoveIdentifierOwnedByAnotherEntity() {
+        carregarIndice();
+
+        identificadorService.remover(TipoIdentificador.CPF, "12345678901", 99L);
+
+        assertThat(identificadorService.resolver(TipoIdentificador.CPF, "12345678901")).isEqualTo(Optional.of(1L));
+    }
+}
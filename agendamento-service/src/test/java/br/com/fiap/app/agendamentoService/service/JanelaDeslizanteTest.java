@@ -0,0 +1,64 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("JanelaDeslizante Tests")
+class JanelaDeslizanteTest {
+
+    private static final long JANELA = 60_000;
+    private static final long INICIO = 1_000 * JANELA;
+
+    @Test
+    @DisplayName("Should count events inside the current window")
+    void shouldCountCurrentWindow() {
+        // Given
+        JanelaDeslizante janela = new JanelaDeslizante(JANELA);
+
+        // When
+        janela.registrar(INICIO);
+        janela.registrar(INICIO + 1_000);
+        int contagem = janela.registrar(INICIO + 2_000);
+
+        // Then
+        assertThat(contagem).isEqualTo(3);
+        assertThat(janela.estimar(INICIO + 3_000)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should weight the previous window by how much of it is still inside the sliding window")
+    void shouldDecayPreviousWindow() {
+        // Given
+        JanelaDeslizante janela = new JanelaDeslizante(JANELA);
+        for (int i = 0; i < 10; i++) {
+            janela.registrar(INICIO);
+        }
+
+        // When & Then
+        assertThat(janela.estimar(INICIO + JANELA + JANELA / 4)).isEqualTo(7);
+        assertThat(janela.registrar(INICIO + JANELA + JANELA / 2)).isEqualTo(6);
+        assertThat(janela.estimar(INICIO + 3 * JANELA)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should undo events from the current window first, then from the previous one, never below zero")
+    void shouldUndoEvents() {
+        // Given
+        JanelaDeslizante janela = new JanelaDeslizante(JANELA);
+        janela.registrar(INICIO);
+        janela.registrar(INICIO);
+        janela.registrar(INICIO + JANELA);
+
+        // When
+        janela.desfazer(INICIO + JANELA);
+        janela.desfazer(INICIO + JANELA);
+
+        // Then
+        assertThat(janela.estimar(INICIO + JANELA)).isEqualTo(1);
+        janela.desfazer(INICIO + JANELA);
+        janela.desfazer(INICIO + JANELA);
+        assertThat(janela.estimar(INICIO + JANELA)).isZero();
+    }
+}
@@ -33,6 +33,12 @@ class MedicoServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BuscaService buscaService;
+
+    @Mock
+    private IdentificadorService identificadorService;
+
     @InjectMocks
     private MedicoService medicoService;
 
@@ -171,6 +177,26 @@ class MedicoServiceTest {
                 .hasMessageContaining("123456");
     }
 
+    @Test
+    @DisplayName("Should store and look up CRM in normalized form")
+    void shouldNormalizeCrm() {
+        // Given
+        medico.setCrm("crm-sp 123456");
+        when(medicoRepository.existsByCrm("CRMSP123456")).thenReturn(false);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(medicoRepository.save(any(Medico.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(medicoRepository.findByCrm("CRMSP123456")).thenReturn(Optional.of(medico));
+
+        // When
+        Medico criado = medicoService.createMedico(medico);
+        Medico encontrado = medicoService.getMedicoByCrm("CRM/SP 123456");
+
+        // Then
+        assertThat(criado.getCrm()).isEqualTo("CRMSP123456");
+        assertThat(encontrado).isSameAs(medico);
+        verify(identificadorService).resolver(any(), eq("CRMSP123456"));
+    }
+
     @Test
     @DisplayName("Should get medico by user id successfully")
     void shouldGetMedicoByUserIdSuccessfully() {
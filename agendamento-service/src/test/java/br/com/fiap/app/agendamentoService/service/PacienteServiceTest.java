@@ -2,6 +2,7 @@ package br.com.fiap.app.agendamentoService.service;
 
 import br.com.fiap.app.agendamentoService.entity.Paciente;
 import br.com.fiap.app.agendamentoService.entity.User;
+import br.com.fiap.app.agendamentoService.enums.TipoIdentificador;
 import br.com.fiap.app.agendamentoService.exception.BusinessException;
 import br.com.fiap.app.agendamentoService.exception.ResourceNotFoundException;
 import br.com.fiap.app.agendamentoService.repository.PacienteRepository;
@@ -33,6 +34,12 @@ class PacienteServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BuscaService buscaService;
+
+    @Mock
+    private IdentificadorService identificadorService;
+
     @InjectMocks
     private PacienteService pacienteService;
 
@@ -175,6 +182,81 @@ class PacienteServiceTest {
                 .hasMessageContaining("12345678901");
     }
 
+    @Test
+    @DisplayName("Should resolve paciente by CPF through identifier index")
+    void shouldResolvePacienteByCpfThroughIdentifierIndex() {
+        // Given
+        when(identificadorService.resolver(TipoIdentificador.CPF, "12345678901")).thenReturn(Optional.of(1L));
+        when(pacienteRepository.findById(1L)).thenReturn(Optional.of(paciente));
+
+        // When
+        Paciente result = pacienteService.getPacienteByCpf("123.456.789-01");
+
+        // Then
+        assertThat(result).isEqualTo(paciente);
+        verify(pacienteRepository, never()).findByCpf(anyString());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the repository when the identifier index has no entry for the CPF")
+    void shouldFallBackToRepositoryWhenIndexMissesCpf() {
+        // Given
+        when(identificadorService.resolver(TipoIdentificador.CPF, "99999999999")).thenReturn(Optional.empty());
+        paciente.setCpf("99999999999");
+        when(pacienteRepository.findByCpf("99999999999")).thenReturn(Optional.of(paciente));
+
+        // When
+        Paciente result = pacienteService.getPacienteByCpf("99999999999");
+
+        // Then
+        assertThat(result).isEqualTo(paciente);
+    }
+
+    @Test
+    @DisplayName("Should get paciente by Cartão SUS successfully")
+    void shouldGetPacienteByCartaoSusSuccessfully() {
+        // Given
+        when(pacienteRepository.findByNumeroCartaoSus("123456789012345")).thenReturn(Optional.of(paciente));
+
+        // When
+        Paciente result = pacienteService.getPacienteByCartaoSus("123456789012345");
+
+        // Then
+        assertThat(result.getNumeroCartaoSus()).isEqualTo("123456789012345");
+        verify(pacienteRepository).findByNumeroCartaoSus("123456789012345");
+    }
+
+    @Test
+    @DisplayName("Should throw exception when Cartão SUS already exists")
+    void shouldThrowExceptionWhenCartaoSusAlreadyExists() {
+        // Given
+        when(pacienteRepository.existsByCpf("12345678901")).thenReturn(false);
+        when(pacienteRepository.existsByNumeroCartaoSus("123456789012345")).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> pacienteService.createPaciente(paciente))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Cartão SUS já existe");
+        verify(pacienteRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should check uniqueness in the database and register identifiers in the index")
+    void shouldCheckUniquenessInDatabaseAndRegisterIdentifiers() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(pacienteRepository.save(any(Paciente.class))).thenReturn(paciente);
+
+        // When
+        pacienteService.createPaciente(paciente);
+
+        // Then
+        verify(pacienteRepository).existsByCpf("12345678901");
+        verify(pacienteRepository).existsByNumeroCartaoSus("123456789012345");
+        verify(identificadorService).registrar(TipoIdentificador.CPF, "12345678901", 1L);
+        verify(identificadorService).registrar(TipoIdentificador.CARTAO_SUS, "123456789012345", 1L);
+    }
+
     @Test
     @DisplayName("Should get paciente by user id successfully")
     void shouldGetPacienteByUserIdSuccessfully() {
@@ -0,0 +1,49 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RegistroFaltasService Tests")
+class RegistroFaltasServiceTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2026, 5, 4, 0, 0);
+    private static final LocalDateTime FIM = LocalDateTime.of(2026, 5, 4, 23, 0);
+
+    @Mock
+    private ConsultaService consultaService;
+
+    @InjectMocks
+    private RegistroFaltasService registroFaltasService;
+
+    @Test
+    @DisplayName("Should mark unattended consultas of every pending status as FALTA_PACIENTE")
+    void shouldMarkUnattendedConsultas() {
+        // Given
+        when(consultaService.alterarStatusEmLote(StatusConsulta.AGENDADA, StatusConsulta.FALTA_PACIENTE, INICIO, FIM, null))
+                .thenReturn(2);
+        when(consultaService.alterarStatusEmLote(StatusConsulta.CONFIRMADA, StatusConsulta.FALTA_PACIENTE, INICIO, FIM, null))
+                .thenReturn(5);
+        when(consultaService.alterarStatusEmLote(StatusConsulta.REAGENDADA, StatusConsulta.FALTA_PACIENTE, INICIO, FIM, null))
+                .thenReturn(0);
+
+        // When
+        int total = registroFaltasService.registrarFaltas(INICIO, FIM);
+
+        // Then
+        assertThat(total).isEqualTo(7);
+        verify(consultaService).alterarStatusEmLote(StatusConsulta.CONFIRMADA, StatusConsulta.FALTA_PACIENTE, INICIO, FIM, null);
+    }
+}
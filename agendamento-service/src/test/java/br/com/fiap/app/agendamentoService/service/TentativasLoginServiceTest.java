@@ -0,0 +1,244 @@
+package br.com.fiap.app.agendamentoService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import br.com.fiap.app.agendamentoService.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TentativasLoginService Tests")
+class TentativasLoginServiceTest {
+
+    private static final long AGORA = 1_000L * 15 * 60_000;
+    private static final long SEGUNDO = 1_000;
+    private static final long INTERVALO = 10 * SEGUNDO;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TentativasLoginService tentativasLoginService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tentativasLoginService = new TentativasLoginService(userRepository, meterRegistry,
+                Duration.ofMinutes(15), 2, 5, 4, 8,
+                Duration.ofSeconds(1), Duration.ofSeconds(4), Duration.ofMinutes(15));
+    }
+
+    @Test
+    @DisplayName("Should let the first failures through without delay")
+    void shouldNotDelayFirstFailures() {
+        // Given
+        falhar("ana", "10.0.0.1", AGORA);
+        falhar("ana", "10.0.0.1", AGORA);
+
+        // When
+        long espera = tentativasLoginService.reservar("ana", "10.0.0.1", AGORA);
+
+        // Then
+        assertThat(espera).isZero();
+    }
+
+    @Test
+    @DisplayName("Should double the delay after each extra failure up to the maximum")
+    void shouldDelayProgressively() {
+        // Given
+        TentativasLoginService.Limites limites = new TentativasLoginService.Limites(2, 5);
+
+        // When & Then
+        assertThat(tentativasLoginService.atraso(2, limites)).isZero();
+        assertThat(tentativasLoginService.atraso(3, limites)).isEqualTo(SEGUNDO);
+        assertThat(tentativasLoginService.atraso(4, limites)).isEqualTo(2 * SEGUNDO);
+        assertThat(tentativasLoginService.atraso(5, limites)).isEqualTo(4 * SEGUNDO);
+        assertThat(tentativasLoginService.atraso(9, limites)).isEqualTo(4 * SEGUNDO);
+    }
+
+    @Test
+    @DisplayName("Should ask the client to wait after the free failures, without counting the refused attempts")
+    void shouldRejectDuringDelay() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            falhar("ana", "10.0.0." + i, AGORA + i * INTERVALO);
+        }
+
+        // When & Then
+        long ultima = AGORA + 3 * INTERVALO;
+        assertThat(tentativasLoginService.reservar("ana", "10.0.0.9", ultima + 500)).isEqualTo(1_500);
+        assertThat(tentativasLoginService.reservar("ana", "10.0.0.9", ultima + 1_500)).isEqualTo(500);
+        assertThat(tentativasLoginService.reservar("ana", "10.0.0.9", ultima + 2 * SEGUNDO)).isZero();
+        assertThat(tentativasLoginService.reservar("bruno", "10.0.0.9", ultima)).isZero();
+        assertThat(meterRegistry.counter(TentativasLoginService.REJEITADAS).count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should lock the user in the database once the failure limit is reached")
+    void shouldLockUserAfterLimit() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            falhar("ana", "10.0.0." + i, AGORA + i * INTERVALO);
+        }
+        verify(userRepository, never()).bloquearAte(anyString(), any());
+
+        // When
+        falhar("ana", "10.0.0.9", AGORA + 4 * INTERVALO);
+
+        // Then
+        verify(userRepository).bloquearAte(eq("ana"), any(LocalDateTime.class));
+        assertThat(tentativasLoginService.reservar("ana", "10.0.0.10", AGORA + 4 * INTERVALO)).isEqualTo(15 * 60 * SEGUNDO);
+        assertThat(meterRegistry.counter(TentativasLoginService.BLOQUEIOS, "chave", "usuario").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should throttle an IP spraying many usernames without locking any account")
+    void shouldThrottleIpAcrossUsernames() {
+        // Given
+        for (int i = 0; i < 8; i++) {
+            falhar("usuario" + i, "10.0.0.1", AGORA + i * INTERVALO);
+        }
+
+        // When
+        long ultima = AGORA + 7 * INTERVALO;
+        long mesmoIp = tentativasLoginService.reservar("outro", "10.0.0.1", ultima);
+        long outroIp = tentativasLoginService.reservar("outro", "10.0.0.2", ultima);
+
+        // Then
+        assertThat(mesmoIp).isEqualTo(15 * 60 * SEGUNDO);
+        assertThat(outroIp).isZero();
+        verify(userRepository, never()).bloquearAte(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should forget the user's failures after a successful login")
+    void shouldResetOnSuccess() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            falhar("ana", "10.0.0." + i, AGORA + i * INTERVALO);
+        }
+
+        long login = AGORA + 4 * INTERVALO;
+        assertThat(tentativasLoginService.reservar("ana", "10.0.0.9", login)).isZero();
+
+        // When
+        tentativasLoginService.registrarSucesso("ana", "10.0.0.9", login);
+
+        // Then
+        assertThat(tentativasLoginService.reservar("ana", "10.0.0.9", login)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should let attempts through again once the window slides past the failures")
+    void shouldExpireFailures() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            falhar("ana", "10.0.0." + i, AGORA + i * INTERVALO);
+        }
+        long depois = AGORA + Duration.ofMinutes(30).toMillis();
+
+        // When
+        tentativasLoginService.limpar(depois);
+
+        // Then
+        assertThat(tentativasLoginService.reservar("ana", "10.0.0.1", depois)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should throttle simultaneous attempts before any failure is confirmed")
+    void shouldCountReservedAttempts() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            assertThat(tentativasLoginService.reservar("ana", "10.0.0.1", AGORA)).isZero();
+        }
+
+        // When
+        long espera = tentativasLoginService.reservar("ana", "10.0.0.1", AGORA);
+
+        // Then
+        assertThat(espera).isEqualTo(SEGUNDO);
+        verify(userRepository, never()).bloquearAte(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should give back the IP's reserved attempt on each successful login")
+    void shouldReleaseIpOnSuccess() {
+        // Given
+        for (int i = 0; i < 6; i++) {
+            tentativasLoginService.reservar("usuario" + i, "10.0.0.1", AGORA);
+            tentativasLoginService.registrarSucesso("usuario" + i, "10.0.0.1", AGORA);
+        }
+
+        // When
+        long espera = tentativasLoginService.reservar("outro", "10.0.0.1", AGORA);
+
+        // Then
+        assertThat(espera).isZero();
+    }
+
+    @Test
+    @DisplayName("Should record failures and successes from the authentication events")
+    void shouldListenToAuthenticationEvents() {
+        // Given
+        tentativasLoginService = new TentativasLoginService(userRepository, meterRegistry,
+                Duration.ofMinutes(15), 5, 2, 10, 20,
+                Duration.ofSeconds(1), Duration.ofSeconds(4), Duration.ofMinutes(15));
+        UsernamePasswordAuthenticationToken credenciais = UsernamePasswordAuthenticationToken.unauthenticated("ana", "errada");
+        credenciais.setDetails(new WebAuthenticationDetails("10.0.0.1", null));
+        AuthenticationFailureBadCredentialsEvent falha =
+                new AuthenticationFailureBadCredentialsEvent(credenciais, new BadCredentialsException("Bad credentials"));
+
+        // When
+        tentativasLoginService.reservar("ana", "10.0.0.1");
+        tentativasLoginService.aoFalharCredenciais(falha);
+        tentativasLoginService.reservar("ana", "10.0.0.1");
+        tentativasLoginService.aoFalharCredenciais(falha);
+
+        // Then
+        verify(userRepository).bloquearAte(eq("ana"), any(LocalDateTime.class));
+        assertThat(tentativasLoginService.reservar("ana", "10.0.0.1")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should forget the user's failures when the success event arrives")
+    void shouldResetOnSuccessEvent() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            tentativasLoginService.reservar("ana", "10.0.0.1");
+        }
+        UsernamePasswordAuthenticationToken autenticado = UsernamePasswordAuthenticationToken.authenticated("ana", null, List.of());
+        autenticado.setDetails(new WebAuthenticationDetails("10.0.0.1", null));
+
+        // When
+        tentativasLoginService.aoAutenticar(new AuthenticationSuccessEvent(autenticado));
+
+        // Then
+        assertThat(tentativasLoginService.reservar("ana", "10.0.0.1")).isZero();
+    }
+
+    // Reserva e confirma a falha, como no login com senha errada
+    private void falhar(String username, String ip, long agoraMillis) {
+        assertThat(tentativasLoginService.reservar(username, ip, agoraMillis)).isZero();
+        tentativasLoginService.registrarFalha(username, ip, agoraMillis);
+    }
+}
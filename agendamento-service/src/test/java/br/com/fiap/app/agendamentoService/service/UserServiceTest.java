@@ -32,6 +32,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private BuscaService buscaService;
+
     @InjectMocks
     private UserService userService;
 
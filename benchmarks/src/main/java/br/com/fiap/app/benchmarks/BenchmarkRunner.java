@@ -0,0 +1,44 @@
+package br.com.fiap.app.benchmarks;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do jar: aceita as mesmas opções do JMH, mas, sem {@code -rf}/{@code -rff},
+ * grava o resultado em {@code resultados/jmh-<data>.json} para comparar entre versões.
+ */
+public final class BenchmarkRunner {
+
+    private static final DateTimeFormatter CARIMBO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions linha = new CommandLineOptions(args);
+        if (linha.shouldHelp() || linha.shouldList() || linha.shouldListWithParams()
+                || linha.shouldListProfilers() || linha.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder opcoes = new OptionsBuilder().parent(linha);
+        if (!linha.getResultFormat().hasValue()) {
+            opcoes.resultFormat(ResultFormatType.JSON);
+        }
+        if (!linha.getResult().hasValue()) {
+            File diretorio = new File("resultados");
+            diretorio.mkdirs();
+            String extensao = linha.getResultFormat().orElse(ResultFormatType.JSON).name().toLowerCase();
+            opcoes.result(new File(diretorio, "jmh-" + LocalDateTime.now().format(CARIMBO) + "." + extensao).getPath());
+        }
+        new Runner(opcoes.build()).run();
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.fiap.app.benchmarks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fiap.app.agendamentoService.entity.Consulta;
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+
+/**
+ * Detecção de choque de horário na agenda de um médico, com consultas de
+ * {@link #DURACAO}: varredura da lista devolvida por {@code findByMedico} contra busca
+ * em uma agenda ordenada. O agendamento-service ainda não valida conflitos; o benchmark
+ * compara as duas formas de fazer essa checagem sobre os mesmos dados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflitoAgendaBenchmark {
+
+    static final Duration DURACAO = Duration.ofMinutes(30);
+
+    private static final int CANDIDATOS = 1024;
+
+    @Param({ "50", "500", "5000" })
+    private int tamanhoAgenda;
+
+    private List<Consulta> agenda;
+    private NavigableMap<LocalDateTime, Consulta> agendaOrdenada;
+    private LocalDateTime[] candidatos;
+    private int proximo;
+
+    @Setup
+    public void setUp() {
+        // Consultas a cada 45 minutos: metade dos horários candidatos cai em uma folga.
+        agenda = Dados.consultas(tamanhoAgenda);
+        agendaOrdenada = new TreeMap<>();
+        for (int i = 0; i < agenda.size(); i++) {
+            Consulta consulta = agenda.get(i);
+            consulta.setDataHora(Dados.INICIO.plusMinutes(45L * i));
+            if (consulta.getStatus() != StatusConsulta.CANCELADA) {
+                agendaOrdenada.put(consulta.getDataHora(), consulta);
+            }
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        candidatos = new LocalDateTime[CANDIDATOS];
+        for (int i = 0; i < CANDIDATOS; i++) {
+            candidatos[i] = Dados.INICIO.plusMinutes(5L * random.nextInt(tamanhoAgenda * 9));
+        }
+    }
+
+    @Benchmark
+    public boolean varreduraLinear() {
+        LocalDateTime inicio = proximoCandidato();
+        LocalDateTime fim = inicio.plus(DURACAO);
+        for (Consulta consulta : agenda) {
+            if (consulta.getStatus() != StatusConsulta.CANCELADA
+                    && consulta.getDataHora().isBefore(fim)
+                    && consulta.getDataHora().plus(DURACAO).isAfter(inicio)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean buscaOrdenada() {
+        LocalDateTime inicio = proximoCandidato();
+        Map.Entry<LocalDateTime, Consulta> anterior = agendaOrdenada.floorEntry(inicio);
+        if (anterior != null && anterior.getKey().plus(DURACAO).isAfter(inicio)) {
+            return true;
+        }
+        LocalDateTime seguinte = agendaOrdenada.higherKey(inicio);
+        return seguinte != null && seguinte.isBefore(inicio.plus(DURACAO));
+    }
+
+    private LocalDateTime proximoCandidato() {
+        LocalDateTime candidato = candidatos[proximo];
+        proximo = (proximo + 1) & (CANDIDATOS - 1);
+        return candidato;
+    }
+}
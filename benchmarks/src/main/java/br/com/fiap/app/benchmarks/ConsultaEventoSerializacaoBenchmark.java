@@ -0,0 +1,99 @@
+package br.com.fiap.app.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaAgendadaEvent;
+import br.com.fiap.app.agendamentoService.messaging.ConsultaEventoMessageConverter;
+
+/**
+ * JSON ({@link JacksonJsonMessageConverter}) contra o formato binário do
+ * {@link ConsultaEventoMessageConverter}, nos dois sentidos. Os benchmarks de codificação
+ * também reportam o tamanho do payload gerado (contador secundário {@code bytes}), que sai
+ * no resultado do JMH junto com a vazão.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsultaEventoSerializacaoBenchmark {
+
+    private final JacksonJsonMessageConverter json = new JacksonJsonMessageConverter();
+    private final ConsultaEventoMessageConverter binario = new ConsultaEventoMessageConverter(json, true);
+
+    private ConsultaAgendadaEvent event;
+    private Message mensagemJson;
+    private Message mensagemBinaria;
+
+    @Setup
+    public void setUp() {
+        event = ConsultaAgendadaEvent.builder()
+                .consultaId(123_456L)
+                .pacienteId(98_765L)
+                .pacienteNome("Maria Aparecida da Silva")
+                .medicoNome("Dr. João Carlos Santos")
+                .dataHora(LocalDateTime.of(2026, 3, 15, 14, 30))
+                .status("CONFIRMADA")
+                .motivo("Consulta de rotina")
+                .eventId(UUID.randomUUID().toString())
+                .version(System.currentTimeMillis())
+                .build();
+        mensagemJson = json.toMessage(event, new MessageProperties());
+        mensagemJson.getMessageProperties().setInferredArgumentType(ConsultaAgendadaEvent.class);
+        mensagemBinaria = binario.toMessage(event, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message codificarJson(Payload payload) {
+        return payload.medir(json.toMessage(event, new MessageProperties()));
+    }
+
+    @Benchmark
+    public Message codificarBinario(Payload payload) {
+        return payload.medir(binario.toMessage(event, new MessageProperties()));
+    }
+
+    @Benchmark
+    public Object decodificarJson() {
+        return json.fromMessage(mensagemJson);
+    }
+
+    @Benchmark
+    public Object decodificarBinario() {
+        return binario.fromMessage(mensagemBinaria);
+    }
+
+    /**
+     * Tamanho, em bytes, do último payload codificado. Como é atribuído e não somado, o
+     * valor reportado por iteração é o próprio tamanho (com uma thread, o padrão).
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long bytes;
+
+        Message medir(Message mensagem) {
+            bytes = mensagem.getBody().length;
+            return mensagem;
+        }
+    }
+}
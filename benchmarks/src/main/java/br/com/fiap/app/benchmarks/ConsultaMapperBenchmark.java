@@ -0,0 +1,54 @@
+package br.com.fiap.app.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
+import br.com.fiap.app.agendamentoService.entity.Consulta;
+import br.com.fiap.app.agendamentoService.mapper.ConsultaMapper;
+
+/** {@link ConsultaMapper#toDTO} isolado e no stream usado pelos métodos *DTO do ConsultaService. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsultaMapperBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int quantidade;
+
+    private Consulta consulta;
+    private List<Consulta> consultas;
+
+    @Setup
+    public void setUp() {
+        consulta = Dados.consulta(42);
+        consultas = Dados.consultas(quantidade);
+    }
+
+    @Benchmark
+    public ConsultaResponseDTO toDTO() {
+        return ConsultaMapper.toDTO(consulta);
+    }
+
+    @Benchmark
+    public List<ConsultaResponseDTO> toDTOLista() {
+        return consultas.stream()
+                .map(ConsultaMapper::toDTO)
+                .toList();
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.fiap.app.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fiap.app.agendamentoService.dto.ConsultaResponseDTO;
+import br.com.fiap.app.agendamentoService.mapper.ConsultaMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Serialização das listas de {@link ConsultaResponseDTO} devolvidas pelos endpoints
+ * de consulta, com o mesmo JsonMapper padrão do Jackson 3 usado pelo Spring MVC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsultaRespostaJsonBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int quantidade;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private List<ConsultaResponseDTO> consultas;
+
+    @Setup
+    public void setUp() {
+        consultas = Dados.consultas(quantidade).stream()
+                .map(ConsultaMapper::toDTO)
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializarLista() {
+        return jsonMapper.writeValueAsBytes(consultas);
+    }
+}
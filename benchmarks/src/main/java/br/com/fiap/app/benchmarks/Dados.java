@@ -0,0 +1,71 @@
+package br.com.fiap.app.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.fiap.app.agendamentoService.entity.Consulta;
+import br.com.fiap.app.agendamentoService.entity.Enfermeiro;
+import br.com.fiap.app.agendamentoService.entity.Medico;
+import br.com.fiap.app.agendamentoService.entity.Paciente;
+import br.com.fiap.app.agendamentoService.entity.User;
+import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import br.com.fiap.app.agendamentoService.enums.StatusConsulta;
+
+/** Entidades preenchidas como viriam do banco, para os benchmarks não dependerem de JPA. */
+final class Dados {
+
+    static final LocalDateTime INICIO = LocalDateTime.of(2026, 3, 2, 8, 0);
+
+    private static final StatusConsulta[] STATUS = StatusConsulta.values();
+
+    private Dados() {
+    }
+
+    static Consulta consulta(long id) {
+        Medico medico = new Medico();
+        medico.setId(id % 50 + 1);
+        medico.setUser(usuario(medico.getId(), "Dr. João Carlos Santos"));
+        medico.setCrm("CRM-SP-" + (100_000 + medico.getId()));
+        medico.setEspecialidade(Especialidade.values()[(int) (id % Especialidade.values().length)]);
+
+        Paciente paciente = new Paciente();
+        paciente.setId(id % 5_000 + 1);
+        paciente.setUser(usuario(paciente.getId(), "Maria Aparecida da Silva"));
+        paciente.setCpf(String.format("%011d", 12_345_678_900L + paciente.getId()));
+
+        Consulta consulta = new Consulta();
+        consulta.setId(id);
+        consulta.setMedico(medico);
+        consulta.setPaciente(paciente);
+        if (id % 3 == 0) {
+            Enfermeiro enfermeiro = new Enfermeiro();
+            enfermeiro.setId(id % 20 + 1);
+            enfermeiro.setUser(usuario(enfermeiro.getId(), "Ana Paula Ferreira"));
+            enfermeiro.setCoren("COREN-SP-" + (200_000 + enfermeiro.getId()));
+            consulta.setEnfermeiro(enfermeiro);
+        }
+        consulta.setDataHora(INICIO.plusMinutes(30 * id));
+        consulta.setStatus(STATUS[(int) (id % STATUS.length)]);
+        consulta.setMotivo("Consulta de rotina");
+        consulta.setObservacoes("Paciente relata dores de cabeça frequentes há duas semanas");
+        consulta.setDataCriacao(INICIO.minusDays(7));
+        consulta.setDataAlteracao(INICIO.minusDays(1));
+        return consulta;
+    }
+
+    static List<Consulta> consultas(int quantidade) {
+        List<Consulta> consultas = new ArrayList<>(quantidade);
+        for (long i = 1; i <= quantidade; i++) {
+            consultas.add(consulta(i));
+        }
+        return consultas;
+    }
+
+    private static User usuario(Long id, String nome) {
+        User user = new User();
+        user.setId(id);
+        user.setNome(nome);
+        return user;
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.fiap.app.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Custo do BCrypt por fator de trabalho. O SecurityConfig usa o padrão (10); cada
+ * login paga um {@code matches} e cada cadastro um {@code encode}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String SENHA = "S3nh@-d0-P4ciente";
+
+    @Param({ "8", "10", "12" })
+    private int custo;
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(custo);
+        hash = passwordEncoder.encode(SENHA);
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(SENHA);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(SENHA, hash);
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.fiap.app.carga;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.amqp.rabbit.config.AbstractRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.com.fiap.app.agendamentoService.AgendamentoServiceApplication;
+import br.com.fiap.app.notificacaoService.NotificacaoServiceApplication;
+import br.com.fiap.app.notificacaoService.dto.ConsultaAgendadaEvent;
+import br.com.fiap.app.notificacaoService.listener.NotificacaoListener;
+
+/**
+ * Sobe os dois serviços na mesma JVM, em portas aleatórias, contra um H2 em memória no
+ * modo PostgreSQL e o {@link BrokerEmMemoria}. Os argumentos entram como linha de comando
+ * para ter precedência sobre os application.yml dos serviços, que estão no mesmo classpath.
+ */
+final class Ambiente implements AutoCloseable {
+
+    private static final List<String> COMUNS = List.of(
+            "--server.port=0",
+            "--spring.datasource.url=jdbc:h2:mem:carga;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--leitura-reativa.url=r2dbc:h2:mem:///carga?options=MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+            "--leitura-reativa.username=sa",
+            "--leitura-reativa.password=",
+            "--spring.jpa.show-sql=false",
+            // Sem coletor OTLP na carga; o custo de exportar spans ficaria fora do que se mede
+            "--management.tracing.sampling.probability=0",
+            "--logging.level.root=WARN");
+
+    private final ConfigurableApplicationContext notificacao;
+    private final ConfigurableApplicationContext agendamento;
+
+    private Ambiente(ConfigurableApplicationContext notificacao, ConfigurableApplicationContext agendamento) {
+        this.notificacao = notificacao;
+        this.agendamento = agendamento;
+    }
+
+    static Ambiente iniciar(BrokerEmMemoria broker, boolean threadsVirtuais) {
+        ConfigurableApplicationContext notificacao = new SpringApplicationBuilder(NotificacaoServiceApplication.class)
+                .initializers(contexto -> contexto.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessBeforeInitialization(Object bean, String nome) {
+                        // Os listeners reais ficam parados: quem entrega é o broker em memória
+                        if (bean instanceof AbstractRabbitListenerContainerFactory<?> factory) {
+                            factory.setAutoStartup(false);
+                        }
+                        return bean;
+                    }
+                }))
+                .run(argumentos("notificacao-service", threadsVirtuais,
+                        // O schema é do agendamento-service; aqui o datasource só existe por
+                        // causa do classpath compartilhado
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=none",
+                        "--rabbitmq.metricas.intervalo=1h"));
+
+        MessageConverter converter = notificacao.getBean(MessageConverter.class);
+        NotificacaoListener listener = notificacao.getBean(NotificacaoListener.class);
+        broker.conectar(message -> {
+            message.getMessageProperties().setInferredArgumentType(ConsultaAgendadaEvent.class);
+            listener.processarNotificacao((ConsultaAgendadaEvent) converter.fromMessage(message));
+        });
+
+        ConfigurableApplicationContext agendamento = new SpringApplicationBuilder(AgendamentoServiceApplication.class)
+                .initializers(contexto -> contexto.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String nome) {
+                        if (bean instanceof RabbitTemplate original && !(bean instanceof RabbitTemplateEmMemoria)) {
+                            return new RabbitTemplateEmMemoria(broker, original);
+                        }
+                        return bean;
+                    }
+                }))
+                .run(argumentos("agendamento-service", threadsVirtuais));
+        return new Ambiente(notificacao, agendamento);
+    }
+
+    private static String[] argumentos(String nome, boolean threadsVirtuais, String... especificos) {
+        List<String> argumentos = new ArrayList<>(COMUNS);
+        argumentos.add("--spring.application.name=" + nome);
+        argumentos.add("--spring.threads.virtual.enabled=" + threadsVirtuais);
+        argumentos.addAll(List.of(especificos));
+        return argumentos.toArray(String[]::new);
+    }
+
+    ConfigurableApplicationContext agendamento() {
+        return agendamento;
+    }
+
+    URI urlAgendamento() {
+        return URI.create("http://localhost:" + agendamento.getEnvironment().getProperty("local.server.port"));
+    }
+
+    @Override
+    public void close() {
+        agendamento.close();
+        notificacao.close();
+    }
+}
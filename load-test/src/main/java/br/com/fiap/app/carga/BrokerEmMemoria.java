@@ -0,0 +1,73 @@
+package br.com.fiap.app.carga;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.springframework.amqp.core.Message;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Substituto do RabbitMQ para a carga: cada routing key vira uma fila com um único
+ * consumidor (uma virtual thread), como as partições do notificacao-service, então a
+ * ordem por paciente se mantém. Não há retentativa nem DLQ; falhas só são contadas.
+ */
+@Slf4j
+final class BrokerEmMemoria implements AutoCloseable {
+
+    private final Map<String, ExecutorService> filas = new ConcurrentHashMap<>();
+    private final LongAdder publicadas = new LongAdder();
+    private final LongAdder entregues = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private volatile Consumer<Message> consumidor = message -> {
+    };
+
+    void conectar(Consumer<Message> consumidor) {
+        this.consumidor = consumidor;
+    }
+
+    void publicar(String routingKey, Message message) {
+        publicadas.increment();
+        filas.computeIfAbsent(routingKey, chave -> Executors.newSingleThreadExecutor(
+                        Thread.ofVirtual().name("broker-" + chave).factory()))
+                .execute(() -> entregar(message));
+    }
+
+    private void entregar(Message message) {
+        try {
+            consumidor.accept(message);
+            entregues.increment();
+        } catch (RuntimeException e) {
+            falhas.increment();
+            log.warn("Falha ao entregar mensagem em memória: {}", e.getMessage());
+        }
+    }
+
+    long publicadas() {
+        return publicadas.sum();
+    }
+
+    long entregues() {
+        return entregues.sum();
+    }
+
+    long falhas() {
+        return falhas.sum();
+    }
+
+    /** Espera as filas esvaziarem, para o relatório não contar mensagens ainda em voo. */
+    @Override
+    public void close() throws InterruptedException {
+        for (ExecutorService fila : filas.values()) {
+            fila.shutdown();
+        }
+        for (ExecutorService fila : filas.values()) {
+            fila.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+}
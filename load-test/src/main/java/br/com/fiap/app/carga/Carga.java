@@ -0,0 +1,173 @@
+package br.com.fiap.app.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Clientes em malha fechada, um por virtual thread: cada um sorteia a próxima operação
+ * pelos pesos do mix, espera a resposta e repete até o fim da duração. Só entram nas
+ * latências as requisições iniciadas depois do aquecimento.
+ */
+final class Carga {
+
+    private static final DateTimeFormatter DATA_HORA = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final String[] CONSULTAS_GRAPHQL = {
+            "query($medicoId: ID!) { consultasByMedico(medicoId: $medicoId) { id dataHora status paciente { nome } } }",
+            "query { consultasByStatus(status: CONFIRMADA) { id dataHora medico { nome } paciente { nome } } }"
+    };
+    // Consultas criadas pela carga, alvo das mudanças de status
+    private static final int MAX_CONSULTAS = 8_192;
+
+    private final Opcoes opcoes;
+    private final Massa massa;
+    private final URI base;
+    private final String autorizacao;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Operacao[] sorteio;
+    private final AtomicLongArray consultas = new AtomicLongArray(MAX_CONSULTAS);
+    private final AtomicLong consultasCriadas = new AtomicLong();
+    private final Map<Operacao, Latencias> latencias = new EnumMap<>(Operacao.class);
+
+    Carga(Opcoes opcoes, Massa massa, URI base) {
+        this.opcoes = opcoes;
+        this.massa = massa;
+        this.base = base;
+        this.autorizacao = "Basic " + Base64.getEncoder()
+                .encodeToString((massa.usuario() + ":" + massa.senha()).getBytes(StandardCharsets.UTF_8));
+        int total = opcoes.mix().values().stream().mapToInt(Integer::intValue).sum();
+        this.sorteio = new Operacao[total];
+        int posicao = 0;
+        for (Map.Entry<Operacao, Integer> peso : opcoes.mix().entrySet()) {
+            for (int i = 0; i < peso.getValue(); i++) {
+                sorteio[posicao++] = peso.getKey();
+            }
+            latencias.put(peso.getKey(), new Latencias());
+        }
+    }
+
+    Map<Operacao, Latencias> executar() throws InterruptedException {
+        long inicioMedicao = System.nanoTime() + opcoes.aquecimento().toNanos();
+        long fim = inicioMedicao + opcoes.duracao().toNanos();
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < opcoes.clientes(); i++) {
+                clientes.execute(() -> cliente(inicioMedicao, fim));
+            }
+        }
+        return latencias;
+    }
+
+    private void cliente(long inicioMedicao, long fim) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (!Thread.currentThread().isInterrupted()) {
+            long inicio = System.nanoTime();
+            if (inicio >= fim) {
+                return;
+            }
+            Operacao operacao = sorteio[random.nextInt(sorteio.length)];
+            if (operacao == Operacao.STATUS && consultasCriadas.get() == 0) {
+                operacao = Operacao.RESERVA;
+            }
+            boolean sucesso;
+            try {
+                sucesso = executar(operacao, random);
+            } catch (IOException e) {
+                sucesso = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (inicio >= inicioMedicao) {
+                Latencias registro = latencias.get(operacao);
+                if (registro != null) {
+                    registro.registrar(System.nanoTime() - inicio, sucesso);
+                }
+            }
+        }
+    }
+
+    private boolean executar(Operacao operacao, ThreadLocalRandom random) throws IOException, InterruptedException {
+        return switch (operacao) {
+            case RESERVA -> reservar(random);
+            case STATUS -> ok(enviar(requisicao("/api/consultas/" + consultaCriada(random) + "/status?status=CONFIRMADA")
+                    .PUT(HttpRequest.BodyPublishers.noBody())));
+            case HISTORICO -> ok(enviar(requisicao("/api/consultas/paciente/" + sortear(massa.pacientes(), random) + "/historico")
+                    .GET()));
+            case GRAPHQL -> ok(enviar(json(requisicao("/graphql"), graphql(random))));
+        };
+    }
+
+    private boolean reservar(ThreadLocalRandom random) throws IOException, InterruptedException {
+        LocalDateTime dataHora = LocalDateTime.now().plusDays(1 + random.nextInt(180))
+                .withHour(8 + random.nextInt(10)).withMinute(30 * random.nextInt(2)).withSecond(0).withNano(0);
+        Map<String, Object> corpo = Map.of(
+                "medicoId", sortear(massa.medicos(), random),
+                "pacienteId", sortear(massa.pacientes(), random),
+                "dataHora", dataHora.format(DATA_HORA),
+                "motivo", "Teste de carga");
+        HttpResponse<String> resposta = enviar(json(requisicao("/api/consultas"), corpo));
+        if (!ok(resposta)) {
+            return false;
+        }
+        long id = jsonMapper.readTree(resposta.body()).path("id").asLong();
+        consultas.set((int) (consultasCriadas.getAndIncrement() % MAX_CONSULTAS), id);
+        return true;
+    }
+
+    private Map<String, Object> graphql(ThreadLocalRandom random) {
+        String consulta = CONSULTAS_GRAPHQL[random.nextInt(CONSULTAS_GRAPHQL.length)];
+        return consulta.contains("$medicoId")
+                ? Map.of("query", consulta, "variables", Map.of("medicoId", sortear(massa.medicos(), random)))
+                : Map.of("query", consulta);
+    }
+
+    private long consultaCriada(ThreadLocalRandom random) {
+        int disponiveis = (int) Math.min(consultasCriadas.get(), MAX_CONSULTAS);
+        return consultas.get(random.nextInt(disponiveis));
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(base.resolve(caminho))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", autorizacao);
+    }
+
+    private HttpRequest.Builder json(HttpRequest.Builder requisicao, Object corpo) {
+        return requisicao.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(corpo)));
+    }
+
+    private HttpResponse<String> enviar(HttpRequest.Builder requisicao) throws IOException, InterruptedException {
+        return http.send(requisicao.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean ok(HttpResponse<String> resposta) {
+        // GraphQL responde 200 mesmo com erro de execução; os erros vêm no corpo
+        return resposta.statusCode() / 100 == 2 && !resposta.body().startsWith("{\"errors\"");
+    }
+
+    private static long sortear(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.fiap.app.carga;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * Ponto de entrada da carga: sobe os serviços, cria a massa, roda o mix configurado
+ * e imprime vazão e p50/p99/p999 por endpoint. Tudo na mesma JVM, sem rede externa.
+ *
+ * <pre>
+ * --mix=reserva:30,status:20,historico:35,graphql:15
+ * --clientes=64 --duracao=60s --aquecimento=15s --medicos=20 --pacientes=200
+ * --threads-virtuais=true
+ * </pre>
+ */
+public final class CargaRunner {
+
+    private CargaRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Opcoes opcoes = Opcoes.ler(args);
+        BrokerEmMemoria broker = new BrokerEmMemoria();
+        Relatorio relatorio;
+        try (Ambiente ambiente = Ambiente.iniciar(broker, opcoes.threadsVirtuais())) {
+            Massa massa = Massa.criar(ambiente.agendamento(), opcoes.medicos(), opcoes.pacientes());
+            Map<Operacao, Latencias> latencias;
+            try (MonitorPinning pinning = new MonitorPinning()) {
+                latencias = new Carga(opcoes, massa, ambiente.urlAgendamento()).executar();
+                broker.close();
+                relatorio = new Relatorio(opcoes, latencias, broker, pinning.ocorrencias());
+            }
+        }
+        relatorio.imprimir(System.out);
+        File arquivo = relatorio.gravar();
+        System.out.println("Resultado gravado em " + arquivo.getPath());
+    }
+}
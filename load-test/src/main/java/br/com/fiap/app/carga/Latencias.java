@@ -0,0 +1,68 @@
+package br.com.fiap.app.carga;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Latências de uma operação, guardadas inteiras para os percentis serem exatos. Usa
+ * {@link ReentrantLock} e não {@code synchronized}, que prenderia a virtual thread
+ * do cliente à carrier no Java 21.
+ */
+final class Latencias {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long[] nanos = new long[16_384];
+    private int quantidade;
+    private long erros;
+
+    void registrar(long duracaoNanos, boolean sucesso) {
+        lock.lock();
+        try {
+            if (quantidade == nanos.length) {
+                nanos = Arrays.copyOf(nanos, nanos.length * 2);
+            }
+            nanos[quantidade++] = duracaoNanos;
+            if (!sucesso) {
+                erros++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Resumo resumir(double segundos) {
+        long[] ordenadas;
+        long errosRegistrados;
+        lock.lock();
+        try {
+            ordenadas = Arrays.copyOf(nanos, quantidade);
+            errosRegistrados = erros;
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(ordenadas);
+        return new Resumo(
+                ordenadas.length,
+                errosRegistrados,
+                segundos > 0 ? ordenadas.length / segundos : 0,
+                milis(percentil(ordenadas, 0.50)),
+                milis(percentil(ordenadas, 0.99)),
+                milis(percentil(ordenadas, 0.999)),
+                milis(ordenadas.length == 0 ? 0 : ordenadas[ordenadas.length - 1]));
+    }
+
+    private static long percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(indice, ordenadas.length - 1))];
+    }
+
+    private static double milis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    record Resumo(long requisicoes, long erros, double porSegundo, double p50, double p99, double p999, double maximo) {
+    }
+}
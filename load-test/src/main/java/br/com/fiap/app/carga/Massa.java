@@ -0,0 +1,85 @@
+package br.com.fiap.app.carga;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.context.ApplicationContext;
+
+import br.com.fiap.app.agendamentoService.entity.Medico;
+import br.com.fiap.app.agendamentoService.entity.Paciente;
+import br.com.fiap.app.agendamentoService.entity.User;
+import br.com.fiap.app.agendamentoService.enums.Especialidade;
+import br.com.fiap.app.agendamentoService.enums.Role;
+import br.com.fiap.app.agendamentoService.service.MedicoService;
+import br.com.fiap.app.agendamentoService.service.PacienteService;
+import br.com.fiap.app.agendamentoService.service.UserService;
+
+/**
+ * Médicos e pacientes criados pelos services do agendamento-service antes da carga,
+ * e o usuário (perfil médico) com que os clientes se autenticam.
+ */
+record Massa(List<Long> medicos, List<Long> pacientes, String usuario, String senha) {
+
+    static final String USUARIO = "carga";
+    static final String SENHA = "carga123";
+
+    static Massa criar(ApplicationContext agendamento, int medicos, int pacientes) throws Exception {
+        UserService userService = agendamento.getBean(UserService.class);
+        MedicoService medicoService = agendamento.getBean(MedicoService.class);
+        PacienteService pacienteService = agendamento.getBean(PacienteService.class);
+
+        userService.createUser(usuario(USUARIO, Role.ROLE_MEDICO));
+
+        // Cada usuário custa um hash BCrypt; em paralelo a preparação não domina a execução
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Long>> idsMedicos = new ArrayList<>();
+            for (int i = 1; i <= medicos; i++) {
+                int numero = i;
+                idsMedicos.add(executor.submit(() -> {
+                    User user = userService.createUser(usuario("medico" + numero, Role.ROLE_MEDICO));
+                    Medico medico = new Medico();
+                    medico.setUserId(user.getId());
+                    medico.setCrm("CRM-CARGA-" + numero);
+                    medico.setEspecialidade(Especialidade.values()[numero % Especialidade.values().length]);
+                    return medicoService.createMedico(medico).getId();
+                }));
+            }
+            List<Future<Long>> idsPacientes = new ArrayList<>();
+            for (int i = 1; i <= pacientes; i++) {
+                int numero = i;
+                idsPacientes.add(executor.submit(() -> {
+                    User user = userService.createUser(usuario("paciente" + numero, Role.ROLE_PACIENTE));
+                    Paciente paciente = new Paciente();
+                    paciente.setUserId(user.getId());
+                    paciente.setCpf(String.format("%011d", 98_700_000_000L + numero));
+                    paciente.setDataNascimento(LocalDate.of(1970, 1, 1).plusDays(numero * 37L));
+                    return pacienteService.createPaciente(paciente).getId();
+                }));
+            }
+            return new Massa(ids(idsMedicos), ids(idsPacientes), USUARIO, SENHA);
+        }
+    }
+
+    private static User usuario(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(SENHA);
+        user.setNome("Carga " + username);
+        user.setEmail(username + "@carga.local");
+        user.setTelefone("11999999999");
+        user.setRole(role);
+        return user;
+    }
+
+    private static List<Long> ids(List<Future<Long>> futuros) throws Exception {
+        List<Long> ids = new ArrayList<>(futuros.size());
+        for (Future<Long> futuro : futuros) {
+            ids.add(futuro.get());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.fiap.app.carga;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Escuta o evento JFR {@code jdk.VirtualThreadPinned} durante a carga e agrupa as
+ * ocorrências pelo primeiro frame do projeto na pilha: é onde está o {@code synchronized}
+ * (ou a chamada nativa) que prendeu a virtual thread à carrier enquanto ela bloqueava.
+ */
+final class MonitorPinning implements AutoCloseable {
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    static final Duration LIMIAR = Duration.ofMillis(5);
+
+    private final RecordingStream stream = new RecordingStream();
+    private final Map<String, LongAdder> ocorrencias = new ConcurrentHashMap<>();
+
+    MonitorPinning() {
+        stream.enable(EVENTO).withThreshold(LIMIAR).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+    }
+
+    private void registrar(RecordedEvent evento) {
+        ocorrencias.computeIfAbsent(origem(evento), chave -> new LongAdder()).increment();
+    }
+
+    private static String origem(RecordedEvent evento) {
+        if (evento.getStackTrace() == null) {
+            return "desconhecida";
+        }
+        List<RecordedFrame> frames = evento.getStackTrace().getFrames();
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith("br.com.fiap")) {
+                return descrever(frame);
+            }
+        }
+        return frames.isEmpty() ? "desconhecida" : descrever(frames.get(0));
+    }
+
+    private static String descrever(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    /** Origens ordenadas da mais frequente para a menos frequente. */
+    Map<String, Long> ocorrencias() {
+        Map<String, Long> ordenadas = new LinkedHashMap<>();
+        ocorrencias.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .forEach(entrada -> ordenadas.put(entrada.getKey(), entrada.getValue().sum()));
+        return ordenadas;
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
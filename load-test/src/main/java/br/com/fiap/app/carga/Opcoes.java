@@ -0,0 +1,64 @@
+package br.com.fiap.app.carga;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Parâmetros da execução, no formato {@code --chave=valor}. O mix são pesos relativos por
+ * operação ({@code reserva:30,status:20,...}); operações fora do mix não são executadas.
+ * {@code --threads-virtuais=false} sobe os serviços com o pool fixo de threads do Tomcat,
+ * para comparar com o modelo padrão.
+ */
+record Opcoes(
+        Map<Operacao, Integer> mix,
+        int clientes,
+        Duration duracao,
+        Duration aquecimento,
+        int medicos,
+        int pacientes,
+        boolean threadsVirtuais) {
+
+    static final String MIX_PADRAO = "reserva:30,status:20,historico:35,graphql:15";
+
+    static Opcoes ler(String[] args) {
+        Map<String, String> valores = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Argumento inválido (use --chave=valor): " + arg);
+            }
+            int igual = arg.indexOf('=');
+            valores.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        Opcoes opcoes = new Opcoes(
+                mix(valores.getOrDefault("mix", MIX_PADRAO)),
+                Integer.parseInt(valores.getOrDefault("clientes", "64")),
+                DurationStyle.detectAndParse(valores.getOrDefault("duracao", "60s")),
+                DurationStyle.detectAndParse(valores.getOrDefault("aquecimento", "15s")),
+                Integer.parseInt(valores.getOrDefault("medicos", "20")),
+                Integer.parseInt(valores.getOrDefault("pacientes", "200")),
+                Boolean.parseBoolean(valores.getOrDefault("threads-virtuais", "true")));
+        if (opcoes.clientes < 1 || opcoes.medicos < 1 || opcoes.pacientes < 1) {
+            throw new IllegalArgumentException("clientes, medicos e pacientes devem ser positivos");
+        }
+        return opcoes;
+    }
+
+    private static Map<Operacao, Integer> mix(String texto) {
+        Map<Operacao, Integer> mix = new EnumMap<>(Operacao.class);
+        for (String item : texto.split(",")) {
+            String[] partes = item.trim().split(":");
+            int peso = Integer.parseInt(partes[1].trim());
+            if (peso > 0) {
+                mix.put(Operacao.porChave(partes[0].trim()), peso);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("O mix precisa de ao menos uma operação com peso positivo");
+        }
+        return mix;
+    }
+}
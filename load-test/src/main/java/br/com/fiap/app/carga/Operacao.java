@@ -0,0 +1,35 @@
+package br.com.fiap.app.carga;
+
+/** Tipos de requisição do cenário, com a chave usada em {@code --mix} e o endpoint exercitado. */
+enum Operacao {
+
+    RESERVA("reserva", "POST /api/consultas"),
+    STATUS("status", "PUT /api/consultas/{id}/status"),
+    HISTORICO("historico", "GET /api/consultas/paciente/{id}/historico"),
+    GRAPHQL("graphql", "POST /graphql");
+
+    private final String chave;
+    private final String endpoint;
+
+    Operacao(String chave, String endpoint) {
+        this.chave = chave;
+        this.endpoint = endpoint;
+    }
+
+    String chave() {
+        return chave;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Operacao porChave(String chave) {
+        for (Operacao operacao : values()) {
+            if (operacao.chave.equalsIgnoreCase(chave)) {
+                return operacao;
+            }
+        }
+        throw new IllegalArgumentException("Operação desconhecida no mix: " + chave);
+    }
+}
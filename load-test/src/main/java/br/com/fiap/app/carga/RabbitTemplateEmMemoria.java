@@ -0,0 +1,41 @@
+package br.com.fiap.app.carga;
+
+import java.util.Date;
+
+import com.rabbitmq.client.ConfirmCallback;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+/**
+ * Troca o envio ao broker pela entrega no {@link BrokerEmMemoria}. A conversão continua
+ * sendo a do agendamento-service (o mesmo {@code MessageConverter}), então o consumidor
+ * recebe exatamente o corpo e o content type que receberia do RabbitMQ.
+ */
+class RabbitTemplateEmMemoria extends RabbitTemplate {
+
+    private final BrokerEmMemoria broker;
+
+    RabbitTemplateEmMemoria(BrokerEmMemoria broker, RabbitTemplate original) {
+        super(original.getConnectionFactory());
+        this.broker = broker;
+        setMessageConverter(original.getMessageConverter());
+    }
+
+    @Override
+    public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+        // Os post-processors do template original rodam só no envio real; o timestamp
+        // é o que o notificacao-service usa para medir o atraso de consumo.
+        if (message.getMessageProperties().getTimestamp() == null) {
+            message.getMessageProperties().setTimestamp(new Date());
+        }
+        broker.publicar(routingKey, message);
+    }
+
+    @Override
+    public <T> T invoke(OperationsCallback<T> action, ConfirmCallback acks, ConfirmCallback nacks) {
+        // Publicação em lote: sem canal dedicado, cada envio cai no send acima.
+        return action.doInRabbit(this);
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.fiap.app.carga;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Tabela no console e o mesmo conteúdo em {@code resultados/carga-<data>.json}, para
+ * comparar execuções (por exemplo antes e depois de uma mudança de configuração).
+ */
+final class Relatorio {
+
+    private static final DateTimeFormatter CARIMBO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Opcoes opcoes;
+    private final Map<Operacao, Latencias.Resumo> resumos = new LinkedHashMap<>();
+    private final BrokerEmMemoria broker;
+    private final Map<String, Long> pinning;
+
+    Relatorio(Opcoes opcoes, Map<Operacao, Latencias> latencias, BrokerEmMemoria broker, Map<String, Long> pinning) {
+        this.opcoes = opcoes;
+        this.broker = broker;
+        this.pinning = pinning;
+        double segundos = opcoes.duracao().toMillis() / 1000.0;
+        latencias.forEach((operacao, registro) -> resumos.put(operacao, registro.resumir(segundos)));
+    }
+
+    void imprimir(PrintStream saida) {
+        saida.printf(Locale.ROOT, "%nCarga: %d clientes, %ss medidos após %ss de aquecimento, mix %s, threads %s%n",
+                opcoes.clientes(), opcoes.duracao().toSeconds(), opcoes.aquecimento().toSeconds(), opcoes.mix(),
+                opcoes.threadsVirtuais() ? "virtuais" : "de plataforma");
+        saida.printf(Locale.ROOT, "%-45s %10s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requis.", "Erros", "req/s", "p50 ms", "p99 ms", "p999 ms", "máx ms");
+        resumos.forEach((operacao, r) -> saida.printf(Locale.ROOT, "%-45s %10d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                operacao.endpoint(), r.requisicoes(), r.erros(), r.porSegundo(), r.p50(), r.p99(), r.p999(), r.maximo()));
+        saida.printf(Locale.ROOT, "Eventos: %d publicados, %d entregues ao notificacao-service, %d falhas%n",
+                broker.publicadas(), broker.entregues(), broker.falhas());
+        if (pinning.isEmpty()) {
+            saida.printf(Locale.ROOT, "Nenhuma virtual thread presa à carrier por mais de %d ms%n",
+                    MonitorPinning.LIMIAR.toMillis());
+        } else {
+            saida.println("Virtual threads presas à carrier (jdk.VirtualThreadPinned), por origem:");
+            pinning.forEach((origem, vezes) -> saida.printf(Locale.ROOT, "  %7d  %s%n", vezes, origem));
+        }
+    }
+
+    File gravar() {
+        File diretorio = new File("resultados");
+        diretorio.mkdirs();
+        File arquivo = new File(diretorio, "carga-" + LocalDateTime.now().format(CARIMBO) + ".json");
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        resumos.forEach((operacao, resumo) -> endpoints.put(operacao.endpoint(), resumo));
+        Map<String, Object> conteudo = new LinkedHashMap<>();
+        conteudo.put("clientes", opcoes.clientes());
+        conteudo.put("duracaoSegundos", opcoes.duracao().toSeconds());
+        conteudo.put("aquecimentoSegundos", opcoes.aquecimento().toSeconds());
+        conteudo.put("mix", opcoes.mix());
+        conteudo.put("medicos", opcoes.medicos());
+        conteudo.put("pacientes", opcoes.pacientes());
+        conteudo.put("threadsVirtuais", opcoes.threadsVirtuais());
+        conteudo.put("java", Runtime.version().toString());
+        conteudo.put("endpoints", endpoints);
+        conteudo.put("eventos", Map.of(
+                "publicados", broker.publicadas(),
+                "entregues", broker.entregues(),
+                "falhas", broker.falhas()));
+        conteudo.put("pinning", pinning);
+        JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build().writeValue(arquivo, conteudo);
+        return arquivo;
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.fiap.app.notificacaoService.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.observation.ObservationPredicate;
+
+@Configuration
+public class ObservabilidadeConfig {
+
+    /**
+     * Os @Scheduled rodam a cada poucos milissegundos e virariam traces vazios; o que
+     * eles fazem de útil (publicação, acesso ao banco) continua observado.
+     */
+    @Bean
+    public ObservationPredicate ignorarTarefasAgendadas() {
+        return (nome, contexto) -> !"tasks.scheduled.execution".equals(nome);
+    }
+}
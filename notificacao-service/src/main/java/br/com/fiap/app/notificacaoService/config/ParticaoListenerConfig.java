@@ -0,0 +1,48 @@
+package br.com.fiap.app.notificacaoService.config;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import br.com.fiap.app.notificacaoService.dto.ConsultaAgendadaEvent;
+import br.com.fiap.app.notificacaoService.listener.NotificacaoListener;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Um container por partição, cada um com um único consumidor: as partições são
+ * processadas em paralelo e, dentro de cada uma, os eventos de um paciente seguem
+ * a ordem de publicação. Os containers usam a mesma factory (e o mesmo
+ * {@link br.com.fiap.app.notificacaoService.listener.RetentativaAdvice}) do listener da fila antiga.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ParticaoListenerConfig implements RabbitListenerConfigurer {
+
+    private final NotificacaoListener notificacaoListener;
+    private final MessageConverter messageConverter;
+
+    @Value("${rabbitmq.queue}")
+    private String queue;
+
+    @Value("${rabbitmq.particoes}")
+    private int particoes;
+
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        for (int i = 0; i < particoes; i++) {
+            SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+            endpoint.setId("consulta-agendada-particao-" + i);
+            endpoint.setQueueNames(queue + "." + i);
+            endpoint.setConcurrency("1");
+            endpoint.setMessageListener(message -> {
+                // Sem o tipo inferido o conversor JSON usaria o __TypeId__ do publicador.
+                message.getMessageProperties().setInferredArgumentType(ConsultaAgendadaEvent.class);
+                notificacaoListener.processarNotificacao((ConsultaAgendadaEvent) messageConverter.fromMessage(message));
+            });
+            registrar.registerEndpoint(endpoint);
+        }
+    }
+}
@@ -1,27 +1,66 @@
 package br.com.fiap.app.notificacaoService.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.HeadersExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import br.com.fiap.app.notificacaoService.listener.ConsumoMetricasAdvice;
+import br.com.fiap.app.notificacaoService.listener.RetentativaAdvice;
+import br.com.fiap.app.notificacaoService.messaging.ConsultaEventoMessageConverter;
 
 @Configuration
 public class RabbitMQConfig {
 
+    @Value("${rabbitmq.exchange}")
+    private String exchange;
+
     @Value("${rabbitmq.queue}")
     private String queue;
 
+    @Value("${rabbitmq.routing-key}")
+    private String routingKey;
+
+    @Value("${rabbitmq.particoes}")
+    private int particoes;
+
     @Value("${rabbitmq.dlq-exchange}")
     private String dlqExchange;
 
     @Value("${rabbitmq.dlq-queue}")
     private String dlqQueue;
 
+    @Value("${rabbitmq.retry.exchange}")
+    private String retryExchange;
+
+    @Value("${rabbitmq.retry.queue-prefix}")
+    private String retryQueuePrefix;
+
+    @Value("${rabbitmq.retry.ttls}")
+    private List<Duration> retryTtls;
+
+    @Value("${rabbitmq.retry.parking-queue}")
+    private String parkingQueue;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean threadsVirtuais;
+
     @Bean
     public FanoutExchange dlqExchange() {
         return new FanoutExchange(dlqExchange);
@@ -39,17 +78,75 @@ public class RabbitMQConfig {
         return QueueBuilder.durable(dlqQueue).build();
     }
 
+    /**
+     * Uma fila por partição ({@code <queue>.<n>}, routing key {@code <routing-key>.<n>}).
+     * O publicador escolhe a partição pelo pacienteId, então os eventos de um paciente
+     * ficam sempre na mesma fila e são consumidos em ordem por um único consumidor
+     * (ver {@link ParticaoListenerConfig}).
+     * A fila sem partição continua declarada para drenar mensagens antigas.
+     */
+    @Bean
+    public Declarables particoesTopology() {
+        DirectExchange principal = new DirectExchange(exchange);
+        List<Declarable> declaraveis = new ArrayList<>();
+        declaraveis.add(principal);
+        for (int i = 0; i < particoes; i++) {
+            Queue fila = QueueBuilder.durable(queue + "." + i)
+                    .deadLetterExchange(dlqExchange)
+                    .build();
+            declaraveis.add(fila);
+            declaraveis.add(BindingBuilder.bind(fila).to(principal).with(routingKey + "." + i));
+        }
+        return new Declarables(declaraveis);
+    }
+
+    /**
+     * Mesma topologia de retentativa declarada pelo agendamento-service: uma fila por
+     * nível, com TTL crescente e dead-letter de volta ao exchange principal mantendo a
+     * routing key (a partição) original, e a fila de estacionamento. Quem publica nelas
+     * é o {@link RetentativaAdvice}, escolhendo a fila pelo header de destino.
+     */
+    @Bean
+    public Declarables retryTopology() {
+        HeadersExchange retry = new HeadersExchange(retryExchange);
+        List<Declarable> declaraveis = new ArrayList<>();
+        declaraveis.add(retry);
+        for (int i = 0; i < retryTtls.size(); i++) {
+            Queue fila = QueueBuilder.durable(retryQueuePrefix + "." + (i + 1))
+                    .ttl((int) retryTtls.get(i).toMillis())
+                    .deadLetterExchange(exchange)
+                    .build();
+            declaraveis.add(fila);
+            declaraveis.add(BindingBuilder.bind(fila).to(retry)
+                    .where(RetentativaAdvice.HEADER_DESTINO_RETRY).matches(String.valueOf(i + 1)));
+        }
+        Queue parking = QueueBuilder.durable(parkingQueue).build();
+        declaraveis.add(parking);
+        declaraveis.add(BindingBuilder.bind(parking).to(retry)
+                .where(RetentativaAdvice.HEADER_DESTINO_RETRY).matches(RetentativaAdvice.DESTINO_PARKING));
+        return new Declarables(declaraveis);
+    }
+
+    /** Aceita eventos binários e JSON; o formato vem do content type de cada mensagem. */
     @Bean
-    public JacksonJsonMessageConverter messageConverter() {
-        return new JacksonJsonMessageConverter();
+    public MessageConverter messageConverter() {
+        return new ConsultaEventoMessageConverter(new JacksonJsonMessageConverter(), false);
     }
 
     @Bean
     public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
-            ConnectionFactory connectionFactory) {
+            ConnectionFactory connectionFactory, RetentativaAdvice retentativaAdvice,
+            ConsumoMetricasAdvice consumoMetricasAdvice) {
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
         factory.setConnectionFactory(connectionFactory);
         factory.setMessageConverter(messageConverter());
+        factory.setAdviceChain(retentativaAdvice, consumoMetricasAdvice);
+        // Continua o trace vindo do agendamento-service pelos headers da mensagem
+        factory.setObservationEnabled(true);
+        // A factory é própria, então não recebe o executor virtual da auto-configuração
+        if (threadsVirtuais) {
+            factory.setTaskExecutor(new VirtualThreadTaskExecutor("rabbit-consumidor-"));
+        }
         return factory;
     }
 }
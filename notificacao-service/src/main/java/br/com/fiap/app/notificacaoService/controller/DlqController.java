@@ -0,0 +1,76 @@
+package br.com.fiap.app.notificacaoService.controller;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.fiap.app.notificacaoService.dto.FiltroDlq;
+import br.com.fiap.app.notificacaoService.dto.PaginaDlqDTO;
+import br.com.fiap.app.notificacaoService.dto.ReprocessamentoDlqDTO;
+import br.com.fiap.app.notificacaoService.dto.ReprocessarDlqRequest;
+import br.com.fiap.app.notificacaoService.service.DlqService;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/dlq")
+@RequiredArgsConstructor
+public class DlqController {
+
+    private final DlqService dlqService;
+
+    @GetMapping
+    public ResponseEntity<PaginaDlqDTO> listar(
+            @RequestParam(required = false) Long consultaId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        FiltroDlq filtro = FiltroDlq.builder()
+                .consultaId(consultaId)
+                .status(status)
+                .de(de)
+                .ate(ate)
+                .build();
+        return ResponseEntity.ok(dlqService.listar(filtro, pagina, tamanho));
+    }
+
+    @PostMapping("/reprocessamentos")
+    public ResponseEntity<ReprocessamentoDlqDTO> reprocessar(@RequestBody ReprocessarDlqRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(dlqService.iniciarReprocessamento(request));
+    }
+
+    @GetMapping("/reprocessamentos/{id}")
+    public ResponseEntity<ReprocessamentoDlqDTO> getReprocessamento(@PathVariable String id) {
+        return ResponseEntity.of(dlqService.getReprocessamento(id));
+    }
+
+    @DeleteMapping("/reprocessamentos/{id}")
+    public ResponseEntity<ReprocessamentoDlqDTO> cancelarReprocessamento(@PathVariable String id) {
+        return dlqService.cancelarReprocessamento(id)
+                .map(dto -> ResponseEntity.status(HttpStatus.ACCEPTED).body(dto))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(Map.of("erro", ex.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> handleIllegalState(IllegalStateException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("erro", ex.getMessage()));
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.fiap.app.notificacaoService.dedup;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Janela de deduplicação por tempo: dois filtros de Bloom (geração atual e
+ * anterior) trocados a cada {@code janelaMillis}, de modo que um id é lembrado
+ * por entre uma e duas janelas. O filtro responde "nunca visto" sem tocar no
+ * conjunto exato; quando ele diz "talvez", o conjunto de ids recentes confirma,
+ * evitando descartar um evento novo por falso positivo.
+ *
+ * <p>O conjunto exato é limitado a {@code maxRecentes} ids: se um id foi
+ * despejado dele, o evento é tratado como novo (reprocessar é preferível a perder).
+ */
+public class JanelaDeduplicacao {
+
+    private final long janelaMillis;
+    private final int hashes;
+    private final long mascara;
+    private final int maxRecentes;
+    private final Map<String, Long> recentes = new LinkedHashMap<>();
+
+    private long[] atual;
+    private long[] anterior;
+    private long inicioGeracao;
+
+    public JanelaDeduplicacao(long janelaMillis, int bits, int hashes, int maxRecentes, long inicioMillis) {
+        if (janelaMillis <= 0 || bits <= 0 || hashes <= 0 || maxRecentes <= 0) {
+            throw new IllegalArgumentException("Parâmetros da janela de deduplicação devem ser positivos");
+        }
+        int tamanho = Math.max(64, Integer.highestOneBit(bits - 1) << 1);
+        this.janelaMillis = janelaMillis;
+        this.hashes = hashes;
+        this.mascara = tamanho - 1L;
+        this.maxRecentes = maxRecentes;
+        this.atual = new long[tamanho / 64];
+        this.anterior = new long[tamanho / 64];
+        this.inicioGeracao = inicioMillis;
+    }
+
+    public synchronized boolean contem(String id, long agoraMillis) {
+        rotacionar(agoraMillis);
+        long h1 = hash(id);
+        long h2 = misturar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        if (!possivelmenteContem(atual, h1, h2) && !possivelmenteContem(anterior, h1, h2)) {
+            return false;
+        }
+        return recentes.containsKey(id);
+    }
+
+    public synchronized void registrar(String id, long agoraMillis) {
+        rotacionar(agoraMillis);
+        long h1 = hash(id);
+        long h2 = misturar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & mascara;
+            atual[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        recentes.remove(id);
+        recentes.put(id, agoraMillis);
+        if (recentes.size() > maxRecentes) {
+            Iterator<String> it = recentes.keySet().iterator();
+            it.next();
+            it.remove();
+        }
+    }
+
+    public synchronized int recentes() {
+        return recentes.size();
+    }
+
+    private boolean possivelmenteContem(long[] filtro, long h1, long h2) {
+        for (int i = 0; i < hashes; i++) {
+            long bit = (h1 + i * h2) & mascara;
+            if ((filtro[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rotacionar(long agoraMillis) {
+        long decorrido = agoraMillis - inicioGeracao;
+        if (decorrido < janelaMillis) {
+            return;
+        }
+        // O conjunto exato acompanha o filtro: só guarda o que a nova geração anterior ainda cobre.
+        long limite = decorrido >= 2 * janelaMillis ? agoraMillis : inicioGeracao;
+        long[] reaproveitado = anterior;
+        Arrays.fill(reaproveitado, 0L);
+        if (decorrido >= 2 * janelaMillis) {
+            Arrays.fill(atual, 0L);
+        }
+        anterior = atual;
+        atual = reaproveitado;
+        inicioGeracao = agoraMillis;
+
+        Iterator<Long> it = recentes.values().iterator();
+        while (it.hasNext() && it.next() < limite) {
+            it.remove();
+        }
+    }
+
+    // FNV-1a 64 seguido do finalizador do SplitMix64 para espalhar os bits.
+    private static long hash(String id) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            h ^= id.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return misturar(h);
+    }
+
+    private static long misturar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.fiap.app.notificacaoService.dto;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroDlq {
+    private Long consultaId;
+    private String status;
+    private LocalDateTime de;
+    private LocalDateTime ate;
+    private Set<String> eventIds;
+
+    public boolean aceita(MensagemDlqDTO mensagem) {
+        if (consultaId != null && !consultaId.equals(mensagem.getConsultaId())) {
+            return false;
+        }
+        if (status != null && !status.equalsIgnoreCase(mensagem.getStatus())) {
+            return false;
+        }
+        if (de != null && (mensagem.getMortaEm() == null || mensagem.getMortaEm().isBefore(de))) {
+            return false;
+        }
+        if (ate != null && (mensagem.getMortaEm() == null || mensagem.getMortaEm().isAfter(ate))) {
+            return false;
+        }
+        return eventIds == null || eventIds.isEmpty() || eventIds.contains(mensagem.getEventId());
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.fiap.app.notificacaoService.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public record Lembrete(
+        Long consultaId,
+        Long pacienteId,
+        String pacienteNome,
+        String medicoNome,
+        LocalDateTime dataHora,
+        Duration antecedencia) {
+
+}
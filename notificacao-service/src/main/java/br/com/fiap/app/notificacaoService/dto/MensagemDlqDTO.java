@@ -0,0 +1,26 @@
+package br.com.fiap.app.notificacaoService.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MensagemDlqDTO {
+    private long posicao;
+    private String eventId;
+    private Long consultaId;
+    private Long pacienteId;
+    private String status;
+    private LocalDateTime dataHora;
+    private String motivoMorte;
+    private String filaOrigem;
+    private LocalDateTime mortaEm;
+    private Integer tentativas;
+    private String payload;
+}
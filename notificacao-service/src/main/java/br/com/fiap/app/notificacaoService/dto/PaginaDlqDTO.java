@@ -0,0 +1,19 @@
+package br.com.fiap.app.notificacaoService.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDlqDTO {
+    private List<MensagemDlqDTO> conteudo;
+    private int pagina;
+    private int tamanho;
+    private long totalFiltrado;
+    private long examinadas;
+    private boolean varreduraCompleta;
+}
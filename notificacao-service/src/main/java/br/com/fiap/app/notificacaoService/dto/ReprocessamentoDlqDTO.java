@@ -0,0 +1,24 @@
+package br.com.fiap.app.notificacaoService.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReprocessamentoDlqDTO {
+    private String id;
+    private String situacao;
+    private long examinadas;
+    private long reenviadas;
+    private long mantidas;
+    private int mensagensPorSegundo;
+    private LocalDateTime iniciadoEm;
+    private LocalDateTime concluidoEm;
+    private String erro;
+}
@@ -0,0 +1,24 @@
+package br.com.fiap.app.notificacaoService.dto;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReprocessarDlqRequest {
+    private Set<String> eventIds;
+    private Long consultaId;
+    private String status;
+    private LocalDateTime de;
+    private LocalDateTime ate;
+    private boolean todas;
+    private Integer mensagensPorSegundo;
+    private Integer lote;
+}
@@ -0,0 +1,84 @@
+package br.com.fiap.app.notificacaoService.listener;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Mede, por fila, o atraso entre a publicação (timestamp da mensagem, carimbado pelo
+ * agendamento-service) e o início do consumo, e o tempo de processamento do listener.
+ * Mensagens que passaram pelas filas de retentativa mantêm o timestamp original, então
+ * o atraso inclui a espera no retry. Fica dentro do {@link RetentativaAdvice} na cadeia,
+ * para enxergar as falhas antes de serem reencaminhadas.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsumoMetricasAdvice implements MethodInterceptor {
+
+    static final String ATRASO = "notificacao.consumo.atraso";
+    static final String ATRASO_ATUAL = "notificacao.consumo.atraso.atual";
+    static final String PROCESSAMENTO = "notificacao.consumo.processamento";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicLong> atrasoAtual = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object[] argumentos = invocation.getArguments();
+        if (argumentos.length < 2 || !(argumentos[1] instanceof Message message)) {
+            return invocation.proceed();
+        }
+        MessageProperties properties = message.getMessageProperties();
+        String fila = properties.getConsumerQueue() != null ? properties.getConsumerQueue() : "desconhecida";
+        registrarAtraso(fila, properties.getTimestamp(), System.currentTimeMillis());
+
+        long inicio = System.nanoTime();
+        String resultado = "sucesso";
+        try {
+            return invocation.proceed();
+        } catch (Throwable erro) {
+            resultado = "erro";
+            throw erro;
+        } finally {
+            Timer.builder(PROCESSAMENTO)
+                    .tag("fila", fila)
+                    .tag("resultado", resultado)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void registrarAtraso(String fila, Date publicadaEm, long agoraMillis) {
+        if (publicadaEm == null) {
+            return;
+        }
+        long atraso = Math.max(0, agoraMillis - publicadaEm.getTime());
+        Timer.builder(ATRASO)
+                .tag("fila", fila)
+                .register(meterRegistry)
+                .record(atraso, TimeUnit.MILLISECONDS);
+        atrasoAtual.computeIfAbsent(fila, this::gaugeAtraso).set(atraso);
+    }
+
+    private AtomicLong gaugeAtraso(String fila) {
+        AtomicLong valor = new AtomicLong();
+        TimeGauge.builder(ATRASO_ATUAL, valor, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Atraso de consumo da última mensagem recebida na fila")
+                .tag("fila", fila)
+                .register(meterRegistry);
+        return valor;
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
 import br.com.fiap.app.notificacaoService.dto.ConsultaAgendadaEvent;
+import br.com.fiap.app.notificacaoService.service.DeduplicacaoService;
+import br.com.fiap.app.notificacaoService.service.LembreteService;
 import br.com.fiap.app.notificacaoService.service.NotificacaoService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,15 +17,30 @@ import lombok.extern.slf4j.Slf4j;
 public class NotificacaoListener {
 
     private final NotificacaoService notificacaoService;
+    private final LembreteService lembreteService;
+    private final DeduplicacaoService deduplicacaoService;
 
     @RabbitListener(queues = "${rabbitmq.queue}")
     public void processarNotificacao(@Payload ConsultaAgendadaEvent event) {
         log.info("[NOTIFICAÇÃO] Evento recebido: consultaId={}, paciente={}, status={}",
                 event.getConsultaId(), event.getPacienteNome(), event.getStatus());
 
+        if (deduplicacaoService.jaProcessado(event)) {
+            log.info("[NOTIFICAÇÃO] Evento duplicado descartado: eventId={}, consultaId={}",
+                    event.getEventId(), event.getConsultaId());
+            return;
+        }
+
+        if (!lembreteService.agendar(event)) {
+            log.info("[NOTIFICAÇÃO] Evento desatualizado descartado: eventId={}, consultaId={}, version={}",
+                    event.getEventId(), event.getConsultaId(), event.getVersion());
+            return;
+        }
+
         notificacaoService.registrar(event);
         enviarEmailStub(event);
         enviarSmsStub(event);
+        deduplicacaoService.marcarProcessado(event);
     }
 
     private void enviarEmailStub(ConsultaAgendadaEvent event) {
@@ -0,0 +1,142 @@
+package br.com.fiap.app.notificacaoService.listener;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Advice do container do listener: em vez de mandar a mensagem direto para a DLQ
+ * na primeira falha, publica uma cópia na fila de retentativa do nível seguinte
+ * (TTL crescente, que devolve a mensagem à fila de origem ao expirar) e confirma
+ * a original. Esgotado {@value #HEADER_MAX_TENTATIVAS}, ou se a mensagem não puder
+ * ser convertida, ela vai para a fila de estacionamento. A DLQ fica para quando nem
+ * o reencaminhamento é possível.
+ */
+@Slf4j
+@Component
+public class RetentativaAdvice implements MethodInterceptor {
+
+    public static final String HEADER_TENTATIVAS = "x-tentativas";
+    public static final String HEADER_MAX_TENTATIVAS = "x-max-tentativas";
+    public static final String HEADER_ULTIMO_ERRO = "x-ultimo-erro";
+    public static final String HEADER_DESTINO_RETRY = "x-destino-retry";
+    public static final String DESTINO_PARKING = "parking";
+
+    private final AmqpTemplate amqpTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String routingKey;
+    private final String retryExchange;
+    private final String parkingQueue;
+    private final int niveis;
+    private final int maxTentativas;
+    private final Counter estacionadas;
+
+    public RetentativaAdvice(
+            AmqpTemplate amqpTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${rabbitmq.routing-key}") String routingKey,
+            @Value("${rabbitmq.retry.exchange}") String retryExchange,
+            @Value("${rabbitmq.retry.parking-queue}") String parkingQueue,
+            @Value("${rabbitmq.retry.ttls}") List<Duration> ttls,
+            @Value("${rabbitmq.retry.max-tentativas}") int maxTentativas) {
+        this.amqpTemplate = amqpTemplate;
+        this.meterRegistry = meterRegistry;
+        this.routingKey = routingKey;
+        this.retryExchange = retryExchange;
+        this.parkingQueue = parkingQueue;
+        this.niveis = ttls.size();
+        this.maxTentativas = maxTentativas;
+        this.estacionadas = Counter.builder("notificacao.mensagens.estacionadas")
+                .description("Mensagens enviadas para a fila de estacionamento")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        try {
+            return invocation.proceed();
+        } catch (Throwable erro) {
+            Object[] argumentos = invocation.getArguments();
+            if (argumentos.length < 2 || !(argumentos[1] instanceof Message message)) {
+                throw erro;
+            }
+            encaminhar(message, erro);
+            return null;
+        }
+    }
+
+    void encaminhar(Message message, Throwable erro) {
+        MessageProperties properties = message.getMessageProperties();
+        int tentativa = inteiro(properties.getHeader(HEADER_TENTATIVAS), 0) + 1;
+        int maximo = inteiro(properties.getHeader(HEADER_MAX_TENTATIVAS), maxTentativas);
+        boolean retentar = tentativa < maximo && niveis > 0 && !naoRecuperavel(erro);
+        int nivel = Math.min(tentativa, niveis);
+        Message copia = MessageBuilder.fromClonedMessage(message)
+                .setHeader(HEADER_TENTATIVAS, tentativa)
+                .setHeader(HEADER_ULTIMO_ERRO, descricao(erro))
+                .setHeader(HEADER_DESTINO_RETRY, retentar ? String.valueOf(nivel) : DESTINO_PARKING)
+                .build();
+        // A routing key original vai junto: ao expirar o TTL a mensagem volta para a mesma partição.
+        String chave = properties.getReceivedRoutingKey() != null ? properties.getReceivedRoutingKey() : routingKey;
+        try {
+            amqpTemplate.send(retryExchange, chave, copia);
+        } catch (AmqpException falha) {
+            throw new AmqpRejectAndDontRequeueException("Não foi possível reencaminhar a mensagem", falha);
+        }
+        if (retentar) {
+            meterRegistry.counter("notificacao.mensagens.retentativas", "nivel", String.valueOf(nivel)).increment();
+            log.warn("[RETRY] Tentativa {}/{} falhou, reenviando pelo nível {}: {}",
+                    tentativa, maximo, nivel, descricao(erro));
+        } else {
+            estacionadas.increment();
+            log.error("[RETRY] Mensagem estacionada em {} após {} tentativa(s): {}",
+                    parkingQueue, tentativa, descricao(erro));
+        }
+    }
+
+    private static boolean naoRecuperavel(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof MessageConversionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String descricao(Throwable erro) {
+        Throwable raiz = erro;
+        while (raiz.getCause() != null && raiz.getCause() != raiz) {
+            raiz = raiz.getCause();
+        }
+        return raiz.getClass().getSimpleName() + ": " + raiz.getMessage();
+    }
+
+    private static int inteiro(Object valor, int padrao) {
+        if (valor instanceof Number numero) {
+            return numero.intValue();
+        }
+        if (valor instanceof String texto) {
+            try {
+                return Integer.parseInt(texto);
+            } catch (NumberFormatException e) {
+                return padrao;
+            }
+        }
+        return padrao;
+    }
+}
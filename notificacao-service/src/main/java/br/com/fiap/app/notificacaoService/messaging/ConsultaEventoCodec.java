@@ -0,0 +1,274 @@
+package br.com.fiap.app.notificacaoService.messaging;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import br.com.fiap.app.notificacaoService.dto.ConsultaAgendadaEvent;
+
+/**
+ * Formato binário do {@link ConsultaAgendadaEvent}, versão {@value #VERSAO_SCHEMA}:
+ *
+ * <pre>
+ * versão (1 byte) | presença (varint, 1 bit por campo) | campos presentes, na ordem:
+ *   consultaId, pacienteId      varint
+ *   pacienteNome, medicoNome    varint do tamanho + UTF-8
+ *   dataHora                    zigzag dos segundos (UTC) + varint dos nanos
+ *   status                      índice em {@link #STATUS} (1 byte) ou 0 + texto
+ *   motivo                      texto
+ *   eventId                     1 + 16 bytes se for UUID, senão 0 + texto
+ *   version                     zigzag
+ * </pre>
+ *
+ * Campos novos entram no fim, com o próximo bit de presença; mudanças incompatíveis
+ * sobem a versão. A mesma classe existe no agendamento-service.
+ */
+public final class ConsultaEventoCodec {
+
+    public static final byte VERSAO_SCHEMA = 1;
+
+    // A ordem é parte do formato: só acrescente no fim.
+    static final List<String> STATUS = List.of(
+            "AGENDADA", "CONFIRMADA", "EM_ANDAMENTO", "CONCLUIDA", "CANCELADA", "REAGENDADA", "FALTA_PACIENTE");
+
+    private static final int CONSULTA_ID = 1;
+    private static final int PACIENTE_ID = 1 << 1;
+    private static final int PACIENTE_NOME = 1 << 2;
+    private static final int MEDICO_NOME = 1 << 3;
+    private static final int DATA_HORA = 1 << 4;
+    private static final int STATUS_CONSULTA = 1 << 5;
+    private static final int MOTIVO = 1 << 6;
+    private static final int EVENT_ID = 1 << 7;
+    private static final int VERSION = 1 << 8;
+
+    private ConsultaEventoCodec() {
+    }
+
+    public static byte[] codificar(ConsultaAgendadaEvent event) {
+        int presenca = (event.getConsultaId() != null ? CONSULTA_ID : 0)
+                | (event.getPacienteId() != null ? PACIENTE_ID : 0)
+                | (event.getPacienteNome() != null ? PACIENTE_NOME : 0)
+                | (event.getMedicoNome() != null ? MEDICO_NOME : 0)
+                | (event.getDataHora() != null ? DATA_HORA : 0)
+                | (event.getStatus() != null ? STATUS_CONSULTA : 0)
+                | (event.getMotivo() != null ? MOTIVO : 0)
+                | (event.getEventId() != null ? EVENT_ID : 0)
+                | (event.getVersion() != null ? VERSION : 0);
+
+        Escritor out = new Escritor(64);
+        out.byte_(VERSAO_SCHEMA);
+        out.varint(presenca);
+        if (event.getConsultaId() != null) {
+            out.varint(event.getConsultaId());
+        }
+        if (event.getPacienteId() != null) {
+            out.varint(event.getPacienteId());
+        }
+        if (event.getPacienteNome() != null) {
+            out.texto(event.getPacienteNome());
+        }
+        if (event.getMedicoNome() != null) {
+            out.texto(event.getMedicoNome());
+        }
+        if (event.getDataHora() != null) {
+            out.zigzag(event.getDataHora().toEpochSecond(ZoneOffset.UTC));
+            out.varint(event.getDataHora().getNano());
+        }
+        if (event.getStatus() != null) {
+            int indice = STATUS.indexOf(event.getStatus());
+            out.byte_(indice + 1);
+            if (indice < 0) {
+                out.texto(event.getStatus());
+            }
+        }
+        if (event.getMotivo() != null) {
+            out.texto(event.getMotivo());
+        }
+        if (event.getEventId() != null) {
+            UUID uuid = uuid(event.getEventId());
+            if (uuid != null) {
+                out.byte_(1);
+                out.longFixo(uuid.getMostSignificantBits());
+                out.longFixo(uuid.getLeastSignificantBits());
+            } else {
+                out.byte_(0);
+                out.texto(event.getEventId());
+            }
+        }
+        if (event.getVersion() != null) {
+            out.zigzag(event.getVersion());
+        }
+        return out.bytes();
+    }
+
+    /** @throws IllegalArgumentException se a versão for desconhecida ou o conteúdo estiver truncado */
+    public static ConsultaAgendadaEvent decodificar(byte[] bytes) {
+        Leitor in = new Leitor(bytes);
+        int versao = in.byte_();
+        if (versao != VERSAO_SCHEMA) {
+            throw new IllegalArgumentException("Versão de schema não suportada: " + versao);
+        }
+        long presenca = in.varint();
+        ConsultaAgendadaEvent event = new ConsultaAgendadaEvent();
+        if ((presenca & CONSULTA_ID) != 0) {
+            event.setConsultaId(in.varint());
+        }
+        if ((presenca & PACIENTE_ID) != 0) {
+            event.setPacienteId(in.varint());
+        }
+        if ((presenca & PACIENTE_NOME) != 0) {
+            event.setPacienteNome(in.texto());
+        }
+        if ((presenca & MEDICO_NOME) != 0) {
+            event.setMedicoNome(in.texto());
+        }
+        if ((presenca & DATA_HORA) != 0) {
+            long segundos = in.zigzag();
+            event.setDataHora(LocalDateTime.ofEpochSecond(segundos, (int) in.varint(), ZoneOffset.UTC));
+        }
+        if ((presenca & STATUS_CONSULTA) != 0) {
+            int codigo = in.byte_();
+            if (codigo == 0) {
+                event.setStatus(in.texto());
+            } else if (codigo <= STATUS.size()) {
+                event.setStatus(STATUS.get(codigo - 1));
+            } else {
+                throw new IllegalArgumentException("Status desconhecido: " + codigo);
+            }
+        }
+        if ((presenca & MOTIVO) != 0) {
+            event.setMotivo(in.texto());
+        }
+        if ((presenca & EVENT_ID) != 0) {
+            event.setEventId(in.byte_() == 1 ? new UUID(in.longFixo(), in.longFixo()).toString() : in.texto());
+        }
+        if ((presenca & VERSION) != 0) {
+            event.setVersion(in.zigzag());
+        }
+        return event;
+    }
+
+    private static UUID uuid(String texto) {
+        if (texto.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(texto);
+            return uuid.toString().equals(texto) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static final class Escritor {
+        private byte[] buffer;
+        private int posicao;
+
+        private Escritor(int capacidade) {
+            this.buffer = new byte[capacidade];
+        }
+
+        private void garantir(int bytes) {
+            if (posicao + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, posicao + bytes));
+            }
+        }
+
+        private void byte_(int valor) {
+            garantir(1);
+            buffer[posicao++] = (byte) valor;
+        }
+
+        private void varint(long valor) {
+            garantir(10);
+            while ((valor & ~0x7FL) != 0) {
+                buffer[posicao++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            buffer[posicao++] = (byte) valor;
+        }
+
+        private void zigzag(long valor) {
+            varint((valor << 1) ^ (valor >> 63));
+        }
+
+        private void longFixo(long valor) {
+            garantir(8);
+            for (int i = 7; i >= 0; i--) {
+                buffer[posicao++] = (byte) (valor >>> (i * 8));
+            }
+        }
+
+        private void texto(String valor) {
+            byte[] utf8 = valor.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length);
+            garantir(utf8.length);
+            System.arraycopy(utf8, 0, buffer, posicao, utf8.length);
+            posicao += utf8.length;
+        }
+
+        private byte[] bytes() {
+            return Arrays.copyOf(buffer, posicao);
+        }
+    }
+
+    private static final class Leitor {
+        private final byte[] buffer;
+        private int posicao;
+
+        private Leitor(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private void exigir(int bytes) {
+            if (bytes < 0 || posicao + bytes > buffer.length) {
+                throw new IllegalArgumentException("Evento binário truncado");
+            }
+        }
+
+        private int byte_() {
+            exigir(1);
+            return buffer[posicao++] & 0xFF;
+        }
+
+        private long varint() {
+            long valor = 0;
+            for (int deslocamento = 0; deslocamento < 64; deslocamento += 7) {
+                int b = byte_();
+                valor |= (long) (b & 0x7F) << deslocamento;
+                if ((b & 0x80) == 0) {
+                    return valor;
+                }
+            }
+            throw new IllegalArgumentException("Varint inválido");
+        }
+
+        private long zigzag() {
+            long valor = varint();
+            return (valor >>> 1) ^ -(valor & 1);
+        }
+
+        private long longFixo() {
+            exigir(8);
+            long valor = 0;
+            for (int i = 0; i < 8; i++) {
+                valor = (valor << 8) | (buffer[posicao++] & 0xFF);
+            }
+            return valor;
+        }
+
+        private String texto() {
+            long tamanho = varint();
+            if (tamanho > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Texto grande demais");
+            }
+            exigir((int) tamanho);
+            String valor = new String(buffer, posicao, (int) tamanho, StandardCharsets.UTF_8);
+            posicao += (int) tamanho;
+            return valor;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.fiap.app.notificacaoService.messaging;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import br.com.fiap.app.notificacaoService.dto.ConsultaAgendadaEvent;
+
+/**
+ * Escolhe o formato pelo content type: {@value #CONTENT_TYPE} usa o
+ * {@link ConsultaEventoCodec}; qualquer outro vai para o conversor JSON.
+ * Com {@code binario} desligado, os eventos também são enviados em JSON.
+ */
+public class ConsultaEventoMessageConverter implements MessageConverter {
+
+    public static final String CONTENT_TYPE = "application/vnd.hospital.consulta-evento";
+
+    private final MessageConverter json;
+    private final boolean binario;
+
+    public ConsultaEventoMessageConverter(MessageConverter json, boolean binario) {
+        this.json = json;
+        this.binario = binario;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        if (!binario || !(object instanceof ConsultaAgendadaEvent event)) {
+            return json.toMessage(object, messageProperties);
+        }
+        byte[] corpo = ConsultaEventoCodec.codificar(event);
+        messageProperties.setContentType(CONTENT_TYPE);
+        messageProperties.setContentLength(corpo.length);
+        return new Message(corpo, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        if (!CONTENT_TYPE.equals(message.getMessageProperties().getContentType())) {
+            return json.fromMessage(message);
+        }
+        try {
+            return ConsultaEventoCodec.decodificar(message.getBody());
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException("Evento binário inválido", e);
+        }
+    }
+}
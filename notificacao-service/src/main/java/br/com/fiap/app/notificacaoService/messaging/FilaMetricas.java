@@ -0,0 +1,85 @@
+package br.com.fiap.app.notificacaoService.messaging;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gauges {@code rabbitmq.fila.mensagens} e {@code rabbitmq.fila.consumidores} por fila
+ * (principal, partições, retentativas, estacionamento e DLQ). O broker é consultado em
+ * intervalo fixo, e não a cada scrape; até a primeira leitura os gauges ficam em NaN.
+ */
+@Slf4j
+@Component
+public class FilaMetricas {
+
+    private final AmqpAdmin amqpAdmin;
+    private final Map<String, AtomicLong> mensagens = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> consumidores = new LinkedHashMap<>();
+
+    public FilaMetricas(
+            AmqpAdmin amqpAdmin,
+            MeterRegistry meterRegistry,
+            @Value("${rabbitmq.queue}") String queue,
+            @Value("${rabbitmq.particoes}") int particoes,
+            @Value("${rabbitmq.dlq-queue}") String dlqQueue,
+            @Value("${rabbitmq.retry.queue-prefix}") String retryQueuePrefix,
+            @Value("${rabbitmq.retry.ttls}") List<Duration> retryTtls,
+            @Value("${rabbitmq.retry.parking-queue}") String parkingQueue) {
+        this.amqpAdmin = amqpAdmin;
+        List<String> filas = new ArrayList<>();
+        filas.add(queue);
+        for (int i = 0; i < particoes; i++) {
+            filas.add(queue + "." + i);
+        }
+        for (int i = 1; i <= retryTtls.size(); i++) {
+            filas.add(retryQueuePrefix + "." + i);
+        }
+        filas.add(parkingQueue);
+        filas.add(dlqQueue);
+        for (String fila : filas) {
+            mensagens.put(fila, gauge(meterRegistry, "rabbitmq.fila.mensagens", "Mensagens prontas na fila", fila));
+            consumidores.put(fila, gauge(meterRegistry, "rabbitmq.fila.consumidores", "Consumidores ativos na fila", fila));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rabbitmq.metricas.intervalo:15s}")
+    public void atualizar() {
+        for (String fila : mensagens.keySet()) {
+            QueueInformation info;
+            try {
+                info = amqpAdmin.getQueueInfo(fila);
+            } catch (AmqpException e) {
+                log.debug("Broker indisponível ao ler a profundidade das filas: {}", e.getMessage());
+                return;
+            }
+            if (info != null) {
+                mensagens.get(fila).set(info.getMessageCount());
+                consumidores.get(fila).set(info.getConsumerCount());
+            }
+        }
+    }
+
+    private static AtomicLong gauge(MeterRegistry meterRegistry, String nome, String descricao, String fila) {
+        AtomicLong valor = new AtomicLong(-1);
+        Gauge.builder(nome, valor, v -> v.get() < 0 ? Double.NaN : v.get())
+                .description(descricao)
+                .tag("fila", fila)
+                .register(meterRegistry);
+        return valor;
+    }
+}
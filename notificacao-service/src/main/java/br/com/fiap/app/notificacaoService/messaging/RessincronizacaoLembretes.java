@@ -0,0 +1,94 @@
+package br.com.fiap.app.notificacaoService.messaging;
+
+import java.time.Duration;
+
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.app.notificacaoService.dto.ConsultaAgendadaEvent;
+import br.com.fiap.app.notificacaoService.service.LembreteService;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Reconstrói os lembretes ao subir: os agendados só existem em memória e se perdem a
+ * cada reinício. Pede ao agendamento-service (pedido/resposta pelo RabbitMQ) as
+ * consultas ativas dentro da maior antecedência configurada e agenda cada uma. Sem
+ * resposta dentro de {@code spring.rabbitmq.template.reply-timeout}, segue só com os
+ * eventos que chegarem a partir de agora.
+ */
+@Slf4j
+@Component
+public class RessincronizacaoLembretes {
+
+    public static final String HEADER_HORIZONTE = "x-horizonte";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final JsonMapper jsonMapper;
+    private final LembreteService lembreteService;
+    private final String queue;
+    private final boolean habilitada;
+
+    public RessincronizacaoLembretes(
+            RabbitTemplate rabbitTemplate,
+            JsonMapper jsonMapper,
+            LembreteService lembreteService,
+            @Value("${lembretes.ressincronizacao.queue}") String queue,
+            @Value("${lembretes.ressincronizacao.habilitada:true}") boolean habilitada) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.jsonMapper = jsonMapper;
+        this.lembreteService = lembreteService;
+        this.queue = queue;
+        this.habilitada = habilitada;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        if (habilitada) {
+            ressincronizar();
+        }
+    }
+
+    public int ressincronizar() {
+        Duration horizonte = lembreteService.horizonte();
+        Message pedido = MessageBuilder.withBody(new byte[0])
+                .setHeader(HEADER_HORIZONTE, horizonte.toString())
+                .build();
+        Message resposta;
+        try {
+            resposta = rabbitTemplate.sendAndReceive("", queue, pedido);
+        } catch (AmqpException e) {
+            log.warn("Ressincronização de lembretes falhou; apenas novos eventos serão agendados", e);
+            return 0;
+        }
+        if (resposta == null) {
+            log.warn("Ressincronização de lembretes sem resposta do agendamento-service; "
+                    + "apenas novos eventos serão agendados");
+            return 0;
+        }
+        ConsultaAgendadaEvent[] eventos;
+        try {
+            eventos = jsonMapper.readValue(resposta.getBody(), ConsultaAgendadaEvent[].class);
+        } catch (JacksonException e) {
+            log.warn("Resposta inválida na ressincronização de lembretes", e);
+            return 0;
+        }
+        // Eventos que chegaram pela fila enquanto esperávamos podem ser mais novos; agendar os preserva
+        int aplicados = 0;
+        for (ConsultaAgendadaEvent event : eventos) {
+            if (lembreteService.agendar(event)) {
+                aplicados++;
+            }
+        }
+        log.info("Ressincronização de lembretes: {} de {} consultas nas próximas {}", aplicados, eventos.length,
+                horizonte);
+        return aplicados;
+    }
+}
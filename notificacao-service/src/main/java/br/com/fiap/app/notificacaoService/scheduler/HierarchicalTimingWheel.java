@@ -0,0 +1,161 @@
+package br.com.fiap.app.notificacaoService.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roda de temporização hierárquica (Varghese &amp; Lauck). Cada nível tem
+ * {@value #SLOTS} slots; um slot do nível {@code n} cobre {@code 64^n} ticks.
+ * Inserir e cancelar custam O(1): cada timer é um nó de lista duplamente ligada
+ * dentro do slot. Timers distantes descem de nível à medida que o tempo avança.
+ * Não é thread-safe: o acesso concorrente deve ser controlado por quem usa.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASCARA = SLOTS - 1;
+    private static final int NIVEIS = 6;
+    private static final long MAIOR_ATRASO = (1L << (BITS * NIVEIS)) - 1;
+
+    private final long tickMillis;
+    private final Slot<T>[][] niveis;
+    private long tickAtual;
+    private int tamanho;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, long inicioMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis deve ser positivo");
+        }
+        this.tickMillis = tickMillis;
+        this.tickAtual = inicioMillis / tickMillis;
+        this.niveis = new Slot[NIVEIS][SLOTS];
+        for (int nivel = 0; nivel < NIVEIS; nivel++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                niveis[nivel][slot] = new Slot<>();
+            }
+        }
+    }
+
+    /** Agenda {@code valor} para {@code prazoMillis}; prazos já vencidos disparam no próximo tick. */
+    public Timer<T> agendar(T valor, long prazoMillis) {
+        long tickPrazo = Math.max(Math.ceilDiv(prazoMillis, tickMillis), tickAtual + 1);
+        Timer<T> timer = new Timer<>(valor, tickPrazo);
+        inserir(timer);
+        tamanho++;
+        return timer;
+    }
+
+    /** {@code true} se o timer ainda estava pendente. */
+    public boolean cancelar(Timer<T> timer) {
+        if (timer.slot == null) {
+            return false;
+        }
+        timer.slot.remover(timer);
+        tamanho--;
+        return true;
+    }
+
+    /** Avança o relógio até {@code agoraMillis} e devolve os valores vencidos, tick a tick. */
+    public List<T> avancar(long agoraMillis) {
+        long alvo = agoraMillis / tickMillis;
+        List<T> vencidos = new ArrayList<>();
+        while (tickAtual < alvo) {
+            tickAtual++;
+            cascatear();
+            Slot<T> slot = niveis[0][(int) (tickAtual & MASCARA)];
+            for (Timer<T> timer = slot.primeiro; timer != null; timer = slot.primeiro) {
+                slot.remover(timer);
+                tamanho--;
+                vencidos.add(timer.valor);
+            }
+        }
+        return vencidos;
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    // Quando os bits de um nível zeram, o slot correspondente do nível acima é
+    // redistribuído para baixo. Começa pelo nível mais alto que virou.
+    private void cascatear() {
+        int nivelMaisAlto = 0;
+        while (nivelMaisAlto + 1 < NIVEIS && (tickAtual & ((1L << (BITS * (nivelMaisAlto + 1))) - 1)) == 0) {
+            nivelMaisAlto++;
+        }
+        for (int nivel = nivelMaisAlto; nivel >= 1; nivel--) {
+            Slot<T> slot = niveis[nivel][(int) ((tickAtual >>> (BITS * nivel)) & MASCARA)];
+            for (Timer<T> timer = slot.primeiro; timer != null; timer = slot.primeiro) {
+                slot.remover(timer);
+                inserir(timer);
+            }
+        }
+    }
+
+    private void inserir(Timer<T> timer) {
+        long atraso = Math.min(Math.max(timer.tickPrazo - tickAtual, 0), MAIOR_ATRASO);
+        long tick = tickAtual + atraso;
+        int nivel = 0;
+        while (atraso >= SLOTS) {
+            atraso >>>= BITS;
+            nivel++;
+        }
+        niveis[nivel][(int) ((tick >>> (BITS * nivel)) & MASCARA)].adicionar(timer);
+    }
+
+    public static final class Timer<T> {
+        private final T valor;
+        private final long tickPrazo;
+        private Slot<T> slot;
+        private Timer<T> anterior;
+        private Timer<T> proximo;
+
+        private Timer(T valor, long tickPrazo) {
+            this.valor = valor;
+            this.tickPrazo = tickPrazo;
+        }
+
+        public T valor() {
+            return valor;
+        }
+
+        public boolean pendente() {
+            return slot != null;
+        }
+    }
+
+    private static final class Slot<T> {
+        private Timer<T> primeiro;
+        private Timer<T> ultimo;
+
+        private void adicionar(Timer<T> timer) {
+            timer.slot = this;
+            timer.anterior = ultimo;
+            timer.proximo = null;
+            if (ultimo == null) {
+                primeiro = timer;
+            } else {
+                ultimo.proximo = timer;
+            }
+            ultimo = timer;
+        }
+
+        private void remover(Timer<T> timer) {
+            if (timer.anterior == null) {
+                primeiro = timer.proximo;
+            } else {
+                timer.anterior.proximo = timer.proximo;
+            }
+            if (timer.proximo == null) {
+                ultimo = timer.anterior;
+            } else {
+                timer.proximo.anterior = timer.anterior;
+            }
+            timer.slot = null;
+            timer.anterior = null;
+            timer.proximo = null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.fiap.app.notificacaoService.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import br.com.fiap.app.notificacaoService.dedup.JanelaDeduplicacao;
+import br.com.fiap.app.notificacaoService.dto.ConsultaAgendadaEvent;
+
+/**
+ * Descarta reentregas do RabbitMQ e reenvios do publicador. A chave é o
+ * {@code eventId}; eventos antigos, sem id, usam {@code consultaId:version}
+ * e, sem nenhum dos dois, não são deduplicados.
+ */
+@Service
+public class DeduplicacaoService {
+
+    private final JanelaDeduplicacao janela;
+
+    public DeduplicacaoService(
+            @Value("${notificacoes.deduplicacao.janela:10m}") Duration janela,
+            @Value("${notificacoes.deduplicacao.bits:1048576}") int bits,
+            @Value("${notificacoes.deduplicacao.hashes:7}") int hashes,
+            @Value("${notificacoes.deduplicacao.recentes:100000}") int recentes) {
+        this.janela = new JanelaDeduplicacao(janela.toMillis(), bits, hashes, recentes, System.currentTimeMillis());
+    }
+
+    public boolean jaProcessado(ConsultaAgendadaEvent event) {
+        String chave = chave(event);
+        return chave != null && janela.contem(chave, System.currentTimeMillis());
+    }
+
+    public void marcarProcessado(ConsultaAgendadaEvent event) {
+        String chave = chave(event);
+        if (chave != null) {
+            janela.registrar(chave, System.currentTimeMillis());
+        }
+    }
+
+    static String chave(ConsultaAgendadaEvent event) {
+        if (event.getEventId() != null) {
+            return event.getEventId();
+        }
+        if (event.getConsultaId() != null && event.getVersion() != null) {
+            return event.getConsultaId() + ":" + event.getVersion();
+        }
+        return null;
+    }
+}
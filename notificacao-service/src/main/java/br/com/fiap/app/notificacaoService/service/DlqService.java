@@ -0,0 +1,402 @@
+package br.com.fiap.app.notificacaoService.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.GetResponse;
+import com.rabbitmq.client.ReturnListener;
+
+import br.com.fiap.app.notificacaoService.dto.ConsultaAgendadaEvent;
+import br.com.fiap.app.notificacaoService.dto.FiltroDlq;
+import br.com.fiap.app.notificacaoService.dto.MensagemDlqDTO;
+import br.com.fiap.app.notificacaoService.dto.PaginaDlqDTO;
+import br.com.fiap.app.notificacaoService.dto.ReprocessamentoDlqDTO;
+import br.com.fiap.app.notificacaoService.dto.ReprocessarDlqRequest;
+import br.com.fiap.app.notificacaoService.listener.RetentativaAdvice;
+import br.com.fiap.app.notificacaoService.messaging.ConsultaEventoCodec;
+import br.com.fiap.app.notificacaoService.messaging.ConsultaEventoMessageConverter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Inspeção e reprocessamento da DLQ. O RabbitMQ não permite espiar uma fila, então
+ * as mensagens são lidas com {@code basicGet} sem confirmação e devolvidas em bloco
+ * ({@code basicNack} múltiplo com requeue) ao final; só as reenviadas são confirmadas.
+ * Cada leitura examina no máximo {@code notificacoes.dlq.max-varredura} mensagens; um
+ * reprocessamento que para nesse limite termina como {@code PARCIAL}.
+ * <p>
+ * O reenvio usa publisher confirms e {@code mandatory}: a mensagem só sai da DLQ depois
+ * que o broker confirma o lote e nenhuma volta sem fila de destino.
+ */
+@Slf4j
+@Service
+public class DlqService {
+
+    private static final int MAX_PAYLOAD = 2000;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final JsonMapper jsonMapper;
+    private final String dlqQueue;
+    private final String exchange;
+    private final String routingKey;
+    private final int maxVarredura;
+    private final int mensagensPorSegundoPadrao;
+    private final int lotePadrao;
+    private final Duration confirmacao;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "dlq-reprocessamento"));
+    private final Map<String, Reprocessamento> reprocessamentos = new ConcurrentHashMap<>();
+    private final AtomicReference<Reprocessamento> emAndamento = new AtomicReference<>();
+
+    public DlqService(
+            RabbitTemplate rabbitTemplate,
+            JsonMapper jsonMapper,
+            @Value("${rabbitmq.dlq-queue}") String dlqQueue,
+            @Value("${rabbitmq.exchange}") String exchange,
+            @Value("${rabbitmq.routing-key}") String routingKey,
+            @Value("${notificacoes.dlq.max-varredura:10000}") int maxVarredura,
+            @Value("${notificacoes.dlq.mensagens-por-segundo:50}") int mensagensPorSegundoPadrao,
+            @Value("${notificacoes.dlq.lote:100}") int lotePadrao,
+            @Value("${notificacoes.dlq.confirmacao:30s}") Duration confirmacao) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.jsonMapper = jsonMapper;
+        this.dlqQueue = dlqQueue;
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        this.maxVarredura = maxVarredura;
+        this.mensagensPorSegundoPadrao = mensagensPorSegundoPadrao;
+        this.lotePadrao = lotePadrao;
+        this.confirmacao = confirmacao;
+    }
+
+    public PaginaDlqDTO listar(FiltroDlq filtro, int pagina, int tamanho) {
+        if (pagina < 0 || tamanho <= 0) {
+            throw new IllegalArgumentException("Página deve ser >= 0 e tamanho > 0");
+        }
+        return rabbitTemplate.execute(channel -> {
+            List<MensagemDlqDTO> conteudo = new ArrayList<>();
+            long primeiro = (long) pagina * tamanho;
+            long filtradas = 0;
+            long examinadas = 0;
+            long ultimaTag = -1;
+            boolean completa = false;
+            try {
+                while (examinadas < maxVarredura) {
+                    GetResponse resposta = channel.basicGet(dlqQueue, false);
+                    if (resposta == null) {
+                        completa = true;
+                        break;
+                    }
+                    ultimaTag = resposta.getEnvelope().getDeliveryTag();
+                    MensagemDlqDTO mensagem = ler(resposta, examinadas++);
+                    if (filtro.aceita(mensagem)) {
+                        if (filtradas >= primeiro && conteudo.size() < tamanho) {
+                            conteudo.add(mensagem);
+                        }
+                        filtradas++;
+                    }
+                }
+            } finally {
+                devolver(channel, ultimaTag);
+            }
+            return new PaginaDlqDTO(conteudo, pagina, tamanho, filtradas, examinadas, completa);
+        });
+    }
+
+    public ReprocessamentoDlqDTO iniciarReprocessamento(ReprocessarDlqRequest request) {
+        FiltroDlq filtro = FiltroDlq.builder()
+                .consultaId(request.getConsultaId())
+                .status(request.getStatus())
+                .de(request.getDe())
+                .ate(request.getAte())
+                .eventIds(request.getEventIds())
+                .build();
+        boolean selecionou = (request.getEventIds() != null && !request.getEventIds().isEmpty())
+                || request.getConsultaId() != null || request.getStatus() != null
+                || request.getDe() != null || request.getAte() != null;
+        if (!selecionou && !request.isTodas()) {
+            throw new IllegalArgumentException("Informe eventIds ou filtros, ou todas=true para reenviar a DLQ inteira");
+        }
+        int taxa = request.getMensagensPorSegundo() != null ? request.getMensagensPorSegundo() : mensagensPorSegundoPadrao;
+        int lote = request.getLote() != null ? request.getLote() : lotePadrao;
+        if (taxa <= 0 || lote <= 0) {
+            throw new IllegalArgumentException("mensagensPorSegundo e lote devem ser positivos");
+        }
+
+        Reprocessamento reprocessamento = new Reprocessamento(UUID.randomUUID().toString(), filtro, taxa, lote);
+        if (!emAndamento.compareAndSet(null, reprocessamento)) {
+            throw new IllegalStateException("Já existe um reprocessamento em andamento: " + emAndamento.get().id);
+        }
+        reprocessamentos.put(reprocessamento.id, reprocessamento);
+        executor.execute(() -> {
+            try {
+                executar(reprocessamento);
+            } finally {
+                emAndamento.set(null);
+            }
+        });
+        return reprocessamento.resumo();
+    }
+
+    public Optional<ReprocessamentoDlqDTO> getReprocessamento(String id) {
+        return Optional.ofNullable(reprocessamentos.get(id)).map(Reprocessamento::resumo);
+    }
+
+    public Optional<ReprocessamentoDlqDTO> cancelarReprocessamento(String id) {
+        Reprocessamento reprocessamento = reprocessamentos.get(id);
+        if (reprocessamento == null) {
+            return Optional.empty();
+        }
+        reprocessamento.cancelado = true;
+        return Optional.of(reprocessamento.resumo());
+    }
+
+    @PreDestroy
+    void encerrar() {
+        reprocessamentos.values().forEach(r -> r.cancelado = true);
+        executor.shutdownNow();
+    }
+
+    void executar(Reprocessamento reprocessamento) {
+        log.info("[DLQ] Reprocessamento {} iniciado ({} msg/s, lotes de {})",
+                reprocessamento.id, reprocessamento.mensagensPorSegundo, reprocessamento.lote);
+        try {
+            rabbitTemplate.execute(channel -> {
+                reenviar(channel, reprocessamento);
+                return null;
+            });
+            if (reprocessamento.cancelado) {
+                reprocessamento.concluir("CANCELADO", null);
+            } else if (reprocessamento.varreduraCompleta) {
+                reprocessamento.concluir("CONCLUIDO", null);
+            } else {
+                reprocessamento.concluir("PARCIAL", "Limite de " + maxVarredura
+                        + " mensagens examinadas atingido; inicie outro reprocessamento para continuar");
+            }
+        } catch (RuntimeException e) {
+            log.error("[DLQ] Reprocessamento {} falhou", reprocessamento.id, e);
+            reprocessamento.concluir("FALHOU", e.getMessage());
+        }
+        log.info("[DLQ] Reprocessamento {} {}: {} reenviadas, {} mantidas na DLQ", reprocessamento.id,
+                reprocessamento.situacao, reprocessamento.reenviadas.get(), reprocessamento.mantidas.get());
+    }
+
+    // Mensagens fora do filtro ficam sem confirmação até o fim, para que o basicGet
+    // avance pela fila; são devolvidas juntas ao final. As reenviadas só recebem ack
+    // depois da confirmação do broker, lote a lote; numa falha o lote volta para a DLQ.
+    private void reenviar(Channel channel, Reprocessamento reprocessamento)
+            throws IOException, InterruptedException, TimeoutException {
+        long inicio = System.nanoTime();
+        long ultimaTag = -1;
+        List<Long> pendentes = new ArrayList<>(reprocessamento.lote);
+        AtomicLong semDestino = new AtomicLong();
+        ReturnListener retornos = channel.addReturnListener(retorno -> semDestino.incrementAndGet());
+        try {
+            channel.confirmSelect();
+            while (!reprocessamento.cancelado && reprocessamento.examinadas.get() < maxVarredura) {
+                GetResponse resposta = channel.basicGet(dlqQueue, false);
+                if (resposta == null) {
+                    reprocessamento.varreduraCompleta = true;
+                    break;
+                }
+                long tag = resposta.getEnvelope().getDeliveryTag();
+                ultimaTag = tag;
+                MensagemDlqDTO mensagem = ler(resposta, reprocessamento.examinadas.getAndIncrement());
+                if (!reprocessamento.filtro.aceita(mensagem)) {
+                    reprocessamento.mantidas.incrementAndGet();
+                    continue;
+                }
+                channel.basicPublish(exchange, chaveDeReenvio(resposta.getEnvelope().getRoutingKey()), true,
+                        propriedadesReenvio(resposta.getProps(), reprocessamento.id), resposta.getBody());
+                pendentes.add(tag);
+                if (pendentes.size() == reprocessamento.lote) {
+                    confirmar(channel, reprocessamento, pendentes, semDestino);
+                    aguardar(reprocessamento, inicio);
+                }
+            }
+            confirmar(channel, reprocessamento, pendentes, semDestino);
+        } catch (IOException | InterruptedException | TimeoutException | RuntimeException e) {
+            // waitForConfirmsOrDie fecha o canal em caso de falha; o broker devolve as
+            // mensagens sem ack à DLQ de qualquer forma
+            try {
+                devolver(channel, ultimaTag);
+            } catch (IOException | RuntimeException falha) {
+                e.addSuppressed(falha);
+            }
+            throw e;
+        } finally {
+            channel.removeReturnListener(retornos);
+        }
+        devolver(channel, ultimaTag);
+    }
+
+    private void confirmar(Channel channel, Reprocessamento reprocessamento, List<Long> pendentes,
+                           AtomicLong semDestino) throws IOException, InterruptedException, TimeoutException {
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        channel.waitForConfirmsOrDie(confirmacao.toMillis());
+        // basic.return chega antes do ack da mesma publicação, então já foi contado aqui
+        if (semDestino.get() > 0) {
+            throw new IOException(semDestino.get() + " mensagem(ns) reenviada(s) sem fila de destino; "
+                    + "o lote permanece na DLQ");
+        }
+        for (long tag : pendentes) {
+            channel.basicAck(tag, false);
+        }
+        reprocessamento.reenviadas.addAndGet(pendentes.size());
+        pendentes.clear();
+    }
+
+    private void aguardar(Reprocessamento reprocessamento, long inicio) {
+        long esperado = TimeUnit.SECONDS.toNanos(reprocessamento.reenviadas.get()) / reprocessamento.mensagensPorSegundo;
+        long restante = esperado - (System.nanoTime() - inicio);
+        if (restante <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(restante);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reprocessamento.cancelado = true;
+        }
+    }
+
+    private static void devolver(Channel channel, long ultimaTag) throws IOException {
+        if (ultimaTag >= 0) {
+            channel.basicNack(ultimaTag, true, true);
+        }
+    }
+
+    // O dead-letter preserva a routing key da partição; mensagens de antes do
+    // particionamento (ou vindas de outro caminho) voltam pela routing key padrão.
+    private String chaveDeReenvio(String chaveOriginal) {
+        String prefixo = routingKey + ".";
+        if (chaveOriginal == null || !chaveOriginal.startsWith(prefixo)) {
+            return routingKey;
+        }
+        String particao = chaveOriginal.substring(prefixo.length());
+        return !particao.isEmpty() && particao.chars().allMatch(Character::isDigit) ? chaveOriginal : routingKey;
+    }
+
+    private static AMQP.BasicProperties propriedadesReenvio(AMQP.BasicProperties props, String reprocessamentoId) {
+        Map<String, Object> headers = new HashMap<>();
+        if (props.getHeaders() != null) {
+            props.getHeaders().forEach((chave, valor) -> {
+                if (!chave.startsWith("x-death") && !chave.startsWith("x-first-death") && !chave.startsWith("x-last-death")
+                        && !chave.equals(RetentativaAdvice.HEADER_TENTATIVAS)
+                        && !chave.equals(RetentativaAdvice.HEADER_DESTINO_RETRY)) {
+                    headers.put(chave, valor);
+                }
+            });
+        }
+        headers.put("x-reprocessamento", reprocessamentoId);
+        return props.builder().headers(headers).build();
+    }
+
+    private MensagemDlqDTO ler(GetResponse resposta, long posicao) {
+        Map<String, Object> headers = resposta.getProps().getHeaders() != null ? resposta.getProps().getHeaders() : Map.of();
+        MensagemDlqDTO.MensagemDlqDTOBuilder mensagem = MensagemDlqDTO.builder()
+                .posicao(posicao)
+                .tentativas(headers.get(RetentativaAdvice.HEADER_TENTATIVAS) instanceof Number n ? n.intValue() : null);
+
+        if (headers.get("x-death") instanceof List<?> mortes && !mortes.isEmpty() && mortes.get(0) instanceof Map<?, ?> morte) {
+            mensagem.motivoMorte(texto(morte.get("reason")))
+                    .filaOrigem(texto(morte.get("queue")))
+                    .mortaEm(morte.get("time") instanceof Date data ? paraLocal(data) : null);
+        } else if (resposta.getProps().getTimestamp() != null) {
+            mensagem.mortaEm(paraLocal(resposta.getProps().getTimestamp()));
+        }
+
+        try {
+            ConsultaAgendadaEvent event = ConsultaEventoMessageConverter.CONTENT_TYPE.equals(resposta.getProps().getContentType())
+                    ? ConsultaEventoCodec.decodificar(resposta.getBody())
+                    : jsonMapper.readValue(resposta.getBody(), ConsultaAgendadaEvent.class);
+            mensagem.eventId(event.getEventId())
+                    .consultaId(event.getConsultaId())
+                    .pacienteId(event.getPacienteId())
+                    .status(event.getStatus())
+                    .dataHora(event.getDataHora());
+        } catch (JacksonException | IllegalArgumentException e) {
+            String payload = new String(resposta.getBody(), StandardCharsets.UTF_8);
+            mensagem.payload(payload.length() > MAX_PAYLOAD ? payload.substring(0, MAX_PAYLOAD) : payload);
+        }
+        return mensagem.build();
+    }
+
+    private static String texto(Object valor) {
+        return valor != null ? valor.toString() : null;
+    }
+
+    private static LocalDateTime paraLocal(Date data) {
+        return LocalDateTime.ofInstant(data.toInstant(), ZoneId.systemDefault());
+    }
+
+    static final class Reprocessamento {
+        private final String id;
+        private final FiltroDlq filtro;
+        private final int mensagensPorSegundo;
+        private final int lote;
+        private final LocalDateTime iniciadoEm = LocalDateTime.now();
+        private final AtomicLong examinadas = new AtomicLong();
+        private final AtomicLong reenviadas = new AtomicLong();
+        private final AtomicLong mantidas = new AtomicLong();
+        private volatile boolean cancelado;
+        private volatile boolean varreduraCompleta;
+        private volatile String situacao = "EM_ANDAMENTO";
+        private volatile LocalDateTime concluidoEm;
+        private volatile String erro;
+
+        Reprocessamento(String id, FiltroDlq filtro, int mensagensPorSegundo, int lote) {
+            this.id = id;
+            this.filtro = filtro;
+            this.mensagensPorSegundo = mensagensPorSegundo;
+            this.lote = lote;
+        }
+
+        private void concluir(String situacao, String erro) {
+            this.erro = erro;
+            this.concluidoEm = LocalDateTime.now();
+            this.situacao = situacao;
+        }
+
+        ReprocessamentoDlqDTO resumo() {
+            return ReprocessamentoDlqDTO.builder()
+                    .id(id)
+                    .situacao(situacao)
+                    .examinadas(examinadas.get())
+                    .reenviadas(reenviadas.get())
+                    .mantidas(mantidas.get())
+                    .mensagensPorSegundo(mensagensPorSegundo)
+                    .iniciadoEm(iniciadoEm)
+                    .concluidoEm(concluidoEm)
+                    .erro(erro)
+                    .build();
+        }
+    }
+}
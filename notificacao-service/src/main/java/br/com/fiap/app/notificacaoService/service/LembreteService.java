@@ -0,0 +1,178 @@
+package br.com.fiap.app.notificacaoService.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import br.com.fiap.app.notificacaoService.dto.ConsultaAgendadaEvent;
+import br.com.fiap.app.notificacaoService.dto.Lembrete;
+import br.com.fiap.app.notificacaoService.scheduler.HierarchicalTimingWheel;
+import br.com.fiap.app.notificacaoService.scheduler.HierarchicalTimingWheel.Timer;
+import io.micrometer.observation.annotation.Observed;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém em memória os lembretes das próximas consultas (por padrão 24h e 2h antes),
+ * alimentados pelos eventos de consulta. Cada novo evento da mesma consulta substitui
+ * os lembretes anteriores; status encerrados apenas cancelam.
+ * <p>
+ * Retentativas e reprocessamentos da DLQ podem entregar um evento depois de outro mais
+ * novo da mesma consulta. Por isso a última versão aplicada de cada consulta fica guardada
+ * até a data da consulta passar, e eventos de versão anterior (ou da mesma versão, vindos
+ * de outro eventId) são ignorados.
+ * <p>
+ * Nada é persistido: ao reiniciar, {@code RessincronizacaoLembretes} pede ao
+ * agendamento-service as consultas dentro de {@link #horizonte()}. Se ele não responder,
+ * os lembretes anteriores ao reinício se perdem.
+ */
+@Slf4j
+@Service
+public class LembreteService {
+
+    static final Set<String> STATUS_COM_LEMBRETE = Set.of("AGENDADA", "CONFIRMADA", "REAGENDADA");
+    private static final long LIMPEZA_VERSOES_MILLIS = 60_000;
+
+    private final List<Duration> antecedencias;
+    private final HierarchicalTimingWheel<Lembrete> roda;
+    private final Map<Long, List<Timer<Lembrete>>> porConsulta = new HashMap<>();
+    private final Map<Long, VersaoAplicada> versoes = new HashMap<>();
+    private long proximaLimpezaVersoes;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public LembreteService(
+            @Value("${lembretes.antecedencias:24h,2h}") List<Duration> antecedencias,
+            @Value("${lembretes.tick:1s}") Duration tick) {
+        this.antecedencias = List.copyOf(antecedencias);
+        this.roda = new HierarchicalTimingWheel<>(tick.toMillis(), System.currentTimeMillis());
+    }
+
+    /**
+     * Devolve {@code false} quando o evento é mais antigo que o último aplicado para a mesma
+     * consulta e foi ignorado.
+     */
+    @Observed(name = "notificacao.servico")
+    public boolean agendar(ConsultaAgendadaEvent event) {
+        return agendar(event, System.currentTimeMillis());
+    }
+
+    boolean agendar(ConsultaAgendadaEvent event, long agoraMillis) {
+        if (event.getConsultaId() == null) {
+            return true;
+        }
+        boolean ativa = event.getDataHora() != null && STATUS_COM_LEMBRETE.contains(event.getStatus());
+        long consultaMillis = event.getDataHora() != null
+                ? event.getDataHora().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : agoraMillis;
+        lock.lock();
+        try {
+            if (!registrarVersaoSemLock(event, consultaMillis)) {
+                return false;
+            }
+            cancelarSemLock(event.getConsultaId());
+            if (!ativa) {
+                return true;
+            }
+            List<Timer<Lembrete>> timers = new ArrayList<>(antecedencias.size());
+            for (Duration antecedencia : antecedencias) {
+                long disparo = consultaMillis - antecedencia.toMillis();
+                if (disparo <= agoraMillis) {
+                    continue;
+                }
+                Lembrete lembrete = new Lembrete(event.getConsultaId(), event.getPacienteId(), event.getPacienteNome(),
+                        event.getMedicoNome(), event.getDataHora(), antecedencia);
+                timers.add(roda.agendar(lembrete, disparo));
+            }
+            if (!timers.isEmpty()) {
+                porConsulta.put(event.getConsultaId(), timers);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Maior antecedência configurada: consultas além dela ainda não têm lembrete. */
+    public Duration horizonte() {
+        return antecedencias.stream().max(Duration::compareTo).orElse(Duration.ZERO);
+    }
+
+    public int pendentes() {
+        lock.lock();
+        try {
+            return roda.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lembretes.tick:1s}")
+    public void processar() {
+        processar(System.currentTimeMillis());
+    }
+
+    List<Lembrete> processar(long agoraMillis) {
+        List<Lembrete> vencidos;
+        lock.lock();
+        try {
+            vencidos = roda.avancar(agoraMillis);
+            if (agoraMillis >= proximaLimpezaVersoes) {
+                versoes.values().removeIf(versao -> versao.expiraMillis() <= agoraMillis);
+                proximaLimpezaVersoes = agoraMillis + LIMPEZA_VERSOES_MILLIS;
+            }
+            for (Lembrete lembrete : vencidos) {
+                List<Timer<Lembrete>> timers = porConsulta.get(lembrete.consultaId());
+                if (timers != null && timers.stream().noneMatch(Timer::pendente)) {
+                    porConsulta.remove(lembrete.consultaId());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        vencidos.forEach(this::enviar);
+        return vencidos;
+    }
+
+    // A redelivery do mesmo evento (mesmo eventId) passa: ele pode ter falhado depois
+    // de registrado aqui, e a deduplicação cuida do que já foi concluído.
+    private boolean registrarVersaoSemLock(ConsultaAgendadaEvent event, long consultaMillis) {
+        if (event.getVersion() == null) {
+            return true;
+        }
+        long versao = event.getVersion();
+        VersaoAplicada anterior = versoes.get(event.getConsultaId());
+        if (anterior != null && (versao < anterior.versao()
+                || (versao == anterior.versao() && !Objects.equals(event.getEventId(), anterior.eventId())))) {
+            return false;
+        }
+        long expira = anterior != null ? Math.max(anterior.expiraMillis(), consultaMillis) : consultaMillis;
+        versoes.put(event.getConsultaId(), new VersaoAplicada(versao, event.getEventId(), expira));
+        return true;
+    }
+
+    private void cancelarSemLock(Long consultaId) {
+        List<Timer<Lembrete>> timers = porConsulta.remove(consultaId);
+        if (timers != null) {
+            timers.forEach(roda::cancelar);
+        }
+    }
+
+    private void enviar(Lembrete lembrete) {
+        log.info("[LEMBRETE] Paciente '{}' — Consulta #{} com {} em {} (faltam {}h)",
+                lembrete.pacienteNome(), lembrete.consultaId(), lembrete.medicoNome(), lembrete.dataHora(),
+                lembrete.antecedencia().toHours());
+    }
+
+    private record VersaoAplicada(long versao, String eventId, long expiraMillis) {
+    }
+}
@@ -11,8 +11,10 @@ import org.springframework.stereotype.Service;
 
 import br.com.fiap.app.notificacaoService.dto.ConsultaAgendadaEvent;
 import br.com.fiap.app.notificacaoService.dto.NotificacaoDTO;
+import io.micrometer.observation.annotation.Observed;
 
 @Service
+@Observed(name = "notificacao.servico")
 public class NotificacaoService {
 
     private final Map<Long, List<NotificacaoDTO>> store = new ConcurrentHashMap<>();
@@ -0,0 +1,63 @@
+package br.com.fiap.app.notificacaoService.dedup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("JanelaDeduplicacao Tests")
+class JanelaDeduplicacaoTest {
+
+    private static final long JANELA = 60_000;
+
+    @Test
+    @DisplayName("Should detect registered id inside the window")
+    void shouldDetectRegisteredId() {
+        JanelaDeduplicacao janela = new JanelaDeduplicacao(JANELA, 1 << 16, 7, 1_000, 0);
+
+        assertThat(janela.contem("evento-1", 1_000)).isFalse();
+        janela.registrar("evento-1", 1_000);
+
+        assertThat(janela.contem("evento-1", 2_000)).isTrue();
+        assertThat(janela.contem("evento-2", 2_000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep ids for at least one window and forget them after two")
+    void shouldExpireIdsAfterWindow() {
+        JanelaDeduplicacao janela = new JanelaDeduplicacao(JANELA, 1 << 16, 7, 1_000, 0);
+        janela.registrar("evento-1", 50_000);
+
+        assertThat(janela.contem("evento-1", 50_000 + JANELA)).isTrue();
+        assertThat(janela.contem("evento-1", 50_000 + 2 * JANELA + 1)).isFalse();
+        assertThat(janela.recentes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not report unseen ids even when the filter saturates")
+    void shouldNotReportFalsePositives() {
+        JanelaDeduplicacao janela = new JanelaDeduplicacao(JANELA, 1_024, 3, 100_000, 0);
+        for (int i = 0; i < 10_000; i++) {
+            janela.registrar(UUID.randomUUID().toString(), 10);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(janela.contem(UUID.randomUUID().toString(), 20)).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should bound the exact set and treat evicted ids as new")
+    void shouldBoundExactSet() {
+        JanelaDeduplicacao janela = new JanelaDeduplicacao(JANELA, 1 << 16, 7, 2, 0);
+        janela.registrar("a", 1);
+        janela.registrar("b", 2);
+        janela.registrar("c", 3);
+
+        assertThat(janela.recentes()).isEqualTo(2);
+        assertThat(janela.contem("a", 4)).isFalse();
+        assertThat(janela.contem("c", 4)).isTrue();
+    }
+}
@@ -35,7 +35,9 @@ class ConsultaAgendadaEventTest {
                 "Dr. João Santos",
                 dataHora,
                 "AGENDADA",
-                "Consulta de rotina"
+                "Consulta de rotina",
+                null,
+                null
         );
 
         assertThat(event.getConsultaId()).isEqualTo(1L);
@@ -74,8 +76,8 @@ class ConsultaAgendadaEventTest {
     @DisplayName("Should test equality of two events with same data")
     void shouldTestEqualityOfTwoEventsWithSameData() {
         LocalDateTime dataHora = LocalDateTime.of(2026, 4, 1, 10, 0);
-        ConsultaAgendadaEvent event1 = new ConsultaAgendadaEvent(1L, 10L, "Maria", "Dr. João", dataHora, "AGENDADA", "Rotina");
-        ConsultaAgendadaEvent event2 = new ConsultaAgendadaEvent(1L, 10L, "Maria", "Dr. João", dataHora, "AGENDADA", "Rotina");
+        ConsultaAgendadaEvent event1 = new ConsultaAgendadaEvent(1L, 10L, "Maria", "Dr. João", dataHora, "AGENDADA", "Rotina", null, null);
+        ConsultaAgendadaEvent event2 = new ConsultaAgendadaEvent(1L, 10L, "Maria", "Dr. João", dataHora, "AGENDADA", "Rotina", null, null);
 
         assertThat(event1).isEqualTo(event2);
         assertThat(event1.hashCode()).isEqualTo(event2.hashCode());
@@ -85,7 +87,7 @@ class ConsultaAgendadaEventTest {
     @DisplayName("Should generate toString representation")
     void shouldGenerateToStringRepresentation() {
         ConsultaAgendadaEvent event = new ConsultaAgendadaEvent(
-                5L, 20L, "Ana Costa", "Dr. Pedro", LocalDateTime.now(), "AGENDADA", "Exame"
+                5L, 20L, "Ana Costa", "Dr. Pedro", LocalDateTime.now(), "AGENDADA", "Exame", null, null
         );
 
         String toString = event.toString();
@@ -0,0 +1,91 @@
+package br.com.fiap.app.notificacaoService.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import com.rabbitmq.client.Channel;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConsumoMetricasAdvice Tests")
+class ConsumoMetricasAdviceTest {
+
+    @Mock
+    private MethodInvocation invocation;
+
+    @Mock
+    private Channel channel;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConsumoMetricasAdvice advice;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        advice = new ConsumoMetricasAdvice(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should record processing time tagged by queue and result")
+    void shouldRecordProcessingTime() throws Throwable {
+        // Given
+        when(invocation.getArguments()).thenReturn(new Object[] { channel, mensagem(null) });
+        when(invocation.proceed()).thenReturn(null);
+
+        // When
+        advice.invoke(invocation);
+
+        // Then
+        assertThat(meterRegistry.get(ConsumoMetricasAdvice.PROCESSAMENTO)
+                .tags("fila", "consulta.agendada.queue.1", "resultado", "sucesso").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(ConsumoMetricasAdvice.ATRASO).timers()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should tag failures and rethrow them")
+    void shouldTagFailures() throws Throwable {
+        // Given
+        when(invocation.getArguments()).thenReturn(new Object[] { channel, mensagem(null) });
+        when(invocation.proceed()).thenThrow(new IllegalStateException("falhou"));
+
+        // When / Then
+        assertThatThrownBy(() -> advice.invoke(invocation)).isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get(ConsumoMetricasAdvice.PROCESSAMENTO)
+                .tags("resultado", "erro").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record consumer lag from the publish timestamp")
+    void shouldRecordLag() {
+        // When
+        advice.registrarAtraso("consulta.agendada.queue.1", new Date(10_000), 12_500);
+
+        // Then
+        assertThat(meterRegistry.get(ConsumoMetricasAdvice.ATRASO).timer().totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(2_500);
+        assertThat(meterRegistry.get(ConsumoMetricasAdvice.ATRASO_ATUAL).timeGauge().value(TimeUnit.MILLISECONDS))
+                .isEqualTo(2_500);
+    }
+
+    private static Message mensagem(Date timestamp) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue("consulta.agendada.queue.1");
+        properties.setTimestamp(timestamp);
+        return new Message(new byte[0], properties);
+    }
+}
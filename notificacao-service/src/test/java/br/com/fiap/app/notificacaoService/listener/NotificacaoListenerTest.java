@@ -3,6 +3,9 @@ package br.com.fiap.app.notificacaoService.listener;
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,6 +14,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import br.com.fiap.app.notificacaoService.dto.ConsultaAgendadaEvent;
+import br.com.fiap.app.notificacaoService.service.DeduplicacaoService;
+import br.com.fiap.app.notificacaoService.service.LembreteService;
 import br.com.fiap.app.notificacaoService.service.NotificacaoService;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,9 +27,15 @@ class NotificacaoListenerTest {
     @Mock
     private NotificacaoService notificacaoService;
 
+    @Mock
+    private LembreteService lembreteService;
+
+    @Mock
+    private DeduplicacaoService deduplicacaoService;
+
     @BeforeEach
     void setUp() {
-        notificacaoListener = new NotificacaoListener(notificacaoService);
+        notificacaoListener = new NotificacaoListener(notificacaoService, lembreteService, deduplicacaoService);
     }
 
     @Test
@@ -37,7 +48,9 @@ class NotificacaoListenerTest {
                 "Dr. João Santos",
                 LocalDateTime.now().plusDays(1),
                 "AGENDADA",
-                "Consulta de rotina"
+                "Consulta de rotina",
+                null,
+                null
         );
 
         assertThatCode(() -> notificacaoListener.processarNotificacao(event))
@@ -63,7 +76,9 @@ class NotificacaoListenerTest {
                 "Dra. Ana Lima",
                 LocalDateTime.now().minusDays(1),
                 "CONCLUIDA",
-                "Retorno"
+                "Retorno",
+                null,
+                null
         );
 
         assertThatCode(() -> notificacaoListener.processarNotificacao(event))
@@ -80,10 +95,62 @@ class NotificacaoListenerTest {
                 "Dr. Ricardo Alves",
                 LocalDateTime.now().plusHours(2),
                 "CANCELADA",
-                "Imprevisto do paciente"
+                "Imprevisto do paciente",
+                null,
+                null
         );
 
         assertThatCode(() -> notificacaoListener.processarNotificacao(event))
                 .doesNotThrowAnyException();
     }
+
+    @Test
+    @DisplayName("Should register and mark new event as processed")
+    void shouldRegisterAndMarkNewEvent() {
+        // Given
+        ConsultaAgendadaEvent event = new ConsultaAgendadaEvent(4L, 13L, "Ana Costa", "Dr. Pedro", LocalDateTime.now().plusDays(2),
+                "AGENDADA", "Exame", "a1b2c3", 1L);
+        when(lembreteService.agendar(event)).thenReturn(true);
+
+        // When
+        notificacaoListener.processarNotificacao(event);
+
+        // Then
+        verify(notificacaoService).registrar(event);
+        verify(lembreteService).agendar(event);
+        verify(deduplicacaoService).marcarProcessado(event);
+    }
+
+    @Test
+    @DisplayName("Should drop duplicated event")
+    void shouldDropDuplicatedEvent() {
+        // Given
+        ConsultaAgendadaEvent event = new ConsultaAgendadaEvent(4L, 13L, "Ana Costa", "Dr. Pedro", LocalDateTime.now().plusDays(2),
+                "AGENDADA", "Exame", "a1b2c3", 1L);
+        when(deduplicacaoService.jaProcessado(event)).thenReturn(true);
+
+        // When
+        notificacaoListener.processarNotificacao(event);
+
+        // Then
+        verify(notificacaoService, never()).registrar(event);
+        verify(lembreteService, never()).agendar(event);
+        verify(deduplicacaoService, never()).marcarProcessado(event);
+    }
+
+    @Test
+    @DisplayName("Should drop event older than the last one applied for the consulta")
+    void shouldDropStaleEvent() {
+        // Given
+        ConsultaAgendadaEvent event = new ConsultaAgendadaEvent(4L, 13L, "Ana Costa", "Dr. Pedro", LocalDateTime.now().plusDays(2),
+                "AGENDADA", "Exame", "a1b2c3", 1L);
+        when(lembreteService.agendar(event)).thenReturn(false);
+
+        // When
+        notificacaoListener.processarNotificacao(event);
+
+        // Then
+        verify(notificacaoService, never()).registrar(event);
+        verify(deduplicacaoService, never()).marcarProcessado(event);
+    }
 }
@@ -0,0 +1,180 @@
+package br.com.fiap.app.notificacaoService.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import com.rabbitmq.client.Channel;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RetentativaAdvice Tests")
+class RetentativaAdviceTest {
+
+    @Mock
+    private AmqpTemplate amqpTemplate;
+
+    @Mock
+    private MethodInvocation invocation;
+
+    @Mock
+    private Channel channel;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RetentativaAdvice advice;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        advice = new RetentativaAdvice(amqpTemplate, meterRegistry, "consulta.agendada",
+                "hospital.retry.exchange", "consulta.agendada.parking-lot",
+                List.of(Duration.ofSeconds(5), Duration.ofSeconds(30), Duration.ofMinutes(5)), 4);
+    }
+
+    @Test
+    @DisplayName("Should pass through when listener succeeds")
+    void shouldPassThroughOnSuccess() throws Throwable {
+        // Given
+        when(invocation.proceed()).thenReturn(null);
+
+        // When
+        advice.invoke(invocation);
+
+        // Then
+        verify(amqpTemplate, never()).send(anyString(), anyString(), any(Message.class));
+    }
+
+    @Test
+    @DisplayName("Should send first failure to retry level 1")
+    void shouldSendFirstFailureToFirstRetryLevel() throws Throwable {
+        // Given
+        falharCom(mensagem(null), new IllegalStateException("SMTP indisponível"));
+
+        // When
+        advice.invoke(invocation);
+
+        // Then
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(amqpTemplate).send(eq("hospital.retry.exchange"), eq("consulta.agendada"), captor.capture());
+        MessageProperties properties = captor.getValue().getMessageProperties();
+        assertThat((Integer) properties.getHeader(RetentativaAdvice.HEADER_TENTATIVAS)).isEqualTo(1);
+        assertThat((String) properties.getHeader(RetentativaAdvice.HEADER_DESTINO_RETRY)).isEqualTo("1");
+        assertThat(meterRegistry.counter("notificacao.mensagens.retentativas", "nivel", "1").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should park message after max attempts")
+    void shouldParkAfterMaxAttempts() throws Throwable {
+        // Given
+        falharCom(mensagem(3), new IllegalStateException("SMTP indisponível"));
+
+        // When
+        advice.invoke(invocation);
+
+        // Then
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(amqpTemplate).send(eq("hospital.retry.exchange"), eq("consulta.agendada"), captor.capture());
+        assertThat((String) captor.getValue().getMessageProperties().getHeader(RetentativaAdvice.HEADER_DESTINO_RETRY))
+                .isEqualTo(RetentativaAdvice.DESTINO_PARKING);
+        assertThat(meterRegistry.counter("notificacao.mensagens.estacionadas").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should honor max attempts header from publisher")
+    void shouldHonorMaxAttemptsHeader() throws Throwable {
+        // Given
+        Message message = mensagem(1);
+        message.getMessageProperties().setHeader(RetentativaAdvice.HEADER_MAX_TENTATIVAS, 2);
+        falharCom(message, new IllegalStateException("SMTP indisponível"));
+
+        // When
+        advice.invoke(invocation);
+
+        // Then
+        verify(amqpTemplate).send(eq("hospital.retry.exchange"), eq("consulta.agendada"),
+                argThat(m -> RetentativaAdvice.DESTINO_PARKING.equals(
+                        m.getMessageProperties().getHeader(RetentativaAdvice.HEADER_DESTINO_RETRY))));
+    }
+
+    @Test
+    @DisplayName("Should park unconvertible message without retrying")
+    void shouldParkUnconvertibleMessage() throws Throwable {
+        // Given
+        falharCom(mensagem(null), new MessageConversionException("JSON inválido"));
+
+        // When
+        advice.invoke(invocation);
+
+        // Then
+        verify(amqpTemplate).send(eq("hospital.retry.exchange"), eq("consulta.agendada"),
+                argThat(m -> RetentativaAdvice.DESTINO_PARKING.equals(
+                        m.getMessageProperties().getHeader(RetentativaAdvice.HEADER_DESTINO_RETRY))));
+    }
+
+    @Test
+    @DisplayName("Should keep the partition routing key when retrying")
+    void shouldKeepPartitionRoutingKey() throws Throwable {
+        // Given
+        Message message = mensagem(null);
+        message.getMessageProperties().setReceivedRoutingKey("consulta.agendada.3");
+        falharCom(message, new IllegalStateException("SMTP indisponível"));
+
+        // When
+        advice.invoke(invocation);
+
+        // Then
+        verify(amqpTemplate).send(eq("hospital.retry.exchange"), eq("consulta.agendada.3"), any(Message.class));
+    }
+
+    @Test
+    @DisplayName("Should reject to DLQ when forwarding fails")
+    void shouldRejectWhenForwardingFails() throws Throwable {
+        // Given
+        falharCom(mensagem(null), new IllegalStateException("SMTP indisponível"));
+        doThrow(new AmqpConnectException(new RuntimeException("broker fora")))
+                .when(amqpTemplate).send(anyString(), anyString(), any(Message.class));
+
+        // When / Then
+        assertThatThrownBy(() -> advice.invoke(invocation))
+                .isInstanceOf(AmqpRejectAndDontRequeueException.class);
+    }
+
+    private void falharCom(Message message, Throwable erro) throws Throwable {
+        when(invocation.proceed()).thenThrow(erro);
+        when(invocation.getArguments()).thenReturn(new Object[] { channel, message });
+    }
+
+    private static Message mensagem(Integer tentativas) {
+        MessageProperties properties = new MessageProperties();
+        if (tentativas != null) {
+            properties.setHeader(RetentativaAdvice.HEADER_TENTATIVAS, tentativas);
+        }
+        return new Message("{\"consultaId\":1}".getBytes(), properties);
+    }
+}
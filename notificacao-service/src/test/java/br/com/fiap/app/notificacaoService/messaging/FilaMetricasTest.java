@@ -0,0 +1,71 @@
+package br.com.fiap.app.notificacaoService.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FilaMetricas Tests")
+class FilaMetricasTest {
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FilaMetricas filaMetricas;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filaMetricas = new FilaMetricas(amqpAdmin, meterRegistry, "consulta.agendada.queue", 2,
+                "consulta.agendada.dlq", "consulta.agendada.retry", List.of(Duration.ofSeconds(5)),
+                "consulta.agendada.parking-lot");
+    }
+
+    @Test
+    @DisplayName("Should expose depth and consumers for every queue")
+    void shouldExposeQueueDepth() {
+        // Given
+        when(amqpAdmin.getQueueInfo(anyString()))
+                .thenAnswer(inv -> new QueueInformation(inv.getArgument(0), 7, 1));
+
+        // When
+        filaMetricas.atualizar();
+
+        // Then
+        assertThat(meterRegistry.find("rabbitmq.fila.mensagens").gauges()).hasSize(6);
+        assertThat(meterRegistry.get("rabbitmq.fila.mensagens").tag("fila", "consulta.agendada.queue.1").gauge().value())
+                .isEqualTo(7);
+        assertThat(meterRegistry.get("rabbitmq.fila.consumidores").tag("fila", "consulta.agendada.dlq").gauge().value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report NaN while the broker has not been read")
+    void shouldReportNaNWhenBrokerIsDown() {
+        // Given
+        when(amqpAdmin.getQueueInfo(anyString())).thenThrow(new AmqpConnectException(new RuntimeException("broker fora")));
+
+        // When
+        filaMetricas.atualizar();
+
+        // Then
+        assertThat(meterRegistry.get("rabbitmq.fila.mensagens").tag("fila", "consulta.agendada.queue").gauge().value())
+                .isNaN();
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.fiap.app.notificacaoService.messaging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import br.com.fiap.app.notificacaoService.dto.ConsultaAgendadaEvent;
+import br.com.fiap.app.notificacaoService.service.LembreteService;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RessincronizacaoLembretes Tests")
+class RessincronizacaoLembretesTest {
+
+    private static final String QUEUE = "consultas.lembretes.ressincronizacao";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private LembreteService lembreteService;
+
+    private RessincronizacaoLembretes ressincronizacao;
+
+    @BeforeEach
+    void setUp() {
+        ressincronizacao = new RessincronizacaoLembretes(rabbitTemplate, JsonMapper.builder().build(),
+                lembreteService, QUEUE, true);
+        when(lembreteService.horizonte()).thenReturn(Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("Should request upcoming consultas within the horizon and schedule each one")
+    void shouldScheduleEachReturnedConsulta() {
+        // Given
+        String json = """
+                [{"consultaId":1,"pacienteId":10,"pacienteNome":"Maria da Silva","medicoNome":"Dr. João Santos",
+                  "dataHora":"2030-01-10T14:00:00","status":"AGENDADA","version":3},
+                 {"consultaId":2,"pacienteId":11,"pacienteNome":"José Souza","medicoNome":"Dra. Ana Lima",
+                  "dataHora":"2030-01-10T16:30:00","status":"CONFIRMADA","version":1}]
+                """;
+        when(rabbitTemplate.sendAndReceive(eq(""), eq(QUEUE), any(Message.class)))
+                .thenReturn(MessageBuilder.withBody(json.getBytes(StandardCharsets.UTF_8)).build());
+        when(lembreteService.agendar(any(ConsultaAgendadaEvent.class))).thenReturn(true);
+
+        // When
+        int agendadas = ressincronizacao.ressincronizar();
+
+        // Then
+        assertThat(agendadas).isEqualTo(2);
+        ArgumentCaptor<Message> pedido = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).sendAndReceive(eq(""), eq(QUEUE), pedido.capture());
+        assertThat((String) pedido.getValue().getMessageProperties()
+                .getHeader(RessincronizacaoLembretes.HEADER_HORIZONTE)).isEqualTo("PT24H");
+        ArgumentCaptor<ConsultaAgendadaEvent> eventos = ArgumentCaptor.forClass(ConsultaAgendadaEvent.class);
+        verify(lembreteService, times(2)).agendar(eventos.capture());
+        assertThat(eventos.getAllValues()).extracting(ConsultaAgendadaEvent::getConsultaId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should keep running without reminders when agendamento does not answer")
+    void shouldContinueWhenThereIsNoReply() {
+        // Given
+        when(rabbitTemplate.sendAndReceive(eq(""), eq(QUEUE), any(Message.class))).thenReturn(null);
+
+        // When
+        int agendadas = ressincronizacao.ressincronizar();
+
+        // Then
+        assertThat(agendadas).isZero();
+        verify(lembreteService, never()).agendar(any());
+    }
+
+    @Test
+    @DisplayName("Should keep running without reminders when the broker is unavailable")
+    void shouldContinueWhenBrokerIsUnavailable() {
+        // Given
+        when(rabbitTemplate.sendAndReceive(eq(""), eq(QUEUE), any(Message.class)))
+                .thenThrow(new AmqpConnectException(new ConnectException("Connection refused")));
+
+        // When
+        int agendadas = ressincronizacao.ressincronizar();
+
+        // Then
+        assertThat(agendadas).isZero();
+        verify(lembreteService, never()).agendar(any());
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.fiap.app.notificacaoService.scheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.app.notificacaoService.scheduler.HierarchicalTimingWheel.Timer;
+
+@DisplayName("HierarchicalTimingWheel Tests")
+class HierarchicalTimingWheelTest {
+
+    private static final long INICIO = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Should fire timers only after their deadline")
+    void shouldFireTimersAfterDeadline() {
+        HierarchicalTimingWheel<String> roda = new HierarchicalTimingWheel<>(1000, INICIO);
+        roda.agendar("curto", INICIO + 5_000);
+        roda.agendar("longo", INICIO + 26 * 3_600_000L);
+
+        assertThat(roda.avancar(INICIO + 4_000)).isEmpty();
+        assertThat(roda.avancar(INICIO + 5_000)).containsExactly("curto");
+        assertThat(roda.avancar(INICIO + 26 * 3_600_000L - 1_000)).isEmpty();
+        assertThat(roda.avancar(INICIO + 26 * 3_600_000L)).containsExactly("longo");
+        assertThat(roda.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not fire cancelled timers")
+    void shouldNotFireCancelledTimers() {
+        HierarchicalTimingWheel<String> roda = new HierarchicalTimingWheel<>(1000, INICIO);
+        Timer<String> cancelado = roda.agendar("cancelado", INICIO + 90_000);
+        roda.agendar("mantido", INICIO + 90_000);
+
+        assertThat(roda.cancelar(cancelado)).isTrue();
+        assertThat(roda.cancelar(cancelado)).isFalse();
+        assertThat(roda.avancar(INICIO + 120_000)).containsExactly("mantido");
+    }
+
+    @Test
+    @DisplayName("Should fire overdue timers on the next tick")
+    void shouldFireOverdueTimersOnNextTick() {
+        HierarchicalTimingWheel<String> roda = new HierarchicalTimingWheel<>(1000, INICIO);
+        roda.agendar("atrasado", INICIO - 60_000);
+
+        assertThat(roda.avancar(INICIO + 1_000)).containsExactly("atrasado");
+    }
+
+    @Test
+    @DisplayName("Should fire every random timer exactly once and never early")
+    void shouldFireRandomTimersOnTime() {
+        HierarchicalTimingWheel<Long> roda = new HierarchicalTimingWheel<>(1, 0);
+        Random random = new Random(7);
+        List<Long> prazos = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            long prazo = 1 + (long) (Math.pow(random.nextDouble(), 2) * 2_000_000);
+            prazos.add(prazo);
+            roda.agendar(prazo, prazo);
+        }
+
+        List<Long> disparados = new ArrayList<>();
+        for (long agora = 0; agora <= 2_000_000; agora += 1 + random.nextInt(500)) {
+            for (Long prazo : roda.avancar(agora)) {
+                assertThat(prazo).isLessThanOrEqualTo(agora);
+                disparados.add(prazo);
+            }
+        }
+        disparados.addAll(roda.avancar(2_000_001));
+
+        assertThat(disparados).containsExactlyInAnyOrderElementsOf(prazos);
+        assertThat(roda.size()).isZero();
+    }
+}
@@ -0,0 +1,237 @@
+package br.com.fiap.app.notificacaoService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.RabbitExceptionTranslator;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import com.rabbitmq.client.Return;
+import com.rabbitmq.client.ReturnCallback;
+
+import br.com.fiap.app.notificacaoService.dto.FiltroDlq;
+import br.com.fiap.app.notificacaoService.dto.PaginaDlqDTO;
+import br.com.fiap.app.notificacaoService.dto.ReprocessarDlqRequest;
+import br.com.fiap.app.notificacaoService.service.DlqService.Reprocessamento;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DlqService Tests")
+class DlqServiceTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private Channel channel;
+
+    private DlqService dlqService;
+
+    @BeforeEach
+    void setUp() {
+        dlqService = novoServico(100);
+    }
+
+    @Test
+    @DisplayName("Should page filtered DLQ messages and requeue everything read")
+    void shouldPageFilteredMessagesAndRequeue() throws Exception {
+        // Given
+        usarCanal();
+        when(channel.basicGet("consulta.agendada.dlq", false)).thenReturn(
+                resposta(1, "e1", 1L, "AGENDADA"),
+                resposta(2, "e2", 2L, "CANCELADA"),
+                resposta(3, "e3", 3L, "AGENDADA"),
+                null);
+
+        // When
+        PaginaDlqDTO pagina = dlqService.listar(FiltroDlq.builder().status("AGENDADA").build(), 0, 1);
+
+        // Then
+        assertThat(pagina.getConteudo()).extracting("eventId").containsExactly("e1");
+        assertThat(pagina.getConteudo().get(0).getMotivoMorte()).isEqualTo("rejected");
+        assertThat(pagina.getTotalFiltrado()).isEqualTo(2);
+        assertThat(pagina.getExaminadas()).isEqualTo(3);
+        assertThat(pagina.isVarreduraCompleta()).isTrue();
+        verify(channel).basicNack(3, true, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should keep unparseable payload for inspection")
+    void shouldKeepUnparseablePayload() throws Exception {
+        // Given
+        usarCanal();
+        when(channel.basicGet("consulta.agendada.dlq", false)).thenReturn(
+                new GetResponse(new Envelope(1, false, "", ""), new AMQP.BasicProperties(),
+                        "não é json".getBytes(StandardCharsets.UTF_8), 0),
+                null);
+
+        // When
+        PaginaDlqDTO pagina = dlqService.listar(new FiltroDlq(), 0, 10);
+
+        // Then
+        assertThat(pagina.getConteudo()).singleElement()
+                .satisfies(m -> assertThat(m.getPayload()).isEqualTo("não é json"));
+    }
+
+    @Test
+    @DisplayName("Should replay selected messages, ack them and requeue the rest")
+    void shouldReplaySelectedMessages() throws Exception {
+        // Given
+        usarCanal();
+        when(channel.basicGet("consulta.agendada.dlq", false)).thenReturn(
+                resposta(1, "e1", 1L, "AGENDADA"),
+                resposta(2, "e2", 2L, "AGENDADA"),
+                null);
+        Reprocessamento reprocessamento = new Reprocessamento("r1",
+                FiltroDlq.builder().eventIds(Set.of("e2")).build(), 10_000, 10);
+
+        // When
+        dlqService.executar(reprocessamento);
+
+        // Then
+        ArgumentCaptor<AMQP.BasicProperties> props = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        InOrder ordem = inOrder(channel);
+        ordem.verify(channel).confirmSelect();
+        ordem.verify(channel).basicPublish(eq("hospital.exchange"), eq("consulta.agendada"), eq(true), props.capture(),
+                any(byte[].class));
+        ordem.verify(channel).waitForConfirmsOrDie(30_000);
+        ordem.verify(channel).basicAck(2, false);
+        ordem.verify(channel).basicNack(2, true, true);
+        assertThat(props.getValue().getHeaders()).containsKey("x-reprocessamento").doesNotContainKey("x-death");
+        assertThat(reprocessamento.resumo().getSituacao()).isEqualTo("CONCLUIDO");
+        assertThat(reprocessamento.resumo().getReenviadas()).isEqualTo(1);
+        assertThat(reprocessamento.resumo().getMantidas()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replay a partitioned message to its original partition")
+    void shouldReplayToOriginalPartition() throws Exception {
+        // Given
+        usarCanal();
+        GetResponse particionada = resposta(1, "e1", 1L, "AGENDADA");
+        when(channel.basicGet("consulta.agendada.dlq", false)).thenReturn(
+                new GetResponse(new Envelope(1, false, "", "consulta.agendada.2"), particionada.getProps(),
+                        particionada.getBody(), 0),
+                null);
+
+        // When
+        dlqService.executar(new Reprocessamento("r1", new FiltroDlq(), 10_000, 10));
+
+        // Then
+        verify(channel).basicPublish(eq("hospital.exchange"), eq("consulta.agendada.2"), eq(true),
+                any(AMQP.BasicProperties.class), any(byte[].class));
+    }
+
+    @Test
+    @DisplayName("Should report a replay that stops at the scan limit as partial")
+    void shouldReportPartialReplayAtScanLimit() throws Exception {
+        // Given
+        dlqService = novoServico(2);
+        usarCanal();
+        when(channel.basicGet("consulta.agendada.dlq", false)).thenReturn(
+                resposta(1, "e1", 1L, "AGENDADA"),
+                resposta(2, "e2", 2L, "AGENDADA"));
+        Reprocessamento reprocessamento = new Reprocessamento("r1", new FiltroDlq(), 10_000, 10);
+
+        // When
+        dlqService.executar(reprocessamento);
+
+        // Then
+        assertThat(reprocessamento.resumo().getSituacao()).isEqualTo("PARCIAL");
+        assertThat(reprocessamento.resumo().getReenviadas()).isEqualTo(2);
+        assertThat(reprocessamento.resumo().getErro()).contains("2");
+    }
+
+    @Test
+    @DisplayName("Should keep the batch in the DLQ when a replayed message is returned as unroutable")
+    void shouldKeepBatchWhenMessageIsReturned() throws Exception {
+        // Given
+        usarCanal();
+        when(channel.basicGet("consulta.agendada.dlq", false)).thenReturn(
+                resposta(1, "e1", 1L, "AGENDADA"),
+                null);
+        ArgumentCaptor<ReturnCallback> retorno = ArgumentCaptor.forClass(ReturnCallback.class);
+        when(channel.addReturnListener(retorno.capture())).thenReturn(null);
+        doAnswer(inv -> {
+            retorno.getValue().handle(new Return(312, "NO_ROUTE", "hospital.exchange", "consulta.agendada",
+                    new AMQP.BasicProperties(), new byte[0]));
+            return null;
+        }).when(channel).waitForConfirmsOrDie(anyLong());
+        Reprocessamento reprocessamento = new Reprocessamento("r1", new FiltroDlq(), 10_000, 10);
+
+        // When
+        dlqService.executar(reprocessamento);
+
+        // Then
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verify(channel).basicNack(1, true, true);
+        assertThat(reprocessamento.resumo().getSituacao()).isEqualTo("FALHOU");
+        assertThat(reprocessamento.resumo().getReenviadas()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should require a selection or todas=true")
+    void shouldRequireSelection() {
+        assertThatThrownBy(() -> dlqService.iniciarReprocessamento(new ReprocessarDlqRequest()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private DlqService novoServico(int maxVarredura) {
+        return new DlqService(rabbitTemplate, JsonMapper.builder().build(), "consulta.agendada.dlq",
+                "hospital.exchange", "consulta.agendada", maxVarredura, 10_000, 10, Duration.ofSeconds(30));
+    }
+
+    private void usarCanal() {
+        // Como o RabbitTemplate real, converte exceções checadas do callback em AmqpException
+        when(rabbitTemplate.execute(any())).thenAnswer(inv -> {
+            try {
+                return inv.<ChannelCallback<?>>getArgument(0).doInRabbit(channel);
+            } catch (Exception e) {
+                throw RabbitExceptionTranslator.convertRabbitAccessException(e);
+            }
+        });
+    }
+
+    private static GetResponse resposta(long tag, String eventId, Long consultaId, String status) {
+        Map<String, Object> morte = Map.of("reason", "rejected", "queue", "consulta.agendada.queue",
+                "time", Date.from(Instant.parse("2026-01-10T12:00:00Z")));
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                .headers(Map.of("x-death", List.of(morte)))
+                .build();
+        String corpo = "{\"consultaId\":" + consultaId + ",\"pacienteId\":10,\"status\":\"" + status
+                + "\",\"eventId\":\"" + eventId + "\"}";
+        return new GetResponse(new Envelope(tag, false, "", "consulta.agendada.dlq"), props,
+                corpo.getBytes(StandardCharsets.UTF_8), 0);
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.fiap.app.notificacaoService.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.app.notificacaoService.dto.ConsultaAgendadaEvent;
+import br.com.fiap.app.notificacaoService.dto.Lembrete;
+
+@DisplayName("LembreteService Tests")
+class LembreteServiceTest {
+
+    private LembreteService lembreteService;
+    private LocalDateTime dataHora;
+    private long agora;
+
+    @BeforeEach
+    void setUp() {
+        lembreteService = new LembreteService(List.of(Duration.ofHours(24), Duration.ofHours(2)), Duration.ofSeconds(1));
+        dataHora = LocalDateTime.now().plusDays(3).withNano(0);
+        agora = System.currentTimeMillis();
+    }
+
+    @Test
+    @DisplayName("Should schedule 24h and 2h reminders and fire them in order")
+    void shouldScheduleAndFireReminders() {
+        lembreteService.agendar(evento(1L, dataHora, "AGENDADA"), agora);
+
+        assertThat(lembreteService.pendentes()).isEqualTo(2);
+        assertThat(lembreteService.processar(millis(dataHora.minusHours(25)))).isEmpty();
+
+        List<Lembrete> vespera = lembreteService.processar(millis(dataHora.minusHours(24)));
+        assertThat(vespera).extracting(Lembrete::antecedencia).containsExactly(Duration.ofHours(24));
+
+        List<Lembrete> duasHoras = lembreteService.processar(millis(dataHora.minusHours(2)));
+        assertThat(duasHoras).extracting(Lembrete::consultaId).containsExactly(1L);
+        assertThat(lembreteService.pendentes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reschedule reminders when consulta date changes")
+    void shouldRescheduleWhenDateChanges() {
+        lembreteService.agendar(evento(1L, dataHora, "AGENDADA"), agora);
+        LocalDateTime novaData = dataHora.plusDays(2);
+
+        lembreteService.agendar(evento(1L, novaData, "REAGENDADA"), agora);
+
+        assertThat(lembreteService.pendentes()).isEqualTo(2);
+        assertThat(lembreteService.processar(millis(dataHora))).isEmpty();
+        assertThat(lembreteService.processar(millis(novaData.minusHours(2))))
+                .extracting(Lembrete::dataHora).containsExactly(novaData, novaData);
+    }
+
+    @Test
+    @DisplayName("Should cancel reminders when consulta is cancelled")
+    void shouldCancelWhenConsultaIsCancelled() {
+        lembreteService.agendar(evento(1L, dataHora, "CONFIRMADA"), agora);
+
+        lembreteService.agendar(evento(1L, dataHora, "CANCELADA"), agora);
+
+        assertThat(lembreteService.pendentes()).isZero();
+        assertThat(lembreteService.processar(millis(dataHora))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should skip reminders whose time has already passed")
+    void shouldSkipPastReminders() {
+        LocalDateTime daquiATresHoras = LocalDateTime.now().plusHours(3);
+
+        lembreteService.agendar(evento(2L, daquiATresHoras, "AGENDADA"), agora);
+
+        assertThat(lembreteService.pendentes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should use the largest lead time as the resync horizon")
+    void shouldUseLargestLeadTimeAsHorizon() {
+        assertThat(lembreteService.horizonte()).isEqualTo(Duration.ofHours(24));
+    }
+
+    @Test
+    @DisplayName("Should ignore an event older than the last one applied for the consulta")
+    void shouldIgnoreStaleEvent() {
+        assertThat(lembreteService.agendar(versionado(1L, "CANCELADA", "e3", 3L), agora)).isTrue();
+
+        boolean aplicado = lembreteService.agendar(versionado(1L, "AGENDADA", "e2", 2L), agora);
+
+        assertThat(aplicado).isFalse();
+        assertThat(lembreteService.pendentes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should accept a redelivery of the same event but not another event with the same version")
+    void shouldAcceptRedeliveryOfSameEvent() {
+        lembreteService.agendar(versionado(1L, "AGENDADA", "e1", 1L), agora);
+
+        assertThat(lembreteService.agendar(versionado(1L, "AGENDADA", "e1", 1L), agora)).isTrue();
+        assertThat(lembreteService.agendar(versionado(1L, "CANCELADA", "outro", 1L), agora)).isFalse();
+        assertThat(lembreteService.pendentes()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should forget applied versions once the consulta time has passed")
+    void shouldForgetVersionsAfterConsultaTime() {
+        lembreteService.agendar(versionado(1L, "AGENDADA", "e5", 5L), agora);
+        lembreteService.processar(millis(dataHora.plusMinutes(1)));
+
+        assertThat(lembreteService.agendar(versionado(1L, "AGENDADA", "e1", 1L), agora)).isTrue();
+    }
+
+    private static ConsultaAgendadaEvent evento(Long consultaId, LocalDateTime dataHora, String status) {
+        return new ConsultaAgendadaEvent(consultaId, 10L, "Maria da Silva", "Dr. João Santos", dataHora, status,
+                "Consulta de rotina", null, null);
+    }
+
+    private ConsultaAgendadaEvent versionado(Long consultaId, String status, String eventId, Long version) {
+        return new ConsultaAgendadaEvent(consultaId, 10L, "Maria da Silva", "Dr. João Santos", dataHora, status,
+                "Consulta de rotina", eventId, version);
+    }
+
+    private static long millis(LocalDateTime dataHora) {
+        return dataHora.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}